@@ -0,0 +1,76 @@
+package com.tictactoe.game.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The <code>BenchmarkContext</code> class creates a lightweight application context for the benchmarks. It contains
+ * only the repository, service, engine, cluster and utility beans, configured from the same yml files as the
+ * application, so the benchmarks measure the game logic without the web layer and the auto-configuration. The beans
+ * which the auto-configuration provides to the application, the meter registry, the object mapper and the conversion
+ * of the properties, are registered here.
+ *
+ * @author Bosko Mijin
+ */
+final class BenchmarkContext {
+
+    /** The Constant SCANNED_PACKAGES - the packages which are holding the measured beans. */
+    private static final String[] SCANNED_PACKAGES = { "com.tictactoe.game.repository", "com.tictactoe.game.service",
+        "com.tictactoe.game.engine", "com.tictactoe.game.cluster", "com.tictactoe.game.util" };
+
+    /** The Constant CONFIGURATION_FILES - the configuration files which are required by the measured beans. */
+    private static final String[] CONFIGURATION_FILES = { "config/application-game.yml",
+        "config/application-jwt.yml", "config/application-api-mappings.yml" };
+
+    /** The Constant OVERRIDES - the properties which differ from the application, e.g. no cap of the created games. */
+    private static final Map<String, Object> OVERRIDES = Map.of("game.config.eviction.max-games", Integer.MAX_VALUE);
+
+    /**
+     * The <code>BenchmarkContext</code> no-args private constructor - prevents instantiation.
+     */
+    private BenchmarkContext() {
+
+    }
+
+    /**
+     * The <code>start</code> method creates and refreshes the benchmark application context.
+     *
+     * @return AnnotationConfigApplicationContext - The started context, which has to be closed by the caller.
+     */
+    static AnnotationConfigApplicationContext start() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        MutablePropertySources propertySources = context.getEnvironment().getPropertySources();
+        propertySources.addFirst(new MapPropertySource("benchmark", OVERRIDES));
+        YamlPropertySourceLoader loader = new YamlPropertySourceLoader();
+        try {
+            for (String configurationFile : CONFIGURATION_FILES) {
+                for (PropertySource<?> propertySource : loader.load(configurationFile,
+                        new ClassPathResource(configurationFile))) {
+                    propertySources.addLast(propertySource);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ObjectMapper.class, ObjectMapper::new);
+        context.scan(SCANNED_PACKAGES);
+        context.refresh();
+        return context;
+    }
+}
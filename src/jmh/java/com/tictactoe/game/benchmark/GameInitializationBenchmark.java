@@ -0,0 +1,57 @@
+package com.tictactoe.game.benchmark;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.tictactoe.game.service.GameInitializationService;
+
+/**
+ * The <code>GameInitializationBenchmark</code> class measures the game creation hot path of the
+ * {@link GameInitializationService}.
+ *
+ * @author Bosko Mijin
+ */
+@State(Scope.Benchmark)
+public class GameInitializationBenchmark {
+
+    /** The application context. */
+    private AnnotationConfigApplicationContext context;
+
+    /** The game initialization service. */
+    private GameInitializationService gameInitializationService;
+
+    /**
+     * The <code>startContext</code> method starts the application context once per trial.
+     */
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        gameInitializationService = context.getBean(GameInitializationService.class);
+    }
+
+    /**
+     * The <code>closeContext</code> method closes the application context at the end of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * The <code>createGame</code> benchmark measures the game creation - player creation, persisting the game and the
+     * token generation.
+     *
+     * @return Map - The game id and the token, returned to prevent dead code elimination.
+     */
+    @Benchmark
+    public Map<String, String> createGame() {
+        return gameInitializationService.createGame();
+    }
+}
@@ -0,0 +1,97 @@
+package com.tictactoe.game.benchmark;
+
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.web.exception.AuthenticationException;
+
+/**
+ * The <code>GamePlayBenchmark</code> class measures the move and the status hot paths of the
+ * {@link GamePlayService}.
+ *
+ * @author Bosko Mijin
+ */
+@State(Scope.Benchmark)
+public class GamePlayBenchmark {
+
+    /** The application context. */
+    private AnnotationConfigApplicationContext context;
+
+    /** The game initialization service. */
+    private GameInitializationService gameInitializationService;
+
+    /** The game play service. */
+    private GamePlayService gamePlayService;
+
+    /** The id of the game which is prepared for the next measured call. */
+    private int gameId;
+
+    /** The token of the player X of the prepared game. */
+    private String tokenPlayerX;
+
+    /** The token of the player O of the prepared game - the player O has the first move. */
+    private String tokenPlayerO;
+
+    /**
+     * The <code>startContext</code> method starts the application context once per trial.
+     */
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start();
+        gameInitializationService = context.getBean(GameInitializationService.class);
+        gamePlayService = context.getBean(GamePlayService.class);
+    }
+
+    /**
+     * The <code>prepareGame</code> method prepares a fresh game with both players joined before each call, so every
+     * measured move is a legal first move.
+     */
+    @Setup(Level.Invocation)
+    public void prepareGame() {
+        Map<String, String> data = gameInitializationService.createGame();
+        gameId = Integer.parseInt(data.get("gameId"));
+        tokenPlayerX = data.get("token");
+        tokenPlayerO = gameInitializationService.joinGame(gameId);
+    }
+
+    /**
+     * The <code>closeContext</code> method closes the application context at the end of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * The <code>playGame</code> benchmark measures a single move - authentication, parsing, placing the mark and the
+     * winning state calculation.
+     *
+     * @return boolean - The result of the move, returned to prevent dead code elimination.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    @Benchmark
+    public boolean playGame() throws AuthenticationException {
+        return gamePlayService.playGame(gameId, "B2", tokenPlayerO);
+    }
+
+    /**
+     * The <code>obtainGameStatus</code> benchmark measures the status poll of the player which is waiting for the
+     * other player's move.
+     *
+     * @return String - The status, returned to prevent dead code elimination.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    @Benchmark
+    public String obtainGameStatus() throws AuthenticationException {
+        return gamePlayService.obtainGameStatus(gameId, tokenPlayerX);
+    }
+}
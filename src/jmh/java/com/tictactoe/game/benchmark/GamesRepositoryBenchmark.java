@@ -0,0 +1,70 @@
+package com.tictactoe.game.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GamesRepository;
+
+/**
+ * The <code>GamesRepositoryBenchmark</code> class measures the game lookup of the {@link GamesRepository} for the
+ * different numbers of stored games.
+ *
+ * @author Bosko Mijin
+ */
+@State(Scope.Benchmark)
+public class GamesRepositoryBenchmark {
+
+    /** The number of games which are stored in the repository before measuring. */
+    @Param({ "1000", "100000", "1000000" })
+    private int games;
+
+    /** The application context. */
+    private AnnotationConfigApplicationContext context;
+
+    /** The games repository. */
+    private GamesRepository gamesRepository;
+
+    /** The first id of the stored games. */
+    private int firstId;
+
+    /**
+     * The <code>fillRepository</code> method starts the application context and stores the requested number of games.
+     */
+    @Setup(Level.Trial)
+    public void fillRepository() {
+        context = BenchmarkContext.start();
+        gamesRepository = context.getBean(GamesRepository.class);
+        firstId = gamesRepository.persistNewGameInAggregator(Game.builder().board(new Board(3)).build()).getId();
+        for (int i = 1; i < games; i++) {
+            gamesRepository.persistNewGameInAggregator(Game.builder().board(new Board(3)).build());
+        }
+    }
+
+    /**
+     * The <code>closeContext</code> method closes the application context at the end of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * The <code>getGameById</code> benchmark measures the lookup of a random stored game.
+     *
+     * @return Game - The obtained game, returned to prevent dead code elimination.
+     */
+    @Benchmark
+    public Game getGameById() {
+        return gamesRepository.getGameById(firstId + ThreadLocalRandom.current().nextInt(games));
+    }
+}
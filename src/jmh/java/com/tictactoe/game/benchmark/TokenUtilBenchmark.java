@@ -0,0 +1,83 @@
+package com.tictactoe.game.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.util.TokenUtil;
+
+/**
+ * The <code>TokenUtilBenchmark</code> class measures the token generation and validation of the {@link TokenUtil}.
+ *
+ * @author Bosko Mijin
+ */
+@State(Scope.Benchmark)
+public class TokenUtilBenchmark {
+
+    /** The application context. */
+    private AnnotationConfigApplicationContext context;
+
+    /** The token util. */
+    private TokenUtil tokenUtil;
+
+    /** The player whose token is generated and validated. */
+    private Player player;
+
+    /** The game which holds the player. */
+    private Game game;
+
+    /** The token of the player. */
+    private String token;
+
+    /**
+     * The <code>prepareToken</code> method starts the application context and prepares the player, game and token.
+     */
+    @Setup(Level.Trial)
+    public void prepareToken() {
+        context = BenchmarkContext.start();
+        tokenUtil = context.getBean(TokenUtil.class);
+        player = Player.builder().build();
+        Map<Player, Character> players = new HashMap<>();
+        players.put(player, 'X');
+        game = Game.builder().players(players).board(new Board(3)).build();
+        token = tokenUtil.generateToken(player.getId());
+    }
+
+    /**
+     * The <code>closeContext</code> method closes the application context at the end of the trial.
+     */
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    /**
+     * The <code>generateToken</code> benchmark measures the signed token generation.
+     *
+     * @return String - The generated token, returned to prevent dead code elimination.
+     */
+    @Benchmark
+    public String generateToken() {
+        return tokenUtil.generateToken(player.getId());
+    }
+
+    /**
+     * The <code>validateToken</code> benchmark measures the token validation against the game.
+     *
+     * @return Boolean - The validation result, returned to prevent dead code elimination.
+     */
+    @Benchmark
+    public Boolean validateToken() {
+        return tokenUtil.validateToken(token, game);
+    }
+}
@@ -0,0 +1,287 @@
+package com.tictactoe.game.cluster;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.game.web.exception.NodeUnavailableException;
+import com.tictactoe.game.web.request.PlayMovesRequestBody;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
+import com.tictactoe.game.web.response.PlayMovesResponseBody;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
+
+/**
+ * The <code>ClusterClient</code> class sends the requests to the other nodes of the cluster: the requests of the games
+ * owned by the other node, the moves of the batch which belong to the games of the other node, the games handed over
+ * to their new owner and the health checks. All the requests are sent without blocking the calling thread, except the
+ * hand over, which runs on the scheduler thread. The forwarded request is marked by the {@value #FORWARDED_HEADER}
+ * header, so the node which doesn't see itself as the owner yet (its ring isn't updated) plays the game instead of
+ * forwarding it back. Every request carries the secret of the cluster in the {@value #SECRET_HEADER} header, and the
+ * mark of the forwarded request is trusted only together with it.
+ *
+ * @author Bosko Mijin.
+ */
+@Component
+public class ClusterClient {
+
+    /** The Constant FORWARDED_HEADER - the header of the forwarded request, holds the node which forwarded it. */
+    public static final String FORWARDED_HEADER = "X-Game-Forwarded-By";
+
+    /** The Constant SECRET_HEADER - the header which carries the secret of the cluster. */
+    public static final String SECRET_HEADER = "X-Game-Cluster-Secret";
+
+    /** The Constant EXCLUDED_HEADERS - the connection and cluster specific headers, not copied to other request. */
+    private static final Set<String> EXCLUDED_HEADERS = Set.of("connection", "content-length", "date", "expect",
+            "from", "host", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "via", "warning", FORWARDED_HEADER.toLowerCase(),
+            SECRET_HEADER.toLowerCase());
+
+    /** The path matcher - matches the paths of the game endpoints. */
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /** A Jackson ObjectMapper for JSON conversion. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The game play path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-play-path}")
+    private String gamePlayPath;
+
+    /** The game join path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-join-path}")
+    private String gameJoinPath;
+
+    /** The game engine join path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-engine-join-path}")
+    private String gameEngineJoinPath;
+
+    /** The game status stream path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-status-stream-path}")
+    private String gameStatusStreamPath;
+
+    /** The game socket path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-socket-path}")
+    private String gameSocketPath;
+
+    /** The game moves path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-moves-path}")
+    private String gameMovesPath;
+
+    /** The cluster games path - defined in the properties as spring profile. */
+    @Value("${api.paths.cluster-games-path}")
+    private String clusterGamesPath;
+
+    /** The actuator health path - defined in the properties as spring profile. */
+    @Value("${api.paths.actuator-health-path}")
+    private String actuatorHealthPath;
+
+    /** The forward timeout - milliseconds for which the other node has to answer, defined in the properties. */
+    @Value("${game.cluster.forward-timeout:5000}")
+    private long forwardTimeout;
+
+    /** The game paths - the paths of the endpoints of the single game, the ones which are forwarded. */
+    private List<String> gamePaths;
+
+    /** The http client. */
+    private HttpClient httpClient;
+
+    /**
+     * The <code>initialize</code> method creates the http client, if the cluster is enabled. Without the cluster all
+     * the games are owned by this node and nothing is sent.
+     */
+    @PostConstruct
+    public void initialize() {
+        gamePaths = List.of(gamePlayPath, gameJoinPath, gameEngineJoinPath, gameStatusStreamPath, gameSocketPath);
+        if (!gamePartitioner.isEnabled()) {
+            return;
+        }
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(forwardTimeout)).build();
+    }
+
+    /**
+     * The <code>gameIdOf</code> method returns the id of the game addressed by the path of the request.
+     *
+     * @param path - The path of the request, without the context path.
+     * @return Integer - The id of the game, or <code>null</code> if the path isn't the path of the single game.
+     */
+    public Integer gameIdOf(String path) {
+        for (String gamePath : gamePaths) {
+            if (pathMatcher.match(gamePath, path)) {
+                try {
+                    return Integer.valueOf(pathMatcher.extractUriTemplateVariables(gamePath, path).get("id"));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The <code>isStreamPath</code> method checks whether the path is the path of the long lived connection, the status
+     * stream or the web socket, which is redirected to the owner of the game instead of being forwarded.
+     *
+     * @param path - The path of the request, without the context path.
+     * @return boolean - <code>true</code> if the path is the path of the stream, otherwise <code>false</code>.
+     */
+    public boolean isStreamPath(String path) {
+        return pathMatcher.match(gameStatusStreamPath, path) || pathMatcher.match(gameSocketPath, path);
+    }
+
+    /**
+     * The <code>forward</code> method sends the request to the owner of the game.
+     *
+     * @param owner - The base url of the node which owns the game.
+     * @param method - The method of the request.
+     * @param pathAndQuery - The path of the request, including the context path, and its query.
+     * @param headers - The headers of the request.
+     * @param body - The body of the request.
+     * @return CompletableFuture - The future completed by the response of the owner, or completed exceptionally by
+     *         {@link NodeUnavailableException} if the owner doesn't answer.
+     */
+    public CompletableFuture<HttpResponse<byte[]>> forward(String owner, String method, String pathAndQuery,
+            Map<String, List<String>> headers, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(Duration.ofMillis(forwardTimeout))
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach((name, values) -> {
+            if (isCopied(name)) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+        request.header(FORWARDED_HEADER, gamePartitioner.getSelf()).header(SECRET_HEADER, gamePartitioner.getSecret());
+        return send(owner, request.build());
+    }
+
+    /**
+     * The <code>forwardMoves</code> method plays the moves of the games owned by the other node on that node.
+     *
+     * @param owner - The base url of the node which owns the games.
+     * @param moves - The moves of the games owned by the node.
+     * @return CompletableFuture - The future completed by the results of the moves, in the order of the moves, or
+     *         completed exceptionally by {@link NodeUnavailableException} if the owner doesn't answer.
+     */
+    public CompletableFuture<List<MoveResult>> forwardMoves(String owner, List<Move> moves) {
+        byte[] body;
+        try {
+            body = mapper.writeValueAsBytes(new PlayMovesRequestBody(moves));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + gameMovesPath))
+                .timeout(Duration.ofMillis(forwardTimeout)).header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header(FORWARDED_HEADER, gamePartitioner.getSelf()).header(SECRET_HEADER, gamePartitioner.getSecret())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+        return send(owner, request).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new NodeUnavailableException("Node " + owner + " failed to play the moves.");
+            }
+            try {
+                return mapper.readValue(response.body(), PlayMovesResponseBody.class).getResults();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * The <code>transferGames</code> method hands the encoded games over to their new owner, it waits for the answer.
+     *
+     * @param owner - The base url of the node which owns the games.
+     * @param games - The encoded games.
+     * @return byte[] - The answer of the owner, the ids of the games refused by the owner.
+     * @throws NodeUnavailableException - The exception if the owner doesn't receive the games.
+     */
+    public byte[] transferGames(String owner, byte[] games) throws NodeUnavailableException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(owner + clusterGamesPath))
+                .timeout(Duration.ofMillis(forwardTimeout))
+                .header("Content-Type", MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .header("Accept", MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                .header(FORWARDED_HEADER, gamePartitioner.getSelf()).header(SECRET_HEADER, gamePartitioner.getSecret())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(games)).build();
+        HttpResponse<byte[]> response;
+        try {
+            response = send(owner, request).join();
+        } catch (CompletionException e) {
+            throw (NodeUnavailableException) e.getCause();
+        }
+        if (response.statusCode() != 200) {
+            throw new NodeUnavailableException("Node " + owner + " refused the games, status " + response.statusCode()
+                    + ".");
+        }
+        return response.body();
+    }
+
+    /**
+     * The <code>isAlive</code> method checks the health of the node.
+     *
+     * @param node - The base url of the node.
+     * @return CompletableFuture - The future completed by <code>true</code> if the node is up, otherwise by
+     *         <code>false</code>.
+     */
+    public CompletableFuture<Boolean> isAlive(String node) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + actuatorHealthPath))
+                .timeout(Duration.ofMillis(forwardTimeout)).GET().build();
+        return send(node, request).handle((response, error) -> error == null && response.statusCode() == 200);
+    }
+
+    /**
+     * The <code>isForwarded</code> method checks whether the request is forwarded by the other node of the cluster, so
+     * it has to be served here. The mark sent by the client itself isn't trusted.
+     *
+     * @param forwardedBy - The value of the {@value #FORWARDED_HEADER} header, or <code>null</code>.
+     * @param secret - The value of the {@value #SECRET_HEADER} header, or <code>null</code>.
+     * @return boolean - <code>true</code> if the request is forwarded by the node, otherwise <code>false</code>.
+     */
+    public boolean isForwarded(String forwardedBy, String secret) {
+        return forwardedBy != null && gamePartitioner.isTrusted(secret);
+    }
+
+    /**
+     * The <code>isCopied</code> method checks whether the header is copied to the forwarded request or response.
+     *
+     * @param name - The name of the header.
+     * @return boolean - <code>true</code> if the header is copied, otherwise <code>false</code>.
+     */
+    public boolean isCopied(String name) {
+        return !name.startsWith(":") && !EXCLUDED_HEADERS.contains(name.toLowerCase());
+    }
+
+    /**
+     * The <code>send</code> method sends the request, the failure is reported as {@link NodeUnavailableException}.
+     *
+     * @param node - The base url of the node.
+     * @param request - The request.
+     * @return CompletableFuture - The future completed by the response.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String node, HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).exceptionally(error -> {
+            throw new NodeUnavailableException("Node " + node + " is unavailable.", error);
+        });
+    }
+}
@@ -0,0 +1,75 @@
+package com.tictactoe.game.cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>ClusterMembership</code> class follows the members of the cluster. Every other configured node is checked
+ * by its health endpoint on every heartbeat, the node which fails the configured number of checks in a row is removed
+ * from the ring, and the node which answers again is added back. When the ring is changed, the games of the partitions
+ * which are moved from this node are handed over to their new owners by the {@link GameHandoff}. The games of the node
+ * which is gone are lost together with its memory, unless they are recovered by its journal after the restart.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "game.cluster", name = "enabled", havingValue = "true")
+public class ClusterMembership {
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /** The game handoff. */
+    @Autowired
+    private GameHandoff gameHandoff;
+
+    /** The failure threshold - the number of failed checks after which the node is removed, defined in properties. */
+    @Value("${game.cluster.failure-threshold:3}")
+    private int failureThreshold;
+
+    /** The failures - the number of the failed checks in a row, by the node. */
+    private final Map<String, Integer> failures = new HashMap<>();
+
+    /**
+     * The <code>heartbeat</code> method checks the other nodes, updates the ring and hands the games over to their new
+     * owners if the ring is changed.
+     */
+    @Scheduled(fixedDelayString = "${game.cluster.heartbeat-interval:1000}")
+    public void heartbeat() {
+        Map<String, CompletableFuture<Boolean>> checks = new HashMap<>();
+        for (String node : gamePartitioner.getNodes()) {
+            if (!node.equals(gamePartitioner.getSelf())) {
+                checks.put(node, clusterClient.isAlive(node));
+            }
+        }
+        Set<String> members = new TreeSet<>(gamePartitioner.getMembers());
+        checks.forEach((node, alive) -> {
+            if (alive.join()) {
+                failures.remove(node);
+                members.add(node);
+            } else if (failures.merge(node, 1, Integer::sum) >= failureThreshold) {
+                members.remove(node);
+            }
+        });
+        if (gamePartitioner.updateMembers(members)) {
+            gameHandoff.handOff();
+        }
+    }
+}
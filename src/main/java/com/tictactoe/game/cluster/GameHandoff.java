@@ -0,0 +1,358 @@
+package com.tictactoe.game.cluster;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GameCodec;
+import com.tictactoe.game.repository.GameLocks;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.web.exception.NodeUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameHandoff</code> class moves the games to their new owner when the members of the cluster are changed.
+ * The games of the partitions which this node doesn't own anymore are encoded by the {@link GameCodec} and sent to the
+ * owner in batches of {@value #BATCH_SIZE} games, and they are evicted here only after the owner has received them.
+ * The game which is changed while its batch is sent is sent once more. The owner accepts only the games of its own
+ * partitions whose ids are within the reach of its sequences, and it refuses the game whose id is held by another
+ * game, the refused games are kept by the sender. The received game replaces the held copy of the same game only if
+ * it is newer. The handed over games are counted in the <code>games.transferred</code> meter, tagged by the direction,
+ * sent or received.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+public class GameHandoff {
+
+    /** The Constant BATCH_SIZE - the maximal number of the games sent in the single request. */
+    private static final int BATCH_SIZE = 1024;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The game locks - guard the game against the change while it is encoded and evicted. */
+    @Autowired
+    private GameLocks gameLocks;
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /** The event publisher - notifies the listeners about the evicted and received games. */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The handoff reach - the number of sequences by which the received id can be ahead, defined in the properties. */
+    @Value("${game.cluster.handoff-reach:1048576}")
+    private int handoffReach;
+
+    /** The counter of the games sent to the other nodes. */
+    private final Counter sentGames;
+
+    /** The counter of the games received from the other nodes. */
+    private final Counter receivedGames;
+
+    /**
+     * The <code>GameHandoff</code> parameterized constructor registers the transfer meters.
+     *
+     * @param meterRegistry - The registry of the application meters.
+     */
+    @Autowired
+    public GameHandoff(MeterRegistry meterRegistry) {
+        sentGames = transferCounter(meterRegistry, "sent");
+        receivedGames = transferCounter(meterRegistry, "received");
+    }
+
+    /**
+     * The <code>handOff</code> method sends the games which aren't owned by this node anymore to their owners. The
+     * games which can't be sent, because their owner doesn't answer, are kept here.
+     */
+    public void handOff() {
+        int lastGameId = gamesRepository.getLastGameId();
+        Map<String, List<Game>> batches = new HashMap<>();
+        int handedOver = 0;
+        for (long nextId = 1; nextId <= lastGameId; nextId++) {
+            int id = (int) nextId;
+            if (!gamesRepository.hasSegment(id)) {
+                nextId = gamesRepository.lastIdOfSegment(id);
+                continue;
+            }
+            if (gamePartitioner.isLocal(id)) {
+                continue;
+            }
+            Game game = snapshotOf(id);
+            if (game == null) {
+                continue;
+            }
+            List<Game> batch = batches.computeIfAbsent(gamePartitioner.ownerOf(id), owner -> new ArrayList<>());
+            batch.add(game);
+            if (batch.size() == BATCH_SIZE) {
+                handedOver += send(gamePartitioner.ownerOf(id), batch);
+                batch.clear();
+            }
+        }
+        for (Map.Entry<String, List<Game>> batch : batches.entrySet()) {
+            handedOver += send(batch.getKey(), batch.getValue());
+        }
+        if (handedOver > 0) {
+            log.info("{} games are handed over to their new owners.", handedOver);
+        }
+    }
+
+    /**
+     * The <code>receive</code> method puts the games handed over by the other node into the repository. The game of
+     * the partition which isn't owned by this node, the game whose id is out of the reach of the sequences of this node
+     * and the game whose id is held by another game are refused. The held copy of the same game is replaced only by the
+     * newer one. The received game is published, so it is journaled.
+     *
+     * @param games - The games encoded by {@link #encode(List)}.
+     * @return List - The ids of the refused games.
+     */
+    public List<Integer> receive(byte[] games) {
+        ByteBuffer buffer = ByteBuffer.wrap(games);
+        int count = buffer.getInt();
+        List<Integer> refused = new ArrayList<>();
+        int received = 0;
+        for (int i = 0; i < count; i++) {
+            Game game = GameCodec.decode(buffer);
+            int id = game.getId();
+            if (!gamePartitioner.isLocal(id) || !gamesRepository.isWithinReach(id, handoffReach)) {
+                refused.add(id);
+                continue;
+            }
+            Lock lock = gameLocks.lockFor(id);
+            lock.lock();
+            try {
+                Game held = gamesRepository.findGameById(id);
+                if (held != null && !isSameGame(held, game)) {
+                    refused.add(id);
+                } else if (held == null || game.getLastActivityTime() > held.getLastActivityTime()) {
+                    gamesRepository.evictGame(id);
+                    gamesRepository.restoreGame(game);
+                    eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.RECEIVED, id, null,
+                            BitBoard.EMPTY));
+                    received++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        receivedGames.increment(received);
+        if (!refused.isEmpty()) {
+            log.warn("{} handed over games are refused.", refused.size());
+        }
+        return refused;
+    }
+
+    /**
+     * The <code>encode</code> method writes the games into the body of the hand over request, the number of the games
+     * followed by their records.
+     *
+     * @param games - The games.
+     * @return byte[] - The encoded games.
+     */
+    static byte[] encode(List<Game> games) {
+        int size = Integer.BYTES;
+        for (Game game : games) {
+            size += GameCodec.encodedSize(game);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(games.size());
+        for (Game game : games) {
+            GameCodec.encode(game, buffer);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * The <code>encodeIds</code> method writes the ids of the refused games into the answer of the hand over request,
+     * the number of the ids followed by the ids.
+     *
+     * @param ids - The ids of the refused games.
+     * @return byte[] - The encoded ids.
+     */
+    public static byte[] encodeIds(List<Integer> ids) {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * (ids.size() + 1)).putInt(ids.size());
+        ids.forEach(buffer::putInt);
+        return buffer.array();
+    }
+
+    /**
+     * The <code>decodeIds</code> method reads the ids written by {@link #encodeIds(List)}.
+     *
+     * @param ids - The encoded ids.
+     * @return Set - The ids of the refused games.
+     */
+    static Set<Integer> decodeIds(byte[] ids) {
+        ByteBuffer buffer = ByteBuffer.wrap(ids);
+        int count = buffer.getInt();
+        Set<Integer> decoded = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            decoded.add(buffer.getInt());
+        }
+        return decoded;
+    }
+
+    /**
+     * The <code>send</code> method sends the batch to the owner and evicts the games of the batch, the games which are
+     * changed in the meantime are sent again. The games refused by the owner are kept here.
+     *
+     * @param owner - The base url of the owner.
+     * @param batch - The games, as they are sent.
+     * @return int - The number of the handed over games.
+     */
+    private int send(String owner, List<Game> batch) {
+        List<Game> pending = batch;
+        int handedOver = 0;
+        while (!pending.isEmpty()) {
+            Set<Integer> refused;
+            try {
+                refused = decodeIds(clusterClient.transferGames(owner, encode(pending)));
+            } catch (NodeUnavailableException e) {
+                log.warn("Games can't be handed over: {}", e.getMessage());
+                return handedOver;
+            }
+            if (!refused.isEmpty()) {
+                log.warn("{} games are refused by {} and kept here.", refused.size(), owner);
+            }
+            List<Game> changed = new ArrayList<>();
+            for (Game sent : pending) {
+                if (refused.contains(sent.getId())) {
+                    continue;
+                }
+                Game current = evictIfUnchanged(sent);
+                if (current == null) {
+                    handedOver++;
+                } else {
+                    changed.add(current);
+                }
+            }
+            sentGames.increment(pending.size() - refused.size() - changed.size());
+            pending = changed;
+        }
+        return handedOver;
+    }
+
+    /**
+     * The <code>snapshotOf</code> method encodes the game under its lock, so the sent game is the consistent one.
+     *
+     * @param id - The id of the game.
+     * @return Game - The copy of the game, or <code>null</code> if there is no such game.
+     */
+    private Game snapshotOf(int id) {
+        Lock lock = gameLocks.lockFor(id);
+        lock.lock();
+        try {
+            Game game = gamesRepository.findGameById(id);
+            if (game == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(GameCodec.encodedSize(game));
+            GameCodec.encode(game, buffer);
+            return GameCodec.decode(buffer.flip());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The <code>evictIfUnchanged</code> method evicts the sent game, if it isn't changed since it was sent.
+     *
+     * @param sent - The game as it is sent.
+     * @return Game - <code>null</code> if the game is evicted (or it is evicted already), otherwise the current copy of
+     *         the changed game, which has to be sent again.
+     */
+    private Game evictIfUnchanged(Game sent) {
+        int id = sent.getId();
+        Lock lock = gameLocks.lockFor(id);
+        lock.lock();
+        try {
+            Game game = gamesRepository.findGameById(id);
+            if (game == null) {
+                return null;
+            }
+            if (game.getLastActivityTime() != sent.getLastActivityTime()) {
+                return snapshotOf(id);
+            }
+            gamesRepository.evictGame(id);
+        } finally {
+            lock.unlock();
+        }
+        eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.EVICTED, id, null, BitBoard.EMPTY));
+        return null;
+    }
+
+    /**
+     * The <code>isSameGame</code> method checks whether the received game is the copy of the held game, and not the
+     * other game under the same id. The games are the same if every player seated in both of them is the same.
+     *
+     * @param held - The game held here.
+     * @param received - The received game.
+     * @return boolean - <code>true</code> if the games are the copies of the same game, otherwise <code>false</code>.
+     */
+    private static boolean isSameGame(Game held, Game received) {
+        for (char mark : new char[] { BitBoard.MARK_X, BitBoard.MARK_O }) {
+            String heldPlayer = playerIdOf(held, mark);
+            String receivedPlayer = playerIdOf(received, mark);
+            if (heldPlayer != null && receivedPlayer != null && !heldPlayer.equals(receivedPlayer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The <code>playerIdOf</code> method returns the id of the player with provided mark.
+     *
+     * @param game - The game of the player.
+     * @param mark - The mark of the player.
+     * @return String - The id of the player, or <code>null</code> if there is no such player.
+     */
+    private static String playerIdOf(Game game, char mark) {
+        if (game.getPlayers() == null) {
+            return null;
+        }
+        for (Map.Entry<Player, Character> entry : game.getPlayers().entrySet()) {
+            if (entry.getValue() == mark) {
+                return entry.getKey().getId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The <code>transferCounter</code> method registers the transfer counter for the direction.
+     *
+     * @param meterRegistry - The registry of the application meters.
+     * @param direction - The direction of the transfer, sent or received.
+     * @return Counter - The registered counter.
+     */
+    private static Counter transferCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("games.transferred").tag("direction", direction)
+                .description("Number of games handed over between the nodes of the cluster").register(meterRegistry);
+    }
+}
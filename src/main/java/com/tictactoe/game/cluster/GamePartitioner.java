@@ -0,0 +1,242 @@
+package com.tictactoe.game.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GamePartitioner</code> class maps the games to the nodes of the cluster. The lowest
+ * <code>game.cluster.partition-bits</code> bits of the game id are its partition, so the owner of the game is
+ * resolved from the id only, without any lookup, and the partitions are mapped to the nodes by the {@link HashRing}.
+ * The new games are created only in the partitions owned by this node, in turns. When the cluster is disabled (the
+ * default), there is a single partition owned by this node and the game ids are the same as without the cluster.
+ * The nodes prove to each other that they are the members of the cluster by the shared secret, the requests without
+ * it are served as the requests of the clients.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+public class GamePartitioner {
+
+    /** The Constant MAX_PARTITION_BITS - the maximal number of the partition bits. */
+    private static final int MAX_PARTITION_BITS = 16;
+
+    /** The enabled - indicator whether the games are partitioned across the nodes, defined in the properties. */
+    @Value("${game.cluster.enabled:false}")
+    private boolean enabled;
+
+    /** The configured partition bits - the number of the partition bits of the game id, defined in the properties. */
+    @Value("${game.cluster.partition-bits:8}")
+    private int configuredPartitionBits;
+
+    /** The virtual nodes - the number of the points of every node on the ring, defined in the properties. */
+    @Value("${game.cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    /** The self - the base url of this node, defined in the properties. */
+    @Value("${game.cluster.self:http://localhost:8080}")
+    private String self;
+
+    /** The secret - shared by all the nodes of the cluster, sent with every request between them. */
+    @Value("${game.cluster.secret:}")
+    private String secret;
+
+    /** The configured nodes - the base urls of all the nodes of the cluster, defined in the properties. */
+    @Value("${game.cluster.nodes:}")
+    private List<String> configuredNodes;
+
+    /** The nodes - the base urls of all the configured nodes, including this node. */
+    private final List<String> nodes = new ArrayList<>();
+
+    /** The partition bits - the number of the partition bits in use, 0 when the cluster is disabled. */
+    private int partitionBits;
+
+    /** The partition mask - the mask of the partition bits of the game id. */
+    private int partitionMask;
+
+    /** The ring - the current mapping of the partitions to the live nodes. */
+    private volatile HashRing ring;
+
+    /** The owned partitions - the partitions owned by this node in the current ring. */
+    private volatile int[] ownedPartitions;
+
+    /** The turn - the counter which selects the partition of the next new game. */
+    private final AtomicInteger turn = new AtomicInteger();
+
+    /**
+     * The <code>initialize</code> method validates the configuration and builds the ring of all the configured nodes,
+     * the nodes which don't answer are removed from the ring later by the {@link ClusterMembership}.
+     */
+    @PostConstruct
+    public void initialize() {
+        if (enabled && (configuredPartitionBits < 1 || configuredPartitionBits > MAX_PARTITION_BITS)) {
+            throw new IllegalArgumentException("Partition bits have to be between 1 and " + MAX_PARTITION_BITS + ".");
+        }
+        if (enabled && secret.isEmpty()) {
+            throw new IllegalArgumentException("Cluster secret has to be set when the cluster is enabled.");
+        }
+        partitionBits = enabled ? configuredPartitionBits : 0;
+        partitionMask = (1 << partitionBits) - 1;
+        configuredNodes.stream().map(String::trim).filter(node -> !node.isEmpty()).distinct().forEach(nodes::add);
+        if (!nodes.contains(self)) {
+            nodes.add(self);
+        }
+        updateMembers(enabled ? nodes : List.of(self));
+    }
+
+    /**
+     * The <code>updateMembers</code> method rebuilds the ring of the live nodes, if they are changed. The members have
+     * to include this node.
+     *
+     * @param members - The live nodes.
+     * @return boolean - <code>true</code> if the ring is changed, otherwise <code>false</code>.
+     */
+    public synchronized boolean updateMembers(Collection<String> members) {
+        HashRing current = ring;
+        if (current != null && current.getNodes().size() == members.size() && current.getNodes().containsAll(members)) {
+            return false;
+        }
+        HashRing updated = new HashRing(members, virtualNodes, 1 << partitionBits);
+        int[] owned = updated.partitionsOf(self);
+        if (owned.length == 0) {
+            throw new IllegalStateException("No partition is owned by " + self + ", more partition bits are needed.");
+        }
+        ownedPartitions = owned;
+        ring = updated;
+        log.info("Cluster members are {}, {} of {} partitions are owned by {}.", updated.getNodes(), owned.length,
+                1 << partitionBits, self);
+        return true;
+    }
+
+    /**
+     * The <code>nextPartition</code> method selects the partition of the new game, in turns among the partitions owned
+     * by this node.
+     *
+     * @return int - The partition.
+     */
+    public int nextPartition() {
+        int[] owned = ownedPartitions;
+        return owned[(turn.getAndIncrement() & Integer.MAX_VALUE) % owned.length];
+    }
+
+    /**
+     * The <code>partitionOf</code> method returns the partition encoded in the game id.
+     *
+     * @param gameId - The id of the game.
+     * @return int - The partition.
+     */
+    public int partitionOf(int gameId) {
+        return gameId & partitionMask;
+    }
+
+    /**
+     * The <code>ownerOf</code> method returns the node which owns the game.
+     *
+     * @param gameId - The id of the game.
+     * @return String - The base url of the owning node.
+     */
+    public String ownerOf(int gameId) {
+        return ring.ownerOf(gameId & partitionMask);
+    }
+
+    /**
+     * The <code>isLocal</code> method checks whether the game is owned by this node.
+     *
+     * @param gameId - The id of the game.
+     * @return boolean - <code>true</code> if the game is owned by this node, otherwise <code>false</code>.
+     */
+    public boolean isLocal(int gameId) {
+        return !enabled || self.equals(ring.ownerOf(gameId & partitionMask));
+    }
+
+    /**
+     * The <code>isTrusted</code> method checks whether the request is sent by the other node of the cluster, by the
+     * secret which came with it. The secrets are compared in the constant time.
+     *
+     * @param presented - The secret which came with the request, or <code>null</code> if there is no secret.
+     * @return boolean - <code>true</code> if the secret is the one of the cluster, otherwise <code>false</code>.
+     */
+    public boolean isTrusted(String presented) {
+        return enabled && presented != null && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The <code>isEnabled</code> method returns the indicator whether the games are partitioned across the nodes.
+     *
+     * @return boolean - <code>true</code> if the cluster is enabled, otherwise <code>false</code>.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The <code>getPartitionBits</code> method returns the number of the partition bits of the game id.
+     *
+     * @return int - The partition bits, 0 when the cluster is disabled.
+     */
+    public int getPartitionBits() {
+        return partitionBits;
+    }
+
+    /**
+     * The <code>getSelf</code> method returns the base url of this node.
+     *
+     * @return String - The base url.
+     */
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * The <code>getSecret</code> method returns the secret shared by the nodes of the cluster.
+     *
+     * @return String - The secret, empty when the cluster is disabled.
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * The <code>getNodes</code> method returns all the configured nodes, including this node.
+     *
+     * @return List - The base urls of the nodes.
+     */
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The <code>getNodeIndex</code> method returns the index of this node among all the configured nodes in their
+     * natural order, the same on every node which is configured with the same nodes.
+     *
+     * @return int - The index of this node.
+     */
+    public int getNodeIndex() {
+        List<String> sortedNodes = new ArrayList<>(nodes);
+        Collections.sort(sortedNodes);
+        return sortedNodes.indexOf(self);
+    }
+
+    /**
+     * The <code>getMembers</code> method returns the nodes of the current ring.
+     *
+     * @return Set - The base urls of the live nodes.
+     */
+    public Set<String> getMembers() {
+        return ring.getNodes();
+    }
+}
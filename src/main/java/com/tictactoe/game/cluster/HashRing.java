@@ -0,0 +1,121 @@
+package com.tictactoe.game.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+
+/**
+ * The <code>HashRing</code> class maps the partitions of the games to the nodes of the cluster by the consistent
+ * hashing. Every node is placed on the ring at the provided number of points (the virtual nodes) and the partition is
+ * owned by the first node point following the point of the partition, so when the node joins or leaves the cluster only
+ * the partitions next to its points change the owner. The owners of all the partitions are resolved once, when the
+ * ring is built, so the routing of the request is a single array access.
+ *
+ * @author Bosko Mijin.
+ */
+public final class HashRing {
+
+    /** The Constant FNV_OFFSET - the offset basis of the 64-bit FNV-1a hash. */
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    /** The Constant FNV_PRIME - the prime of the 64-bit FNV-1a hash. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** The nodes - the members of the ring, sorted. */
+    private final Set<String> nodes;
+
+    /** The owners - the owning node of every partition, indexed by the partition. */
+    private final String[] owners;
+
+    /**
+     * The <code>HashRing</code> parameterized constructor places the nodes on the ring and resolves the owners of the
+     * partitions.
+     *
+     * @param nodes - The members of the ring, at least one.
+     * @param virtualNodes - The number of points of every node on the ring.
+     * @param partitions - The number of the partitions.
+     */
+    public HashRing(Collection<String> nodes, int virtualNodes, int partitions) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one node.");
+        }
+        this.nodes = new TreeSet<>(nodes);
+        NavigableMap<Long, String> points = new TreeMap<>();
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.merge(hash(node + "#" + i), node, BinaryOperator.minBy(Comparator.naturalOrder()));
+            }
+        }
+        owners = new String[partitions];
+        for (int partition = 0; partition < partitions; partition++) {
+            Map.Entry<Long, String> point = points.ceilingEntry(hash("partition#" + partition));
+            owners[partition] = (point == null ? points.firstEntry() : point).getValue();
+        }
+    }
+
+    /**
+     * The <code>ownerOf</code> method returns the node which owns the partition.
+     *
+     * @param partition - The partition.
+     * @return String - The owning node.
+     */
+    public String ownerOf(int partition) {
+        return owners[partition];
+    }
+
+    /**
+     * The <code>partitionsOf</code> method returns the partitions owned by the node.
+     *
+     * @param node - The node.
+     * @return int[] - The owned partitions, in ascending order.
+     */
+    public int[] partitionsOf(String node) {
+        int count = 0;
+        for (String owner : owners) {
+            if (owner.equals(node)) {
+                count++;
+            }
+        }
+        int[] partitions = new int[count];
+        int index = 0;
+        for (int partition = 0; partition < owners.length; partition++) {
+            if (owners[partition].equals(node)) {
+                partitions[index++] = partition;
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * The <code>getNodes</code> method returns the members of the ring.
+     *
+     * @return Set - The nodes, sorted.
+     */
+    public Set<String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * The <code>hash</code> method calculates the point of the key on the ring, the 64-bit FNV-1a hash of its bytes
+     * followed by the finalizer of the MurmurHash3, which spreads the similar keys (e.g. the virtual nodes of the same
+     * node) across the whole ring.
+     *
+     * @param key - The key.
+     * @return long - The point of the key.
+     */
+    private static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (byte value : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,16 @@
+package com.tictactoe.game.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * The <code>SchedulingConfiguration</code> class enables the background tasks of the application, like the eviction of
+ * the games which are not needed anymore.
+ *
+ * @author Bosko Mijin
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+
+}
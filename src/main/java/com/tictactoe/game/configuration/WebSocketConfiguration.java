@@ -0,0 +1,52 @@
+package com.tictactoe.game.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.tictactoe.game.web.socket.GameHandshakeInterceptor;
+import com.tictactoe.game.web.socket.GameWebSocketHandler;
+
+/**
+ * The <code>WebSocketConfiguration</code> class registers the web socket move channel next to the REST endpoints.
+ *
+ * @author Bosko Mijin
+ */
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class WebSocketConfiguration implements WebSocketConfigurer {
+
+    /** The game web socket handler. */
+    @Autowired
+    private GameWebSocketHandler gameWebSocketHandler;
+
+    /** The game handshake interceptor. */
+    @Autowired
+    private GameHandshakeInterceptor gameHandshakeInterceptor;
+
+    /** The game socket path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-socket-path}")
+    private String gameSocketPath;
+
+    /** The allowed origins - defined in the properties as spring profile, only the same origin when empty. */
+    @Value("${game.config.socket-allowed-origins:}")
+    private String[] allowedOrigins;
+
+    /**
+     * The <code>registerWebSocketHandlers</code> method maps the move channel handler to the game socket path. Only
+     * the pages of the same origin and of the configured origins may open the move channel.
+     *
+     * @param registry - The web socket handler registry.
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(gameWebSocketHandler, gameSocketPath).addInterceptors(gameHandshakeInterceptor)
+                .setAllowedOrigins(allowedOrigins);
+    }
+}
@@ -0,0 +1,196 @@
+package com.tictactoe.game.engine;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.util.GameUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameEngine</code> class is the computer opponent of the single player games. The engine plays the move
+ * found by {@link NegamaxSearch} within the configured time limit, so the moves of the engine games are never slower
+ * than the moves of the human ones. The Zobrist keys and the transposition table are created once and shared by all
+ * the engine games, so the positions already solved in one game are answered from the table in the others. The default
+ * 3x3 game is solved at the startup into the {@link PerfectPlayTable}, so its moves are looked up without any search
+ * and the engine never loses. The big boards, where the minimax can't look deep enough, are searched by the
+ * {@link MonteCarloTree} on the workers of the dedicated pool, and the tree of every game is kept for its next move.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+public class GameEngine {
+
+    /** The Constant PLAYER_ID - the id of the player seated for the engine, no token is ever issued for it. */
+    public static final String PLAYER_ID = new UUID(0L, 0L).toString();
+
+    /** The Constant ZOBRIST_SEED - the seed of the Zobrist keys. */
+    private static final long ZOBRIST_SEED = 0x5EED_7AC7_1C7A_C70EL;
+
+    /** The table size - defined in the properties as spring profile. */
+    @Value("${game.config.table-size}")
+    private int tableSize;
+
+    /** The win length - number of marks in line which wins the game, by default the whole row, column or diagonal. */
+    @Value("${game.config.win-length:${game.config.table-size}}")
+    private int winLength;
+
+    /** The move time limit - milliseconds which the search of the single move may take. */
+    @Value("${game.config.engine.move-time-limit:50}")
+    private long moveTimeLimit;
+
+    /** The max depth - the maximal number of moves searched ahead. */
+    @Value("${game.config.engine.max-depth:12}")
+    private int maxDepth;
+
+    /** The transposition table size - the number of entries of the table shared by all the engine games. */
+    @Value("${game.config.engine.transposition-table-size:262144}")
+    private int transpositionTableSize;
+
+    /** The monte carlo min table size - the table size from which the moves are searched by the Monte Carlo search. */
+    @Value("${game.config.engine.monte-carlo.min-table-size:7}")
+    private int monteCarloMinTableSize;
+
+    /** The monte carlo parallelism - the number of workers searching a single move, 0 for the number of processors. */
+    @Value("${game.config.engine.monte-carlo.parallelism:0}")
+    private int monteCarloParallelism;
+
+    /** The monte carlo max tree nodes - the number of nodes above which the tree of the game isn't expanded. */
+    @Value("${game.config.engine.monte-carlo.max-tree-nodes:50000}")
+    private int monteCarloMaxTreeNodes;
+
+    /** The layout - the lines which can win the game. */
+    private LineLayout layout;
+
+    /** The zobrist keys - the random key of every mark in every cell. */
+    private long[] zobristKeys;
+
+    /** The line weights - the value of the line with provided number of marks of a single player. */
+    private int[] lineWeights;
+
+    /** The transposition table - shared by all the engine games. */
+    private TranspositionTable transpositionTable;
+
+    /** The perfect play table - the solved game, only for the 3x3 board won by the whole line. */
+    private PerfectPlayTable perfectPlayTable;
+
+    /** The monte carlo pool - the workers of the Monte Carlo search, only for the big boards. */
+    private ForkJoinPool monteCarloPool;
+
+    /** The monte carlo trees - the search trees of the engine games mapped by the game id. */
+    private final Map<Integer, MonteCarloTree> monteCarloTrees = new ConcurrentHashMap<>();
+
+    /**
+     * The <code>initialize</code> method creates the lines, the keys and the table for the configured board.
+     */
+    @PostConstruct
+    public void initialize() {
+        layout = new LineLayout(tableSize, winLength);
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+        zobristKeys = new long[2 * tableSize * tableSize];
+        for (int i = 0; i < zobristKeys.length; i++) {
+            zobristKeys[i] = random.nextLong();
+        }
+        lineWeights = new int[winLength + 1];
+        for (int marks = 1; marks <= winLength; marks++) {
+            lineWeights[marks] = 1 << Math.min(2 * (marks - 1), 24);
+        }
+        transpositionTable = new TranspositionTable(transpositionTableSize);
+        if (tableSize == PerfectPlayTable.SIZE && winLength == PerfectPlayTable.SIZE) {
+            long start = System.nanoTime();
+            perfectPlayTable = new PerfectPlayTable();
+            log.info("Perfect play table of {} positions solved in {} ms.",
+                    perfectPlayTable.getReachedPositions(), (System.nanoTime() - start) / 1_000_000);
+        }
+        if (tableSize >= monteCarloMinTableSize) {
+            if (monteCarloParallelism <= 0) {
+                monteCarloParallelism = Runtime.getRuntime().availableProcessors();
+            }
+            monteCarloPool = new ForkJoinPool(monteCarloParallelism);
+        }
+    }
+
+    /**
+     * The <code>shutdown</code> method stops the workers of the Monte Carlo search when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (monteCarloPool != null) {
+            monteCarloPool.shutdownNow();
+        }
+    }
+
+    /**
+     * The <code>chooseMove</code> method looks up or searches the best move of the player on the board.
+     *
+     * @param gameId - The id of the game, the search tree of the big board is reused by the next move of the game.
+     * @param board - The board of the game, it isn't changed.
+     * @param mark - The mark of the player on turn, {@link BitBoard#MARK_X} or {@link BitBoard#MARK_O}.
+     * @return int - The cell index <code>row * tableSize + column</code> of the move, or -1 if the board is full.
+     */
+    public int chooseMove(int gameId, Board board, char mark) {
+        if (perfectPlayTable != null && mark == GameUtil.whoIsOnTurn(board.getMovesCount())) {
+            int move = perfectPlayTable.bestMove(board);
+            if (move >= 0) {
+                return move;
+            }
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(moveTimeLimit);
+        byte searchMark = mark == BitBoard.MARK_X ? SearchPosition.X : SearchPosition.O;
+        if (monteCarloPool != null) {
+            return searchMonteCarlo(gameId, board, searchMark, deadline);
+        }
+        SearchPosition position = new SearchPosition(layout, zobristKeys, lineWeights, board);
+        return new NegamaxSearch(position, transpositionTable, deadline).bestMove(searchMark, maxDepth);
+    }
+
+    /**
+     * The <code>onGameStateChanged</code> method drops the search tree of the game which is finished by the move or
+     * evicted, so the trees of the finished games aren't kept until they are evicted.
+     *
+     * @param event - The event which describes the change.
+     */
+    @EventListener
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        if (event.getType() == ChangeType.EVICTED || event.getType() == ChangeType.MOVED && event.isGameOver()) {
+            monteCarloTrees.remove(event.getGameId());
+        }
+    }
+
+    /**
+     * The <code>searchMonteCarlo</code> method searches the move by the tree of the game, advanced by the moves played
+     * since its last search, or by the new tree if the position can't be reached from the kept one. The moves of the
+     * single game are searched one by one, under the lock of the game.
+     *
+     * @param gameId - The id of the game.
+     * @param board - The board of the game.
+     * @param mark - The mark of the player on turn.
+     * @param deadline - The {@link System#nanoTime()} at which the search stops.
+     * @return int - The cell index of the move, or -1 if the board is full.
+     */
+    private int searchMonteCarlo(int gameId, Board board, byte mark, long deadline) {
+        byte[] cells = MonteCarloTree.cellsOf(board);
+        MonteCarloTree tree = monteCarloTrees.get(gameId);
+        if (tree == null || !tree.advanceTo(cells, mark)) {
+            tree = new MonteCarloTree(tableSize, winLength, monteCarloMaxTreeNodes, cells, mark);
+            monteCarloTrees.put(gameId, tree);
+        }
+        return tree.search(monteCarloPool, monteCarloParallelism, deadline);
+    }
+}
@@ -0,0 +1,115 @@
+package com.tictactoe.game.engine;
+
+/**
+ * The <code>LineLayout</code> class enumerates the lines of the board which can win the game - every run of
+ * <code>winLength</code> consecutive cells in a row, a column or a diagonal. When the whole line wins (the default
+ * 3x3 game) these are exactly the rows, the columns and the two diagonals whose sums are kept by the board. The layout
+ * depends only on the configuration, so it is built once and shared by all the searches.
+ *
+ * @author Bosko Mijin.
+ */
+final class LineLayout {
+
+    /** The Constant DIRECTIONS - row and column steps of the row, column, major and minor diagonal lines. */
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+    /** The size - number of rows (and columns) of the board. */
+    private final int size;
+
+    /** The win length - number of marks in line which wins the game. */
+    private final int winLength;
+
+    /** The line count - number of the lines which can win the game. */
+    private final int lineCount;
+
+    /** The cell lines - the indices of the lines which are passing through each of the cells. */
+    private final int[][] cellLines;
+
+    /**
+     * The <code>LineLayout</code> parameterized constructor enumerates the lines. The lines are walked twice, first to
+     * count the lines of every cell and then to fill them, so every cell gets the array of the exact size.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     * @param winLength - The number of marks in line which wins the game.
+     */
+    LineLayout(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        int[] linesPerCell = new int[size * size];
+        lineCount = walkLines(linesPerCell, null);
+        cellLines = new int[size * size][];
+        for (int cell = 0; cell < cellLines.length; cell++) {
+            cellLines[cell] = new int[linesPerCell[cell]];
+        }
+        walkLines(new int[size * size], cellLines);
+    }
+
+    /**
+     * The <code>getSize</code> method returns the number of rows (and columns) of the board.
+     *
+     * @return int - The board size.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * The <code>getWinLength</code> method returns the number of marks in line which wins the game.
+     *
+     * @return int - The win length.
+     */
+    int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * The <code>getLineCount</code> method returns the number of the lines which can win the game.
+     *
+     * @return int - The line count.
+     */
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * The <code>linesOf</code> method returns the indices of the lines which are passing through the cell.
+     *
+     * @param cell - The cell index.
+     * @return int[] - The line indices, shared and never changed.
+     */
+    int[] linesOf(int cell) {
+        return cellLines[cell];
+    }
+
+    /**
+     * The <code>walkLines</code> method visits every cell of every line, counting the lines of each cell and, if the
+     * target is provided, writing the line index into it.
+     *
+     * @param linesPerCell - The counters of the lines of each cell.
+     * @param target - The line indices of each cell which has to be filled, or <code>null</code> when only counting.
+     * @return int - The number of lines.
+     */
+    private int walkLines(int[] linesPerCell, int[][] target) {
+        int line = 0;
+        for (int[] direction : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    int lastRow = row + direction[0] * (winLength - 1);
+                    int lastColumn = column + direction[1] * (winLength - 1);
+                    if (lastRow >= size || lastColumn < 0 || lastColumn >= size) {
+                        continue;
+                    }
+                    for (int i = 0; i < winLength; i++) {
+                        int cell = (row + direction[0] * i) * size + column + direction[1] * i;
+                        if (target != null) {
+                            target[cell][linesPerCell[cell]] = line;
+                        }
+                        linesPerCell[cell]++;
+                    }
+                    line++;
+                }
+            }
+        }
+        return line;
+    }
+}
@@ -0,0 +1,256 @@
+package com.tictactoe.game.engine;
+
+import java.util.Arrays;
+
+/**
+ * The <code>MonteCarloNode</code> class is the position of the {@link MonteCarloTree} reached by a single move. The
+ * statistics are kept from the view of the player who played the move, and are read and changed only while holding the
+ * lock of the node, so the node is shared safely by all the workers of the search.
+ *
+ * @author Bosko Mijin.
+ */
+final class MonteCarloNode {
+
+    /** The Constant EXPLORATION - the weight of the exploration term of the UCT formula. */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    /** The move - the cell of the move which leads to the node, -1 for the root of the empty board. */
+    private final int move;
+
+    /** The mark - the mark of the player who played the move. */
+    private final byte mark;
+
+    /** The winner - the mark of the winner if the move ends the game, {@link SearchPosition#EMPTY} otherwise. */
+    private final byte winner;
+
+    /** The terminal - indicator whether the move ends the game. */
+    private final boolean terminal;
+
+    /** The untried moves - the moves not expanded yet, <code>null</code> until the first expansion. */
+    private int[] untriedMoves;
+
+    /** The untried count - the number of the moves not expanded yet. */
+    private int untriedCount;
+
+    /** The children - the expanded moves in the first <code>childCount</code> elements. */
+    private MonteCarloNode[] children = new MonteCarloNode[0];
+
+    /** The child count - the number of the expanded moves. */
+    private int childCount;
+
+    /** The visits - the number of finished playouts through the node. */
+    private int visits;
+
+    /** The reward - the sum of the playout results for the player of the move, 1 for the win and 0.5 for the draw. */
+    private double reward;
+
+    /** The virtual losses - the number of playouts through the node which are still running. */
+    private int virtualLosses;
+
+    /**
+     * The <code>MonteCarloNode</code> parameterized constructor.
+     *
+     * @param move - The cell of the move.
+     * @param mark - The mark of the player who played the move.
+     * @param winner - The mark of the winner if the move ends the game, {@link SearchPosition#EMPTY} otherwise.
+     * @param terminal - The indicator whether the move ends the game.
+     */
+    MonteCarloNode(int move, byte mark, byte winner, boolean terminal) {
+        this.move = move;
+        this.mark = mark;
+        this.winner = winner;
+        this.terminal = terminal;
+    }
+
+    /**
+     * The <code>getMove</code> method returns the cell of the move.
+     *
+     * @return int - The cell of the move.
+     */
+    int getMove() {
+        return move;
+    }
+
+    /**
+     * The <code>getMark</code> method returns the mark of the player who played the move.
+     *
+     * @return byte - The mark of the move.
+     */
+    byte getMark() {
+        return mark;
+    }
+
+    /**
+     * The <code>getWinner</code> method returns the winner of the game ended by the move.
+     *
+     * @return byte - The mark of the winner, or {@link SearchPosition#EMPTY}.
+     */
+    byte getWinner() {
+        return winner;
+    }
+
+    /**
+     * The <code>isTerminal</code> method checks whether the move ends the game.
+     *
+     * @return boolean - <code>true</code> if the game is over, otherwise <code>false</code>.
+     */
+    boolean isTerminal() {
+        return terminal;
+    }
+
+    /**
+     * The <code>hasUntriedMoves</code> method checks whether the node can be expanded. The moves of the node are listed
+     * by the provided playout on the first call, see {@link Playout#candidateMoves(byte)}.
+     *
+     * @param playout - The playout standing in the position of the node.
+     * @return boolean - <code>true</code> if any move isn't expanded yet, otherwise <code>false</code>.
+     */
+    synchronized boolean hasUntriedMoves(Playout playout) {
+        if (untriedMoves == null) {
+            untriedMoves = playout.candidateMoves(Playout.opponent(mark));
+            untriedCount = untriedMoves.length;
+        }
+        return untriedCount > 0;
+    }
+
+    /**
+     * The <code>takeUntriedMove</code> method removes a random move from the moves not expanded yet.
+     *
+     * @param random - The random number in range of <code>[0, Integer.MAX_VALUE)</code>.
+     * @return int - The cell of the move, or -1 if another worker has taken the last one.
+     */
+    synchronized int takeUntriedMove(int random) {
+        if (untriedCount == 0) {
+            return -1;
+        }
+        int index = random % untriedCount;
+        int move = untriedMoves[index];
+        untriedMoves[index] = untriedMoves[--untriedCount];
+        return move;
+    }
+
+    /**
+     * The <code>addChild</code> method adds the expanded move, with the virtual loss of the worker which expands it.
+     *
+     * @param child - The node of the move.
+     */
+    synchronized void addChild(MonteCarloNode child) {
+        if (childCount == children.length) {
+            children = Arrays.copyOf(children, Math.max(4, 2 * childCount));
+        }
+        child.addVirtualLoss();
+        children[childCount++] = child;
+    }
+
+    /**
+     * The <code>selectChild</code> method selects the expanded move by the UCT formula and adds the virtual loss to it,
+     * so the workers running at the same time spread over different moves.
+     *
+     * @return MonteCarloNode - The selected child, or <code>null</code> if no move is expanded.
+     */
+    synchronized MonteCarloNode selectChild() {
+        MonteCarloNode selected = null;
+        double selectedValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(Math.max(1, visits + virtualLosses));
+        for (int i = 0; i < childCount; i++) {
+            double value = children[i].uctValue(logVisits);
+            if (value > selectedValue) {
+                selectedValue = value;
+                selected = children[i];
+            }
+        }
+        if (selected != null) {
+            selected.addVirtualLoss();
+        }
+        return selected;
+    }
+
+    /**
+     * The <code>findChild</code> method finds the expanded move.
+     *
+     * @param cell - The cell of the move.
+     * @param moveMark - The mark of the move.
+     * @return MonteCarloNode - The child, or <code>null</code> if the move isn't expanded.
+     */
+    synchronized MonteCarloNode findChild(int cell, byte moveMark) {
+        for (int i = 0; i < childCount; i++) {
+            if (children[i].move == cell && children[i].mark == moveMark) {
+                return children[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The <code>mostVisitedChild</code> method returns the move played after the search, the most visited one is the
+     * most robust choice since its value is the best known.
+     *
+     * @return MonteCarloNode - The most visited child, or <code>null</code> if no move is expanded.
+     */
+    synchronized MonteCarloNode mostVisitedChild() {
+        MonteCarloNode best = null;
+        for (int i = 0; i < childCount; i++) {
+            if (best == null || children[i].getVisits() > best.getVisits()) {
+                best = children[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The <code>countNodes</code> method counts the nodes of the subtree.
+     *
+     * @return int - The number of nodes, the node itself included.
+     */
+    synchronized int countNodes() {
+        int count = 1;
+        for (int i = 0; i < childCount; i++) {
+            count += children[i].countNodes();
+        }
+        return count;
+    }
+
+    /**
+     * The <code>update</code> method records the finished playout and removes its virtual loss.
+     *
+     * @param result - The mark of the winner of the playout, or {@link SearchPosition#EMPTY} for the draw.
+     * @param virtualLoss - The indicator whether the playout has added the virtual loss to the node.
+     */
+    synchronized void update(byte result, boolean virtualLoss) {
+        visits++;
+        reward += result == mark ? 1.0 : result == SearchPosition.EMPTY ? 0.5 : 0.0;
+        if (virtualLoss) {
+            virtualLosses--;
+        }
+    }
+
+    /**
+     * The <code>getVisits</code> method returns the number of the finished playouts through the node.
+     *
+     * @return int - The number of visits.
+     */
+    synchronized int getVisits() {
+        return visits;
+    }
+
+    /**
+     * The <code>addVirtualLoss</code> method counts the running playout through the node as the lost one.
+     */
+    private synchronized void addVirtualLoss() {
+        virtualLosses++;
+    }
+
+    /**
+     * The <code>uctValue</code> method calculates the value of the move for the selection.
+     *
+     * @param parentLogVisits - The logarithm of the visits of the parent.
+     * @return double - The average reward of the move increased by the exploration term.
+     */
+    private synchronized double uctValue(double parentLogVisits) {
+        int effectiveVisits = visits + virtualLosses;
+        if (effectiveVisits == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return reward / effectiveVisits + EXPLORATION * Math.sqrt(parentLogVisits / effectiveVisits);
+    }
+}
@@ -0,0 +1,242 @@
+package com.tictactoe.game.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>MonteCarloTree</code> class is the Monte Carlo tree search of a single engine game on the big board, where
+ * the minimax can't look deep enough. Every iteration selects the moves of the tree by the UCT formula, expands one new
+ * move and plays the game to the end by random moves on the primitive {@link Playout} board. The iterations run on all
+ * the workers of the pool at the same time over the one shared tree, the virtual loss of the running playouts spreading
+ * the workers over different moves, until the move time limit. The tree is kept between the moves of the game, so the
+ * search of the next move starts from the subtree of the moves actually played instead of from the scratch.
+ *
+ * @author Bosko Mijin.
+ */
+final class MonteCarloTree {
+
+    /** The size - number of rows (and columns) of the board. */
+    private final int size;
+
+    /** The win length - number of marks in line which wins the game. */
+    private final int winLength;
+
+    /** The max nodes - the number of nodes above which the tree isn't expanded anymore. */
+    private final int maxNodes;
+
+    /** The node count - the number of nodes of the tree. */
+    private final AtomicInteger nodeCount = new AtomicInteger(1);
+
+    /** The root cells - the position of the root, {@link SearchPosition#EMPTY}, {@link SearchPosition#X} or O. */
+    private byte[] rootCells;
+
+    /** The root - the node of the last move before the searched position. */
+    private MonteCarloNode root;
+
+    /**
+     * The <code>MonteCarloTree</code> parameterized constructor.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     * @param winLength - The number of marks in line which wins the game.
+     * @param maxNodes - The number of nodes above which the tree isn't expanded anymore.
+     * @param cells - The cells of the searched position, see {@link #cellsOf(Board)}.
+     * @param mark - The mark of the player on turn.
+     */
+    MonteCarloTree(int size, int winLength, int maxNodes, byte[] cells, byte mark) {
+        this.size = size;
+        this.winLength = winLength;
+        this.maxNodes = maxNodes;
+        rootCells = cells.clone();
+        root = new MonteCarloNode(-1, Playout.opponent(mark), SearchPosition.EMPTY, false);
+    }
+
+    /**
+     * The <code>cellsOf</code> method copies the marks of the board into the primitive cells.
+     *
+     * @param board - The board.
+     * @return byte[] - The cells indexed by <code>row * size + column</code>.
+     */
+    static byte[] cellsOf(Board board) {
+        BitBoard playingBoard = board.getPlayingBoard();
+        int size = playingBoard.getSize();
+        byte[] cells = new byte[size * size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            char mark = playingBoard.getMark(cell / size, cell % size);
+            cells[cell] = mark == BitBoard.MARK_X ? SearchPosition.X
+                    : mark == BitBoard.MARK_O ? SearchPosition.O : SearchPosition.EMPTY;
+        }
+        return cells;
+    }
+
+    /**
+     * The <code>advanceTo</code> method moves the root of the tree to the provided position, following the moves
+     * played since the last search. The nodes outside of the new root are left to the garbage collector.
+     *
+     * @param cells - The cells of the searched position.
+     * @param mark - The mark of the player on turn.
+     * @return boolean - <code>true</code> if the position is reached from the root by the expanded moves, otherwise
+     *         <code>false</code> and the tree has to be created again.
+     */
+    boolean advanceTo(byte[] cells, byte mark) {
+        if (cells.length != rootCells.length) {
+            return false;
+        }
+        List<Integer> playedCells = new ArrayList<>();
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (rootCells[cell] == SearchPosition.EMPTY && cells[cell] != SearchPosition.EMPTY) {
+                playedCells.add(cell);
+            } else if (rootCells[cell] != cells[cell]) {
+                return false;
+            }
+        }
+        MonteCarloNode node = root;
+        byte moveMark = Playout.opponent(root.getMark());
+        while (!playedCells.isEmpty()) {
+            MonteCarloNode next = null;
+            for (int i = 0; i < playedCells.size() && next == null; i++) {
+                int cell = playedCells.get(i);
+                if (cells[cell] == moveMark && (next = node.findChild(cell, moveMark)) != null) {
+                    playedCells.remove(i);
+                }
+            }
+            if (next == null || next.isTerminal()) {
+                return false;
+            }
+            node = next;
+            moveMark = Playout.opponent(moveMark);
+        }
+        if (moveMark != mark) {
+            return false;
+        }
+        root = node;
+        rootCells = cells.clone();
+        nodeCount.set(root.countNodes());
+        return true;
+    }
+
+    /**
+     * The <code>search</code> method searches the position of the root until the deadline. The calling thread takes
+     * part in the search, so at least one playout is done even when all the workers of the pool are busy.
+     *
+     * @param pool - The pool of the workers.
+     * @param parallelism - The number of workers searching the tree at the same time, the calling thread included.
+     * @param deadline - The {@link System#nanoTime()} at which the search stops.
+     * @return int - The cell of the most visited move, or -1 if the board is full.
+     */
+    int search(ForkJoinPool pool, int parallelism, long deadline) {
+        List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+        for (int i = 1; i < parallelism; i++) {
+            workers.add(pool.submit(() -> searchUntil(deadline)));
+        }
+        searchUntil(deadline);
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+        MonteCarloNode best = root.mostVisitedChild();
+        if (best != null) {
+            return best.getMove();
+        }
+        Playout playout = new Playout(size, winLength);
+        playout.reset(rootCells);
+        int[] moves = playout.candidateMoves(Playout.opponent(root.getMark()));
+        return moves.length > 0 ? moves[0] : -1;
+    }
+
+    /**
+     * The <code>getNodeCount</code> method returns the number of nodes of the tree.
+     *
+     * @return int - The number of nodes.
+     */
+    int getNodeCount() {
+        return nodeCount.get();
+    }
+
+    /**
+     * The <code>getRootVisits</code> method returns the number of playouts through the root.
+     *
+     * @return int - The number of playouts, those of the earlier searches reused by the tree included.
+     */
+    int getRootVisits() {
+        return root.getVisits();
+    }
+
+    /**
+     * The <code>searchUntil</code> method runs the iterations of a single worker until the deadline.
+     *
+     * @param deadline - The {@link System#nanoTime()} at which the search stops.
+     */
+    private void searchUntil(long deadline) {
+        Playout playout = new Playout(size, winLength);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<MonteCarloNode> path = new ArrayList<>();
+        do {
+            iterate(playout, random, path);
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * The <code>iterate</code> method selects the path to the new node, plays the game to the end and updates the
+     * statistics of all the nodes of the path.
+     *
+     * @param playout - The board of the worker.
+     * @param random - The random generator of the worker.
+     * @param path - The list reused for the nodes of the path.
+     */
+    private void iterate(Playout playout, ThreadLocalRandom random, List<MonteCarloNode> path) {
+        playout.reset(rootCells);
+        path.clear();
+        path.add(root);
+        MonteCarloNode node = root;
+        while (!node.isTerminal()) {
+            MonteCarloNode child = nodeCount.get() < maxNodes && node.hasUntriedMoves(playout)
+                    ? expand(node, playout, random)
+                    : null;
+            if (child != null) {
+                path.add(child);
+                node = child;
+                break;
+            }
+            child = node.selectChild();
+            if (child == null) {
+                break;
+            }
+            playout.place(child.getMove(), child.getMark());
+            path.add(child);
+            node = child;
+        }
+        byte result = node.isTerminal() ? node.getWinner()
+                : playout.playToEnd(Playout.opponent(node.getMark()), random);
+        for (int i = 0; i < path.size(); i++) {
+            path.get(i).update(result, i > 0);
+        }
+    }
+
+    /**
+     * The <code>expand</code> method adds the random untried move of the node to the tree and plays it on the board.
+     *
+     * @param node - The expanded node.
+     * @param playout - The board standing in the position of the node.
+     * @param random - The random generator of the worker.
+     * @return MonteCarloNode - The new node, or <code>null</code> if another worker has taken the last untried move.
+     */
+    private MonteCarloNode expand(MonteCarloNode node, Playout playout, ThreadLocalRandom random) {
+        int move = node.takeUntriedMove(random.nextInt(Integer.MAX_VALUE));
+        if (move < 0) {
+            return null;
+        }
+        byte mark = Playout.opponent(node.getMark());
+        boolean won = playout.place(move, mark);
+        MonteCarloNode child = new MonteCarloNode(move, mark, won ? mark : SearchPosition.EMPTY,
+                won || playout.isFull());
+        node.addChild(child);
+        nodeCount.incrementAndGet();
+        return child;
+    }
+}
@@ -0,0 +1,292 @@
+package com.tictactoe.game.engine;
+
+import java.util.Arrays;
+
+/**
+ * The <code>NegamaxSearch</code> class searches the best move of the single position by negamax with alpha-beta
+ * pruning. The search is iteratively deepened until the whole game is searched, the maximal depth is reached or the
+ * time of the move runs out, and the best move of the last completed depth is played, so the latency of the move is
+ * bounded regardless of the board size. The results are kept in the shared {@link TranspositionTable}, which orders
+ * the moves of the next depth and is reused by the next moves and the other games.
+ *
+ * @author Bosko Mijin.
+ */
+final class NegamaxSearch {
+
+    /** The Constant WIN - the score of the won game, decreased by the number of moves needed to win. */
+    static final int WIN = 1_000_000_000;
+
+    /** The Constant MAX_EVALUATION - the bound of the evaluation, far below the score of any won game. */
+    private static final int MAX_EVALUATION = WIN / 2;
+
+    /** The Constant TIME_CHECK_INTERVAL - the number of the nodes between two checks of the time. */
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    /** The Constant NEIGHBOURHOOD_MIN_SIZE - the smallest board whose moves are restricted to neighbouring cells. */
+    private static final int NEIGHBOURHOOD_MIN_SIZE = 5;
+
+    /** The position - the searched position, changed and restored during the search. */
+    private final SearchPosition position;
+
+    /** The transposition table - shared by all the searches. */
+    private final TranspositionTable transpositionTable;
+
+    /** The deadline - the value of {@link System#nanoTime()} after which the search is stopped. */
+    private final long deadline;
+
+    /** The nodes - the number of the visited positions. */
+    private long nodes;
+
+    /** The timed out - indicator whether the search is stopped by the deadline. */
+    private boolean timedOut;
+
+    /**
+     * The <code>NegamaxSearch</code> parameterized constructor.
+     *
+     * @param position - The position which has to be searched.
+     * @param transpositionTable - The shared transposition table.
+     * @param deadline - The value of {@link System#nanoTime()} after which the search is stopped.
+     */
+    NegamaxSearch(SearchPosition position, TranspositionTable transpositionTable, long deadline) {
+        this.position = position;
+        this.transpositionTable = transpositionTable;
+        this.deadline = deadline;
+    }
+
+    /**
+     * The <code>bestMove</code> method searches the position deeper and deeper until the time or the depth runs out.
+     *
+     * @param mark - The mark of the player on turn, {@link SearchPosition#X} or {@link SearchPosition#O}.
+     * @param maxDepth - The maximal depth of the search.
+     * @return int - The cell of the best move, or {@link TranspositionTable#NO_MOVE} if the board is full.
+     */
+    int bestMove(byte mark, int maxDepth) {
+        int[] moves = candidateMoves();
+        if (moves.length == 0) {
+            return TranspositionTable.NO_MOVE;
+        }
+        int bestMove = moves[0];
+        int depthLimit = Math.min(maxDepth, position.getCellCount() - position.getMoveCount());
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            int move = searchRoot(moves, mark, depth);
+            if (timedOut) {
+                break;
+            }
+            bestMove = move;
+        }
+        return bestMove;
+    }
+
+    /**
+     * The <code>searchRoot</code> method searches all the moves of the root to the provided depth.
+     *
+     * @param moves - The moves of the root.
+     * @param mark - The mark of the player on turn.
+     * @param depth - The depth of the search.
+     * @return int - The cell of the best move.
+     */
+    private int searchRoot(int[] moves, byte mark, int depth) {
+        orderFirst(moves, TranspositionTable.move(transpositionTable.probe(position.getHash())));
+        int alpha = -WIN - 1;
+        int bestMove = moves[0];
+        for (int move : moves) {
+            int score = scoreMove(move, mark, depth, 0, alpha, WIN + 1);
+            if (timedOut) {
+                return bestMove;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = move;
+            }
+        }
+        transpositionTable.store(position.getHash(), alpha, depth, TranspositionTable.EXACT, bestMove);
+        return bestMove;
+    }
+
+    /**
+     * The <code>negamax</code> method searches the position from the point of view of the player on turn.
+     *
+     * @param mark - The mark of the player on turn.
+     * @param depth - The remaining depth.
+     * @param ply - The distance from the root.
+     * @param alpha - The score which the player on turn is already assured of.
+     * @param beta - The score which the opponent is already assured of.
+     * @return int - The score of the position.
+     */
+    private int negamax(byte mark, int depth, int ply, int alpha, int beta) {
+        if (++nodes % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+            timedOut = true;
+        }
+        if (timedOut) {
+            return 0;
+        }
+        if (position.getMoveCount() == position.getCellCount()) {
+            return 0;
+        }
+        if (depth == 0) {
+            long score = mark == SearchPosition.X ? position.getScore() : -position.getScore();
+            return (int) Math.max(-MAX_EVALUATION, Math.min(MAX_EVALUATION, score));
+        }
+        int originalAlpha = alpha;
+        long data = transpositionTable.probe(position.getHash());
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (data != 0) {
+            hashMove = TranspositionTable.move(data);
+            if (TranspositionTable.depth(data) >= depth) {
+                int score = fromTable(TranspositionTable.score(data), ply);
+                int bound = TranspositionTable.bound(data);
+                if (bound == TranspositionTable.EXACT
+                        || bound == TranspositionTable.LOWER_BOUND && score >= beta
+                        || bound == TranspositionTable.UPPER_BOUND && score <= alpha) {
+                    return score;
+                }
+            }
+        }
+        int[] moves = candidateMoves();
+        orderFirst(moves, hashMove);
+        int best = -WIN - 1;
+        int bestMove = moves[0];
+        for (int move : moves) {
+            int score = scoreMove(move, mark, depth, ply, alpha, beta);
+            if (timedOut) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            alpha = Math.max(alpha, score);
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        transpositionTable.store(position.getHash(), toTable(best, ply), depth, bound, bestMove);
+        return best;
+    }
+
+    /**
+     * The <code>scoreMove</code> method plays the move, scores it for the player who played it and takes it back.
+     *
+     * @param move - The cell of the move.
+     * @param mark - The mark of the player who plays the move.
+     * @param depth - The remaining depth before the move.
+     * @param ply - The distance of the position before the move from the root.
+     * @param alpha - The score which the player is already assured of.
+     * @param beta - The score which the opponent is already assured of.
+     * @return int - The score of the move.
+     */
+    private int scoreMove(int move, byte mark, int depth, int ply, int alpha, int beta) {
+        boolean won = position.place(move, mark);
+        int score = won ? WIN - ply - 1 : -negamax(opponent(mark), depth - 1, ply + 1, -beta, -alpha);
+        position.remove(move);
+        return score;
+    }
+
+    /**
+     * The <code>candidateMoves</code> method lists the free cells worth searching. On the bigger boards only the cells
+     * next to the placed marks are searched (the center on the empty board), on the small boards all the free cells.
+     *
+     * @return int[] - The cells of the moves.
+     */
+    private int[] candidateMoves() {
+        int size = position.getSize();
+        if (size < NEIGHBOURHOOD_MIN_SIZE) {
+            return freeCells(false);
+        }
+        if (position.getMoveCount() == 0) {
+            return new int[] { size / 2 * size + size / 2 };
+        }
+        int[] moves = freeCells(true);
+        return moves.length > 0 ? moves : freeCells(false);
+    }
+
+    /**
+     * The <code>freeCells</code> method lists the free cells.
+     *
+     * @param neighboursOnly - The indicator whether only the cells next to the placed marks are listed.
+     * @return int[] - The cells.
+     */
+    private int[] freeCells(boolean neighboursOnly) {
+        int size = position.getSize();
+        int[] cells = new int[position.getCellCount() - position.getMoveCount()];
+        int count = 0;
+        for (int cell = 0; cell < position.getCellCount(); cell++) {
+            if (position.isFree(cell) && (!neighboursOnly || hasNeighbour(cell, size))) {
+                cells[count++] = cell;
+            }
+        }
+        return count == cells.length ? cells : Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * The <code>hasNeighbour</code> method checks whether any of the eight surrounding cells is taken.
+     *
+     * @param cell - The cell index.
+     * @param size - The board size.
+     * @return boolean - <code>true</code> if the cell has the taken neighbour, otherwise <code>false</code>.
+     */
+    private boolean hasNeighbour(int cell, int size) {
+        int row = cell / size;
+        int column = cell % size;
+        for (int neighbourRow = Math.max(0, row - 1); neighbourRow <= Math.min(size - 1, row + 1); neighbourRow++) {
+            for (int neighbourColumn = Math.max(0, column - 1); neighbourColumn <= Math.min(size - 1, column + 1);
+                    neighbourColumn++) {
+                if (!position.isFree(neighbourRow * size + neighbourColumn)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The <code>orderFirst</code> method moves the provided move to the front, so it is searched first.
+     *
+     * @param moves - The moves.
+     * @param first - The move which has to be searched first, or {@link TranspositionTable#NO_MOVE}.
+     */
+    private static void orderFirst(int[] moves, int first) {
+        for (int i = 1; i < moves.length; i++) {
+            if (moves[i] == first) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = first;
+                return;
+            }
+        }
+    }
+
+    /**
+     * The <code>opponent</code> method returns the mark of the other player.
+     *
+     * @param mark - The mark of the player.
+     * @return byte - The mark of the opponent.
+     */
+    private static byte opponent(byte mark) {
+        return mark == SearchPosition.X ? SearchPosition.O : SearchPosition.X;
+    }
+
+    /**
+     * The <code>toTable</code> method makes the score of the won game relative to the stored position instead of the
+     * root, so the same entry is valid at any distance from the root.
+     *
+     * @param score - The score relative to the root.
+     * @param ply - The distance of the position from the root.
+     * @return int - The score relative to the position.
+     */
+    private static int toTable(int score, int ply) {
+        return score > MAX_EVALUATION ? score + ply : score < -MAX_EVALUATION ? score - ply : score;
+    }
+
+    /**
+     * The <code>fromTable</code> method makes the stored score of the won game relative to the root again.
+     *
+     * @param score - The score relative to the position.
+     * @param ply - The distance of the position from the root.
+     * @return int - The score relative to the root.
+     */
+    private static int fromTable(int score, int ply) {
+        return score > MAX_EVALUATION ? score - ply : score < -MAX_EVALUATION ? score + ply : score;
+    }
+}
@@ -0,0 +1,261 @@
+package com.tictactoe.game.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>PerfectPlayTable</code> class holds the solved 3x3 game - the best move and the outcome of every position
+ * which can be reached by the legal play. The position is addressed by its base-3 code, every cell being a digit (0
+ * free, 1 X, 2 O), so the answer is a single array access. The game is solved once, at the startup: the positions
+ * which are the same up to the rotation or the reflection of the board share the score, so only the canonical one of
+ * every such group is searched, and the scores are then spread over the whole table.
+ *
+ * @author Bosko Mijin.
+ */
+final class PerfectPlayTable {
+
+    /** The Constant SIZE - the number of rows (and columns) of the solved board. */
+    static final int SIZE = 3;
+
+    /** The Constant LOSS - the outcome of the position which the player on turn loses against the perfect play. */
+    static final int LOSS = -1;
+
+    /** The Constant DRAW - the outcome of the position which ends with the draw. */
+    static final int DRAW = 0;
+
+    /** The Constant WIN - the outcome of the position which the player on turn wins. */
+    static final int WIN = 1;
+
+    /** The Constant CELLS - the number of cells. */
+    private static final int CELLS = SIZE * SIZE;
+
+    /** The Constant CODES - the number of base-3 codes of the board. */
+    private static final int CODES = 19_683;
+
+    /** The Constant NOT_REACHED - the entry of the position which can't be reached by the legal play. */
+    private static final byte NOT_REACHED = -1;
+
+    /** The Constant NOT_SOLVED - the score of the canonical position which isn't solved yet. */
+    private static final byte NOT_SOLVED = Byte.MIN_VALUE;
+
+    /** The Constant LINES - the cells of the rows, the columns and the diagonals. */
+    private static final int[][] LINES = { { 0, 1, 2 }, { 3, 4, 5 }, { 6, 7, 8 }, { 0, 3, 6 }, { 1, 4, 7 },
+            { 2, 5, 8 }, { 0, 4, 8 }, { 2, 4, 6 } };
+
+    /** The Constant SYMMETRIES - the cell which moves to each cell by every rotation and reflection of the board. */
+    private static final int[][] SYMMETRIES = { { 0, 1, 2, 3, 4, 5, 6, 7, 8 }, { 6, 3, 0, 7, 4, 1, 8, 5, 2 },
+            { 8, 7, 6, 5, 4, 3, 2, 1, 0 }, { 2, 5, 8, 1, 4, 7, 0, 3, 6 }, { 2, 1, 0, 5, 4, 3, 8, 7, 6 },
+            { 6, 7, 8, 3, 4, 5, 0, 1, 2 }, { 0, 3, 6, 1, 4, 7, 2, 5, 8 }, { 8, 5, 2, 7, 4, 1, 6, 3, 0 } };
+
+    /** The Constant POWERS - the value of the digit of every cell in the code. */
+    private static final int[] POWERS = { 6561, 2187, 729, 243, 81, 27, 9, 3, 1 };
+
+    /** The moves - the best move of every position, or {@link #NOT_REACHED}. */
+    private final byte[] moves;
+
+    /** The outcomes - the outcome of every position for the player on turn. */
+    private final byte[] outcomes;
+
+    /** The canonical scores - the scores of the canonical positions, see {@link #score(int[], int)}. */
+    private final byte[] canonicalScores;
+
+    /** The reached - the codes of the positions reachable by the legal play. */
+    private final BitSet reached;
+
+    /** The canonical positions - the number of the solved canonical positions. */
+    private int canonicalPositions;
+
+    /**
+     * The <code>PerfectPlayTable</code> constructor solves the game from the empty board.
+     */
+    PerfectPlayTable() {
+        moves = new byte[CODES];
+        outcomes = new byte[CODES];
+        canonicalScores = new byte[CODES];
+        reached = new BitSet(CODES);
+        Arrays.fill(moves, NOT_REACHED);
+        Arrays.fill(canonicalScores, NOT_SOLVED);
+        fill(new int[CELLS], 0, 0);
+    }
+
+    /**
+     * The <code>bestMove</code> method returns the best move of the player on turn.
+     *
+     * @param board - The 3x3 board.
+     * @return int - The cell index of the best move, or -1 if the position isn't reachable or the game is over.
+     */
+    int bestMove(Board board) {
+        return moves[code(board)];
+    }
+
+    /**
+     * The <code>outcome</code> method returns the outcome of the position for the player on turn when both players play
+     * perfectly. It is meaningful only for the reachable positions of the game which isn't over.
+     *
+     * @param board - The 3x3 board.
+     * @return int - {@link #WIN}, {@link #DRAW} or {@link #LOSS}.
+     */
+    int outcome(Board board) {
+        return outcomes[code(board)];
+    }
+
+    /**
+     * The <code>getReachedPositions</code> method returns the number of the positions reachable by the legal play.
+     *
+     * @return int - The number of positions, the empty board and the finished games included.
+     */
+    int getReachedPositions() {
+        return reached.cardinality();
+    }
+
+    /**
+     * The <code>getCanonicalPositions</code> method returns the number of the positions which are different up to the
+     * rotation and the reflection of the board.
+     *
+     * @return int - The number of the solved canonical positions.
+     */
+    int getCanonicalPositions() {
+        return canonicalPositions;
+    }
+
+    /**
+     * The <code>fill</code> method visits every position reachable from the provided one and writes its best move and
+     * outcome. The player O is the first on turn, like in the played games.
+     *
+     * @param cells - The cells, changed and restored during the visit.
+     * @param code - The code of the position.
+     * @param moveCount - The number of marks on the board.
+     */
+    private void fill(int[] cells, int code, int moveCount) {
+        if (reached.get(code)) {
+            return;
+        }
+        reached.set(code);
+        int mark = moveCount % 2 == 0 ? 2 : 1;
+        int bestScore = Integer.MIN_VALUE;
+        int bestMove = NOT_REACHED;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (cells[cell] != 0) {
+                continue;
+            }
+            int moveScore = moveScore(cells, cell, mark, moveCount);
+            if (moveScore > bestScore) {
+                bestScore = moveScore;
+                bestMove = cell;
+            }
+            if (!wins(cells, cell, mark) && moveCount + 1 < CELLS) {
+                cells[cell] = mark;
+                fill(cells, code + mark * POWERS[cell], moveCount + 1);
+                cells[cell] = 0;
+            } else {
+                reached.set(code + mark * POWERS[cell]);
+            }
+        }
+        moves[code] = (byte) bestMove;
+        outcomes[code] = (byte) Integer.signum(bestScore);
+    }
+
+    /**
+     * The <code>score</code> method returns the score of the position for the player on turn, searching only the
+     * canonical position of its symmetry group. The won game scores one more than the number of the free cells left
+     * after the winning move, so the quicker win and the later loss are preferred.
+     *
+     * @param cells - The cells, changed and restored during the search.
+     * @param moveCount - The number of marks on the board.
+     * @return int - The positive score if the player on turn wins, 0 for the draw and the negative score if it loses.
+     */
+    private int score(int[] cells, int moveCount) {
+        int canonical = canonicalCode(cells);
+        if (canonicalScores[canonical] != NOT_SOLVED) {
+            return canonicalScores[canonical];
+        }
+        canonicalPositions++;
+        int mark = moveCount % 2 == 0 ? 2 : 1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (cells[cell] == 0) {
+                bestScore = Math.max(bestScore, moveScore(cells, cell, mark, moveCount));
+            }
+        }
+        canonicalScores[canonical] = (byte) bestScore;
+        return bestScore;
+    }
+
+    /**
+     * The <code>moveScore</code> method scores the move for the player who plays it.
+     *
+     * @param cells - The cells, changed and restored during the search.
+     * @param cell - The cell of the move.
+     * @param mark - The mark of the player, 1 for X and 2 for O.
+     * @param moveCount - The number of marks on the board before the move.
+     * @return int - The score of the move.
+     */
+    private int moveScore(int[] cells, int cell, int mark, int moveCount) {
+        if (wins(cells, cell, mark)) {
+            return CELLS - moveCount;
+        }
+        if (moveCount + 1 == CELLS) {
+            return 0;
+        }
+        cells[cell] = mark;
+        int score = -score(cells, moveCount + 1);
+        cells[cell] = 0;
+        return score;
+    }
+
+    /**
+     * The <code>wins</code> method checks whether the mark in the free cell completes any line.
+     *
+     * @param cells - The cells.
+     * @param cell - The free cell.
+     * @param mark - The mark of the player.
+     * @return boolean - <code>true</code> if the move wins, otherwise <code>false</code>.
+     */
+    private static boolean wins(int[] cells, int cell, int mark) {
+        for (int[] line : LINES) {
+            if ((line[0] == cell || cells[line[0]] == mark) && (line[1] == cell || cells[line[1]] == mark)
+                    && (line[2] == cell || cells[line[2]] == mark)
+                    && (line[0] == cell || line[1] == cell || line[2] == cell)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The <code>canonicalCode</code> method returns the smallest code of all the rotations and reflections.
+     *
+     * @param cells - The cells.
+     * @return int - The canonical code.
+     */
+    private static int canonicalCode(int[] cells) {
+        int canonical = Integer.MAX_VALUE;
+        for (int[] symmetry : SYMMETRIES) {
+            int code = 0;
+            for (int cell = 0; cell < CELLS; cell++) {
+                code += cells[symmetry[cell]] * POWERS[cell];
+            }
+            canonical = Math.min(canonical, code);
+        }
+        return canonical;
+    }
+
+    /**
+     * The <code>code</code> method calculates the base-3 code of the board.
+     *
+     * @param board - The 3x3 board.
+     * @return int - The code of the position.
+     */
+    private static int code(Board board) {
+        BitBoard playingBoard = board.getPlayingBoard();
+        int code = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            char mark = playingBoard.getMark(cell / SIZE, cell % SIZE);
+            code += (mark == BitBoard.MARK_X ? 1 : mark == BitBoard.MARK_O ? 2 : 0) * POWERS[cell];
+        }
+        return code;
+    }
+}
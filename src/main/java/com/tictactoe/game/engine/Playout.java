@@ -0,0 +1,221 @@
+package com.tictactoe.game.engine;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The <code>Playout</code> class is the primitive board of a single {@link MonteCarloTree} worker. It is reset to the
+ * root position for every iteration, follows the moves of the tree and then plays the game to the end by random moves.
+ * The free cells are kept in an array with the index of every cell, so the random free cell is picked and removed in
+ * constant time, and the win is checked by counting the marks around the last move only.
+ *
+ * @author Bosko Mijin.
+ */
+final class Playout {
+
+    /** The Constant DIRECTIONS - row and column steps of the row, column, major and minor diagonal lines. */
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+    /** The size - number of rows (and columns) of the board. */
+    private final int size;
+
+    /** The win length - number of marks in line which wins the game. */
+    private final int winLength;
+
+    /** The cells - the marks of the cells, {@link SearchPosition#EMPTY}, {@link SearchPosition#X} or O. */
+    private final byte[] cells;
+
+    /** The free cells - the free cells in the first <code>freeCount</code> elements. */
+    private final int[] freeCells;
+
+    /** The free index - the index of every free cell in <code>freeCells</code>. */
+    private final int[] freeIndex;
+
+    /** The free count - the number of free cells. */
+    private int freeCount;
+
+    /**
+     * The <code>Playout</code> parameterized constructor.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     * @param winLength - The number of marks in line which wins the game.
+     */
+    Playout(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        cells = new byte[size * size];
+        freeCells = new int[size * size];
+        freeIndex = new int[size * size];
+    }
+
+    /**
+     * The <code>reset</code> method copies the position.
+     *
+     * @param position - The cells of the position.
+     */
+    void reset(byte[] position) {
+        System.arraycopy(position, 0, cells, 0, cells.length);
+        freeCount = 0;
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == SearchPosition.EMPTY) {
+                freeIndex[cell] = freeCount;
+                freeCells[freeCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * The <code>place</code> method places the mark in the free cell.
+     *
+     * @param cell - The cell index.
+     * @param mark - The mark, {@link SearchPosition#X} or {@link SearchPosition#O}.
+     * @return boolean - <code>true</code> if the mark completes the winning line, otherwise <code>false</code>.
+     */
+    boolean place(int cell, byte mark) {
+        cells[cell] = mark;
+        int last = freeCells[--freeCount];
+        freeCells[freeIndex[cell]] = last;
+        freeIndex[last] = freeIndex[cell];
+        return wins(cell, mark);
+    }
+
+    /**
+     * The <code>isFull</code> method checks whether all the cells are taken.
+     *
+     * @return boolean - <code>true</code> if there is no free cell, otherwise <code>false</code>.
+     */
+    boolean isFull() {
+        return freeCount == 0;
+    }
+
+    /**
+     * The <code>playToEnd</code> method plays random moves until the game is over.
+     *
+     * @param mark - The mark of the player on turn.
+     * @param random - The random generator of the worker.
+     * @return byte - The mark of the winner, or {@link SearchPosition#EMPTY} for the draw.
+     */
+    byte playToEnd(byte mark, ThreadLocalRandom random) {
+        byte player = mark;
+        while (freeCount > 0) {
+            if (place(freeCells[random.nextInt(freeCount)], player)) {
+                return player;
+            }
+            player = opponent(player);
+        }
+        return SearchPosition.EMPTY;
+    }
+
+    /**
+     * The <code>candidateMoves</code> method lists the moves of the player worth expanding in the tree. The move which
+     * wins at once is the only candidate, and so is the only cell which blocks the immediate win of the opponent,
+     * otherwise the candidates are the free cells next to the placed marks, or the center of the empty board, the same
+     * way as {@link NegamaxSearch} does on the big boards.
+     *
+     * @param mark - The mark of the player on turn.
+     * @return int[] - The cells of the moves.
+     */
+    int[] candidateMoves(byte mark) {
+        if (freeCount == cells.length) {
+            return new int[] { size / 2 * size + size / 2 };
+        }
+        int[] moves = new int[freeCount];
+        int count = 0;
+        int block = -1;
+        for (int i = 0; i < freeCount; i++) {
+            int cell = freeCells[i];
+            if (hasNeighbour(cell)) {
+                if (wins(cell, mark)) {
+                    return new int[] { cell };
+                }
+                if (block < 0 && wins(cell, opponent(mark))) {
+                    block = cell;
+                }
+                moves[count++] = cell;
+            }
+        }
+        if (block >= 0) {
+            return new int[] { block };
+        }
+        if (count == 0) {
+            System.arraycopy(freeCells, 0, moves, 0, freeCount);
+            return moves;
+        }
+        int[] candidates = new int[count];
+        System.arraycopy(moves, 0, candidates, 0, count);
+        return candidates;
+    }
+
+    /**
+     * The <code>opponent</code> method returns the mark of the other player.
+     *
+     * @param mark - The mark of the player.
+     * @return byte - The mark of the opponent.
+     */
+    static byte opponent(byte mark) {
+        return mark == SearchPosition.X ? SearchPosition.O : SearchPosition.X;
+    }
+
+    /**
+     * The <code>wins</code> method checks whether the mark in the cell completes the line of <code>winLength</code>.
+     * The cell itself isn't read, so the move can be checked before it is placed.
+     *
+     * @param cell - The cell of the move.
+     * @param mark - The mark of the move.
+     * @return boolean - <code>true</code> if the move wins, otherwise <code>false</code>.
+     */
+    private boolean wins(int cell, byte mark) {
+        int row = cell / size;
+        int column = cell % size;
+        for (int[] direction : DIRECTIONS) {
+            int count = 1 + count(row, column, direction[0], direction[1], mark)
+                    + count(row, column, -direction[0], -direction[1], mark);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The <code>count</code> method counts the consecutive marks next to the cell in the direction.
+     *
+     * @param row - The row of the cell (not counted).
+     * @param column - The column of the cell (not counted).
+     * @param rowStep - The row step of the direction.
+     * @param columnStep - The column step of the direction.
+     * @param mark - The mark which has to be counted.
+     * @return int - The number of consecutive marks.
+     */
+    private int count(int row, int column, int rowStep, int columnStep, byte mark) {
+        int count = 0;
+        int nextRow = row + rowStep;
+        int nextColumn = column + columnStep;
+        while (count < winLength - 1 && nextRow >= 0 && nextRow < size && nextColumn >= 0 && nextColumn < size
+                && cells[nextRow * size + nextColumn] == mark) {
+            count++;
+            nextRow += rowStep;
+            nextColumn += columnStep;
+        }
+        return count;
+    }
+
+    /**
+     * The <code>hasNeighbour</code> method checks whether any of the eight surrounding cells is taken.
+     *
+     * @param cell - The cell index.
+     * @return boolean - <code>true</code> if the cell has the taken neighbour, otherwise <code>false</code>.
+     */
+    private boolean hasNeighbour(int cell) {
+        int row = cell / size;
+        int column = cell % size;
+        for (int neighbourRow = Math.max(0, row - 1); neighbourRow <= Math.min(size - 1, row + 1); neighbourRow++) {
+            for (int neighbourColumn = Math.max(0, column - 1); neighbourColumn <= Math.min(size - 1, column + 1);
+                    neighbourColumn++) {
+                if (cells[neighbourRow * size + neighbourColumn] != SearchPosition.EMPTY) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
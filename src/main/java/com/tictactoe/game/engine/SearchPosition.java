@@ -0,0 +1,189 @@
+package com.tictactoe.game.engine;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>SearchPosition</code> class is the primitive copy of the board which is searched by {@link NegamaxSearch}.
+ * Like the sums of the {@link Board}, the evaluation is updated incrementally by every placed and removed mark, but
+ * the marks of each player are counted separately per line, because the sum alone can't tell the blocked line from the
+ * empty one. The Zobrist hash of the position is updated the same way.
+ *
+ * @author Bosko Mijin.
+ */
+final class SearchPosition {
+
+    /** The Constant EMPTY - the free cell. */
+    static final byte EMPTY = 0;
+
+    /** The Constant X - the cell with the mark of the player X. */
+    static final byte X = 1;
+
+    /** The Constant O - the cell with the mark of the player O. */
+    static final byte O = 2;
+
+    /** The layout - the lines which can win the game. */
+    private final LineLayout layout;
+
+    /** The zobrist keys - the random key of every mark in every cell. */
+    private final long[] zobristKeys;
+
+    /** The line weights - the value of the line with provided number of marks of a single player. */
+    private final int[] lineWeights;
+
+    /** The cells - the marks of the cells. */
+    private final byte[] cells;
+
+    /** The count X - the number of marks of the player X in every line. */
+    private final int[] countX;
+
+    /** The count O - the number of marks of the player O in every line. */
+    private final int[] countO;
+
+    /** The score - the evaluation of the position from the point of view of the player X. */
+    private long score;
+
+    /** The hash - the Zobrist hash of the position. */
+    private long hash;
+
+    /** The move count - the number of marks on the board. */
+    private int moveCount;
+
+    /**
+     * The <code>SearchPosition</code> parameterized constructor copies the marks of the board.
+     *
+     * @param layout - The lines which can win the game.
+     * @param zobristKeys - The random key of every mark in every cell.
+     * @param lineWeights - The value of the line with provided number of marks of a single player.
+     * @param board - The board which has to be searched.
+     */
+    SearchPosition(LineLayout layout, long[] zobristKeys, int[] lineWeights, Board board) {
+        this.layout = layout;
+        this.zobristKeys = zobristKeys;
+        this.lineWeights = lineWeights;
+        int size = layout.getSize();
+        cells = new byte[size * size];
+        countX = new int[layout.getLineCount()];
+        countO = new int[layout.getLineCount()];
+        BitBoard playingBoard = board.getPlayingBoard();
+        for (int cell = 0; cell < cells.length; cell++) {
+            char mark = playingBoard.getMark(cell / size, cell % size);
+            if (mark != BitBoard.EMPTY) {
+                place(cell, mark == BitBoard.MARK_X ? X : O);
+            }
+        }
+    }
+
+    /**
+     * The <code>place</code> method places the mark in the free cell and updates the evaluation and the hash.
+     *
+     * @param cell - The cell index.
+     * @param mark - The mark, {@link #X} or {@link #O}.
+     * @return boolean - <code>true</code> if the mark completes the winning line, otherwise <code>false</code>.
+     */
+    boolean place(int cell, byte mark) {
+        boolean won = false;
+        for (int line : layout.linesOf(cell)) {
+            score -= lineValue(line);
+            int count = mark == X ? ++countX[line] : ++countO[line];
+            won |= count == layout.getWinLength();
+            score += lineValue(line);
+        }
+        cells[cell] = mark;
+        hash ^= zobristKeys[2 * cell + mark - 1];
+        moveCount++;
+        return won;
+    }
+
+    /**
+     * The <code>remove</code> method removes the mark placed by {@link #place(int, byte)}.
+     *
+     * @param cell - The cell index.
+     */
+    void remove(int cell) {
+        byte mark = cells[cell];
+        for (int line : layout.linesOf(cell)) {
+            score -= lineValue(line);
+            if (mark == X) {
+                countX[line]--;
+            } else {
+                countO[line]--;
+            }
+            score += lineValue(line);
+        }
+        cells[cell] = EMPTY;
+        hash ^= zobristKeys[2 * cell + mark - 1];
+        moveCount--;
+    }
+
+    /**
+     * The <code>isFree</code> method checks whether the cell is free.
+     *
+     * @param cell - The cell index.
+     * @return boolean - <code>true</code> if the cell is free, otherwise <code>false</code>.
+     */
+    boolean isFree(int cell) {
+        return cells[cell] == EMPTY;
+    }
+
+    /**
+     * The <code>getScore</code> method returns the evaluation of the position from the point of view of the player X.
+     *
+     * @return long - The evaluation.
+     */
+    long getScore() {
+        return score;
+    }
+
+    /**
+     * The <code>getHash</code> method returns the Zobrist hash of the position.
+     *
+     * @return long - The hash.
+     */
+    long getHash() {
+        return hash;
+    }
+
+    /**
+     * The <code>getMoveCount</code> method returns the number of marks on the board.
+     *
+     * @return int - The number of marks.
+     */
+    int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * The <code>getCellCount</code> method returns the number of cells of the board.
+     *
+     * @return int - The number of cells.
+     */
+    int getCellCount() {
+        return cells.length;
+    }
+
+    /**
+     * The <code>getSize</code> method returns the number of rows (and columns) of the board.
+     *
+     * @return int - The board size.
+     */
+    int getSize() {
+        return layout.getSize();
+    }
+
+    /**
+     * The <code>lineValue</code> method returns the value of the line from the point of view of the player X. The line
+     * with marks of both players can't win anymore, so it is worth nothing.
+     *
+     * @param line - The line index.
+     * @return int - The value of the line.
+     */
+    private int lineValue(int line) {
+        int marksX = countX[line];
+        int marksO = countO[line];
+        if (marksX > 0 && marksO > 0) {
+            return 0;
+        }
+        return marksX > 0 ? lineWeights[marksX] : -lineWeights[marksO];
+    }
+}
@@ -0,0 +1,114 @@
+package com.tictactoe.game.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The <code>TranspositionTable</code> class remembers the results of the searched positions by their Zobrist hash. The
+ * table is shared by the searches of all the games, which are running concurrently without any lock: every entry is
+ * two longs, the data and the hash xor-ed with the data, so the entry torn by two concurrent writers simply doesn't
+ * match the hash and is treated as missing. The new entry always replaces the old one in its slot.
+ *
+ * @author Bosko Mijin.
+ */
+final class TranspositionTable {
+
+    /** The Constant EXACT - the stored score is the exact value of the position. */
+    static final int EXACT = 0;
+
+    /** The Constant LOWER_BOUND - the stored score is the lower bound, the search failed high. */
+    static final int LOWER_BOUND = 1;
+
+    /** The Constant UPPER_BOUND - the stored score is the upper bound, the search failed low. */
+    static final int UPPER_BOUND = 2;
+
+    /** The Constant NO_MOVE - the move of the entry without the best move. */
+    static final int NO_MOVE = -1;
+
+    /** The entries - the checks and the data of the entries, two longs per entry. */
+    private final AtomicLongArray entries;
+
+    /** The mask - maps the hash to the entry, the number of entries is a power of two. */
+    private final int mask;
+
+    /**
+     * The <code>TranspositionTable</code> parameterized constructor.
+     *
+     * @param size - The requested number of entries, rounded up to the power of two.
+     */
+    TranspositionTable(int size) {
+        if (size <= 0 || size > 1 << 28) {
+            throw new IllegalArgumentException("Transposition table size has to be between 1 and 2^28.");
+        }
+        int entryCount = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        entries = new AtomicLongArray(2 * entryCount);
+        mask = entryCount - 1;
+    }
+
+    /**
+     * The <code>probe</code> method returns the data stored for the hash.
+     *
+     * @param hash - The Zobrist hash of the position.
+     * @return long - The data of the entry, or 0 if there is no entry for the hash.
+     */
+    long probe(long hash) {
+        int index = 2 * ((int) (hash ^ hash >>> 32) & mask);
+        long data = entries.getOpaque(index + 1);
+        return data != 0 && (entries.getOpaque(index) ^ data) == hash ? data : 0;
+    }
+
+    /**
+     * The <code>store</code> method stores the result of the search of the position.
+     *
+     * @param hash - The Zobrist hash of the position.
+     * @param score - The score of the position.
+     * @param depth - The depth of the search, from 0 to 255.
+     * @param bound - The kind of the score, {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}.
+     * @param move - The best move, or {@link #NO_MOVE}.
+     */
+    void store(long hash, int score, int depth, int bound, int move) {
+        long data = (score & 0xFFFF_FFFFL) | (long) depth << 32 | (long) bound << 40 | (long) (move + 1) << 42;
+        int index = 2 * ((int) (hash ^ hash >>> 32) & mask);
+        entries.setOpaque(index, hash ^ data);
+        entries.setOpaque(index + 1, data);
+    }
+
+    /**
+     * The <code>score</code> method extracts the score from the data of the entry.
+     *
+     * @param data - The data of the entry.
+     * @return int - The score.
+     */
+    static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * The <code>depth</code> method extracts the depth from the data of the entry.
+     *
+     * @param data - The data of the entry.
+     * @return int - The depth.
+     */
+    static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    /**
+     * The <code>bound</code> method extracts the kind of the score from the data of the entry.
+     *
+     * @param data - The data of the entry.
+     * @return int - The kind of the score.
+     */
+    static int bound(long data) {
+        return (int) (data >>> 40) & 3;
+    }
+
+    /**
+     * The <code>move</code> method extracts the best move from the data of the entry.
+     *
+     * @param data - The data of the entry.
+     * @return int - The best move, or {@link #NO_MOVE}.
+     */
+    static int move(long data) {
+        return (int) (data >>> 42) - 1;
+    }
+}
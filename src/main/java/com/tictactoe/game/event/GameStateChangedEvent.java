@@ -0,0 +1,67 @@
+package com.tictactoe.game.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The <code>GameStateChangedEvent</code> class is an application event which is published every time the state of the
+ * game is changed - when the game is created, when the other player joins the game, when a mark is placed, when the
+ * game is evicted from memory and when the game is handed over by the other node of the cluster.
+ *
+ * @author Bosko Mijin
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GameStateChangedEvent {
+
+    /** The type of the change. */
+    private final ChangeType type;
+
+    /** The id of the changed game. */
+    private final int gameId;
+
+    /** The position of the placed mark, or <code>null</code> if the change isn't a move. */
+    private final String position;
+
+    /** The mark of the player which has changed the game. */
+    private final char mark;
+
+    /** The indicator whether the game is over after the change, set only for the move. */
+    private final boolean gameOver;
+
+    /**
+     * The <code>GameStateChangedEvent</code> parameterized constructor creates the event of the change which doesn't
+     * finish the game.
+     *
+     * @param type - The type of the change.
+     * @param gameId - The id of the changed game.
+     * @param position - The position of the placed mark, or <code>null</code> if the change isn't a move.
+     * @param mark - The mark of the player which has changed the game.
+     */
+    public GameStateChangedEvent(ChangeType type, int gameId, String position, char mark) {
+        this(type, gameId, position, mark, false);
+    }
+
+    /**
+     * The <code>ChangeType</code> enum holds the types of the game changes.
+     */
+    public enum ChangeType {
+
+        /** The game is created by the player X. */
+        CREATED,
+
+        /** The player O joined the game. */
+        JOINED,
+
+        /** The mark is placed. */
+        MOVED,
+
+        /** The game is evicted from memory. */
+        EVICTED,
+
+        /** The game is handed over by the other node of the cluster, or its held copy is replaced by the newer one. */
+        RECEIVED
+    }
+}
@@ -0,0 +1,142 @@
+package com.tictactoe.game.model;
+
+/**
+ * The <code>BitBoard</code> class represents the cells of the playing table as bit sets, one bit set per player. Cell
+ * with row index <code>r</code> and column index <code>c</code> is the bit <code>r * size + c</code>. Occupancy checks,
+ * placing marks and fullness checks are plain bit operations which don't allocate anything.
+ *
+ * @author Bosko Mijin.
+ */
+public abstract class BitBoard {
+
+    /** The Constant SINGLE_WORD_MAX_SIZE - the biggest board size which fits into a single long per player. */
+    public static final int SINGLE_WORD_MAX_SIZE = 8;
+
+    /** The Constant MARK_X - the mark of the player X. */
+    public static final char MARK_X = 'X';
+
+    /** The Constant MARK_O - the mark of the player O. */
+    public static final char MARK_O = 'O';
+
+    /** The Constant EMPTY - the value returned for the cell without mark. */
+    public static final char EMPTY = ' ';
+
+    /** The size - number of rows (and columns) of the board. */
+    private final int size;
+
+    /**
+     * The <code>BitBoard</code> parameterized constructor sets the size of the board.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     */
+    protected BitBoard(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Board size has to be positive.");
+        }
+        this.size = size;
+    }
+
+    /**
+     * The <code>of</code> method creates the bit board which fits the requested size - a single <code>long</code> per
+     * player for boards up to 8x8, and <code>long</code> arrays for the bigger ones.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     * @return BitBoard - The empty bit board.
+     */
+    public static BitBoard of(int size) {
+        return size <= SINGLE_WORD_MAX_SIZE ? new LongBitBoard(size) : new LongArrayBitBoard(size);
+    }
+
+    /**
+     * The <code>getSize</code> method returns the number of rows (and columns) of the board.
+     *
+     * @return int - The board size.
+     */
+    public final int getSize() {
+        return size;
+    }
+
+    /**
+     * The <code>cellIndex</code> method calculates the bit index of the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return int - The bit index of the cell.
+     */
+    protected final int cellIndex(int rowIndex, int columnIndex) {
+        if (rowIndex < 0 || rowIndex >= size || columnIndex < 0 || columnIndex >= size) {
+            throw new IndexOutOfBoundsException("Cell is outside of the board.");
+        }
+        return rowIndex * size + columnIndex;
+    }
+
+    /**
+     * The <code>isFull</code> method checks whether all the cells are taken.
+     *
+     * @return boolean - <code>true</code> if there is no free cell, otherwise <code>false</code>.
+     */
+    public boolean isFull() {
+        return getMoveCount() == size * size;
+    }
+
+    /**
+     * The <code>countMarks</code> method counts the consecutive marks of the player, starting next to the provided cell
+     * and walking in the provided direction until the other mark, a free cell, the edge of the board or the limit is
+     * reached.
+     *
+     * @param rowIndex - The row index of the starting cell (not counted).
+     * @param columnIndex - The column index of the starting cell (not counted).
+     * @param rowStep - The row step of the direction, -1, 0 or 1.
+     * @param columnStep - The column step of the direction, -1, 0 or 1.
+     * @param mark - The mark which has to be counted.
+     * @param limit - The maximal number of cells which has to be visited.
+     * @return int - The number of consecutive marks in the direction.
+     */
+    public int countMarks(int rowIndex, int columnIndex, int rowStep, int columnStep, char mark, int limit) {
+        int count = 0;
+        int row = rowIndex + rowStep;
+        int column = columnIndex + columnStep;
+        while (count < limit && row >= 0 && row < size && column >= 0 && column < size
+                && getMark(row, column) == mark) {
+            count++;
+            row += rowStep;
+            column += columnStep;
+        }
+        return count;
+    }
+
+    /**
+     * The <code>isOccupied</code> method checks whether the cell is already taken by any of the players.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return boolean - <code>true</code> if the cell is taken, otherwise <code>false</code>.
+     */
+    public abstract boolean isOccupied(int rowIndex, int columnIndex);
+
+    /**
+     * The <code>getMark</code> method returns the mark placed in the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return char - The mark in the cell, or {@link #EMPTY} if the cell is free.
+     */
+    public abstract char getMark(int rowIndex, int columnIndex);
+
+    /**
+     * The <code>place</code> method places the mark in the cell if the cell is free.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @param mark - The mark of the player, {@link #MARK_X} or {@link #MARK_O}.
+     * @return boolean - <code>true</code> if the mark is placed, <code>false</code> if the cell was already taken.
+     */
+    public abstract boolean place(int rowIndex, int columnIndex, char mark);
+
+    /**
+     * The <code>getMoveCount</code> method returns the number of marks placed on the board.
+     *
+     * @return int - The number of taken cells.
+     */
+    public abstract int getMoveCount();
+}
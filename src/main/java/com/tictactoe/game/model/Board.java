@@ -1,12 +1,5 @@
 package com.tictactoe.game.model;
 
-import java.io.Serializable;
-import java.security.SecureRandom;
-import java.util.HashMap;
-import java.util.Map;
-
-import org.apache.commons.lang3.tuple.Pair;
-
 import lombok.Getter;
 
 /**
@@ -15,14 +8,14 @@ import lombok.Getter;
  *
  * @author Bosko Mijin.
  */
-public class Board implements Serializable {
+public class Board {
 
-    /** The Constant serialVersionUID. */
-    private static final long serialVersionUID = new SecureRandom().nextLong();
+    /** The Constant DIRECTIONS - row and column steps of the row, column, major and minor diagonal lines. */
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
 
-    /** The playing board. */
+    /** The playing board - the cells taken by each of the players. */
     @Getter
-    private Map<Pair<Integer, Integer>, Character> playingBoard;
+    private BitBoard playingBoard;
 
     /** The calculated sum row by row. */
     private int[] sumByRows;
@@ -37,14 +30,103 @@ public class Board implements Serializable {
     private int sumMinorDiagonal;
 
     /**
-     * The <code>Board</code> parameterized constructor initializes the playing table map.
+     * The <code>Board</code> parameterized constructor initializes the playing table.
+     *
+     * @param boardSize - The number of rows (and columns) of the board.
      */
     public Board(int boardSize) {
-        playingBoard = new HashMap<>();
+        playingBoard = BitBoard.of(boardSize);
         this.sumByRows = new int[boardSize];
         this.sumByColumns = new int[boardSize];
     }
 
+    /**
+     * The <code>Board</code> parameterized constructor for the boards whose cells are held elsewhere, e.g. the views of
+     * the packed games. Such board has no sums, it has to calculate the move values from the cells.
+     *
+     * @param playingBoard - The playing board which holds the cells.
+     */
+    protected Board(BitBoard playingBoard) {
+        this.playingBoard = playingBoard;
+    }
+
+    /**
+     * The <code>putMark</code> method places the mark in the cell if the cell is free.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @param mark - The mark of the player.
+     * @return boolean - <code>true</code> if the mark is placed, <code>false</code> if the cell was already taken.
+     */
+    public boolean putMark(int rowIndex, int columnIndex, char mark) {
+        return playingBoard.place(rowIndex, columnIndex, mark);
+    }
+
+    /**
+     * The <code>getMovesCount</code> method returns the number of marks placed on the board.
+     *
+     * @return int - The number of taken cells.
+     */
+    public int getMovesCount() {
+        return playingBoard.getMoveCount();
+    }
+
+    /**
+     * The <code>isFull</code> method checks whether all the cells of the board are taken.
+     *
+     * @return boolean - <code>true</code> if there is no free cell, otherwise <code>false</code>.
+     */
+    public boolean isFull() {
+        return playingBoard.isFull();
+    }
+
+    /**
+     * The <code>isWinningMove</code> method checks whether the mark in the provided cell completes the line of at least
+     * <code>winLength</code> marks in any direction. Only the cells around the provided cell are visited, so the check
+     * costs O(winLength) regardless of the board size.
+     *
+     * @param rowIndex - The row index of the last move.
+     * @param columnIndex - The column index of the last move.
+     * @param winLength - The number of marks in line which wins the game.
+     * @return boolean - <code>true</code> if the move is winning, otherwise <code>false</code>.
+     */
+    public boolean isWinningMove(int rowIndex, int columnIndex, int winLength) {
+        char mark = playingBoard.getMark(rowIndex, columnIndex);
+        if (mark == BitBoard.EMPTY) {
+            return false;
+        }
+        for (int[] direction : DIRECTIONS) {
+            int count = 1
+                    + playingBoard.countMarks(rowIndex, columnIndex, direction[0], direction[1], mark, winLength - 1)
+                    + playingBoard.countMarks(rowIndex, columnIndex, -direction[0], -direction[1], mark,
+                            winLength - 1);
+            if (count >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The <code>addMoveValues</code> method adds the value of the move to the sums of its row, its column and the
+     * diagonals which are containing the cell. The value is 1 for the player X and -1 for the player O.
+     *
+     * @param rowIndex - The row index of the move.
+     * @param columnIndex - The column index of the move.
+     * @param mark - The mark of the player.
+     */
+    public void addMoveValues(int rowIndex, int columnIndex, char mark) {
+        int moveValue = mark == BitBoard.MARK_X ? 1 : -1;
+        addValueToSumByRows(rowIndex, moveValue);
+        addValueToSumByColumns(columnIndex, moveValue);
+        if (rowIndex == columnIndex) {
+            addValueToSumMajorDiagonal(moveValue);
+        }
+        if (columnIndex == playingBoard.getSize() - rowIndex - 1) {
+            addValueToSumMinorDiagonal(moveValue);
+        }
+    }
+
     /**
      * The <code>addValueToSumByRows</code> method adds the value to row sum count by index.
      *
@@ -1,9 +1,6 @@
 package com.tictactoe.game.model;
 
-import java.io.Serializable;
-import java.security.SecureRandom;
 import java.util.Map;
-import java.util.UUID;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,26 +16,30 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Game implements Serializable {
-
-    /** The Constant serialVersionUID. */
-    private static final long serialVersionUID = new SecureRandom().nextLong();
+public class Game {
 
     /** The id. */
     private int id;
 
-    /** A secondary unique identifier which may be used as a reference to this entity by external systems. */
-    private final String referenceId = UUID.randomUUID().toString();
-
     /** The players - players which are participating in the game. */
     private Map<Player, Character> players;
 
     /** The board - game board which holds the current game position. */
     private Board board;
 
-    /** The isGameOver - game over indicator. */
-    private boolean isGameOver;
+    /** The isGameOver - game over indicator, written under the game lock and read without it. */
+    private volatile boolean isGameOver;
+
+    /** The winner, written under the game lock and read without it. */
+    private volatile Character winner;
+
+    /** The last activity time - epoch milliseconds of the creation, the join or the last move. */
+    private volatile long lastActivityTime;
 
-    /** The winner. */
-    private Character winner;
+    /**
+     * The <code>touch</code> method records the activity on the game, the idle games are evicted according to it.
+     */
+    public void touch() {
+        lastActivityTime = System.currentTimeMillis();
+    }
 }
@@ -0,0 +1,96 @@
+package com.tictactoe.game.model;
+
+/**
+ * The <code>LongArrayBitBoard</code> class is the {@link BitBoard} for boards bigger than 8x8, where the cells of each
+ * player are held in a <code>long</code> array, 64 cells per element.
+ *
+ * @author Bosko Mijin.
+ */
+public final class LongArrayBitBoard extends BitBoard {
+
+    /** The cells taken by the player X. */
+    private final long[] cellsX;
+
+    /** The cells taken by the player O. */
+    private final long[] cellsO;
+
+    /** The move count - number of taken cells. */
+    private int moveCount;
+
+    /**
+     * The <code>LongArrayBitBoard</code> parameterized constructor creates the empty board.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     */
+    public LongArrayBitBoard(int size) {
+        super(size);
+        int words = (size * size + Long.SIZE - 1) >>> 6;
+        cellsX = new long[words];
+        cellsO = new long[words];
+    }
+
+    /**
+     * The <code>isOccupied</code> method checks whether the cell is already taken by any of the players.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return boolean - <code>true</code> if the cell is taken, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean isOccupied(int rowIndex, int columnIndex) {
+        int cell = cellIndex(rowIndex, columnIndex);
+        return ((cellsX[cell >>> 6] | cellsO[cell >>> 6]) & (1L << cell)) != 0;
+    }
+
+    /**
+     * The <code>getMark</code> method returns the mark placed in the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return char - The mark in the cell, or {@link BitBoard#EMPTY} if the cell is free.
+     */
+    @Override
+    public char getMark(int rowIndex, int columnIndex) {
+        int cell = cellIndex(rowIndex, columnIndex);
+        long bit = 1L << cell;
+        if ((cellsX[cell >>> 6] & bit) != 0) {
+            return MARK_X;
+        }
+        return (cellsO[cell >>> 6] & bit) != 0 ? MARK_O : EMPTY;
+    }
+
+    /**
+     * The <code>place</code> method places the mark in the cell if the cell is free.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @param mark - The mark of the player.
+     * @return boolean - <code>true</code> if the mark is placed, <code>false</code> if the cell was already taken.
+     */
+    @Override
+    public boolean place(int rowIndex, int columnIndex, char mark) {
+        int cell = cellIndex(rowIndex, columnIndex);
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        if (((cellsX[word] | cellsO[word]) & bit) != 0) {
+            return false;
+        }
+        if (mark == MARK_X) {
+            cellsX[word] |= bit;
+        } else {
+            cellsO[word] |= bit;
+        }
+        moveCount++;
+        return true;
+    }
+
+    /**
+     * The <code>getMoveCount</code> method returns the number of marks placed on the board.
+     *
+     * @return int - The number of taken cells.
+     */
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+}
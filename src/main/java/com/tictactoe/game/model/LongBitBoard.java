@@ -0,0 +1,88 @@
+package com.tictactoe.game.model;
+
+/**
+ * The <code>LongBitBoard</code> class is the {@link BitBoard} for boards up to 8x8, where the cells of each player fit
+ * into a single <code>long</code>.
+ *
+ * @author Bosko Mijin.
+ */
+public final class LongBitBoard extends BitBoard {
+
+    /** The cells taken by the player X. */
+    private long cellsX;
+
+    /** The cells taken by the player O. */
+    private long cellsO;
+
+    /**
+     * The <code>LongBitBoard</code> parameterized constructor creates the empty board.
+     *
+     * @param size - The number of rows (and columns) of the board, up to {@link BitBoard#SINGLE_WORD_MAX_SIZE}.
+     */
+    public LongBitBoard(int size) {
+        super(size);
+        if (size > SINGLE_WORD_MAX_SIZE) {
+            throw new IllegalArgumentException("Board doesn't fit into a single word.");
+        }
+    }
+
+    /**
+     * The <code>isOccupied</code> method checks whether the cell is already taken by any of the players.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return boolean - <code>true</code> if the cell is taken, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean isOccupied(int rowIndex, int columnIndex) {
+        return ((cellsX | cellsO) & (1L << cellIndex(rowIndex, columnIndex))) != 0;
+    }
+
+    /**
+     * The <code>getMark</code> method returns the mark placed in the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return char - The mark in the cell, or {@link BitBoard#EMPTY} if the cell is free.
+     */
+    @Override
+    public char getMark(int rowIndex, int columnIndex) {
+        long bit = 1L << cellIndex(rowIndex, columnIndex);
+        if ((cellsX & bit) != 0) {
+            return MARK_X;
+        }
+        return (cellsO & bit) != 0 ? MARK_O : EMPTY;
+    }
+
+    /**
+     * The <code>place</code> method places the mark in the cell if the cell is free.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @param mark - The mark of the player.
+     * @return boolean - <code>true</code> if the mark is placed, <code>false</code> if the cell was already taken.
+     */
+    @Override
+    public boolean place(int rowIndex, int columnIndex, char mark) {
+        long bit = 1L << cellIndex(rowIndex, columnIndex);
+        if (((cellsX | cellsO) & bit) != 0) {
+            return false;
+        }
+        if (mark == MARK_X) {
+            cellsX |= bit;
+        } else {
+            cellsO |= bit;
+        }
+        return true;
+    }
+
+    /**
+     * The <code>getMoveCount</code> method returns the number of marks placed on the board.
+     *
+     * @return int - The number of taken cells.
+     */
+    @Override
+    public int getMoveCount() {
+        return Long.bitCount(cellsX | cellsO);
+    }
+}
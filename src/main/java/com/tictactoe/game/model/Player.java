@@ -1,7 +1,5 @@
 package com.tictactoe.game.model;
 
-import java.io.Serializable;
-import java.security.SecureRandom;
 import java.util.UUID;
 
 import lombok.AllArgsConstructor;
@@ -16,11 +14,9 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 @Builder
-public class Player implements Serializable {
-
-    /** The Constant serialVersionUID. */
-    private static final long serialVersionUID = new SecureRandom().nextLong();
+public class Player {
 
     /** An unique identifier which may be used as a reference to this entity by external systems. */
+    @Builder.Default
     private final String id = UUID.randomUUID().toString();
 }
@@ -0,0 +1,165 @@
+package com.tictactoe.game.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>GameCodec</code> class encodes the game into the compact binary record and decodes it back, it is used by
+ * the snapshot and by the stores which are holding the games outside of the heap. All the values are primitives, the
+ * cells of each player are written as the bit set words, so the 3x3 game with two players takes less than 80 bytes.
+ * The record is:
+ * <code>[gameId:4][lastActivityTime:8][gameOver:1][winner:2][boardSize:2][playerCount:1]([mark:2][playerId:16])*
+ * [wordCount:2][cellsX:8*wordCount][cellsO:8*wordCount]</code>, where the winner is 0 while there is no winner and the
+ * board size is 0 for the game without board.
+ *
+ * @author Bosko Mijin.
+ */
+public final class GameCodec {
+
+    /** The Constant NO_WINNER - the winner of the game which isn't finished. */
+    private static final char NO_WINNER = 0;
+
+    /** The Constant FIXED_SIZE - the size of the values which are in every record, regardless of the game. */
+    private static final int FIXED_SIZE = Integer.BYTES + Long.BYTES + 1 + Character.BYTES + Short.BYTES + 1
+            + Short.BYTES;
+
+    /** The Constant PLAYER_SIZE - the size of the single player. */
+    private static final int PLAYER_SIZE = Character.BYTES + 2 * Long.BYTES;
+
+    /**
+     * The <code>GameCodec</code> private constructor, the codec has only static methods.
+     */
+    private GameCodec() {
+    }
+
+    /**
+     * The <code>encodedSize</code> method calculates the size of the encoded game.
+     *
+     * @param game - The game which has to be encoded.
+     * @return int - The size of the record in bytes.
+     */
+    public static int encodedSize(Game game) {
+        int players = game.getPlayers() == null ? 0 : game.getPlayers().size();
+        int size = game.getBoard() == null ? 0 : game.getBoard().getPlayingBoard().getSize();
+        return FIXED_SIZE + players * PLAYER_SIZE + 2 * wordCount(size) * Long.BYTES;
+    }
+
+    /**
+     * The <code>maxEncodedSize</code> method calculates the size of the encoded game with two players.
+     *
+     * @param boardSize - The number of rows (and columns) of the board.
+     * @return int - The size of the biggest record in bytes.
+     */
+    public static int maxEncodedSize(int boardSize) {
+        return FIXED_SIZE + 2 * PLAYER_SIZE + 2 * wordCount(boardSize) * Long.BYTES;
+    }
+
+    /**
+     * The <code>encode</code> method writes the game into the buffer, which has to have at least
+     * {@link #encodedSize(Game)} bytes remaining.
+     *
+     * @param game - The game which has to be encoded.
+     * @param buffer - The buffer which has to be written.
+     */
+    public static void encode(Game game, ByteBuffer buffer) {
+        BitBoard playingBoard = game.getBoard() == null ? null : game.getBoard().getPlayingBoard();
+        int size = playingBoard == null ? 0 : playingBoard.getSize();
+        Map<Player, Character> players = game.getPlayers() == null ? Map.of() : game.getPlayers();
+        Character winner = game.getWinner();
+        buffer.putInt(game.getId()).putLong(game.getLastActivityTime()).put((byte) (game.isGameOver() ? 1 : 0))
+                .putChar(winner == null ? NO_WINNER : winner).putShort((short) size).put((byte) players.size());
+        for (Map.Entry<Player, Character> entry : players.entrySet()) {
+            UUID playerId = UUID.fromString(entry.getKey().getId());
+            buffer.putChar(entry.getValue()).putLong(playerId.getMostSignificantBits())
+                    .putLong(playerId.getLeastSignificantBits());
+        }
+        int words = wordCount(size);
+        long[] cellsX = new long[words];
+        long[] cellsO = new long[words];
+        for (int cell = 0; cell < size * size; cell++) {
+            char mark = playingBoard.getMark(cell / size, cell % size);
+            if (mark == BitBoard.MARK_X) {
+                cellsX[cell >>> 6] |= 1L << cell;
+            } else if (mark == BitBoard.MARK_O) {
+                cellsO[cell >>> 6] |= 1L << cell;
+            }
+        }
+        buffer.putShort((short) words);
+        for (long word : cellsX) {
+            buffer.putLong(word);
+        }
+        for (long word : cellsO) {
+            buffer.putLong(word);
+        }
+    }
+
+    /**
+     * The <code>decode</code> method reads the game written by {@link #encode(Game, ByteBuffer)}. The sums of the board
+     * are calculated again from the cells.
+     *
+     * @param buffer - The buffer which has to be read.
+     * @return Game - The decoded game.
+     */
+    public static Game decode(ByteBuffer buffer) {
+        int gameId = buffer.getInt();
+        long lastActivityTime = buffer.getLong();
+        boolean gameOver = buffer.get() != 0;
+        char winner = buffer.getChar();
+        int size = buffer.getShort();
+        int playerCount = buffer.get();
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        for (int i = 0; i < playerCount; i++) {
+            char mark = buffer.getChar();
+            String playerId = new UUID(buffer.getLong(), buffer.getLong()).toString();
+            players.put(Player.builder().id(playerId).build(), mark);
+        }
+        Board board = size == 0 ? null : new Board(size);
+        int words = buffer.getShort();
+        int cellsO = buffer.position() + words * Long.BYTES;
+        for (int word = 0; word < words; word++) {
+            placeMarks(board, word, buffer.getLong(), BitBoard.MARK_X);
+            placeMarks(board, word, buffer.getLong(cellsO + word * Long.BYTES), BitBoard.MARK_O);
+        }
+        buffer.position(cellsO + words * Long.BYTES);
+        Game game = Game.builder().id(gameId).players(players).board(board).isGameOver(gameOver)
+                .winner(winner == NO_WINNER ? null : winner).build();
+        game.setLastActivityTime(lastActivityTime);
+        return game;
+    }
+
+    /**
+     * The <code>placeMarks</code> method places the mark into every cell whose bit is set in the word.
+     *
+     * @param board - The board which has to be filled.
+     * @param wordIndex - The index of the word.
+     * @param word - The bits of the cells taken by the player.
+     * @param mark - The mark of the player.
+     */
+    private static void placeMarks(Board board, int wordIndex, long word, char mark) {
+        long bits = word;
+        while (bits != 0) {
+            int size = board.getPlayingBoard().getSize();
+            int cell = (wordIndex << 6) + Long.numberOfTrailingZeros(bits);
+            board.putMark(cell / size, cell % size, mark);
+            board.addMoveValues(cell / size, cell % size, mark);
+            bits &= bits - 1;
+        }
+    }
+
+    /**
+     * The <code>wordCount</code> method calculates the number of the bit set words of one player.
+     *
+     * @param size - The number of rows (and columns) of the board.
+     * @return int - The number of words.
+     */
+    private static int wordCount(int size) {
+        return (size * size + Long.SIZE - 1) / Long.SIZE;
+    }
+}
@@ -0,0 +1,211 @@
+package com.tictactoe.game.repository;
+
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Game;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameEvictionSweeper</code> class evicts the games which are not needed anymore from the
+ * {@link GamesRepository}: the finished games after their time to live, and the games which are waiting for the other
+ * player (or for the next move) longer than the idle timeout. When the number of games comes close to the hard cap,
+ * the finished games are evicted without waiting for their time to live. The sweeper visits a bounded batch of ids per
+ * run and continues where it stopped, so there is never a scan of all the games at once. The ids of the released (or
+ * never created) segments are skipped at once, a whole segment per step, so the sparse ids of the partitions don't
+ * slow the sweep down. Evictions are counted in the <code>games.evicted</code> meter, tagged by the reason.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+public class GameEvictionSweeper {
+
+    /** The Constant PRESSURE_RATIO - the part of the hard cap above which finished games are evicted immediately. */
+    private static final double PRESSURE_RATIO = 0.9;
+
+    /** The games repository. */
+    private final GamesRepository gamesRepository;
+
+    /** The game locks - guard the waiting games against the concurrent join. */
+    @Autowired
+    private GameLocks gameLocks;
+
+    /** The event publisher - notifies the listeners about the evicted games. */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The finished ttl - milliseconds for which finished game is kept, defined in the properties. */
+    @Value("${game.config.eviction.finished-ttl:300000}")
+    private long finishedTtl;
+
+    /** The waiting idle timeout - milliseconds for which game waits for the other player, defined in the properties. */
+    @Value("${game.config.eviction.waiting-idle-timeout:600000}")
+    private long waitingIdleTimeout;
+
+    /** The playing idle timeout - milliseconds for which game waits for the next move, defined in the properties. */
+    @Value("${game.config.eviction.playing-idle-timeout:3600000}")
+    private long playingIdleTimeout;
+
+    /** The batch size - the number of ids visited by a single run, defined in the properties. */
+    @Value("${game.config.eviction.batch-size:16384}")
+    private int batchSize;
+
+    /** The counter of the finished games evicted after their time to live. */
+    private final Counter finishedEvictions;
+
+    /** The counter of the waiting games evicted after the idle timeout. */
+    private final Counter idleEvictions;
+
+    /** The counter of the started games evicted after the idle timeout. */
+    private final Counter abandonedEvictions;
+
+    /** The counter of the finished games evicted early because of the hard cap. */
+    private final Counter capacityEvictions;
+
+    /** The cursor - the next id which has to be visited. */
+    private int cursor = 1;
+
+    /**
+     * The <code>GameEvictionSweeper</code> parameterized constructor registers the eviction meters.
+     *
+     * @param meterRegistry - The registry of the application meters.
+     * @param gamesRepository - The games repository, whose size is exposed as gauge.
+     */
+    @Autowired
+    public GameEvictionSweeper(MeterRegistry meterRegistry, GamesRepository gamesRepository) {
+        this.gamesRepository = gamesRepository;
+        finishedEvictions = evictionCounter(meterRegistry, "finished");
+        idleEvictions = evictionCounter(meterRegistry, "idle");
+        abandonedEvictions = evictionCounter(meterRegistry, "abandoned");
+        capacityEvictions = evictionCounter(meterRegistry, "capacity");
+        Gauge.builder("games.active", gamesRepository, GamesRepository::countGames)
+                .description("Number of games held in memory").register(meterRegistry);
+    }
+
+    /**
+     * The <code>sweep</code> method visits the next batch of ids and evicts the games which are not needed anymore.
+     * The segments which don't exist are skipped without counting into the batch. When the last created game is
+     * reached, the next run starts again from the first id.
+     */
+    @Scheduled(fixedDelayString = "${game.config.eviction.sweep-interval:1000}")
+    public void sweep() {
+        int lastGameId = gamesRepository.getLastGameId();
+        if (cursor > lastGameId) {
+            cursor = 1;
+        }
+        long now = System.currentTimeMillis();
+        boolean underPressure = gamesRepository.countGames() >= gamesRepository.getMaxGames() * PRESSURE_RATIO;
+        long id = cursor;
+        int visited = 0;
+        while (id <= lastGameId && visited < batchSize) {
+            int gameId = (int) id;
+            if ((id == cursor || (gameId & GameIndex.SEGMENT_MASK) == 0) && !gamesRepository.hasSegment(gameId)) {
+                id = (id | GameIndex.SEGMENT_MASK) + 1;
+                continue;
+            }
+            Game game = gamesRepository.findGameById(gameId);
+            if (game != null) {
+                evictIfExpired(gameId, game, now, underPressure);
+            }
+            if ((gameId & GameIndex.SEGMENT_MASK) == GameIndex.SEGMENT_MASK) {
+                gamesRepository.releaseSegmentIfEmpty(gameId);
+            }
+            visited++;
+            id++;
+        }
+        cursor = id > lastGameId ? 1 : (int) id;
+    }
+
+    /**
+     * The <code>evictIfExpired</code> method evicts the game if it is finished and its time to live is expired (or the
+     * hard cap is close), or if it is waiting for the other player or for the next move longer than the idle timeout.
+     *
+     * @param id - The id of the game.
+     * @param game - The game which has to be checked.
+     * @param now - The current time in epoch milliseconds.
+     * @param underPressure - The indicator whether the number of games is close to the hard cap.
+     */
+    private void evictIfExpired(int id, Game game, long now, boolean underPressure) {
+        long idleTime = now - game.getLastActivityTime();
+        if (game.isGameOver()) {
+            if (idleTime >= finishedTtl) {
+                evict(id, finishedEvictions);
+            } else if (underPressure) {
+                evict(id, capacityEvictions);
+            }
+        } else if (game.getPlayers() == null || game.getPlayers().size() < 2) {
+            evictIfIdle(id, game.getLastActivityTime(), now, waitingIdleTimeout, idleEvictions);
+        } else {
+            evictIfIdle(id, game.getLastActivityTime(), now, playingIdleTimeout, abandonedEvictions);
+        }
+    }
+
+    /**
+     * The <code>evictIfIdle</code> method evicts the game which is not finished if there was no activity on it for the
+     * provided timeout. The game is read and checked again under the lock of the game, so the game which is just joined
+     * or played is not evicted.
+     *
+     * @param id - The id of the game.
+     * @param lastActivityTime - The last activity time of the game, read without the lock.
+     * @param now - The current time in epoch milliseconds.
+     * @param timeout - The idle timeout in milliseconds.
+     * @param counter - The counter of the eviction reason.
+     */
+    private void evictIfIdle(int id, long lastActivityTime, long now, long timeout, Counter counter) {
+        if (now - lastActivityTime < timeout) {
+            return;
+        }
+        Lock lock = gameLocks.lockFor(id);
+        lock.lock();
+        try {
+            Game game = gamesRepository.findGameById(id);
+            if (game != null && now - game.getLastActivityTime() >= timeout) {
+                evict(id, counter);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The <code>evict</code> method removes the game, counts the eviction and notifies the listeners.
+     *
+     * @param id - The id of the game.
+     * @param counter - The counter of the eviction reason.
+     */
+    private void evict(int id, Counter counter) {
+        Game evicted = gamesRepository.evictGame(id);
+        if (evicted != null) {
+            counter.increment();
+            eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.EVICTED, id, null, BitBoard.EMPTY));
+            if (log.isDebugEnabled()) {
+                log.debug("Game {} is evicted.", id);
+            }
+        }
+    }
+
+    /**
+     * The <code>evictionCounter</code> method registers the eviction counter for the reason.
+     *
+     * @param meterRegistry - The registry of the application meters.
+     * @param reason - The reason of the eviction.
+     * @return Counter - The registered counter.
+     */
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("games.evicted").tag("reason", reason).description("Number of evicted games")
+                .register(meterRegistry);
+    }
+}
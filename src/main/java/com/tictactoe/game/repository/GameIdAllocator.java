@@ -0,0 +1,162 @@
+package com.tictactoe.game.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+
+/**
+ * The <code>GameIdAllocator</code> class allocates unique game ids. Allocation is a single compare-and-set, so
+ * concurrent game creations never receive the same id and never wait for each other. The lowest partition bits of the
+ * id hold the partition of the game and the bits above them the sequence of the partition, so every partition has its
+ * own sequence and the owner of the game is known from its id. Every node of the cluster allocates only the sequences
+ * of its own remainder modulo the number of the nodes, so two nodes never allocate the same id, even when both of
+ * them owned the same partition. Without the partition bits, on the single node, the ids are 1, 2, 3 and so on.
+ *
+ * @author Bosko Mijin.
+ */
+public final class GameIdAllocator {
+
+    /** The partition bits - the number of the lowest bits of the id which hold the partition. */
+    private final int partitionBits;
+
+    /** The max sequence - the highest sequence of the partition which fits into the positive id. */
+    private final int maxSequence;
+
+    /** The stride - the number of the nodes which are allocating the sequences of the same partition. */
+    private final int stride;
+
+    /** The remainder - the remainder modulo the stride of the sequences allocated by this node. */
+    private final int remainder;
+
+    /** The sequences - the last allocated sequence of every partition. */
+    private final AtomicIntegerArray sequences;
+
+    /** The last id - the highest allocated id. */
+    private final AtomicInteger lastId;
+
+    /**
+     * The <code>GameIdAllocator</code> parameterized constructor initializes the allocator of the single node, the
+     * first sequence of every partition is 1.
+     *
+     * @param partitionBits - The number of the lowest bits of the id which hold the partition.
+     */
+    public GameIdAllocator(int partitionBits) {
+        this(partitionBits, 1, 0);
+    }
+
+    /**
+     * The <code>GameIdAllocator</code> parameterized constructor initializes the sequence of every partition, the
+     * first sequence of every partition is the index of the node plus 1.
+     *
+     * @param partitionBits - The number of the lowest bits of the id which hold the partition.
+     * @param nodes - The number of the nodes of the cluster.
+     * @param nodeIndex - The index of this node, the same on all the nodes.
+     */
+    public GameIdAllocator(int partitionBits, int nodes, int nodeIndex) {
+        if (nodes < 1 || nodeIndex < 0 || nodeIndex >= nodes) {
+            throw new IllegalArgumentException("Node index has to be between 0 and the number of the nodes.");
+        }
+        this.partitionBits = partitionBits;
+        maxSequence = Integer.MAX_VALUE >>> partitionBits;
+        stride = nodes;
+        remainder = (nodeIndex + 1) % nodes;
+        sequences = new AtomicIntegerArray(1 << partitionBits);
+        lastId = new AtomicInteger();
+    }
+
+    /**
+     * The <code>next</code> method allocates the next unique id of the partition.
+     *
+     * @param partition - The partition of the new game.
+     * @return int - The allocated id.
+     */
+    public int next(int partition) {
+        while (true) {
+            int sequence = sequences.get(partition);
+            long next = nextSequence(sequence);
+            if (next > maxSequence) {
+                throw new IllegalStateException("Game id sequence is exhausted.");
+            }
+            if (sequences.compareAndSet(partition, sequence, (int) next)) {
+                int id = (int) next << partitionBits | partition;
+                lastId.accumulateAndGet(id, Math::max);
+                return id;
+            }
+        }
+    }
+
+    /**
+     * The <code>current</code> method returns the highest allocated id without allocating a new one.
+     *
+     * @return int - The highest allocated id, or 0 if no id is allocated yet.
+     */
+    public int current() {
+        return lastId.get();
+    }
+
+    /**
+     * The <code>isAllocatedThrough</code> method checks whether every provided partition has allocated all its ids up
+     * to the provided id, so none of them is allocated later. The sequence of every partition is checked on its own,
+     * because the ids of the partitions are interleaved.
+     *
+     * @param id - The id up to which the ids have to be allocated.
+     * @param partitions - The partitions which have to be checked, the others are ignored.
+     * @return boolean - <code>true</code> if the next id of every checked partition is above the id.
+     */
+    public boolean isAllocatedThrough(int id, IntPredicate partitions) {
+        for (int partition = 0; partition < sequences.length(); partition++) {
+            if (partitions.test(partition)
+                    && (nextSequence(sequences.get(partition)) << partitionBits | partition) <= id) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The <code>isWithinReach</code> method checks whether the sequence of the provided id is at most the provided
+     * number of sequences above the last allocated sequence of its partition, so accepting the id doesn't move the
+     * sequence close to its end.
+     *
+     * @param id - The id used by the other node.
+     * @param reach - The number of sequences by which the id can be ahead.
+     * @return boolean - <code>true</code> if the id is within the reach, otherwise <code>false</code>.
+     */
+    public boolean isWithinReach(int id, int reach) {
+        return id > 0 && (id >>> partitionBits) <= (long) sequences.get(id & (sequences.length() - 1)) + reach;
+    }
+
+    /**
+     * The <code>advanceTo</code> method moves the sequence of the partition of the provided id forward, so the restored
+     * ids are never allocated again. The sequence is never moved backwards.
+     *
+     * @param id - The id which is already used.
+     */
+    public void advanceTo(int id) {
+        sequences.accumulateAndGet(id & (sequences.length() - 1), id >>> partitionBits, Math::max);
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * The <code>advanceAllTo</code> method moves the sequences of all the partitions forward, so none of the ids up to
+     * the provided one is allocated again. The sequences are never moved backwards.
+     *
+     * @param id - The highest id which is already used.
+     */
+    public void advanceAllTo(int id) {
+        for (int partition = 0; partition < sequences.length(); partition++) {
+            sequences.accumulateAndGet(partition, id >>> partitionBits, Math::max);
+        }
+        lastId.accumulateAndGet(id, Math::max);
+    }
+
+    /**
+     * The <code>nextSequence</code> method returns the first sequence of this node above the provided sequence.
+     *
+     * @param sequence - The last allocated (or used) sequence.
+     * @return long - The next sequence of this node.
+     */
+    private long nextSequence(int sequence) {
+        return sequence + 1L + Math.floorMod(remainder - sequence - 1L, (long) stride);
+    }
+}
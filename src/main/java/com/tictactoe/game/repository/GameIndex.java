@@ -0,0 +1,256 @@
+package com.tictactoe.game.repository;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.tictactoe.game.model.Game;
+
+/**
+ * The <code>GameIndex</code> class is a concurrent, int keyed index of games. Games are stored in fixed size segments
+ * addressed directly by the game id, so the lookup is a constant time operation (two array reads) which never takes a
+ * lock. Only writers which need a new segment synchronize, and that happens once per {@value #SEGMENT_SIZE} ids. It is
+ * the on-heap {@link GameStore}, the stored games are the same objects which are changed by the services. The empty
+ * segment is released by retiring all its slots first, so the writer which still holds the released segment finds
+ * the retired slot and stores the game into the new segment instead.
+ *
+ * @author Bosko Mijin.
+ */
+public final class GameIndex implements GameStore {
+
+    /** The Constant SEGMENT_SHIFT - the number of low id bits which are addressing slot inside of the segment. */
+    static final int SEGMENT_SHIFT = 14;
+
+    /** The Constant SEGMENT_SIZE - the number of slots in one segment. */
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    /** The Constant SEGMENT_MASK - the mask which extracts the slot index from the id. */
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /** The Constant INITIAL_DIRECTORY_SIZE - the number of segments which can be addressed without growing. */
+    static final int INITIAL_DIRECTORY_SIZE = 64;
+
+    /** The Constant RETIRED - the marker of the slot of the segment which is being released. */
+    private static final Game RETIRED = Game.builder().id(-1).build();
+
+    /** The directory - the segments table, replaced by a bigger copy when it has to grow. */
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Game>> directory;
+
+    /** The size - the number of games currently held in the index. */
+    private final AtomicInteger size;
+
+    /**
+     * The <code>GameIndex</code> no-args constructor initializes the empty directory.
+     */
+    public GameIndex() {
+        directory = new AtomicReferenceArray<>(INITIAL_DIRECTORY_SIZE);
+        size = new AtomicInteger();
+    }
+
+    /**
+     * The <code>get</code> method returns the game stored under the provided id without taking any lock.
+     *
+     * @param id - The id of the requested game.
+     * @return Game - The game stored under the id, or <code>null</code> if there is no such game.
+     */
+    @Override
+    public Game get(int id) {
+        if (id < 0) {
+            return null;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        if (segmentIndex >= currentDirectory.length()) {
+            return null;
+        }
+        AtomicReferenceArray<Game> segment = currentDirectory.get(segmentIndex);
+        Game game = segment == null ? null : segment.get(id & SEGMENT_MASK);
+        return game == RETIRED ? null : game;
+    }
+
+    /**
+     * The <code>put</code> method stores the game under the provided id, replacing the game previously stored there.
+     * If the slot is retired, the game is stored into the segment which replaces the released one.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The game which has to be stored.
+     */
+    @Override
+    public void put(int id, Game game) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Game id can't be negative.");
+        }
+        AtomicReferenceArray<Game> segment = segmentFor(id);
+        while (true) {
+            Game current = segment.get(id & SEGMENT_MASK);
+            if (current == RETIRED) {
+                segment = createSegment(id >>> SEGMENT_SHIFT);
+            } else if (segment.compareAndSet(id & SEGMENT_MASK, current, game)) {
+                if (current == null) {
+                    size.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * The <code>replace</code> method stores the game under the provided id only if there is a game stored under the
+     * id. The services are changing the stored game in place, so usually the same game is stored again.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The changed game.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if there was no game under the id.
+     */
+    @Override
+    public boolean replace(int id, Game game) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        AtomicReferenceArray<Game> segment = segmentIndex < currentDirectory.length()
+                ? currentDirectory.get(segmentIndex)
+                : null;
+        if (segment == null) {
+            return false;
+        }
+        Game current = segment.get(id & SEGMENT_MASK);
+        return current != null && current != RETIRED
+                && (current == game || segment.compareAndSet(id & SEGMENT_MASK, current, game));
+    }
+
+    /**
+     * The <code>remove</code> method removes the game stored under the provided id.
+     *
+     * @param id - The id of the game which has to be removed.
+     * @return Game - The removed game, or <code>null</code> if there was no game under the id.
+     */
+    @Override
+    public Game remove(int id) {
+        if (id < 0) {
+            return null;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        AtomicReferenceArray<Game> segment = segmentIndex < currentDirectory.length()
+                ? currentDirectory.get(segmentIndex)
+                : null;
+        if (segment == null) {
+            return null;
+        }
+        while (true) {
+            Game removed = segment.get(id & SEGMENT_MASK);
+            if (removed == null || removed == RETIRED) {
+                return null;
+            }
+            if (segment.compareAndSet(id & SEGMENT_MASK, removed, null)) {
+                size.decrementAndGet();
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * The <code>releaseSegmentIfEmpty</code> method drops the segment which holds the provided id if none of its slots
+     * holds a game, so the memory of the segments whose games are all evicted is given back. Every empty slot is
+     * retired by compare-and-set, so the game stored concurrently either keeps the segment, or finds the retired slot
+     * and waits on the lock of the index for the new segment.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    @Override
+    public synchronized boolean releaseSegmentIfEmpty(int id) {
+        if (id < 0) {
+            return false;
+        }
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        if (segmentIndex >= currentDirectory.length() || currentDirectory.get(segmentIndex) == null) {
+            return false;
+        }
+        AtomicReferenceArray<Game> segment = currentDirectory.get(segmentIndex);
+        for (int i = 0; i < SEGMENT_SIZE; i++) {
+            if (!segment.compareAndSet(i, null, RETIRED)) {
+                while (--i >= 0) {
+                    segment.set(i, null);
+                }
+                return false;
+            }
+        }
+        currentDirectory.set(segmentIndex, null);
+        return true;
+    }
+
+    /**
+     * The <code>hasSegment</code> method checks whether the segment which holds the provided id exists.
+     *
+     * @param id - Any id of the segment.
+     * @return boolean - <code>true</code> if the segment exists, <code>false</code> if it is released or never
+     *         created.
+     */
+    @Override
+    public boolean hasSegment(int id) {
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        return id >= 0 && segmentIndex < currentDirectory.length() && currentDirectory.get(segmentIndex) != null;
+    }
+
+    /**
+     * The <code>size</code> method returns the number of games currently held in the index.
+     *
+     * @return int - The number of games.
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * The <code>segmentFor</code> method returns the segment which is holding the provided id, creating the segment (and
+     * growing the directory) if it doesn't exist yet.
+     *
+     * @param id - The id for which segment is needed.
+     * @return AtomicReferenceArray - The segment which holds the slot for the id.
+     */
+    private AtomicReferenceArray<Game> segmentFor(int id) {
+        int segmentIndex = id >>> SEGMENT_SHIFT;
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        if (segmentIndex < currentDirectory.length()) {
+            AtomicReferenceArray<Game> segment = currentDirectory.get(segmentIndex);
+            if (segment != null) {
+                return segment;
+            }
+        }
+        return createSegment(segmentIndex);
+    }
+
+    /**
+     * The <code>createSegment</code> method creates the segment under the lock, so concurrent writers never install
+     * two different segments for the same index.
+     *
+     * @param segmentIndex - The index of the segment which has to be created.
+     * @return AtomicReferenceArray - The created (or concurrently created) segment.
+     */
+    private synchronized AtomicReferenceArray<Game> createSegment(int segmentIndex) {
+        AtomicReferenceArray<AtomicReferenceArray<Game>> currentDirectory = directory;
+        if (segmentIndex >= currentDirectory.length()) {
+            int newLength = currentDirectory.length();
+            while (newLength <= segmentIndex) {
+                newLength <<= 1;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<Game>> grownDirectory = new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < currentDirectory.length(); i++) {
+                grownDirectory.set(i, currentDirectory.get(i));
+            }
+            currentDirectory = grownDirectory;
+            directory = grownDirectory;
+        }
+        AtomicReferenceArray<Game> segment = currentDirectory.get(segmentIndex);
+        if (segment == null) {
+            segment = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            currentDirectory.set(segmentIndex, segment);
+        }
+        return segment;
+    }
+}
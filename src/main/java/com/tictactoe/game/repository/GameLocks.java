@@ -0,0 +1,62 @@
+package com.tictactoe.game.repository;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The <code>GameLocks</code> class holds the striped locks which guard the state of the games. Every game id is mapped
+ * to one of the fixed number of locks, so the changes of the same game are serialized, while the changes of different
+ * games proceed in parallel (unless two games share a stripe). There is no global lock and no lock per game is
+ * allocated.
+ *
+ * @author Bosko Mijin.
+ */
+@Component
+public class GameLocks {
+
+    /** The stripes - the locks, their number is a power of two. */
+    private final Lock[] stripes;
+
+    /** The mask - used to map the spread game id to the stripe. */
+    private final int mask;
+
+    /**
+     * The <code>GameLocks</code> parameterized constructor creates the stripes.
+     *
+     * @param stripeCount - The requested number of stripes, rounded up to the power of two.
+     */
+    public GameLocks(@Value("${game.config.lock-stripes:1024}") int stripeCount) {
+        if (stripeCount <= 0 || stripeCount > 1 << 30) {
+            throw new IllegalArgumentException("Number of lock stripes has to be between 1 and 2^30.");
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * The <code>lockFor</code> method returns the lock which guards the game with provided id.
+     *
+     * @param gameId - The id of the game.
+     * @return Lock - The lock of the game.
+     */
+    public Lock lockFor(int gameId) {
+        int hash = gameId * 0x9E3779B9;
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * The <code>getStripeCount</code> method returns the number of stripes.
+     *
+     * @return int - The number of stripes.
+     */
+    public int getStripeCount() {
+        return stripes.length;
+    }
+}
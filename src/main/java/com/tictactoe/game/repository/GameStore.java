@@ -0,0 +1,79 @@
+package com.tictactoe.game.repository;
+
+import com.tictactoe.game.model.Game;
+
+/**
+ * The <code>GameStore</code> interface is the storage of the games used by the {@link GamesRepository}, addressed
+ * directly by the game id. The implementation is selected by the <code>game.config.store.type</code> property:
+ * <ul>
+ * <li>on-heap - {@link GameIndex}, the games are held as objects and changed in place</li>
+ * <li>off-heap - {@link OffHeapGameStore}, the games are encoded in the direct buffers outside of the heap</li>
+ * <li>mapped-file - {@link MappedFileGameStore}, the games are encoded in the memory-mapped files</li>
+ * <li>packed - {@link PackedGameStore}, the 3x3 games are packed into the direct buffers and read through views</li>
+ * </ul>
+ * The stores which are encoding the games return a new copy of the game on every read, so the changed game has to be
+ * written back by {@link #replace(int, Game)} under the lock of the game.
+ *
+ * @author Bosko Mijin.
+ */
+public interface GameStore {
+
+    /**
+     * The <code>get</code> method returns the game stored under the provided id without taking any lock.
+     *
+     * @param id - The id of the requested game.
+     * @return Game - The game stored under the id, or <code>null</code> if there is no such game.
+     */
+    Game get(int id);
+
+    /**
+     * The <code>put</code> method stores the game under the provided id, replacing the game previously stored there.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The game which has to be stored.
+     */
+    void put(int id, Game game);
+
+    /**
+     * The <code>replace</code> method stores the changed game under the provided id only if there is a game stored
+     * under the id, so the game which is concurrently removed isn't stored again.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The changed game.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if there was no game under the id.
+     */
+    boolean replace(int id, Game game);
+
+    /**
+     * The <code>remove</code> method removes the game stored under the provided id.
+     *
+     * @param id - The id of the game which has to be removed.
+     * @return Game - The removed game, or <code>null</code> if there was no game under the id.
+     */
+    Game remove(int id);
+
+    /**
+     * The <code>releaseSegmentIfEmpty</code> method gives back the memory of the segment which holds the provided id if
+     * none of its slots holds a game. The game stored concurrently is never lost, it is stored into the new segment.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    boolean releaseSegmentIfEmpty(int id);
+
+    /**
+     * The <code>hasSegment</code> method checks whether the segment which holds the provided id exists, so the ids of
+     * the released (or never created) segments can be skipped at once.
+     *
+     * @param id - Any id of the segment.
+     * @return boolean - <code>true</code> if the segment exists, otherwise <code>false</code>.
+     */
+    boolean hasSegment(int id);
+
+    /**
+     * The <code>size</code> method returns the number of games currently held in the store.
+     *
+     * @return int - The number of games.
+     */
+    int size();
+}
@@ -0,0 +1,72 @@
+package com.tictactoe.game.repository;
+
+import java.nio.file.Paths;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The <code>GameStoreConfiguration</code> class creates the {@link GameStore} selected by the
+ * <code>game.config.store.type</code> property - <code>on-heap</code> (default), <code>off-heap</code>,
+ * <code>mapped-file</code> or <code>packed</code>.
+ *
+ * @author Bosko Mijin.
+ */
+@Configuration
+public class GameStoreConfiguration {
+
+    /** The Constant STORE_PREFIX - the prefix of the store properties. */
+    private static final String STORE_PREFIX = "game.config.store";
+
+    /**
+     * The <code>onHeapGameStore</code> method creates the store which holds the games as objects.
+     *
+     * @return GameStore - The on-heap store.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = STORE_PREFIX, name = "type", havingValue = "on-heap", matchIfMissing = true)
+    public GameStore onHeapGameStore() {
+        return new GameIndex();
+    }
+
+    /**
+     * The <code>offHeapGameStore</code> method creates the store which holds the encoded games in the direct buffers.
+     *
+     * @param tableSize - The number of rows (and columns) of the board.
+     * @return GameStore - The off-heap store.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = STORE_PREFIX, name = "type", havingValue = "off-heap")
+    public GameStore offHeapGameStore(@Value("${game.config.table-size}") int tableSize) {
+        return new OffHeapGameStore(tableSize);
+    }
+
+    /**
+     * The <code>mappedFileGameStore</code> method creates the store which holds the encoded games in the memory-mapped
+     * files.
+     *
+     * @param tableSize - The number of rows (and columns) of the board.
+     * @param directory - The directory of the store files.
+     * @return GameStore - The memory-mapped file store.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = STORE_PREFIX, name = "type", havingValue = "mapped-file")
+    public GameStore mappedFileGameStore(@Value("${game.config.table-size}") int tableSize,
+            @Value("${game.config.store.directory:store}") String directory) {
+        return new MappedFileGameStore(tableSize, Paths.get(directory));
+    }
+
+    /**
+     * The <code>packedGameStore</code> method creates the store which packs the 3x3 games into the direct buffers.
+     *
+     * @param tableSize - The number of rows (and columns) of the board, has to be 3.
+     * @return GameStore - The packed store.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = STORE_PREFIX, name = "type", havingValue = "packed")
+    public GameStore packedGameStore(@Value("${game.config.table-size}") int tableSize) {
+        return new PackedGameStore(tableSize);
+    }
+}
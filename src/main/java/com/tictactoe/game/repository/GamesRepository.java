@@ -1,22 +1,30 @@
 package com.tictactoe.game.repository;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import com.tictactoe.game.cluster.GamePartitioner;
 import com.tictactoe.game.model.Game;
+import com.tictactoe.game.web.exception.GameLimitExceededException;
 import com.tictactoe.game.web.exception.MissingGameException;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * The <code>GamesRepository</code> class represents a repository for the games. According to the requirement, there is
  * not allowed to use database, but instead has to be used in-memory solution, and this class is intended to holds all
- * the required data for game(s).
+ * the required data for game(s). The lookups and the saves are timed in the <code>games.repository.lookup</code> and
+ * <code>games.repository.save</code> meters, and the number of the finished games held in memory is exposed as the
+ * <code>games.finished</code> gauge, next to the <code>games.live</code> gauge of the games still played or waiting.
  *
  * @author Bosko Mijin.
  */
@@ -25,43 +33,257 @@ import lombok.extern.slf4j.Slf4j;
 @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
 public class GamesRepository {
 
-    /** The game aggregator - container for all games. */
-    private final List<Game> gameAggregator;
+    /** The game aggregator - store of all games, indexed by the game id. */
+    private final GameStore gameAggregator;
+
+    /** The game id allocator - source of unique ids for the new games. */
+    private final GameIdAllocator gameIdAllocator;
+
+    /** The game partitioner - selects the partition of the new game, owned by this node. */
+    private final GamePartitioner gamePartitioner;
+
+    /** The held games - the number of the games held in aggregator, reserved before the new game is stored. */
+    private final AtomicInteger heldGames = new AtomicInteger();
+
+    /** The finished games - the number of the finished games held in aggregator. */
+    private final AtomicInteger finishedGames = new AtomicInteger();
+
+    /** The timer of the game lookups. */
+    private final Timer lookupTimer;
+
+    /** The timer of the game saves. */
+    private final Timer saveTimer;
+
+    /** The max games - hard cap of the games held in memory, defined in the properties as spring profile. */
+    @Value("${game.config.eviction.max-games:1000000}")
+    private int maxGames;
 
     /**
-     * The <code>GamesRepository</code> default private no args constructor - prevents initialization, initializes only
+     * The <code>GamesRepository</code> private parameterized constructor - prevents initialization, initializes only
      * on creation because of singleton scope.
+     *
+     * @param gameStore - The store of the games, selected by the configuration.
+     * @param meterRegistry - The registry of the application meters.
+     * @param gamePartitioner - The partitioner of the games across the nodes of the cluster.
      */
     @Autowired
-    private GamesRepository() {
-        gameAggregator = new ArrayList<>();
+    private GamesRepository(GameStore gameStore, MeterRegistry meterRegistry, GamePartitioner gamePartitioner) {
+        gameAggregator = gameStore;
+        this.gamePartitioner = gamePartitioner;
+        gameIdAllocator = gamePartitioner.isEnabled()
+                ? new GameIdAllocator(gamePartitioner.getPartitionBits(), gamePartitioner.getNodes().size(),
+                        gamePartitioner.getNodeIndex())
+                : new GameIdAllocator(gamePartitioner.getPartitionBits());
+        lookupTimer = Timer.builder("games.repository.lookup").description("Time of the game lookups")
+                .register(meterRegistry);
+        saveTimer = Timer.builder("games.repository.save").description("Time of the game saves")
+                .register(meterRegistry);
+        Gauge.builder("games.finished", finishedGames, AtomicInteger::get)
+                .description("Number of finished games held in memory").register(meterRegistry);
+        Gauge.builder("games.live", this, repository -> repository.countGames() - repository.finishedGames.get())
+                .description("Number of games held in memory which are not finished").register(meterRegistry);
     }
 
     /**
-     * The <code>persistNewGameInAggregator</code> method persist new game in aggregator.
+     * The <code>persistNewGameInAggregator</code> method persist new game in aggregator. It is safe to be called
+     * concurrently - every game receives its own id and no game is lost. The id is allocated in the partition owned by
+     * this node. The place of the game is reserved before it is stored, so the concurrent creations never exceed the
+     * hard cap.
      *
      * @param game - The game which has to be persisted in aggregator.
      * @return the game - The persisted game.
+     * @throws GameLimitExceededException - The exception if the maximal number of games is already held.
      */
-    public Game persistNewGameInAggregator(Game game) {
+    public Game persistNewGameInAggregator(Game game) throws GameLimitExceededException {
         log.debug("--> persistNewGameInAggregator");
-        int currentMaxId = gameAggregator.size();
-        game.setId(++currentMaxId);
-        gameAggregator.add(game);
+        if (heldGames.incrementAndGet() > maxGames) {
+            heldGames.decrementAndGet();
+            throw new GameLimitExceededException("Maximal number of games is reached, try again later.");
+        }
+        game.touch();
+        game.setId(gameIdAllocator.next(gamePartitioner.nextPartition()));
+        gameAggregator.put(game.getId(), game);
         log.debug("<-- persistNewGameInAggregator");
         return game;
     }
 
     /**
-     * The <code>getGameById</code> method gets the game by id.
+     * The <code>getGameById</code> method gets the game by id. The lookup is a direct index access, so it costs the same
+     * regardless of the number of games held in the aggregator.
      *
      * @param id - The id of the game which has to be obtained.
      * @return game - the game obtained by id.
      */
     public Game getGameById(int id) throws MissingGameException {
         log.debug("--> getGameById");
+        long start = System.nanoTime();
+        Game game = gameAggregator.get(id);
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (game == null) {
+            throw new MissingGameException("Required game is not created yet.");
+        }
         log.debug("<-- getGameById");
-        return gameAggregator.stream().filter(game -> id == game.getId()).findAny()
-                .orElseThrow(() -> new MissingGameException("Required game is not created yet."));
+        return game;
+    }
+
+    /**
+     * The <code>restoreGame</code> method puts the game recovered after the restart back in aggregator, under its
+     * original id, or the game handed over by the other node of the cluster. The hard cap isn't checked, the recovered
+     * games are held anyway. The game already held under the id is replaced, so it is counted only once. It has to be
+     * called under the lock of the game, or during the recovery.
+     *
+     * @param game - The recovered game, with its original id.
+     * @return the game - The restored game.
+     */
+    public Game restoreGame(Game game) {
+        gameIdAllocator.advanceTo(game.getId());
+        Game replaced = gameAggregator.get(game.getId());
+        gameAggregator.put(game.getId(), game);
+        if (replaced == null) {
+            heldGames.incrementAndGet();
+        } else if (replaced.isGameOver()) {
+            finishedGames.decrementAndGet();
+        }
+        if (game.isGameOver()) {
+            finishedGames.incrementAndGet();
+        }
+        return game;
+    }
+
+    /**
+     * The <code>saveGame</code> method writes the changed game back to aggregator. It has to be called under the lock of
+     * the game after every change, because the stores which are holding the games outside of the heap return a copy of
+     * the game. The game which is evicted in the meantime isn't stored again.
+     *
+     * @param game - The changed game.
+     * @return boolean - <code>true</code> if the game is saved, <code>false</code> if the game is evicted.
+     */
+    public boolean saveGame(Game game) {
+        long start = System.nanoTime();
+        boolean saved = gameAggregator.replace(game.getId(), game);
+        saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return saved;
+    }
+
+    /**
+     * The <code>recordFinishedGame</code> method counts the game finished by the last move, it has to be called once
+     * per game, when the game is over.
+     */
+    public void recordFinishedGame() {
+        finishedGames.incrementAndGet();
+    }
+
+    /**
+     * The <code>advanceLastGameId</code> method marks the ids up to the provided one as used after the restart, in all
+     * the partitions, so the ids of the evicted games are never allocated again.
+     *
+     * @param id - The id of the last game created before the restart.
+     */
+    public void advanceLastGameId(int id) {
+        gameIdAllocator.advanceAllTo(id);
+    }
+
+    /**
+     * The <code>findGameById</code> method gets the game by id without raising the exception for the missing game.
+     *
+     * @param id - The id of the game which has to be obtained.
+     * @return game - the game obtained by id, or <code>null</code> if there is no such game.
+     */
+    public Game findGameById(int id) {
+        return gameAggregator.get(id);
+    }
+
+    /**
+     * The <code>evictGame</code> method removes the game from aggregator.
+     *
+     * @param id - The id of the game which has to be removed.
+     * @return game - the removed game, or <code>null</code> if there was no such game.
+     */
+    public Game evictGame(int id) {
+        Game evicted = gameAggregator.remove(id);
+        if (evicted == null) {
+            return null;
+        }
+        heldGames.decrementAndGet();
+        if (evicted.isGameOver()) {
+            finishedGames.decrementAndGet();
+        }
+        return evicted;
+    }
+
+    /**
+     * The <code>releaseSegmentIfEmpty</code> method gives back the memory of the index segment which holds the id if
+     * all its games are evicted. The segment is kept while any partition owned by this node can still allocate an id
+     * of the segment, so it isn't released just to be created again. The games of the other partitions, restored or
+     * handed over later, are stored into the new segment.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    public boolean releaseSegmentIfEmpty(int id) {
+        return gameIdAllocator.isAllocatedThrough(id | GameIndex.SEGMENT_MASK, gamePartitioner::isLocal)
+                && gameAggregator.releaseSegmentIfEmpty(id);
+    }
+
+    /**
+     * The <code>hasSegment</code> method checks whether the index segment which holds the id exists, so the sweeper
+     * skips the ids of the released segments at once.
+     *
+     * @param id - Any id of the segment.
+     * @return boolean - <code>true</code> if the segment exists, otherwise <code>false</code>.
+     */
+    public boolean hasSegment(int id) {
+        return gameAggregator.hasSegment(id);
+    }
+
+    /**
+     * The <code>countGames</code> method returns the number of the games held in aggregator.
+     *
+     * @return int - The number of games.
+     */
+    public int countGames() {
+        return gameAggregator.size();
+    }
+
+    /**
+     * The <code>isWithinReach</code> method checks whether the id used by the other node is at most the provided
+     * number of sequences ahead of the ids allocated here in its partition, so holding the game doesn't exhaust the
+     * ids of the partition.
+     *
+     * @param id - The id of the game.
+     * @param reach - The number of sequences by which the id can be ahead.
+     * @return boolean - <code>true</code> if the id is within the reach, otherwise <code>false</code>.
+     */
+    public boolean isWithinReach(int id, int reach) {
+        return gameIdAllocator.isWithinReach(id, reach);
+    }
+
+    /**
+     * The <code>lastIdOfSegment</code> method returns the last id of the index segment which holds the provided id, so
+     * the scans of all the ids skip the segment which doesn't exist at once.
+     *
+     * @param id - Any id of the segment.
+     * @return int - The last id of the segment.
+     */
+    public int lastIdOfSegment(int id) {
+        return id | GameIndex.SEGMENT_MASK;
+    }
+
+    /**
+     * The <code>getLastGameId</code> method returns the id of the last created game.
+     *
+     * @return int - The last allocated id, or 0 if no game is created yet.
+     */
+    public int getLastGameId() {
+        return gameIdAllocator.current();
+    }
+
+    /**
+     * The <code>getMaxGames</code> method returns the maximal number of the games which can be held in aggregator.
+     *
+     * @return int - The hard cap of the games.
+     */
+    public int getMaxGames() {
+        return maxGames;
     }
 }
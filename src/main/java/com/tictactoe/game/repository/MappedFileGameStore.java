@@ -0,0 +1,113 @@
+package com.tictactoe.game.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>MappedFileGameStore</code> class is the {@link GameStore} which holds the encoded games in the
+ * memory-mapped files, one file per segment. The games are held in the page cache of the operating system, which can
+ * write the pages of the idle games out to the disk and read them back on access, so the number of games isn't limited
+ * by the memory. The files are only the backing memory of the store, they are deleted when the store is closed - the
+ * games survive the restart through the journal.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+public class MappedFileGameStore extends SlottedGameStore implements Closeable {
+
+    /** The Constant FILE_NAME_FORMAT - the name of the segment file. */
+    private static final String FILE_NAME_FORMAT = "games-%08d.seg";
+
+    /** The directory which holds the segment files. */
+    private final Path directory;
+
+    /**
+     * The <code>MappedFileGameStore</code> parameterized constructor.
+     *
+     * @param boardSize - The number of rows (and columns) of the boards held in the store.
+     * @param directory - The directory which holds the segment files.
+     */
+    public MappedFileGameStore(int boardSize, Path directory) {
+        super(boardSize);
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The <code>allocateSegment</code> method creates the segment file and maps it. The file left by the previous run
+     * is truncated, so the new segment is always zeroed.
+     *
+     * @param segmentIndex - The index of the segment.
+     * @param capacity - The size of the segment in bytes.
+     * @return ByteBuffer - The mapped buffer of the segment.
+     */
+    @Override
+    protected ByteBuffer allocateSegment(int segmentIndex, int capacity) {
+        try (FileChannel channel = FileChannel.open(segmentFile(segmentIndex), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The <code>releaseSegment</code> method deletes the file of the empty segment.
+     *
+     * @param segmentIndex - The index of the segment.
+     */
+    @Override
+    protected void releaseSegment(int segmentIndex) {
+        deleteSegmentFile(segmentFile(segmentIndex));
+    }
+
+    /**
+     * The <code>close</code> method deletes the segment files when the application stops.
+     */
+    @Override
+    public void close() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "games-*.seg")) {
+            for (Path file : files) {
+                deleteSegmentFile(file);
+            }
+        } catch (IOException e) {
+            log.warn("Game store files in {} can't be listed: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * The <code>segmentFile</code> method returns the file of the segment.
+     *
+     * @param segmentIndex - The index of the segment.
+     * @return Path - The segment file.
+     */
+    private Path segmentFile(int segmentIndex) {
+        return directory.resolve(String.format(FILE_NAME_FORMAT, segmentIndex));
+    }
+
+    /**
+     * The <code>deleteSegmentFile</code> method deletes the segment file, the mapping stays valid until it is collected.
+     *
+     * @param file - The segment file.
+     */
+    private static void deleteSegmentFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Game store file {} can't be deleted: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.tictactoe.game.repository;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The <code>OffHeapGameStore</code> class is the {@link GameStore} which holds the encoded games in the direct byte
+ * buffers, outside of the heap, so millions of games don't make the heap (and the garbage collection pauses) bigger.
+ * The direct memory is limited by the <code>-XX:MaxDirectMemorySize</code> option.
+ *
+ * @author Bosko Mijin.
+ */
+public class OffHeapGameStore extends SlottedGameStore {
+
+    /**
+     * The <code>OffHeapGameStore</code> parameterized constructor.
+     *
+     * @param boardSize - The number of rows (and columns) of the boards held in the store.
+     */
+    public OffHeapGameStore(int boardSize) {
+        super(boardSize);
+    }
+
+    /**
+     * The <code>allocateSegment</code> method allocates the direct buffer of the segment.
+     *
+     * @param segmentIndex - The index of the segment.
+     * @param capacity - The size of the segment in bytes.
+     * @return ByteBuffer - The direct buffer of the segment.
+     */
+    @Override
+    protected ByteBuffer allocateSegment(int segmentIndex, int capacity) {
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * The <code>releaseSegment</code> method does nothing, the direct buffer is freed when it is collected.
+     *
+     * @param segmentIndex - The index of the segment.
+     */
+    @Override
+    protected void releaseSegment(int segmentIndex) {
+        // the memory of the unreachable direct buffer is given back by its cleaner
+    }
+}
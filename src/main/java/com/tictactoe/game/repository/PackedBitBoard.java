@@ -0,0 +1,84 @@
+package com.tictactoe.game.repository;
+
+import com.tictactoe.game.model.BitBoard;
+
+/**
+ * The <code>PackedBitBoard</code> class is the flyweight {@link BitBoard} over the cells of the packed 3x3 game. Every
+ * read and write goes straight to the state word of the slot, so the view holds nothing but the slot address.
+ *
+ * @author Bosko Mijin.
+ */
+final class PackedBitBoard extends BitBoard {
+
+    /** The slot - the address of the packed game. */
+    private final PackedSlot slot;
+
+    /**
+     * The <code>PackedBitBoard</code> parameterized constructor.
+     *
+     * @param slot - The address of the packed game.
+     */
+    PackedBitBoard(PackedSlot slot) {
+        super(PackedSlot.BOARD_SIZE);
+        this.slot = slot;
+    }
+
+    /**
+     * The <code>isOccupied</code> method checks whether the cell is already taken by any of the players.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return boolean - <code>true</code> if the cell is taken, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean isOccupied(int rowIndex, int columnIndex) {
+        cellIndex(rowIndex, columnIndex);
+        return (slot.state() >>> PackedSlot.cellShift(rowIndex, columnIndex) & 3) != 0;
+    }
+
+    /**
+     * The <code>getMark</code> method returns the mark placed in the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return char - The mark in the cell, or {@link #EMPTY} if the cell is free.
+     */
+    @Override
+    public char getMark(int rowIndex, int columnIndex) {
+        cellIndex(rowIndex, columnIndex);
+        return PackedSlot.mark(slot.state() >>> PackedSlot.cellShift(rowIndex, columnIndex) & 3);
+    }
+
+    /**
+     * The <code>place</code> method places the mark in the cell of the state word if the cell is free.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @param mark - The mark of the player, {@link #MARK_X} or {@link #MARK_O}.
+     * @return boolean - <code>true</code> if the mark is placed, <code>false</code> if the cell was already taken.
+     */
+    @Override
+    public boolean place(int rowIndex, int columnIndex, char mark) {
+        cellIndex(rowIndex, columnIndex);
+        int shift = PackedSlot.cellShift(rowIndex, columnIndex);
+        while (true) {
+            int state = slot.state();
+            if ((state >>> shift & 3) != 0 || (state & PackedSlot.OCCUPIED) == 0) {
+                return false;
+            }
+            if (slot.compareAndSetState(state, state | PackedSlot.markBits(mark) << shift)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The <code>getMoveCount</code> method returns the number of marks placed on the board.
+     *
+     * @return int - The number of taken cells.
+     */
+    @Override
+    public int getMoveCount() {
+        return Integer.bitCount(slot.state() & PackedSlot.CELLS_MASK);
+    }
+}
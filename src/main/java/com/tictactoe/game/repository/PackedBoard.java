@@ -0,0 +1,107 @@
+package com.tictactoe.game.repository;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>PackedBoard</code> class is the flyweight {@link Board} of the packed 3x3 game. The packed game keeps no
+ * sums, so adding the move values does nothing and the move values are calculated from the cells when they are needed.
+ *
+ * @author Bosko Mijin.
+ */
+final class PackedBoard extends Board {
+
+    /**
+     * The <code>PackedBoard</code> parameterized constructor.
+     *
+     * @param slot - The address of the packed game.
+     */
+    PackedBoard(PackedSlot slot) {
+        super(new PackedBitBoard(slot));
+    }
+
+    /**
+     * The <code>addMoveValues</code> method does nothing, the move values are calculated from the cells.
+     *
+     * @param rowIndex - The row index of the move.
+     * @param columnIndex - The column index of the move.
+     * @param mark - The mark of the player.
+     */
+    @Override
+    public void addMoveValues(int rowIndex, int columnIndex, char mark) {
+        // The packed game keeps no sums.
+    }
+
+    /**
+     * The <code>addValueToSumByRows</code> method does nothing, the move values are calculated from the cells.
+     *
+     * @param rowIndex - The row index of the element which has to be processed.
+     * @param moveValue - The value which has to be added to element.
+     */
+    @Override
+    public void addValueToSumByRows(int rowIndex, int moveValue) {
+        // The packed game keeps no sums.
+    }
+
+    /**
+     * The <code>addValueToSumByColumns</code> method does nothing, the move values are calculated from the cells.
+     *
+     * @param columnIndex - The column index of the element which has to be processed.
+     * @param moveValue - The value which has to be added to element.
+     */
+    @Override
+    public void addValueToSumByColumns(int columnIndex, int moveValue) {
+        // The packed game keeps no sums.
+    }
+
+    /**
+     * The <code>addValueToSumMajorDiagonal</code> method does nothing, the move values are calculated from the cells.
+     *
+     * @param moveValue - The value which has to be added to element.
+     */
+    @Override
+    public void addValueToSumMajorDiagonal(int moveValue) {
+        // The packed game keeps no sums.
+    }
+
+    /**
+     * The <code>addValueToSumMinorDiagonal</code> method does nothing, the move values are calculated from the cells.
+     *
+     * @param moveValue - The value which has to be added to element.
+     */
+    @Override
+    public void addValueToSumMinorDiagonal(int moveValue) {
+        // The packed game keeps no sums.
+    }
+
+    /**
+     * The <code>getCalculatedMoveValues</code> method calculates the sums of the row, the column and both diagonals
+     * from the cells, the value of the mark is 1 for the player X and -1 for the player O.
+     *
+     * @param rowIndex - The requested row index.
+     * @param columnIndex - The requested column index.
+     * @return int[] - calculated move values at the current time.
+     */
+    @Override
+    public int[] getCalculatedMoveValues(int rowIndex, int columnIndex) {
+        BitBoard cells = getPlayingBoard();
+        int[] values = new int[4];
+        for (int i = 0; i < PackedSlot.BOARD_SIZE; i++) {
+            values[0] += moveValue(cells.getMark(rowIndex, i));
+            values[1] += moveValue(cells.getMark(i, columnIndex));
+            values[2] += moveValue(cells.getMark(i, i));
+            values[3] += moveValue(cells.getMark(i, PackedSlot.BOARD_SIZE - i - 1));
+        }
+        return values;
+    }
+
+    /**
+     * The <code>moveValue</code> method returns the value of the mark.
+     *
+     * @param mark - The mark in the cell.
+     * @return int - 1 for the player X, -1 for the player O and 0 for the free cell.
+     */
+    private static int moveValue(char mark) {
+        return mark == BitBoard.MARK_X ? 1 : mark == BitBoard.MARK_O ? -1 : 0;
+    }
+}
@@ -0,0 +1,229 @@
+package com.tictactoe.game.repository;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>PackedGame</code> class is the flyweight {@link Game} over the slot of the {@link PackedGameStore}. The
+ * view copies nothing, every getter reads the slot and every setter writes it, so the changes made through the view
+ * are already stored when {@link GameStore#replace(int, Game)} is called.
+ *
+ * @author Bosko Mijin.
+ */
+final class PackedGame extends Game {
+
+    /** The slot - the address of the packed game. */
+    private final PackedSlot slot;
+
+    /** The board - the view of the cells of the packed game. */
+    private final PackedBoard board;
+
+    /**
+     * The <code>PackedGame</code> parameterized constructor.
+     *
+     * @param id - The id of the game.
+     * @param slot - The address of the packed game.
+     */
+    PackedGame(int id, PackedSlot slot) {
+        this.slot = slot;
+        board = new PackedBoard(slot);
+        super.setId(id);
+    }
+
+    /**
+     * The <code>getSlot</code> method returns the address of the packed game.
+     *
+     * @return PackedSlot - The slot of the game.
+     */
+    PackedSlot getSlot() {
+        return slot;
+    }
+
+    /**
+     * The <code>getPlayers</code> method returns the view of the players of the packed game.
+     *
+     * @return Map - The players and their marks.
+     */
+    @Override
+    public Map<Player, Character> getPlayers() {
+        return new PackedPlayers(slot);
+    }
+
+    /**
+     * The <code>setPlayers</code> method writes the ids of the players into the slot and marks them present, the
+     * players which aren't provided are marked absent.
+     *
+     * @param players - The players of the game.
+     */
+    @Override
+    public void setPlayers(Map<Player, Character> players) {
+        slot.updateState(PackedSlot.PLAYER_X | PackedSlot.PLAYER_O, slot.setPlayerIds(players));
+    }
+
+    /**
+     * The <code>getBoard</code> method returns the view of the cells of the packed game.
+     *
+     * @return Board - The board of the game.
+     */
+    @Override
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * The <code>setBoard</code> method writes the marks of the board into the state, replacing all the cells.
+     *
+     * @param board - The board of the game.
+     */
+    @Override
+    public void setBoard(Board board) {
+        slot.updateState(PackedSlot.CELLS_MASK, PackedSlot.cellBits(board));
+    }
+
+    /**
+     * The <code>isGameOver</code> method reads the game over indicator from the state.
+     *
+     * @return boolean - <code>true</code> if the game is over, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean isGameOver() {
+        return (slot.state() & PackedSlot.GAME_OVER) != 0;
+    }
+
+    /**
+     * The <code>setGameOver</code> method writes the game over indicator to the state.
+     *
+     * @param isGameOver - The game over indicator.
+     */
+    @Override
+    public void setGameOver(boolean isGameOver) {
+        slot.updateState(PackedSlot.GAME_OVER, isGameOver ? PackedSlot.GAME_OVER : 0);
+    }
+
+    /**
+     * The <code>getWinner</code> method reads the winner from the state.
+     *
+     * @return Character - The winner, or <code>null</code> if there is no winner.
+     */
+    @Override
+    public Character getWinner() {
+        return PackedSlot.winner(slot.state());
+    }
+
+    /**
+     * The <code>setWinner</code> method writes the winner to the state.
+     *
+     * @param winner - The winner, or <code>null</code> if there is no winner.
+     */
+    @Override
+    public void setWinner(Character winner) {
+        slot.updateState(PackedSlot.WINNER_MASK, PackedSlot.winnerBits(winner));
+    }
+
+    /**
+     * The <code>getLastActivityTime</code> method reads the last activity time from the slot.
+     *
+     * @return long - The epoch milliseconds of the last activity.
+     */
+    @Override
+    public long getLastActivityTime() {
+        return slot.getLastActivityTime();
+    }
+
+    /**
+     * The <code>setLastActivityTime</code> method writes the last activity time to the slot.
+     *
+     * @param lastActivityTime - The epoch milliseconds of the last activity.
+     */
+    @Override
+    public void setLastActivityTime(long lastActivityTime) {
+        slot.setLastActivityTime(lastActivityTime);
+    }
+
+    /**
+     * The <code>touch</code> method records the activity on the game in the slot.
+     */
+    @Override
+    public void touch() {
+        slot.setLastActivityTime(System.currentTimeMillis());
+    }
+
+    /**
+     * The <code>PackedPlayers</code> class is the view of the players of the packed game. The players are created from
+     * the ids in the slot when the view is iterated, and the joined player is written into the slot.
+     */
+    private static final class PackedPlayers extends AbstractMap<Player, Character> {
+
+        /** The slot - the address of the packed game. */
+        private final PackedSlot slot;
+
+        /**
+         * The <code>PackedPlayers</code> parameterized constructor.
+         *
+         * @param slot - The address of the packed game.
+         */
+        private PackedPlayers(PackedSlot slot) {
+            this.slot = slot;
+        }
+
+        /**
+         * The <code>size</code> method counts the present players without creating them.
+         *
+         * @return int - The number of players.
+         */
+        @Override
+        public int size() {
+            return Integer.bitCount(slot.state() & (PackedSlot.PLAYER_X | PackedSlot.PLAYER_O));
+        }
+
+        /**
+         * The <code>entrySet</code> method creates the players present in the slot.
+         *
+         * @return Set - The players and their marks.
+         */
+        @Override
+        public Set<Map.Entry<Player, Character>> entrySet() {
+            int state = slot.state();
+            boolean hasX = (state & PackedSlot.PLAYER_X) != 0;
+            boolean hasO = (state & PackedSlot.PLAYER_O) != 0;
+            if (hasX && hasO) {
+                return Set.of(entry(BitBoard.MARK_X), entry(BitBoard.MARK_O));
+            } else if (hasX || hasO) {
+                return Set.of(entry(hasX ? BitBoard.MARK_X : BitBoard.MARK_O));
+            }
+            return Set.of();
+        }
+
+        /**
+         * The <code>put</code> method writes the id of the player into the slot and marks the player present.
+         *
+         * @param player - The player.
+         * @param mark - The mark of the player.
+         * @return Character - Always <code>null</code>, the mark of the player is never changed.
+         */
+        @Override
+        public Character put(Player player, Character mark) {
+            slot.setPlayerId(mark, UUID.fromString(player.getId()));
+            slot.updateState(0, PackedSlot.playerBit(mark));
+            return null;
+        }
+
+        /**
+         * The <code>entry</code> method creates the player with provided mark from the id in the slot.
+         *
+         * @param mark - The mark of the player.
+         * @return Map.Entry - The player and its mark.
+         */
+        private Map.Entry<Player, Character> entry(char mark) {
+            return new AbstractMap.SimpleImmutableEntry<>(
+                    Player.builder().id(slot.getPlayerId(mark).toString()).build(), mark);
+        }
+    }
+}
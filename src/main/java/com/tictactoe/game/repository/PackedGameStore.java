@@ -0,0 +1,242 @@
+package com.tictactoe.game.repository;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>PackedGameStore</code> class is the {@link GameStore} for the 3x3 games which packs every game into the
+ * {@value PackedSlot#SIZE} bytes slot of the direct buffer, addressed by the game id through the
+ * {@link SegmentDirectory}. The whole position - cells, winner, game over and the presence of the players - is the
+ * single state word described in {@link PackedSlot}, so millions of games take neither heap nor garbage collection
+ * time. The store returns the {@link PackedGame} view instead of the copy: the services keep using the {@link Game}
+ * and {@link Board} API, while the reads and writes go straight to the slot. The player on turn isn't stored, it is
+ * derived from the number of marks like everywhere else.
+ *
+ * @author Bosko Mijin.
+ */
+class PackedGameStore implements GameStore {
+
+    /** The segments - the direct buffers which are holding the slots. */
+    private final SegmentDirectory segments;
+
+    /** The size - the number of games currently held in the store. */
+    private final AtomicInteger size;
+
+    /**
+     * The <code>PackedGameStore</code> parameterized constructor.
+     *
+     * @param boardSize - The number of rows (and columns) of the boards, only 3 can be packed.
+     */
+    PackedGameStore(int boardSize) {
+        if (boardSize != PackedSlot.BOARD_SIZE) {
+            throw new IllegalArgumentException("Packed store holds only 3x3 boards, check the table size.");
+        }
+        segments = new SegmentDirectory(PackedSlot.SIZE,
+                segmentIndex -> ByteBuffer.allocateDirect(GameIndex.SEGMENT_SIZE * PackedSlot.SIZE));
+        size = new AtomicInteger();
+    }
+
+    /**
+     * The <code>get</code> method returns the view of the game stored under the provided id without taking any lock.
+     *
+     * @param id - The id of the requested game.
+     * @return Game - The view of the game, or <code>null</code> if there is no such game.
+     */
+    @Override
+    public Game get(int id) {
+        PackedSlot slot = slot(id);
+        return slot == null || (slot.state() & PackedSlot.OCCUPIED) == 0 ? null : new PackedGame(id, slot);
+    }
+
+    /**
+     * The <code>put</code> method packs the game into the slot of the provided id. If the slot is retired, the game is
+     * packed into the segment which replaces the released one.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The game which has to be stored.
+     */
+    @Override
+    public void put(int id, Game game) {
+        ByteBuffer segment = segments.segmentFor(id);
+        while (!write(new PackedSlot(segment, segments.offset(id)), game, false)) {
+            segment = segments.renewed(id);
+        }
+    }
+
+    /**
+     * The <code>replace</code> method packs the changed game into the slot of the provided id if the slot isn't empty.
+     * The view of the same slot is already stored, so only the presence of the game is checked.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The changed game.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if there was no game under the id.
+     */
+    @Override
+    public boolean replace(int id, Game game) {
+        PackedSlot slot = slot(id);
+        if (slot == null) {
+            return false;
+        }
+        if (game instanceof PackedGame && ((PackedGame) game).getSlot().isSameSlot(slot)) {
+            return (slot.state() & PackedSlot.OCCUPIED) != 0;
+        }
+        return write(slot, game, true);
+    }
+
+    /**
+     * The <code>remove</code> method empties the slot of the provided id.
+     *
+     * @param id - The id of the game which has to be removed.
+     * @return Game - The copy of the removed game, or <code>null</code> if there was no game under the id.
+     */
+    @Override
+    public Game remove(int id) {
+        PackedSlot slot = slot(id);
+        if (slot == null) {
+            return null;
+        }
+        while (true) {
+            int state = slot.state();
+            if ((state & PackedSlot.OCCUPIED) == 0) {
+                return null;
+            }
+            Game removed = unpack(id, slot, state);
+            if (slot.compareAndSetState(state, 0)) {
+                size.decrementAndGet();
+                return removed;
+            }
+        }
+    }
+
+    /**
+     * The <code>releaseSegmentIfEmpty</code> method drops the segment which holds the provided id if none of its slots
+     * holds a game.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean releaseSegmentIfEmpty(int id) {
+        return segments.release(id, this::retire, segmentIndex -> {
+            // the memory of the unreachable direct buffer is given back by its cleaner
+        });
+    }
+
+    /**
+     * The <code>hasSegment</code> method checks whether the segment which holds the provided id exists.
+     *
+     * @param id - Any id of the segment.
+     * @return boolean - <code>true</code> if the segment exists, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean hasSegment(int id) {
+        return segments.existing(id) != null;
+    }
+
+    /**
+     * The <code>size</code> method returns the number of games currently held in the store.
+     *
+     * @return int - The number of games.
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * The <code>slot</code> method returns the slot of the provided id if its segment exists.
+     *
+     * @param id - The id of the game.
+     * @return PackedSlot - The slot, or <code>null</code> if there is no segment for the id.
+     */
+    private PackedSlot slot(int id) {
+        ByteBuffer segment = segments.existing(id);
+        return segment == null ? null : new PackedSlot(segment, segments.offset(id));
+    }
+
+    /**
+     * The <code>retire</code> method marks every empty slot of the segment retired by compare-and-set. If any slot
+     * holds a game, the slots retired so far are emptied again and the segment stays in use.
+     *
+     * @param segment - The segment which has to be released.
+     * @return boolean - <code>true</code> if all the slots are retired, otherwise <code>false</code>.
+     */
+    private boolean retire(ByteBuffer segment) {
+        for (int offset = 0; offset < segments.segmentCapacity(); offset += PackedSlot.SIZE) {
+            if (!new PackedSlot(segment, offset).compareAndSetState(0, PackedSlot.RETIRED)) {
+                for (int retired = 0; retired < offset; retired += PackedSlot.SIZE) {
+                    new PackedSlot(segment, retired).compareAndSetState(PackedSlot.RETIRED, 0);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The <code>write</code> method packs the game into the slot. The ids of the players and the activity time are
+     * written first, and the state word which publishes them last.
+     *
+     * @param slot - The slot of the game.
+     * @param game - The game which has to be packed.
+     * @param onlyIfPresent - The indicator whether the empty slot has to be left empty.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if the slot is retired or the
+     *         empty slot has to be left empty.
+     */
+    private boolean write(PackedSlot slot, Game game, boolean onlyIfPresent) {
+        int packed = PackedSlot.OCCUPIED | PackedSlot.cellBits(game.getBoard())
+                | PackedSlot.winnerBits(game.getWinner()) | (game.isGameOver() ? PackedSlot.GAME_OVER : 0)
+                | slot.setPlayerIds(game.getPlayers());
+        slot.setLastActivityTime(game.getLastActivityTime());
+        while (true) {
+            int state = slot.state();
+            boolean present = (state & PackedSlot.OCCUPIED) != 0;
+            if ((state & PackedSlot.RETIRED) != 0 || onlyIfPresent && !present) {
+                return false;
+            }
+            if (slot.compareAndSetState(state, packed)) {
+                if (!present) {
+                    size.incrementAndGet();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The <code>unpack</code> method creates the regular game from the state of the slot, so the game stays usable
+     * after the slot is emptied.
+     *
+     * @param id - The id of the game.
+     * @param slot - The slot of the game.
+     * @param state - The state word of the game.
+     * @return Game - The unpacked game.
+     */
+    private static Game unpack(int id, PackedSlot slot, int state) {
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        for (char mark : new char[] { BitBoard.MARK_X, BitBoard.MARK_O }) {
+            if ((state & PackedSlot.playerBit(mark)) != 0) {
+                players.put(Player.builder().id(slot.getPlayerId(mark).toString()).build(), mark);
+            }
+        }
+        Board board = new Board(PackedSlot.BOARD_SIZE);
+        for (int row = 0; row < PackedSlot.BOARD_SIZE; row++) {
+            for (int column = 0; column < PackedSlot.BOARD_SIZE; column++) {
+                char mark = PackedSlot.mark(state >>> PackedSlot.cellShift(row, column) & 3);
+                if (mark != BitBoard.EMPTY) {
+                    board.putMark(row, column, mark);
+                    board.addMoveValues(row, column, mark);
+                }
+            }
+        }
+        return Game.builder().id(id).players(players).board(board).isGameOver((state & PackedSlot.GAME_OVER) != 0)
+                .winner(PackedSlot.winner(state)).lastActivityTime(slot.getLastActivityTime()).build();
+    }
+}
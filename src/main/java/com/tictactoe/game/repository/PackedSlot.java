@@ -0,0 +1,303 @@
+package com.tictactoe.game.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.UUID;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>PackedSlot</code> class is the address of the single 3x3 game in the slab of the {@link PackedGameStore},
+ * and the only place which knows the layout of the slot <code>[state:4][reserved:4][lastActivityTime:8]
+ * [playerX:16][playerO:16]</code>. The whole position is the single state word:
+ * <ul>
+ * <li>bits 0-17 - two bits per cell, 01 for the mark X and 10 for the mark O</li>
+ * <li>bits 18-19 - the winner, none, X, O or draw</li>
+ * <li>bit 20 - the game over indicator</li>
+ * <li>bits 21-22 - the presence of the player X and the player O</li>
+ * <li>bit 23 - the indicator that the slot holds a game</li>
+ * <li>bit 24 - the indicator that the slot is retired, its segment is being released</li>
+ * </ul>
+ * The state is changed only by compare-and-set, so the reader always sees the whole position, and the ids of the
+ * players are written before their presence bit is set.
+ *
+ * @author Bosko Mijin.
+ */
+final class PackedSlot {
+
+    /** The Constant SIZE - the number of bytes of the single slot. */
+    static final int SIZE = 48;
+
+    /** The Constant BOARD_SIZE - the number of rows (and columns) of the packed board. */
+    static final int BOARD_SIZE = 3;
+
+    /** The Constant CELLS_MASK - the bits of all the cells. */
+    static final int CELLS_MASK = (1 << 2 * BOARD_SIZE * BOARD_SIZE) - 1;
+
+    /** The Constant WINNER_SHIFT - the position of the winner bits. */
+    static final int WINNER_SHIFT = 18;
+
+    /** The Constant WINNER_MASK - the bits of the winner. */
+    static final int WINNER_MASK = 3 << WINNER_SHIFT;
+
+    /** The Constant GAME_OVER - the bit of the game over indicator. */
+    static final int GAME_OVER = 1 << 20;
+
+    /** The Constant PLAYER_X - the bit of the presence of the player X. */
+    static final int PLAYER_X = 1 << 21;
+
+    /** The Constant PLAYER_O - the bit of the presence of the player O. */
+    static final int PLAYER_O = 1 << 22;
+
+    /** The Constant OCCUPIED - the bit which marks the slot holding a game. */
+    static final int OCCUPIED = 1 << 23;
+
+    /** The Constant RETIRED - the bit which marks the slot of the segment which is being released. */
+    static final int RETIRED = 1 << 24;
+
+    /** The Constant DRAW - the winner of the game which is finished without the winner. */
+    private static final char DRAW = 'D';
+
+    /** The Constant ACTIVITY_OFFSET - the offset of the last activity time inside of the slot. */
+    private static final int ACTIVITY_OFFSET = 8;
+
+    /** The Constant PLAYER_X_OFFSET - the offset of the id of the player X inside of the slot. */
+    private static final int PLAYER_X_OFFSET = 16;
+
+    /** The Constant PLAYER_O_OFFSET - the offset of the id of the player O inside of the slot. */
+    private static final int PLAYER_O_OFFSET = 32;
+
+    /** The Constant STATE - the atomic access to the state word. */
+    private static final VarHandle STATE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    /** The Constant ACTIVITY - the atomic access to the last activity time. */
+    private static final VarHandle ACTIVITY = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    /** The segment - the buffer which holds the slot. */
+    private final ByteBuffer segment;
+
+    /** The offset - the offset of the slot inside of the segment. */
+    private final int offset;
+
+    /**
+     * The <code>PackedSlot</code> parameterized constructor.
+     *
+     * @param segment - The buffer which holds the slot.
+     * @param offset - The offset of the slot inside of the segment.
+     */
+    PackedSlot(ByteBuffer segment, int offset) {
+        this.segment = segment;
+        this.offset = offset;
+    }
+
+    /**
+     * The <code>state</code> method reads the state word of the slot.
+     *
+     * @return int - The state word.
+     */
+    int state() {
+        return (int) STATE.getAcquire(segment, offset);
+    }
+
+    /**
+     * The <code>compareAndSetState</code> method replaces the state word if it wasn't changed in the meantime.
+     *
+     * @param expected - The expected state word.
+     * @param state - The new state word.
+     * @return boolean - <code>true</code> if the state is replaced, otherwise <code>false</code>.
+     */
+    boolean compareAndSetState(int expected, int state) {
+        return STATE.compareAndSet(segment, offset, expected, state);
+    }
+
+    /**
+     * The <code>updateState</code> method clears and sets the bits of the state word of the occupied slot.
+     *
+     * @param clearBits - The bits which has to be cleared.
+     * @param setBits - The bits which has to be set.
+     */
+    void updateState(int clearBits, int setBits) {
+        int state = state();
+        while ((state & OCCUPIED) != 0 && !compareAndSetState(state, state & ~clearBits | setBits)) {
+            state = state();
+        }
+    }
+
+    /**
+     * The <code>getLastActivityTime</code> method reads the last activity time of the game.
+     *
+     * @return long - The epoch milliseconds of the last activity.
+     */
+    long getLastActivityTime() {
+        return (long) ACTIVITY.getVolatile(segment, offset + ACTIVITY_OFFSET);
+    }
+
+    /**
+     * The <code>setLastActivityTime</code> method writes the last activity time of the game.
+     *
+     * @param lastActivityTime - The epoch milliseconds of the last activity.
+     */
+    void setLastActivityTime(long lastActivityTime) {
+        ACTIVITY.setVolatile(segment, offset + ACTIVITY_OFFSET, lastActivityTime);
+    }
+
+    /**
+     * The <code>getPlayerId</code> method reads the id of the player with provided mark. It has to be called only
+     * after the presence bit of the player is seen in the state.
+     *
+     * @param mark - The mark of the player.
+     * @return UUID - The id of the player.
+     */
+    UUID getPlayerId(char mark) {
+        int playerOffset = offset + playerOffset(mark);
+        return new UUID(segment.getLong(playerOffset), segment.getLong(playerOffset + Long.BYTES));
+    }
+
+    /**
+     * The <code>setPlayerId</code> method writes the id of the player with provided mark. The id is published by the
+     * following change of the state which sets the presence bit of the player.
+     *
+     * @param mark - The mark of the player.
+     * @param playerId - The id of the player.
+     */
+    void setPlayerId(char mark, UUID playerId) {
+        int playerOffset = offset + playerOffset(mark);
+        segment.putLong(playerOffset, playerId.getMostSignificantBits());
+        segment.putLong(playerOffset + Long.BYTES, playerId.getLeastSignificantBits());
+    }
+
+    /**
+     * The <code>setPlayerIds</code> method writes the ids of the players. The ids are published by the following change
+     * of the state which sets the returned presence bits.
+     *
+     * @param players - The players and their marks, or <code>null</code>.
+     * @return int - The presence bits of the players.
+     */
+    int setPlayerIds(Map<Player, Character> players) {
+        int presence = 0;
+        if (players != null) {
+            for (Map.Entry<Player, Character> entry : players.entrySet()) {
+                setPlayerId(entry.getValue(), UUID.fromString(entry.getKey().getId()));
+                presence |= playerBit(entry.getValue());
+            }
+        }
+        return presence;
+    }
+
+    /**
+     * The <code>isSameSlot</code> method checks whether the other slot addresses the same bytes.
+     *
+     * @param other - The other slot.
+     * @return boolean - <code>true</code> if both are the same slot, otherwise <code>false</code>.
+     */
+    boolean isSameSlot(PackedSlot other) {
+        return segment == other.segment && offset == other.offset;
+    }
+
+    /**
+     * The <code>cellShift</code> method calculates the position of the bits of the cell.
+     *
+     * @param rowIndex - The row index of the cell.
+     * @param columnIndex - The column index of the cell.
+     * @return int - The position of the lower bit of the cell.
+     */
+    static int cellShift(int rowIndex, int columnIndex) {
+        return 2 * (rowIndex * BOARD_SIZE + columnIndex);
+    }
+
+    /**
+     * The <code>cellBits</code> method encodes the marks of the board into the state bits.
+     *
+     * @param board - The board, or <code>null</code>.
+     * @return int - The cell bits of the state.
+     */
+    static int cellBits(Board board) {
+        BitBoard cells = board == null ? null : board.getPlayingBoard();
+        if (cells == null) {
+            return 0;
+        }
+        if (cells.getSize() != BOARD_SIZE) {
+            throw new IllegalArgumentException("Packed store holds only 3x3 boards, check the table size.");
+        }
+        int packed = 0;
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int column = 0; column < BOARD_SIZE; column++) {
+                packed |= markBits(cells.getMark(row, column)) << cellShift(row, column);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * The <code>markBits</code> method returns the two bits value of the mark.
+     *
+     * @param mark - The mark of the player.
+     * @return int - 1 for the mark X, 2 for the mark O, 0 for anything else.
+     */
+    static int markBits(char mark) {
+        return mark == BitBoard.MARK_X ? 1 : mark == BitBoard.MARK_O ? 2 : 0;
+    }
+
+    /**
+     * The <code>mark</code> method returns the mark of the two bits value.
+     *
+     * @param bits - The two bits value of the cell.
+     * @return char - The mark of the player, or {@link BitBoard#EMPTY}.
+     */
+    static char mark(int bits) {
+        return bits == 1 ? BitBoard.MARK_X : bits == 2 ? BitBoard.MARK_O : BitBoard.EMPTY;
+    }
+
+    /**
+     * The <code>playerBit</code> method returns the presence bit of the player with provided mark.
+     *
+     * @param mark - The mark of the player.
+     * @return int - The presence bit.
+     */
+    static int playerBit(char mark) {
+        return mark == BitBoard.MARK_X ? PLAYER_X : PLAYER_O;
+    }
+
+    /**
+     * The <code>winnerBits</code> method encodes the winner into the state bits.
+     *
+     * @param winner - The winner, {@link BitBoard#MARK_X}, {@link BitBoard#MARK_O}, 'D' or <code>null</code>.
+     * @return int - The winner bits of the state.
+     */
+    static int winnerBits(Character winner) {
+        if (winner == null) {
+            return 0;
+        }
+        return (winner == DRAW ? 3 : markBits(winner)) << WINNER_SHIFT;
+    }
+
+    /**
+     * The <code>winner</code> method decodes the winner from the state.
+     *
+     * @param state - The state word.
+     * @return Character - The winner, or <code>null</code> if there is no winner.
+     */
+    static Character winner(int state) {
+        int bits = (state & WINNER_MASK) >>> WINNER_SHIFT;
+        if (bits == 0) {
+            return null;
+        }
+        return bits == 3 ? DRAW : mark(bits);
+    }
+
+    /**
+     * The <code>playerOffset</code> method returns the offset of the id of the player inside of the slot.
+     *
+     * @param mark - The mark of the player.
+     * @return int - The offset of the player id.
+     */
+    private static int playerOffset(char mark) {
+        return mark == BitBoard.MARK_X ? PLAYER_X_OFFSET : PLAYER_O_OFFSET;
+    }
+}
@@ -0,0 +1,151 @@
+package com.tictactoe.game.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * The <code>SegmentDirectory</code> class holds the byte buffer segments of the stores which are keeping the games
+ * outside of the heap. Every segment holds {@value GameIndex#SEGMENT_SIZE} fixed size slots, addressed directly by the
+ * game id exactly like in {@link GameIndex}, so the lookup never takes a lock and only the writers which need a new
+ * segment synchronize. The segment is released under the same lock, after the store has retired all its slots, so the
+ * writer which finds the retired slot gets the new segment from {@link #renewed(int)} once the release is done.
+ *
+ * @author Bosko Mijin.
+ */
+final class SegmentDirectory {
+
+    /** The slot size - the number of bytes of the single slot. */
+    private final int slotSize;
+
+    /** The allocator - creates the zeroed buffer of the segment with provided index. */
+    private final IntFunction<ByteBuffer> allocator;
+
+    /** The directory - the segments table, replaced by a bigger copy when it has to grow. */
+    private volatile AtomicReferenceArray<ByteBuffer> directory;
+
+    /**
+     * The <code>SegmentDirectory</code> parameterized constructor.
+     *
+     * @param slotSize - The number of bytes of the single slot.
+     * @param allocator - The allocator of the segment buffers, receiving the segment index.
+     */
+    SegmentDirectory(int slotSize, IntFunction<ByteBuffer> allocator) {
+        this.slotSize = slotSize;
+        this.allocator = allocator;
+        directory = new AtomicReferenceArray<>(GameIndex.INITIAL_DIRECTORY_SIZE);
+    }
+
+    /**
+     * The <code>offset</code> method returns the offset of the slot of the provided id inside of its segment.
+     *
+     * @param id - The id of the game.
+     * @return int - The offset of the slot.
+     */
+    int offset(int id) {
+        return (id & GameIndex.SEGMENT_MASK) * slotSize;
+    }
+
+    /**
+     * The <code>segmentCapacity</code> method returns the number of bytes of the single segment.
+     *
+     * @return int - The segment capacity.
+     */
+    int segmentCapacity() {
+        return GameIndex.SEGMENT_SIZE * slotSize;
+    }
+
+    /**
+     * The <code>existing</code> method returns the segment which holds the provided id, if it exists.
+     *
+     * @param id - The id of the game.
+     * @return ByteBuffer - The segment, or <code>null</code> if there is no segment for the id.
+     */
+    ByteBuffer existing(int id) {
+        if (id < 0) {
+            return null;
+        }
+        AtomicReferenceArray<ByteBuffer> currentDirectory = directory;
+        int segmentIndex = id >>> GameIndex.SEGMENT_SHIFT;
+        return segmentIndex < currentDirectory.length() ? currentDirectory.get(segmentIndex) : null;
+    }
+
+    /**
+     * The <code>segmentFor</code> method returns the segment which is holding the provided id, creating the segment
+     * (and growing the directory) if it doesn't exist yet.
+     *
+     * @param id - The id for which segment is needed.
+     * @return ByteBuffer - The segment which holds the slot for the id.
+     */
+    ByteBuffer segmentFor(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Game id can't be negative.");
+        }
+        ByteBuffer segment = existing(id);
+        return segment != null ? segment : createSegment(id >>> GameIndex.SEGMENT_SHIFT);
+    }
+
+    /**
+     * The <code>renewed</code> method returns the segment which holds the provided id after the segment held by the
+     * writer is found retired. It waits for the release to finish, and returns the new segment if the old one is
+     * released, or the old one if its release is given up.
+     *
+     * @param id - The id for which segment is needed.
+     * @return ByteBuffer - The segment which holds the slot for the id.
+     */
+    ByteBuffer renewed(int id) {
+        return createSegment(id >>> GameIndex.SEGMENT_SHIFT);
+    }
+
+    /**
+     * The <code>release</code> method drops the segment which holds the provided id if the store manages to retire all
+     * its slots, and gives back the resources of the dropped segment.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @param retire - Retires all the slots of the segment, or none of them if any slot holds a game.
+     * @param releaser - Gives back the resources of the segment with the provided index.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    synchronized boolean release(int id, Predicate<ByteBuffer> retire, IntConsumer releaser) {
+        ByteBuffer segment = existing(id);
+        if (segment == null || !retire.test(segment)) {
+            return false;
+        }
+        int segmentIndex = id >>> GameIndex.SEGMENT_SHIFT;
+        directory.set(segmentIndex, null);
+        releaser.accept(segmentIndex);
+        return true;
+    }
+
+    /**
+     * The <code>createSegment</code> method creates the segment under the lock, so concurrent writers never install
+     * two different segments for the same index.
+     *
+     * @param segmentIndex - The index of the segment which has to be created.
+     * @return ByteBuffer - The created (or concurrently created) segment.
+     */
+    private synchronized ByteBuffer createSegment(int segmentIndex) {
+        AtomicReferenceArray<ByteBuffer> currentDirectory = directory;
+        if (segmentIndex >= currentDirectory.length()) {
+            int newLength = currentDirectory.length();
+            while (newLength <= segmentIndex) {
+                newLength <<= 1;
+            }
+            AtomicReferenceArray<ByteBuffer> grownDirectory = new AtomicReferenceArray<>(newLength);
+            for (int i = 0; i < currentDirectory.length(); i++) {
+                grownDirectory.set(i, currentDirectory.get(i));
+            }
+            currentDirectory = grownDirectory;
+            directory = grownDirectory;
+        }
+        ByteBuffer segment = currentDirectory.get(segmentIndex);
+        if (segment == null) {
+            segment = allocator.apply(segmentIndex).order(ByteOrder.nativeOrder());
+            currentDirectory.set(segmentIndex, segment);
+        }
+        return segment;
+    }
+}
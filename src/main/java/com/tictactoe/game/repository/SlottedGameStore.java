@@ -0,0 +1,311 @@
+package com.tictactoe.game.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tictactoe.game.model.Game;
+
+/**
+ * The <code>SlottedGameStore</code> class is the base of the {@link GameStore} implementations which are holding the
+ * games encoded by {@link GameCodec} in the byte buffers outside of the heap. The buffers are held by the
+ * {@link SegmentDirectory}, so the heap holds only the directory of the segments, regardless of the number of games.
+ * Every slot is <code>[version:4][length:4][record]</code>, where the length 0 marks the empty slot. The version is a
+ * sequence lock: the writer makes it odd while it is changing the slot, and the reader copies the record again if the
+ * version was odd or changed during the copy, so the reads never take a lock and never see a half written game. The
+ * length -1 marks the retired slot of the segment which is being released, the writer which finds it stores the game
+ * into the new segment.
+ *
+ * @author Bosko Mijin.
+ */
+abstract class SlottedGameStore implements GameStore {
+
+    /** The Constant VERSION - the atomic access to the version of the slot. */
+    private static final VarHandle VERSION = MethodHandles.byteBufferViewVarHandle(int[].class,
+            ByteOrder.nativeOrder());
+
+    /** The Constant HEADER_SIZE - the size of the version and the length of the slot. */
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    /** The Constant RETIRED - the length of the retired slot. */
+    private static final int RETIRED = -1;
+
+    /** The record capacity - the size of the biggest encoded game. */
+    private final int recordCapacity;
+
+    /** The slot size - the size of the slot, aligned to 8 bytes. */
+    private final int slotSize;
+
+    /** The segments - the buffers which are holding the slots. */
+    private final SegmentDirectory segments;
+
+    /** The size - the number of games currently held in the store. */
+    private final AtomicInteger size;
+
+    /** The scratch buffer of the thread - holds the record while it is encoded or decoded. */
+    private final ThreadLocal<ByteBuffer> scratch;
+
+    /**
+     * The <code>SlottedGameStore</code> parameterized constructor calculates the slot size for the board size.
+     *
+     * @param boardSize - The number of rows (and columns) of the boards held in the store.
+     */
+    protected SlottedGameStore(int boardSize) {
+        recordCapacity = GameCodec.maxEncodedSize(boardSize);
+        slotSize = (HEADER_SIZE + recordCapacity + Long.BYTES - 1) & -Long.BYTES;
+        segments = new SegmentDirectory(slotSize, segmentIndex -> allocateSegment(segmentIndex,
+                GameIndex.SEGMENT_SIZE * slotSize));
+        size = new AtomicInteger();
+        scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocate(recordCapacity));
+    }
+
+    /**
+     * The <code>allocateSegment</code> method allocates the zeroed buffer of the segment.
+     *
+     * @param segmentIndex - The index of the segment.
+     * @param capacity - The size of the segment in bytes.
+     * @return ByteBuffer - The direct or mapped buffer of the segment.
+     */
+    protected abstract ByteBuffer allocateSegment(int segmentIndex, int capacity);
+
+    /**
+     * The <code>releaseSegment</code> method gives back the resources of the segment which holds no game anymore.
+     *
+     * @param segmentIndex - The index of the segment.
+     */
+    protected abstract void releaseSegment(int segmentIndex);
+
+    /**
+     * The <code>get</code> method decodes the game stored under the provided id without taking any lock.
+     *
+     * @param id - The id of the requested game.
+     * @return Game - The copy of the game stored under the id, or <code>null</code> if there is no such game.
+     */
+    @Override
+    public Game get(int id) {
+        ByteBuffer segment = segments.existing(id);
+        if (segment == null) {
+            return null;
+        }
+        int offset = segments.offset(id);
+        ByteBuffer record = scratch.get();
+        while (true) {
+            int version = (int) VERSION.getAcquire(segment, offset);
+            if ((version & 1) == 0) {
+                int length = segment.getInt(offset + Integer.BYTES);
+                if (length > 0 && length <= recordCapacity) {
+                    ByteBuffer slot = segment.duplicate();
+                    slot.limit(offset + HEADER_SIZE + length).position(offset + HEADER_SIZE);
+                    record.clear();
+                    record.put(slot);
+                }
+                VarHandle.acquireFence();
+                if ((int) VERSION.getAcquire(segment, offset) == version) {
+                    return length <= 0 ? null : GameCodec.decode(record.flip());
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * The <code>put</code> method encodes the game into the slot of the provided id. If the slot is retired, the game
+     * is encoded into the segment which replaces the released one.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The game which has to be stored.
+     */
+    @Override
+    public void put(int id, Game game) {
+        ByteBuffer segment = segments.segmentFor(id);
+        while (!write(segment, id, game, false)) {
+            segment = segments.renewed(id);
+        }
+    }
+
+    /**
+     * The <code>replace</code> method encodes the changed game into the slot of the provided id if the slot isn't
+     * empty.
+     *
+     * @param id - The id under which the game has to be stored.
+     * @param game - The changed game.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if there was no game under the id.
+     */
+    @Override
+    public boolean replace(int id, Game game) {
+        ByteBuffer segment = segments.existing(id);
+        return segment != null && write(segment, id, game, true);
+    }
+
+    /**
+     * The <code>remove</code> method empties the slot of the provided id.
+     *
+     * @param id - The id of the game which has to be removed.
+     * @return Game - The removed game, or <code>null</code> if there was no game under the id.
+     */
+    @Override
+    public Game remove(int id) {
+        ByteBuffer segment = segments.existing(id);
+        if (segment == null) {
+            return null;
+        }
+        int offset = segments.offset(id);
+        int version = lockSlot(segment, offset);
+        Game removed = null;
+        try {
+            int length = segment.getInt(offset + Integer.BYTES);
+            if (length > 0) {
+                ByteBuffer slot = segment.duplicate();
+                slot.limit(offset + HEADER_SIZE + length).position(offset + HEADER_SIZE);
+                removed = GameCodec.decode(slot.slice());
+                segment.putInt(offset + Integer.BYTES, 0);
+                size.decrementAndGet();
+            }
+        } finally {
+            VERSION.setRelease(segment, offset, version + 2);
+        }
+        return removed;
+    }
+
+    /**
+     * The <code>releaseSegmentIfEmpty</code> method drops the segment which holds the provided id if none of its slots
+     * holds a game.
+     *
+     * @param id - Any id of the segment which has to be released.
+     * @return boolean - <code>true</code> if the segment is released, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean releaseSegmentIfEmpty(int id) {
+        return segments.release(id, this::retire, this::releaseSegment);
+    }
+
+    /**
+     * The <code>hasSegment</code> method checks whether the segment which holds the provided id exists.
+     *
+     * @param id - Any id of the segment.
+     * @return boolean - <code>true</code> if the segment exists, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean hasSegment(int id) {
+        return segments.existing(id) != null;
+    }
+
+    /**
+     * The <code>size</code> method returns the number of games currently held in the store.
+     *
+     * @return int - The number of games.
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * The <code>getSlotSize</code> method returns the number of bytes taken by a single game.
+     *
+     * @return int - The slot size.
+     */
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * The <code>retire</code> method marks every slot of the segment retired under the sequence lock of the slot. If
+     * any slot holds a game, the slots retired so far are emptied again and the segment stays in use.
+     *
+     * @param segment - The segment which has to be released.
+     * @return boolean - <code>true</code> if all the slots are retired, otherwise <code>false</code>.
+     */
+    private boolean retire(ByteBuffer segment) {
+        for (int offset = 0; offset < segments.segmentCapacity(); offset += slotSize) {
+            if (!setLengthIfEmpty(segment, offset, 0, RETIRED)) {
+                for (int retired = 0; retired < offset; retired += slotSize) {
+                    setLengthIfEmpty(segment, retired, RETIRED, 0);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The <code>setLengthIfEmpty</code> method changes the length of the slot which holds no game, under the sequence
+     * lock of the slot.
+     *
+     * @param segment - The segment which holds the slot.
+     * @param offset - The offset of the slot.
+     * @param expected - The expected length, 0 for the empty slot or -1 for the retired one.
+     * @param length - The new length.
+     * @return boolean - <code>true</code> if the length is changed, <code>false</code> if it wasn't the expected one.
+     */
+    private static boolean setLengthIfEmpty(ByteBuffer segment, int offset, int expected, int length) {
+        int version = lockSlot(segment, offset);
+        try {
+            if (segment.getInt(offset + Integer.BYTES) != expected) {
+                return false;
+            }
+            segment.putInt(offset + Integer.BYTES, length);
+            return true;
+        } finally {
+            VERSION.setRelease(segment, offset, version + 2);
+        }
+    }
+
+    /**
+     * The <code>write</code> method encodes the game and copies it into the slot under the sequence lock of the slot.
+     *
+     * @param segment - The segment which holds the slot.
+     * @param id - The id of the game.
+     * @param game - The game which has to be stored.
+     * @param onlyIfPresent - The indicator whether the empty slot has to be left empty.
+     * @return boolean - <code>true</code> if the game is stored, <code>false</code> if the slot is retired or the
+     *         empty slot has to be left empty.
+     */
+    private boolean write(ByteBuffer segment, int id, Game game, boolean onlyIfPresent) {
+        int length = GameCodec.encodedSize(game);
+        if (length > recordCapacity) {
+            throw new IllegalArgumentException("Game doesn't fit the slot of the store, check the table size.");
+        }
+        ByteBuffer record = scratch.get();
+        record.clear();
+        GameCodec.encode(game, record);
+        record.flip();
+        int offset = segments.offset(id);
+        int version = lockSlot(segment, offset);
+        try {
+            int previousLength = segment.getInt(offset + Integer.BYTES);
+            if (previousLength == RETIRED || onlyIfPresent && previousLength == 0) {
+                return false;
+            }
+            ByteBuffer slot = segment.duplicate();
+            slot.position(offset + HEADER_SIZE);
+            slot.put(record);
+            segment.putInt(offset + Integer.BYTES, length);
+            if (previousLength == 0) {
+                size.incrementAndGet();
+            }
+            return true;
+        } finally {
+            VERSION.setRelease(segment, offset, version + 2);
+        }
+    }
+
+    /**
+     * The <code>lockSlot</code> method makes the version of the slot odd, waiting for the other writer if needed.
+     *
+     * @param segment - The segment which holds the slot.
+     * @param offset - The offset of the slot.
+     * @return int - The even version of the slot before it was locked.
+     */
+    private static int lockSlot(ByteBuffer segment, int offset) {
+        while (true) {
+            int version = (int) VERSION.getVolatile(segment, offset);
+            if ((version & 1) == 0 && VERSION.compareAndSet(segment, offset, version, version + 1)) {
+                return version;
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.util.PositionParser;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameJournal</code> class records every creation, join, move and eviction of the games into the
+ * {@link WriteAheadLog}, and on startup restores the last snapshot written by {@link GameSnapshotter} and replays the
+ * log written after it to rebuild the games held by the {@link GamesRepository}. The records are appended by the
+ * listener of {@link GameStateChangedEvent}, which is called under the lock of the game, so the records of one game are
+ * always in the order of the changes. The game handed over by the other node is recorded as the eviction of the held
+ * copy followed by the creation, the join and a move for every mark of the game, so the changes recorded after it are
+ * replayed on top of it. The records are:
+ * <ul>
+ * <li>CREATE - <code>[gameId:4][boardSize:2][playerX:16]</code></li>
+ * <li>JOIN - <code>[gameId:4][playerO:16]</code></li>
+ * <li>MOVE - <code>[gameId:4][mark:1][cell:4][outcome:1]</code>, the outcome is the winner, D for draw or 0</li>
+ * <li>EVICT - <code>[gameId:4]</code></li>
+ * </ul>
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "game.journal", name = "enabled", havingValue = "true")
+public class GameJournal {
+
+    /** The Constant CREATE - the type of the game creation record. */
+    static final byte CREATE = 1;
+
+    /** The Constant JOIN - the type of the join record. */
+    static final byte JOIN = 2;
+
+    /** The Constant MOVE - the type of the move record. */
+    static final byte MOVE = 3;
+
+    /** The Constant EVICT - the type of the eviction record. */
+    static final byte EVICT = 4;
+
+    /** The Constant UUID_SIZE - the size of the binary player id. */
+    private static final int UUID_SIZE = 2 * Long.BYTES;
+
+    /** The Constant PAYLOAD_LENGTHS - the payload lengths of the record types, indexed by the type. */
+    static final int[] PAYLOAD_LENGTHS = { 0, Integer.BYTES + Short.BYTES + UUID_SIZE, Integer.BYTES + UUID_SIZE,
+        Integer.BYTES + 1 + Integer.BYTES + 1, Integer.BYTES };
+
+    /** The Constant NO_OUTCOME - the outcome of the move which hasn't finished the game. */
+    private static final byte NO_OUTCOME = 0;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The position parser. */
+    @Autowired
+    private PositionParser positionParser;
+
+    /** The journal directory - defined in the properties as spring profile. */
+    @Value("${game.journal.directory:journal}")
+    private String directory;
+
+    /** The segment size - size of the single log file in bytes, defined in the properties as spring profile. */
+    @Value("${game.journal.segment-size:67108864}")
+    private int segmentSize;
+
+    /** The flush interval - milliseconds between forcing the log to the disk, defined in the properties. */
+    @Value("${game.journal.flush-interval:10}")
+    private long flushInterval;
+
+    /** The sync commit - whether the change waits until it is forced to the disk, defined in the properties. */
+    @Value("${game.journal.sync-commit:false}")
+    private boolean syncCommit;
+
+    /** The write-ahead log. */
+    private WriteAheadLog writeAheadLog;
+
+    /**
+     * The <code>recover</code> method restores the last snapshot, replays the log written after it into the
+     * repository and opens the log for appending.
+     *
+     * @throws IOException - Signals that an I/O exception has occurred, or that the snapshot is corrupted.
+     */
+    @PostConstruct
+    public void recover() throws IOException {
+        Path journalDirectory = Paths.get(directory);
+        writeAheadLog = new WriteAheadLog(journalDirectory, segmentSize, flushInterval, syncCommit, PAYLOAD_LENGTHS);
+        long start = System.nanoTime();
+        long fromSequence = GameSnapshotReader.restore(journalDirectory, gamesRepository);
+        Map<Integer, List<ByteBuffer>> pending = new HashMap<>();
+        long records = writeAheadLog.replay(fromSequence, (type, payload) -> apply(type, payload, pending));
+        if (!pending.isEmpty()) {
+            log.warn("Journal records of {} games without creation are skipped.", pending.size());
+        }
+        log.info("Restored snapshot and {} journal records, {} games in {} ms.", records,
+                gamesRepository.countGames(), (System.nanoTime() - start) / 1_000_000);
+        writeAheadLog.open();
+    }
+
+    /**
+     * The <code>close</code> method forces the appended records to the disk when the application stops.
+     */
+    @PreDestroy
+    public void close() {
+        writeAheadLog.close();
+    }
+
+    /**
+     * The <code>onGameStateChanged</code> method appends the record of the change.
+     *
+     * @param event - The event which describes the change.
+     */
+    @EventListener
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        int gameId = event.getGameId();
+        switch (event.getType()) {
+        case CREATED:
+            Game created = gamesRepository.getGameById(gameId);
+            UUID playerX = playerIdOf(created, BitBoard.MARK_X);
+            short boardSize = (short) created.getBoard().getPlayingBoard().getSize();
+            writeAheadLog.append(CREATE, buffer -> putUuid(buffer.putInt(gameId).putShort(boardSize), playerX));
+            break;
+        case JOINED:
+            UUID playerO = playerIdOf(gamesRepository.getGameById(gameId), BitBoard.MARK_O);
+            writeAheadLog.append(JOIN, buffer -> putUuid(buffer.putInt(gameId), playerO));
+            break;
+        case MOVED:
+            Game played = gamesRepository.getGameById(gameId);
+            int cell = positionParser.parse(event.getPosition());
+            byte mark = (byte) event.getMark();
+            byte outcome = played.isGameOver() ? (byte) played.getWinner().charValue() : NO_OUTCOME;
+            writeAheadLog.append(MOVE, buffer -> buffer.putInt(gameId).put(mark).putInt(cell).put(outcome));
+            break;
+        case EVICTED:
+            writeAheadLog.append(EVICT, buffer -> buffer.putInt(gameId));
+            break;
+        case RECEIVED:
+            appendReceived(gamesRepository.getGameById(gameId));
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * The <code>appendReceived</code> method appends the records which rebuild the game handed over by the other node,
+     * the outcome of the game is recorded with its last mark.
+     *
+     * @param game - The received game.
+     */
+    private void appendReceived(Game game) {
+        int gameId = game.getId();
+        BitBoard cells = game.getBoard().getPlayingBoard();
+        short boardSize = (short) cells.getSize();
+        UUID playerX = playerIdOf(game, BitBoard.MARK_X);
+        writeAheadLog.append(EVICT, buffer -> buffer.putInt(gameId));
+        writeAheadLog.append(CREATE, buffer -> putUuid(buffer.putInt(gameId).putShort(boardSize), playerX));
+        if (game.getPlayers().containsValue(BitBoard.MARK_O)) {
+            UUID playerO = playerIdOf(game, BitBoard.MARK_O);
+            writeAheadLog.append(JOIN, buffer -> putUuid(buffer.putInt(gameId), playerO));
+        }
+        int marks = cells.getMoveCount();
+        for (int cell = 0; cell < boardSize * boardSize; cell++) {
+            char mark = cells.getMark(cell / boardSize, cell % boardSize);
+            if (mark == BitBoard.EMPTY) {
+                continue;
+            }
+            byte outcome = --marks == 0 && game.isGameOver() ? (byte) game.getWinner().charValue() : NO_OUTCOME;
+            int markedCell = cell;
+            writeAheadLog.append(MOVE, buffer -> buffer.putInt(gameId).put((byte) mark).putInt(markedCell)
+                    .put(outcome));
+        }
+    }
+
+    /**
+     * The <code>getWriteAheadLog</code> method returns the write-ahead log of the journal.
+     *
+     * @return WriteAheadLog - The write-ahead log.
+     */
+    public WriteAheadLog getWriteAheadLog() {
+        return writeAheadLog;
+    }
+
+    /**
+     * The <code>apply</code> method applies the replayed record to the repository. The records of the game which isn't
+     * created yet are kept until its creation record, because the creation of the game is appended outside of the game
+     * lock and it can be overtaken by the join and the first move. The game which is already restored from the
+     * snapshot isn't created again, and the other records are idempotent, so the changes which are both in the snapshot
+     * and in the log are applied only once.
+     *
+     * @param type - The type of the record.
+     * @param payload - The payload of the record.
+     * @param pending - The records of the games which aren't created yet, as the type byte followed by the payload.
+     */
+    void apply(byte type, ByteBuffer payload, Map<Integer, List<ByteBuffer>> pending) {
+        int gameId = payload.getInt(payload.position());
+        if (type == CREATE) {
+            if (gamesRepository.findGameById(gameId) != null) {
+                return;
+            }
+            payload.getInt();
+            int boardSize = payload.getShort();
+            Map<Player, Character> players = new ConcurrentHashMap<>();
+            players.put(Player.builder().id(getUuid(payload)).build(), BitBoard.MARK_X);
+            Game game = Game.builder().id(gameId).players(players).board(new Board(boardSize)).build();
+            game.touch();
+            gamesRepository.restoreGame(game);
+            for (ByteBuffer record : pending.getOrDefault(gameId, List.of())) {
+                apply(record.get(), record, pending);
+            }
+            pending.remove(gameId);
+            return;
+        }
+        Game game = gamesRepository.findGameById(gameId);
+        if (game == null) {
+            if (type == EVICT) {
+                pending.remove(gameId);
+            } else {
+                ByteBuffer record = ByteBuffer.allocate(1 + payload.remaining()).put(type).put(payload);
+                pending.computeIfAbsent(gameId, id -> new ArrayList<>()).add(record.flip());
+            }
+            return;
+        }
+        payload.getInt();
+        switch (type) {
+        case JOIN:
+            game.getPlayers().put(Player.builder().id(getUuid(payload)).build(), BitBoard.MARK_O);
+            game.touch();
+            gamesRepository.saveGame(game);
+            break;
+        case MOVE:
+            boolean wasOver = game.isGameOver();
+            applyMove(game, (char) payload.get(), payload.getInt(), payload.get());
+            gamesRepository.saveGame(game);
+            if (!wasOver && game.isGameOver()) {
+                gamesRepository.recordFinishedGame();
+            }
+            break;
+        case EVICT:
+            gamesRepository.evictGame(gameId);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * The <code>applyMove</code> method places the replayed mark and restores the outcome of the move.
+     *
+     * @param game - The game.
+     * @param mark - The mark of the player.
+     * @param cell - The cell index of the move.
+     * @param outcome - The winner, D for draw, or 0 if the move hasn't finished the game.
+     */
+    private static void applyMove(Game game, char mark, int cell, byte outcome) {
+        Board board = game.getBoard();
+        int size = board.getPlayingBoard().getSize();
+        int rowIndex = cell / size;
+        int columnIndex = cell % size;
+        if (board.putMark(rowIndex, columnIndex, mark)) {
+            board.addMoveValues(rowIndex, columnIndex, mark);
+        }
+        if (outcome != NO_OUTCOME) {
+            game.setGameOver(true);
+            game.setWinner((char) outcome);
+        }
+        game.touch();
+    }
+
+    /**
+     * The <code>playerIdOf</code> method returns the binary id of the player with provided mark.
+     *
+     * @param game - The game of the player.
+     * @param mark - The mark of the player.
+     * @return UUID - The id of the player.
+     */
+    private static UUID playerIdOf(Game game, char mark) {
+        for (Map.Entry<Player, Character> entry : game.getPlayers().entrySet()) {
+            if (entry.getValue() == mark) {
+                return UUID.fromString(entry.getKey().getId());
+            }
+        }
+        throw new IllegalStateException(String.format("Game %d has no player %s.", game.getId(), mark));
+    }
+
+    /**
+     * The <code>putUuid</code> method writes the id of the player as two longs.
+     *
+     * @param buffer - The buffer which has to be written.
+     * @param uuid - The id of the player.
+     */
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * The <code>getUuid</code> method reads the id of the player written by {@link #putUuid(ByteBuffer, UUID)}.
+     *
+     * @param buffer - The buffer which has to be read.
+     * @return String - The id of the player.
+     */
+    private static String getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+
+import com.tictactoe.game.repository.GameCodec;
+import com.tictactoe.game.repository.GamesRepository;
+
+/**
+ * The <code>GameSnapshotReader</code> class streams the snapshot written by {@link GameSnapshotWriter} back into the
+ * {@link GamesRepository}. The games are restored one by one while the file is read, so the whole snapshot is never
+ * held in memory.
+ *
+ * @author Bosko Mijin.
+ */
+final class GameSnapshotReader {
+
+    /** The Constant INPUT_BUFFER_SIZE - the size of the input buffer. */
+    private static final int INPUT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The <code>GameSnapshotReader</code> private constructor, the reader has only static methods.
+     */
+    private GameSnapshotReader() {
+    }
+
+    /**
+     * The <code>restore</code> method restores all the games of the snapshot into the repository.
+     *
+     * @param directory - The directory of the snapshot.
+     * @param gamesRepository - The repository which has to be filled.
+     * @return long - The first write-ahead log segment which isn't covered by the snapshot, or 0 if there is no
+     *         snapshot.
+     * @throws IOException - Signals that an I/O exception has occurred, or that the snapshot is corrupted.
+     */
+    static long restore(Path directory, GamesRepository gamesRepository) throws IOException {
+        Path file = directory.resolve(GameSnapshotWriter.FILE_NAME);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        try (InputStream fileInput = Files.newInputStream(file);
+                DataInputStream input = new DataInputStream(
+                        new CheckedInputStream(new BufferedInputStream(fileInput, INPUT_BUFFER_SIZE), crc))) {
+            if (input.readInt() != GameSnapshotWriter.MAGIC) {
+                throw new IOException(String.format("%s isn't the snapshot file.", file));
+            }
+            short version = input.readShort();
+            if (version != GameSnapshotWriter.VERSION) {
+                throw new IOException(String.format("Snapshot version %d isn't supported.", version));
+            }
+            long walSequence = input.readLong();
+            int lastGameId = input.readInt();
+            byte[] record = new byte[256];
+            for (int length = input.readInt(); length != 0; length = input.readInt()) {
+                if (record.length < length) {
+                    record = new byte[Integer.highestOneBit(length) << 1];
+                }
+                input.readFully(record, 0, length);
+                gamesRepository.restoreGame(GameCodec.decode(ByteBuffer.wrap(record, 0, length)));
+            }
+            int expectedCrc = (int) crc.getValue();
+            if (input.readInt() != expectedCrc) {
+                throw new IOException(String.format("Snapshot %s is corrupted.", file));
+            }
+            gamesRepository.advanceLastGameId(lastGameId);
+            return walSequence;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GameCodec;
+
+/**
+ * The <code>GameSnapshotWriter</code> class writes the snapshot file game by game. The file is written under the
+ * temporary name and it replaces the previous snapshot only when it is complete and forced to the disk, so there is
+ * always one complete snapshot. The file is:
+ * <code>[magic:4][version:2][walSequence:8][lastGameId:4]([length:4][game])*[0:4][crc32c:4]</code>, where the game
+ * is encoded by {@link GameCodec} and the write-ahead log sequence is the first segment which isn't covered by
+ * the snapshot.
+ *
+ * @author Bosko Mijin.
+ */
+final class GameSnapshotWriter implements Closeable {
+
+    /** The Constant MAGIC - the first int of the snapshot file. */
+    static final int MAGIC = 0x54545453;
+
+    /** The Constant VERSION - the version of the snapshot format. */
+    static final short VERSION = 1;
+
+    /** The Constant FILE_NAME - the name of the snapshot file. */
+    static final String FILE_NAME = "snapshot.bin";
+
+    /** The Constant TEMPORARY_SUFFIX - the suffix of the snapshot file which is being written. */
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** The Constant OUTPUT_BUFFER_SIZE - the size of the output buffer. */
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 20;
+
+    /** The snapshot file. */
+    private final Path file;
+
+    /** The temporary file which is being written. */
+    private final Path temporaryFile;
+
+    /** The file output stream, used for forcing the data to the disk. */
+    private final FileOutputStream fileOutput;
+
+    /** The checksum of all the written bytes. */
+    private final CRC32C crc = new CRC32C();
+
+    /** The output stream. */
+    private final DataOutputStream output;
+
+    /** The record buffer - holds the encoded game until it is written. */
+    private ByteBuffer record = ByteBuffer.allocate(256);
+
+    /** The indicator whether the snapshot is complete. */
+    private boolean committed;
+
+    /**
+     * The <code>GameSnapshotWriter</code> parameterized constructor creates the temporary file and writes the header.
+     *
+     * @param directory - The directory of the snapshot.
+     * @param walSequence - The first write-ahead log segment which isn't covered by the snapshot.
+     * @param lastGameId - The id of the last created game.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    GameSnapshotWriter(Path directory, long walSequence, int lastGameId) throws IOException {
+        Files.createDirectories(directory);
+        file = directory.resolve(FILE_NAME);
+        temporaryFile = directory.resolve(FILE_NAME + TEMPORARY_SUFFIX);
+        fileOutput = new FileOutputStream(temporaryFile.toFile());
+        output = new DataOutputStream(
+                new CheckedOutputStream(new BufferedOutputStream(fileOutput, OUTPUT_BUFFER_SIZE), crc));
+        output.writeInt(MAGIC);
+        output.writeShort(VERSION);
+        output.writeLong(walSequence);
+        output.writeInt(lastGameId);
+    }
+
+    /**
+     * The <code>encode</code> method encodes the game into the record buffer. It has to be called while the game can't
+     * be changed, and it doesn't touch the file, so it is cheap enough to be called under the lock of the game.
+     *
+     * @param game - The game which has to be encoded.
+     */
+    void encode(Game game) {
+        int size = GameCodec.encodedSize(game);
+        if (record.capacity() < size) {
+            record = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+        }
+        record.clear();
+        GameCodec.encode(game, record);
+    }
+
+    /**
+     * The <code>writeEncoded</code> method writes the last encoded game into the file.
+     *
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    void writeEncoded() throws IOException {
+        output.writeInt(record.position());
+        output.write(record.array(), 0, record.position());
+    }
+
+    /**
+     * The <code>commit</code> method writes the end of the games and the checksum, forces the file to the disk and
+     * replaces the previous snapshot with it.
+     *
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    void commit() throws IOException {
+        output.writeInt(0);
+        output.writeInt((int) crc.getValue());
+        output.flush();
+        fileOutput.getChannel().force(true);
+        output.close();
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    /**
+     * The <code>close</code> method closes the file, and deletes it if the snapshot isn't complete.
+     *
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            output.close();
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.locks.Lock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GameLocks;
+import com.tictactoe.game.repository.GamesRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameSnapshotter</code> class periodically writes the snapshot of all the live games, so the restart replays
+ * only the write-ahead log written since the last snapshot. The snapshot is taken in the background while the games are
+ * played: the write-ahead log is rolled to the new segment first, and then every game is encoded under its own lock,
+ * one by one, so no game is blocked longer than the copy of its state. The changes made while the snapshot is taken
+ * are also in the new segments, and replaying them over the snapshot is idempotent. When the snapshot is complete, the
+ * segments before the roll are deleted.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "game.journal", name = "enabled", havingValue = "true")
+public class GameSnapshotter {
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The game locks - guard the games against the changes while they are encoded. */
+    @Autowired
+    private GameLocks gameLocks;
+
+    /** The game journal - owns the write-ahead log which is truncated after the snapshot. */
+    @Autowired
+    private GameJournal gameJournal;
+
+    /** The journal directory - holds the snapshot file too, defined in the properties as spring profile. */
+    @Value("${game.journal.directory:journal}")
+    private String directory;
+
+    /**
+     * The <code>snapshot</code> method writes the snapshot of all the live games and truncates the write-ahead log.
+     */
+    @Scheduled(fixedDelayString = "${game.journal.snapshot-interval:300000}",
+            initialDelayString = "${game.journal.snapshot-interval:300000}")
+    public void snapshot() {
+        long start = System.nanoTime();
+        WriteAheadLog writeAheadLog = gameJournal.getWriteAheadLog();
+        long walSequence = writeAheadLog.rollSegment();
+        int lastGameId = gamesRepository.getLastGameId();
+        int games = 0;
+        try (GameSnapshotWriter writer = new GameSnapshotWriter(Paths.get(directory), walSequence, lastGameId)) {
+            for (int id = 1; id <= lastGameId; id++) {
+                if (gamesRepository.findGameById(id) == null) {
+                    continue;
+                }
+                Lock lock = gameLocks.lockFor(id);
+                lock.lock();
+                try {
+                    Game game = gamesRepository.findGameById(id);
+                    if (game == null) {
+                        continue;
+                    }
+                    writer.encode(game);
+                } finally {
+                    lock.unlock();
+                }
+                writer.writeEncoded();
+                games++;
+            }
+            writer.commit();
+        } catch (IOException e) {
+            log.error("Snapshot of the games isn't written: {}", e.getMessage());
+            return;
+        }
+        int deleted = writeAheadLog.deleteSegmentsBefore(walSequence);
+        log.info("Snapshot of {} games written in {} ms, {} journal segments deleted.", games,
+                (System.nanoTime() - start) / 1_000_000, deleted);
+    }
+}
@@ -0,0 +1,413 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>WriteAheadLog</code> class is an append-only log of compact binary records, written into memory-mapped
+ * segment files. Appending is a copy of a few dozen bytes into the mapped memory, the data is forced to the disk by the
+ * background flusher, which forces all the records appended since the previous flush at once (group commit). With the
+ * synchronous commit the appending thread waits until its record is forced, otherwise it returns immediately and the
+ * records are lost only if the operating system crashes within one flush interval.
+ * <p>
+ * Every segment file starts with the {@value #MAGIC} magic number and the format version. Every record is
+ * <code>[type:1][payload][crc32c:4]</code>, where the length of the payload is defined by the type, and the unused
+ * rest of the segment is zero, which marks the end of the records.
+ *
+ * @author Bosko Mijin.
+ */
+@Slf4j
+public final class WriteAheadLog implements Closeable {
+
+    /** The Constant MAGIC - the first int of every segment file. */
+    public static final int MAGIC = 0x54545457;
+
+    /** The Constant VERSION - the version of the record format. */
+    public static final short VERSION = 1;
+
+    /** The Constant HEADER_SIZE - the size of the segment header, magic and version. */
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+    /** The Constant CRC_SIZE - the size of the record checksum. */
+    private static final int CRC_SIZE = Integer.BYTES;
+
+    /** The Constant END_OF_RECORDS - the type byte which marks the end of the records in segment. */
+    private static final byte END_OF_RECORDS = 0;
+
+    /** The Constant SEGMENT_PREFIX - the prefix of the segment file names. */
+    private static final String SEGMENT_PREFIX = "wal-";
+
+    /** The Constant SEGMENT_SUFFIX - the suffix of the segment file names. */
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** The directory which holds the segment files. */
+    private final Path directory;
+
+    /** The size of the single segment file in bytes. */
+    private final int segmentSize;
+
+    /** The flush interval in nanoseconds. */
+    private final long flushIntervalNanos;
+
+    /** The indicator whether the appending thread waits until its record is forced to the disk. */
+    private final boolean syncCommit;
+
+    /** The payload lengths of the record types, indexed by the type. */
+    private final int[] payloadLengths;
+
+    /** The checksum calculator, used under the append lock. */
+    private final CRC32C crc = new CRC32C();
+
+    /** The sequence number of the current segment. */
+    private long segmentSequence;
+
+    /** The current segment. */
+    private MappedByteBuffer segment;
+
+    /** The logical position of the next record - the number of bytes appended since the log is opened. */
+    private long appendedPosition;
+
+    /** The logical position up to which records are forced to the disk. */
+    private volatile long flushedPosition;
+
+    /** The flusher thread. */
+    private Thread flusher;
+
+    /** The indicator whether the log is closed. */
+    private volatile boolean closed;
+
+    /**
+     * The <code>WriteAheadLog</code> parameterized constructor.
+     *
+     * @param directory - The directory which holds the segment files.
+     * @param segmentSize - The size of the single segment file in bytes.
+     * @param flushIntervalMillis - The flush interval in milliseconds.
+     * @param syncCommit - The indicator whether the appending thread waits until its record is forced to the disk.
+     * @param payloadLengths - The payload lengths of the record types, indexed by the type, type 0 is reserved.
+     */
+    public WriteAheadLog(Path directory, int segmentSize, long flushIntervalMillis, boolean syncCommit,
+            int[] payloadLengths) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+        this.syncCommit = syncCommit;
+        this.payloadLengths = payloadLengths.clone();
+    }
+
+    /**
+     * The <code>replay</code> method reads all the records of the existing segment files, in the order in which they
+     * were appended. The payload buffer passed to the consumer is positioned at the first payload byte and it is valid
+     * only during the call. Reading of the segment stops at the first torn or corrupted record.
+     *
+     * @param consumer - The consumer of the records, receiving the record type and the payload.
+     * @return long - The number of replayed records.
+     */
+    public long replay(RecordConsumer consumer) {
+        return replay(0, consumer);
+    }
+
+    /**
+     * The <code>replay</code> method reads the records of the segment files starting from the provided one, e.g. the
+     * first segment which isn't covered by the snapshot.
+     *
+     * @param fromSequence - The sequence number of the first segment which has to be replayed.
+     * @param consumer - The consumer of the records, receiving the record type and the payload.
+     * @return long - The number of replayed records.
+     */
+    public long replay(long fromSequence, RecordConsumer consumer) {
+        long records = 0;
+        for (Path segmentFile : listSegments()) {
+            if (sequenceOf(segmentFile) < fromSequence) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                    log.warn("Segment {} has unknown format, skipped.", segmentFile);
+                    continue;
+                }
+                records += replaySegment(segmentFile, buffer, consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * The <code>open</code> method creates the new segment for appending and starts the flusher. The existing segments
+     * are never appended, so the torn tail of the previous run can't be followed by new records.
+     */
+    public synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            segmentSequence = segments.isEmpty() ? 0 : sequenceOf(segments.get(segments.size() - 1));
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flusher = new Thread(this::flushLoop, "wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * The <code>append</code> method appends the record. The payload writer has to write exactly the number of bytes
+     * defined for the record type.
+     *
+     * @param type - The type of the record.
+     * @param payloadWriter - The writer of the payload.
+     */
+    public void append(byte type, Consumer<ByteBuffer> payloadWriter) {
+        int recordSize = 1 + payloadLengths[type] + CRC_SIZE;
+        long end;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed.");
+            }
+            if (segment.remaining() < recordSize + 1) {
+                segment.force();
+                openNextSegment();
+            }
+            int start = segment.position();
+            segment.put(type);
+            payloadWriter.accept(segment);
+            if (segment.position() - start != recordSize - CRC_SIZE) {
+                throw new IllegalStateException("Payload length doesn't match the record type.");
+            }
+            crc.reset();
+            ByteBuffer written = segment.duplicate();
+            written.position(start).limit(start + recordSize - CRC_SIZE);
+            crc.update(written);
+            segment.putInt((int) crc.getValue());
+            appendedPosition += recordSize;
+            end = appendedPosition;
+        }
+        if (syncCommit) {
+            awaitFlush(end);
+        }
+    }
+
+    /**
+     * The <code>close</code> method stops the flusher and forces all the appended records to the disk.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * The <code>deleteSegmentsBefore</code> method deletes the segment files which were completely written before the
+     * current segment was opened, e.g. when their content is covered by the snapshot.
+     *
+     * @param sequence - The sequence number of the first segment which has to be kept.
+     * @return int - The number of deleted segment files.
+     */
+    public int deleteSegmentsBefore(long sequence) {
+        int deleted = 0;
+        for (Path segmentFile : listSegments()) {
+            if (sequenceOf(segmentFile) < sequence) {
+                try {
+                    Files.deleteIfExists(segmentFile);
+                    deleted++;
+                } catch (IOException e) {
+                    log.warn("Segment {} can't be deleted: {}", segmentFile, e.getMessage());
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * The <code>rollSegment</code> method forces the current segment and continues appending into the new one.
+     *
+     * @return long - The sequence number of the new segment.
+     */
+    public synchronized long rollSegment() {
+        segment.force();
+        openNextSegment();
+        return segmentSequence;
+    }
+
+    /**
+     * The <code>flushLoop</code> method is the body of the flusher thread.
+     */
+    private void flushLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            flush();
+        }
+    }
+
+    /**
+     * The <code>flush</code> method forces all the records appended so far to the disk and wakes up the threads which
+     * are waiting for them.
+     */
+    private void flush() {
+        MappedByteBuffer current;
+        long target;
+        synchronized (this) {
+            current = segment;
+            target = appendedPosition;
+        }
+        if (current == null || target == flushedPosition) {
+            return;
+        }
+        current.force();
+        synchronized (this) {
+            flushedPosition = target;
+            notifyAll();
+        }
+    }
+
+    /**
+     * The <code>awaitFlush</code> method waits until the records up to the provided position are forced to the disk.
+     *
+     * @param position - The logical position which has to be forced.
+     */
+    private void awaitFlush(long position) {
+        if (flushedPosition >= position) {
+            return;
+        }
+        LockSupport.unpark(flusher);
+        synchronized (this) {
+            while (flushedPosition < position && !closed) {
+                try {
+                    wait(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The <code>openNextSegment</code> method creates and maps the next segment file and writes its header.
+     */
+    private void openNextSegment() {
+        segmentSequence++;
+        Path segmentFile = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, segmentSequence,
+                SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segment.putInt(MAGIC);
+        segment.putShort(VERSION);
+    }
+
+    /**
+     * The <code>replaySegment</code> method reads the records of a single segment.
+     *
+     * @param segmentFile - The segment file, used for logging.
+     * @param buffer - The content of the segment, positioned after the header.
+     * @param consumer - The consumer of the records.
+     * @return long - The number of replayed records.
+     */
+    private long replaySegment(Path segmentFile, ByteBuffer buffer, RecordConsumer consumer) {
+        CRC32C recordCrc = new CRC32C();
+        long records = 0;
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            byte type = buffer.get(start);
+            if (type == END_OF_RECORDS) {
+                break;
+            }
+            if (type < 1 || type >= payloadLengths.length) {
+                log.warn("Segment {} has unknown record at {}, rest is skipped.", segmentFile, start);
+                break;
+            }
+            int recordSize = 1 + payloadLengths[type] + CRC_SIZE;
+            if (buffer.remaining() < recordSize) {
+                break;
+            }
+            ByteBuffer content = buffer.duplicate();
+            content.position(start).limit(start + recordSize - CRC_SIZE);
+            recordCrc.reset();
+            recordCrc.update(content);
+            if ((int) recordCrc.getValue() != buffer.getInt(start + recordSize - CRC_SIZE)) {
+                log.warn("Segment {} has torn record at {}, rest is skipped.", segmentFile, start);
+                break;
+            }
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(start + 1).limit(start + recordSize - CRC_SIZE);
+            consumer.accept(type, payload);
+            buffer.position(start + recordSize);
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * The <code>listSegments</code> method lists the segment files, ordered by their sequence numbers.
+     *
+     * @return List - The segment files.
+     */
+    private List<Path> listSegments() {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The <code>sequenceOf</code> method extracts the sequence number from the segment file name.
+     *
+     * @param segmentFile - The segment file.
+     * @return long - The sequence number.
+     */
+    private static long sequenceOf(Path segmentFile) {
+        String name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * The <code>RecordConsumer</code> interface consumes the replayed records.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        /**
+         * The <code>accept</code> method consumes the record.
+         *
+         * @param type - The type of the record.
+         * @param payload - The payload of the record.
+         */
+        void accept(byte type, ByteBuffer payload);
+    }
+}
@@ -1,5 +1,9 @@
 package com.tictactoe.game.service;
 
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -8,11 +12,14 @@ import com.tictactoe.game.repository.GamesRepository;
 import com.tictactoe.game.util.TokenUtil;
 import com.tictactoe.game.web.exception.AuthenticationException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * The <code>AuthenticationService</code> interface implements all the business behaviors for authentication
- * functionality.
+ * functionality. The time of the token verification is recorded in the <code>games.authentication</code> timer by
+ * the outcome, success or failure.
  *
  * @author Bosko Mijin
  */
@@ -28,6 +35,25 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Autowired
     private TokenUtil tokenUtil;
 
+    /** The meter registry - the registry of the application meters. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** The success timer - the time of the successful authentications. */
+    private Timer successTimer;
+
+    /** The failure timer - the time of the failed authentications. */
+    private Timer failureTimer;
+
+    /**
+     * The <code>registerMeters</code> method registers the timers of the authentication.
+     */
+    @PostConstruct
+    public void registerMeters() {
+        successTimer = authenticationTimer("success");
+        failureTimer = authenticationTimer("failure");
+    }
+
     /**
      * The <code>authenticate</code> method authenticates player according gameId and token.
      *
@@ -37,14 +63,34 @@ public class AuthenticationServiceImpl implements AuthenticationService {
      */
     @Override
     public void authenticate(int gameId, String token) throws AuthenticationException {
-        log.debug(String.format("--> authenticate", token));
+        log.debug("--> authenticate");
         Game game = gamesRepository.getGameById(gameId);
-        if (tokenUtil.validateToken(token, game)) {
-            log.debug(String.format("Token %s is valid", token));
-            log.debug(String.format("<-- authenticate", token));
+        long start = System.nanoTime();
+        boolean valid = false;
+        try {
+            valid = tokenUtil.validateToken(token, game);
+        } finally {
+            (valid ? successTimer : failureTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (valid) {
+            if (log.isDebugEnabled()) {
+                log.debug("Token of the player of game {} is valid", gameId);
+            }
+            log.debug("<-- authenticate");
         } else {
-            log.debug(String.format("<-- authenticate", token));
+            log.debug("<-- authenticate");
             throw new AuthenticationException("User is not authenticated.");
         }
     }
+
+    /**
+     * The <code>authenticationTimer</code> method registers the timer of the authentication by the outcome.
+     *
+     * @param outcome - The outcome of the authentication, success or failure.
+     * @return Timer - The timer tagged by the outcome.
+     */
+    private Timer authenticationTimer(String outcome) {
+        return Timer.builder("games.authentication").description("Time of the token verification")
+                .tag("outcome", outcome).publishPercentileHistogram().register(meterRegistry);
+    }
 }
@@ -32,4 +32,14 @@ public interface GameInitializationService {
      */
     public String joinGame(int gameId) throws AlreadyJoinedException, MissingGameException, MissingPlayerException;
 
+    /**
+     * The <code>joinEngine</code> method defines the process of seating the engine into the game as the other player.
+     *
+     * @param gameId - The id of the requested game.
+     * @throws AlreadyJoinedException - The case when somebody already joined the game.
+     * @throws MissingGameException - The case when requested game doesn't exists.
+     * @throws MissingPlayerException - The case when creator of the requested game doesn't exists.
+     */
+    public void joinEngine(int gameId) throws AlreadyJoinedException, MissingGameException, MissingPlayerException;
+
 }
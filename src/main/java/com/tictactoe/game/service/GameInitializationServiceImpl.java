@@ -2,24 +2,38 @@ package com.tictactoe.game.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.tictactoe.game.engine.GameEngine;
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
 import com.tictactoe.game.model.Board;
 import com.tictactoe.game.model.Game;
 import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GameLocks;
 import com.tictactoe.game.repository.GamesRepository;
 import com.tictactoe.game.util.TokenUtil;
 import com.tictactoe.game.web.exception.AlreadyJoinedException;
 import com.tictactoe.game.web.exception.MissingGameException;
 import com.tictactoe.game.web.exception.MissingPlayerException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * The <code>GameserviceImpl</code> class provides the all the required activities for the game creation.
+ * The <code>GameserviceImpl</code> class provides the all the required activities for the game creation. The created
+ * games are counted in the <code>games.created</code> counter and the joined ones in the <code>games.joined</code>
+ * counter by the opponent, player or engine.
  *
  * @author Bosko Mijin
  */
@@ -35,14 +49,50 @@ public class GameInitializationServiceImpl implements GameInitializationService
     @Autowired
     private PlayerService playerService;
 
+    /** The game play service - plays the first move of the seated engine. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
     /** The token util. */
     @Autowired
     private TokenUtil tokenUtil;
 
+    /** The game locks - serialize the joining and the moves of the same game. */
+    @Autowired
+    private GameLocks gameLocks;
+
+    /** The event publisher - notifies the listeners about the game state changes. */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The meter registry - the registry of the application meters. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /** The table size - defined in the properties as spring profile. */
     @Value("${game.config.table-size}")
     private int tableSize;
 
+    /** The created games counter. */
+    private Counter createdGamesCounter;
+
+    /** The player joined games counter - the games joined by the player. */
+    private Counter playerJoinedGamesCounter;
+
+    /** The engine joined games counter - the games joined by the engine. */
+    private Counter engineJoinedGamesCounter;
+
+    /**
+     * The <code>registerMeters</code> method registers the counters of the created and joined games.
+     */
+    @PostConstruct
+    public void registerMeters() {
+        createdGamesCounter = Counter.builder("games.created").description("Number of created games")
+                .tag("board.size", String.valueOf(tableSize)).register(meterRegistry);
+        playerJoinedGamesCounter = joinedGamesCounter("player");
+        engineJoinedGamesCounter = joinedGamesCounter("engine");
+    }
+
     /**
      * The <code>createGame</code> method creates a new game, populates it with player x which is initiated the game,
      * initializes the board for the game, persists game in aggregator and returns data for further process.
@@ -52,16 +102,19 @@ public class GameInitializationServiceImpl implements GameInitializationService
     @Override
     public Map<String, String> createGame() {
         log.debug("--> createGame");
-        Map<Player, Character> players = new HashMap<>();
+        Map<Player, Character> players = new ConcurrentHashMap<>();
         Player player = playerService.createPlayer();
         players.put(player, 'X');
         Game game = gamesRepository
                 .persistNewGameInAggregator(Game.builder().players(players).board(new Board(tableSize)).build());
+        eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.CREATED, game.getId(), null, 'X'));
+        createdGamesCounter.increment();
         Map<String, String> data = new HashMap<>();
         data.put("gameId", String.valueOf(game.getId()));
-        log.debug("gameId: %s", game.getId());
         String token = tokenUtil.generateToken(player.getId());
-        log.debug("token: %s", token);
+        if (log.isDebugEnabled()) {
+            log.debug("gameId: {}", game.getId());
+        }
         data.put("token", token);
         log.debug("<-- createGame");
         return data;
@@ -79,16 +132,75 @@ public class GameInitializationServiceImpl implements GameInitializationService
      */
     @Override
     public String joinGame(int gameId) throws AlreadyJoinedException, MissingGameException, MissingPlayerException {
+        Lock lock = gameLocks.lockFor(gameId);
+        lock.lock();
+        try {
+            Player player = seatPlayerO(gameId, playerService::createPlayer);
+            playerJoinedGamesCounter.increment();
+            return tokenUtil.generateToken(player.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The <code>joinEngine</code> method seats the engine into the required game as the player o, and lets the engine
+     * play its first move under the same lock, because the player o is the first on turn.
+     *
+     * @param gameId - The id of the requested game.
+     * @throws AlreadyJoinedException - The case when somebody already joined the game.
+     * @throws MissingGameException - The case when requested game doesn't exists.
+     * @throws MissingPlayerException - The case when creator of the requested game doesn't exists.
+     */
+    @Override
+    public void joinEngine(int gameId) throws AlreadyJoinedException, MissingGameException, MissingPlayerException {
+        Lock lock = gameLocks.lockFor(gameId);
+        lock.lock();
+        try {
+            seatPlayerO(gameId, () -> Player.builder().id(GameEngine.PLAYER_ID).build());
+            engineJoinedGamesCounter.increment();
+            gamePlayService.playEngineMove(gameId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The <code>seatPlayerO</code> method populates the required game with the player o. It has to be called under the
+     * lock of the game.
+     *
+     * @param gameId - The id of the requested game.
+     * @param playerSupplier - The supplier of the player, called only if the player can be seated.
+     * @return Player - The seated player.
+     * @throws AlreadyJoinedException - The case when somebody already joined the game.
+     * @throws MissingGameException - The case when requested game doesn't exists.
+     * @throws MissingPlayerException - The case when creator of the requested game doesn't exists.
+     */
+    private Player seatPlayerO(int gameId, Supplier<Player> playerSupplier)
+            throws AlreadyJoinedException, MissingGameException, MissingPlayerException {
         Game game = gamesRepository.getGameById(gameId);
         Map<Player, Character> players = game.getPlayers();
         if (players.size() == 2) {
             throw new AlreadyJoinedException("Somebody already joined into this game.");
         } else if (players.isEmpty()) {
             throw new MissingPlayerException("Creator of the game is missing.");
-        } else {
-            Player player = playerService.createPlayer();
-            players.put(player, 'O');
-            return tokenUtil.generateToken(player.getId());
         }
+        Player player = playerSupplier.get();
+        players.put(player, 'O');
+        game.touch();
+        gamesRepository.saveGame(game);
+        eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.JOINED, gameId, null, 'O'));
+        return player;
+    }
+
+    /**
+     * The <code>joinedGamesCounter</code> method registers the counter of the games joined by the opponent.
+     *
+     * @param opponent - The opponent who joins the game, player or engine.
+     * @return Counter - The counter tagged by the opponent.
+     */
+    private Counter joinedGamesCounter(String opponent) {
+        return Counter.builder("games.joined").description("Number of joined games by the opponent")
+                .tag("opponent", opponent).register(meterRegistry);
     }
 }
@@ -1,6 +1,11 @@
 package com.tictactoe.game.service;
 
+import java.util.List;
+
 import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.exception.InvalidMovesException;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
 
 /**
  * The <code>GamePlayService</code> interface defines all the business behaviors for operations related to game playing.
@@ -20,6 +25,38 @@ public interface GamePlayService {
      */
     public boolean playGame(int gameId, String playerMark, String token) throws AuthenticationException;
 
+    /**
+     * The <code>playMove</code> method defines the playing game functionality for the player which is already
+     * authenticated, e.g. once per persistent connection.
+     *
+     * @param gameId - The id of the game.
+     * @param playerMark - The action (placing mark) which player intends to play.
+     * @param player - The mark of the authenticated player, X or O.
+     * @return boolean - If placing mark is performed returns true, otherwise false.
+     */
+    public boolean playMove(int gameId, String playerMark, char player);
+
+    /**
+     * The <code>playMoves</code> method defines the playing of the batch of moves of many games, played in order within
+     * every game.
+     *
+     * @param moves - The moves which players intend to play.
+     * @param forwarded - The indicator whether the moves are forwarded by the other node of the cluster.
+     * @return List - The result of every move, in the order of the moves.
+     * @throws InvalidMovesException - The exception if the moves are missing, any move is empty or there are more
+     *         moves than the configured maximum.
+     */
+    public List<MoveResult> playMoves(List<Move> moves, boolean forwarded) throws InvalidMovesException;
+
+    /**
+     * The <code>playEngineMove</code> method defines the move of the engine seated in the game, played only if the
+     * engine is on turn.
+     *
+     * @param gameId - The id of the game.
+     * @return boolean - If the engine has placed the mark returns true, otherwise false.
+     */
+    public boolean playEngineMove(int gameId);
+
     /**
      * The <code>obtainGameStatus</code> method defines game status obtaining functionality.
      *
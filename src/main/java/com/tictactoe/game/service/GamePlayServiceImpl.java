@@ -1,27 +1,51 @@
 package com.tictactoe.game.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import javax.annotation.PostConstruct;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.tictactoe.game.cluster.ClusterClient;
+import com.tictactoe.game.cluster.GamePartitioner;
+import com.tictactoe.game.engine.GameEngine;
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
 import com.tictactoe.game.model.Board;
 import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GameLocks;
 import com.tictactoe.game.repository.GamesRepository;
 import com.tictactoe.game.util.GameUtil;
+import com.tictactoe.game.util.PositionParser;
 import com.tictactoe.game.util.TokenUtil;
 import com.tictactoe.game.web.exception.AnotherPlayersTurnException;
 import com.tictactoe.game.web.exception.AuthenticationException;
 import com.tictactoe.game.web.exception.GameOverException;
-import com.tictactoe.game.web.exception.InvalidPositionException;
+import com.tictactoe.game.web.exception.InvalidMovesException;
 import com.tictactoe.game.web.exception.MissingPlayerException;
-import com.tictactoe.game.web.response.StatusEnum;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * The <code>GamePlayServiceImpl</code> interface implements all the business behaviors for operations related to game
- * playing.
+ * playing. The latency of the moves is recorded in the <code>games.move</code> timer by the outcome of the move, the
+ * search of the engine in the <code>games.engine.move</code> timer, and the finished games are counted in the
+ * <code>games.finished.results</code> counter by the result and the board size.
  *
  * @author Bosko Mijin
  */
@@ -40,21 +64,79 @@ public class GamePlayServiceImpl implements GamePlayService {
     @Autowired
     private TokenUtil tokenUtil;
 
+    /** The position parser. */
+    @Autowired
+    private PositionParser positionParser;
+
+    /** The game locks - serialize the moves of the same game. */
+    @Autowired
+    private GameLocks gameLocks;
+
+    /** The game engine - plays the moves of the engine seated in the single player games. */
+    @Autowired
+    private GameEngine gameEngine;
+
+    /** The event publisher - notifies the listeners about the game state changes. */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The meter registry - the registry of the application meters. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** The game partitioner - tells the games owned by this node from the games owned by the other nodes. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client - plays the moves of the games owned by the other nodes on their owners. */
+    @Autowired
+    private ClusterClient clusterClient;
+
     /** The table size - defined in the properties as spring profile. */
     @Value("${game.config.table-size}")
     private int tableSize;
 
-    /** The allowed mark format. */
-    @Value("${game.config.allowed-mark-format}")
-    private String allowedMarkFormat;
+    /** The win length - number of marks in line which wins the game, by default the whole row, column or diagonal. */
+    @Value("${game.config.win-length:${game.config.table-size}}")
+    private int winLength;
 
-    /** The allowed rows mark. */
-    @Value("${game.config.allowed-rows-mark}")
-    private String allowedRowsMark;
+    /** The max batch moves - the maximal number of moves of the single batch, defined in the properties. */
+    @Value("${game.config.max-batch-moves:1000}")
+    private int maxBatchMoves;
 
-    /** The allowed columns mark. */
-    @Value("${game.config.allowed-columns-mark}")
-    private String allowedColumnsMark;
+    /** The move timers - the latency of the played moves, indexed by {@link MoveOutcome}. */
+    private Timer[] moveTimers;
+
+    /** The engine move timer - the time of the engine searches. */
+    private Timer engineMoveTimer;
+
+    /** The won games counter - the games finished by the win. */
+    private Counter wonGamesCounter;
+
+    /** The drawn games counter - the games finished by the draw. */
+    private Counter drawnGamesCounter;
+
+    /**
+     * The <code>validateConfiguration</code> method checks that the configured win length fits the board and registers
+     * the meters of the game playing.
+     */
+    @PostConstruct
+    public void validateConfiguration() {
+        if (winLength < 1 || winLength > tableSize) {
+            throw new IllegalStateException("Win length has to be between 1 and the table size.");
+        }
+        MoveOutcome[] outcomes = MoveOutcome.values();
+        moveTimers = new Timer[outcomes.length];
+        for (MoveOutcome outcome : outcomes) {
+            moveTimers[outcome.ordinal()] = Timer.builder("games.move").description("Latency of the played moves")
+                    .tag("outcome", outcome.name().toLowerCase()).publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        engineMoveTimer = Timer.builder("games.engine.move").description("Time of the engine move searches")
+                .tag("board.size", String.valueOf(tableSize)).publishPercentileHistogram().register(meterRegistry);
+        wonGamesCounter = finishedGamesCounter("win");
+        drawnGamesCounter = finishedGamesCounter("draw");
+    }
 
     /**
      * The <code>playGame</code> method implements the playing game functionality.
@@ -66,23 +148,146 @@ public class GamePlayServiceImpl implements GamePlayService {
      */
     @Override
     public boolean playGame(int gameId, String playerMark, String token) throws AuthenticationException {
-        authenticationService.authenticate(gameId, token);
-        String playerId = tokenUtil.getUsernameFromToken(token);
-        Game game = gamesRepository.getGameById(gameId);
-        isGamePlayable(game);
-        Character player = GameUtil.getMarkForPlayerId(game, playerId);
-        Board board = game.getBoard();
-        int[] coordinates = obtainBoardCoordinates(playerMark);
-        if (player == GameUtil.whoIsOnTurn(board.getPlayingBoard().size())) {
-            boolean successfullPlay = putMarkInTableMap(player, coordinates[0], coordinates[1], board);
-            if (successfullPlay && calculateWinningState(coordinates[0], coordinates[1], board)) {
-                game.setGameOver(true);
-                game.setWinner(player);
+        return playMove(gameId, playerMark, authenticatedMark(gameId, token));
+    }
+
+    /**
+     * The <code>playMove</code> method implements the playing game functionality for the already authenticated player.
+     * The checks, the move and the winning calculation are performed under the lock of the game, so the concurrent
+     * moves of the same game can't both be played, while the moves of the other games are not blocked. If the other
+     * player is the engine, its reply is played under the same lock.
+     *
+     * @param gameId - The id of the game.
+     * @param playerMark - The action (placing mark) which player intends to play.
+     * @param player - The mark of the authenticated player, X or O.
+     * @return boolean - If placing mark is performed returns true, otherwise false.
+     */
+    @Override
+    public boolean playMove(int gameId, String playerMark, char player) {
+        long start = System.nanoTime();
+        MoveOutcome outcome = MoveOutcome.REJECTED;
+        Lock lock = gameLocks.lockFor(gameId);
+        lock.lock();
+        try {
+            Game game = gamesRepository.getGameById(gameId);
+            isGamePlayable(game);
+            Board board = game.getBoard();
+            int cell = positionParser.parse(playerMark);
+            int rowIndex = positionParser.rowIndex(cell);
+            int columnIndex = positionParser.columnIndex(cell);
+            if (player != GameUtil.whoIsOnTurn(board.getMovesCount())) {
+                throw AnotherPlayersTurnException.INSTANCE;
+            }
+            boolean successfullPlay = applyMove(game, rowIndex, columnIndex, player, playerMark);
+            if (successfullPlay) {
+                replyByEngine(game);
             }
-            GameUtil.isPlayingBoardFull(game, tableSize);
+            outcome = successfullPlay ? MoveOutcome.OK : MoveOutcome.SPACE_TAKEN;
             return successfullPlay;
-        } else {
-            throw new AnotherPlayersTurnException("Another player has to play.");
+        } finally {
+            lock.unlock();
+            moveTimers[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The <code>playMoves</code> method plays the batch of moves of many games. The moves are grouped by the game and
+     * every game is played under its lock once, in the order of its moves, and every token is authenticated only once
+     * per game. The failed move doesn't stop the batch, its reason is returned in its result. The moves of the games
+     * owned by the other nodes of the cluster are sent to their owners, one request per owner, while the games owned
+     * by this node are played. The moves forwarded by the other node are all played here, so they are never sent back
+     * while the rings of the nodes differ.
+     *
+     * @param moves - The moves which players intend to play.
+     * @param forwarded - The indicator whether the moves are forwarded by the other node of the cluster.
+     * @return List - The result of every move, in the order of the moves.
+     * @throws InvalidMovesException - The exception if the moves are missing, any move is empty or there are more
+     *         moves than the configured maximum.
+     */
+    @Override
+    public List<MoveResult> playMoves(List<Move> moves, boolean forwarded) throws InvalidMovesException {
+        validateMoves(moves);
+        Map<Integer, List<Integer>> movesByGame = new LinkedHashMap<>();
+        Map<String, List<Integer>> movesByOwner = new HashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int gameId = moves.get(i).getGameId();
+            if (forwarded || gamePartitioner.isLocal(gameId)) {
+                movesByGame.computeIfAbsent(gameId, id -> new ArrayList<>()).add(i);
+            } else {
+                movesByOwner.computeIfAbsent(gamePartitioner.ownerOf(gameId), owner -> new ArrayList<>()).add(i);
+            }
+        }
+        MoveResult[] results = new MoveResult[moves.size()];
+        List<CompletableFuture<Void>> pendingForwards = new ArrayList<>(movesByOwner.size());
+        movesByOwner.forEach((owner, indices) -> pendingForwards.add(forwardMoves(owner, indices, moves, results)));
+        movesByGame.forEach((gameId, indices) -> playGameMoves(gameId, indices, moves, results));
+        pendingForwards.forEach(CompletableFuture::join);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * The <code>validateMoves</code> method checks that the batch can be played, before any of its moves is played.
+     *
+     * @param moves - The moves of the batch.
+     * @throws InvalidMovesException - The exception if the moves are missing, any move is empty or there are more
+     *         moves than the configured maximum.
+     */
+    private void validateMoves(List<Move> moves) throws InvalidMovesException {
+        if (moves == null) {
+            throw new InvalidMovesException("Moves are missing.");
+        }
+        if (moves.size() > maxBatchMoves) {
+            throw new InvalidMovesException("Batch can't have more than " + maxBatchMoves + " moves.");
+        }
+        for (Move move : moves) {
+            if (move == null) {
+                throw new InvalidMovesException("Move of the batch is empty.");
+            }
+        }
+    }
+
+    /**
+     * The <code>forwardMoves</code> method sends the moves of the games owned by the other node to that node. If the
+     * node doesn't answer, all the moves are failed.
+     *
+     * @param owner - The base url of the node which owns the games.
+     * @param indices - The indices of the moves of the games owned by the node.
+     * @param moves - All the moves of the batch.
+     * @param results - The results of all the moves of the batch, filled at the indices of the sent moves.
+     * @return CompletableFuture - The future completed when the results are filled.
+     */
+    private CompletableFuture<Void> forwardMoves(String owner, List<Integer> indices, List<Move> moves,
+            MoveResult[] results) {
+        List<Move> ownerMoves = new ArrayList<>(indices.size());
+        for (int index : indices) {
+            ownerMoves.add(moves.get(index));
+        }
+        return clusterClient.forwardMoves(owner, ownerMoves).handle((ownerResults, error) -> {
+            for (int i = 0; i < indices.size(); i++) {
+                Move move = ownerMoves.get(i);
+                results[indices.get(i)] = error == null ? ownerResults.get(i)
+                        : new MoveResult(move.getGameId(), move.getPosition(), "FAILED", "Node " + owner
+                                + " which owns the game is unavailable.");
+            }
+            return null;
+        });
+    }
+
+    /**
+     * The <code>playEngineMove</code> method plays the move of the engine seated in the game under the lock of the
+     * game, e.g. the first move right after the engine has joined.
+     *
+     * @param gameId - The id of the game.
+     * @return boolean - If the engine has placed the mark returns true, otherwise false.
+     */
+    @Override
+    public boolean playEngineMove(int gameId) {
+        Lock lock = gameLocks.lockFor(gameId);
+        lock.lock();
+        try {
+            return replyByEngine(gamesRepository.getGameById(gameId));
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -99,41 +304,54 @@ public class GamePlayServiceImpl implements GamePlayService {
         Game game = gamesRepository.getGameById(gameId);
         authenticationService.authenticate(gameId, token);
         String playerId = tokenUtil.getUsernameFromToken(token);
-        if (game.isGameOver()) {
-            if (game.getWinner().charValue() == GameUtil.getMarkForPlayerId(game, playerId).charValue()) {
-                return StatusEnum.YOU_WON.getValue();
-            } else if (game.getWinner().charValue() == 'D') {
-                return StatusEnum.DRAW.getValue();
-            } else {
-                return StatusEnum.YOU_LOST.getValue();
-            }
-        } else if (game.getPlayers().size() < 2) {
-            return StatusEnum.AWAITING_OTHER_PLAYER.getValue();
-        } else {
-            if (GameUtil.whoIsOnTurn(game.getBoard().getPlayingBoard().size()) == GameUtil.getMarkForPlayerId(game,
-                    playerId)) {
-                return StatusEnum.YOUR_TURN.toString();
-            } else {
-                return StatusEnum.OTHER_PLAYER_TURN.getValue();
+        return GameUtil.obtainStatus(game, GameUtil.getMarkForPlayerId(game, playerId)).getValue();
+    }
+
+    /**
+     * The <code>playGameMoves</code> method plays the moves of the single game of the batch under the lock of the game.
+     *
+     * @param gameId - The id of the game.
+     * @param indices - The indices of the moves of the game, in order.
+     * @param moves - All the moves of the batch.
+     * @param results - The results of all the moves, filled for the moves of the game.
+     */
+    private void playGameMoves(int gameId, List<Integer> indices, List<Move> moves, MoveResult[] results) {
+        Map<String, Character> authenticatedMarks = new HashMap<>();
+        Lock lock = gameLocks.lockFor(gameId);
+        lock.lock();
+        try {
+            for (int index : indices) {
+                Move move = moves.get(index);
+                try {
+                    Character player = authenticatedMarks.get(move.getToken());
+                    if (player == null) {
+                        player = authenticatedMark(gameId, move.getToken());
+                        authenticatedMarks.put(move.getToken(), player);
+                    }
+                    boolean successfullPlay = playMove(gameId, move.getPosition(), player);
+                    results[index] = new MoveResult(gameId, move.getPosition(), successfullPlay ? "OK" : "SPACE_TAKEN",
+                            null);
+                } catch (AuthenticationException | RuntimeException e) {
+                    results[index] = new MoveResult(gameId, move.getPosition(), "FAILED", e.getMessage());
+                }
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * The <code>obtainBoardCoordinates</code> method parsing playerMark and calculates the coordinates (indices of
-     * array).
+     * The <code>authenticatedMark</code> method authenticates the player and returns the mark of the player.
      *
-     * @param playerMark - The mark which player has entered.
-     * @return int[] - populated array which carry the indices -> row index and column index respectively.
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @return Character - The mark of the player, X or O.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
      */
-    private int[] obtainBoardCoordinates(String playerMark) {
-        if (playerMark.matches(allowedMarkFormat)) {
-            String rowString = playerMark.replaceAll(allowedRowsMark, "");
-            String columnString = playerMark.replaceAll(allowedColumnsMark, "");
-            return new int[] { GameUtil.convertRowMarkToNumber(columnString) - 1, Integer.parseInt(rowString) - 1 };
-        } else {
-            throw new InvalidPositionException("Illegal player mark.");
-        }
+    private Character authenticatedMark(int gameId, String token) throws AuthenticationException {
+        authenticationService.authenticate(gameId, token);
+        String playerId = tokenUtil.getUsernameFromToken(token);
+        return GameUtil.getMarkForPlayerId(gamesRepository.getGameById(gameId), playerId);
     }
 
     /**
@@ -146,7 +364,7 @@ public class GamePlayServiceImpl implements GamePlayService {
      */
     private void isGamePlayable(Game game) throws GameOverException, MissingPlayerException {
         if (game.isGameOver()) {
-            throw new GameOverException("This game is already over.");
+            throw GameOverException.INSTANCE;
         }
         if (game.getPlayers().size() < 2) {
             throw new MissingPlayerException("The other player is missing.");
@@ -154,19 +372,69 @@ public class GamePlayServiceImpl implements GamePlayService {
     }
 
     /**
-     * The <code>putMarkInTableMap</code> puts the player mark to the map with key pair which are row and column indices
-     * if the element is null, otherwise it will be considered as taken.
+     * The <code>applyMove</code> method places the mark, calculates the winning state and, if the mark is placed, saves
+     * the game and publishes the move. It has to be called under the lock of the game.
+     *
+     * @param game - The game.
+     * @param rowIndex - The row index of the move.
+     * @param columnIndex - The column index of the move.
+     * @param player - The mark of the player.
+     * @param position - The position of the move as entered by the player.
+     * @return boolean - true if mark is set, otherwise false.
+     */
+    private boolean applyMove(Game game, int rowIndex, int columnIndex, char player, String position) {
+        Board board = game.getBoard();
+        boolean successfullPlay = putMarkOnBoard(player, rowIndex, columnIndex, board);
+        if (successfullPlay && calculateWinningState(rowIndex, columnIndex, board)) {
+            game.setGameOver(true);
+            game.setWinner(player);
+        }
+        GameUtil.isPlayingBoardFull(game);
+        if (successfullPlay) {
+            game.touch();
+            gamesRepository.saveGame(game);
+            if (game.isGameOver()) {
+                gamesRepository.recordFinishedGame();
+                (game.getWinner() == 'D' ? drawnGamesCounter : wonGamesCounter).increment();
+            }
+            eventPublisher.publishEvent(
+                    new GameStateChangedEvent(ChangeType.MOVED, game.getId(), position, player, game.isGameOver()));
+        }
+        return successfullPlay;
+    }
+
+    /**
+     * The <code>replyByEngine</code> method plays the move of the engine if the engine is seated in the game, the game
+     * isn't over and the engine is on turn. It has to be called under the lock of the game.
+     *
+     * @param game - The game.
+     * @return boolean - true if the engine has placed the mark, otherwise false.
+     */
+    private boolean replyByEngine(Game game) {
+        Character engineMark = GameUtil.getMarkForPlayerId(game, GameEngine.PLAYER_ID);
+        if (engineMark == null || game.isGameOver()
+                || engineMark != GameUtil.whoIsOnTurn(game.getBoard().getMovesCount())) {
+            return false;
+        }
+        long start = System.nanoTime();
+        int cell = gameEngine.chooseMove(game.getId(), game.getBoard(), engineMark);
+        engineMoveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return cell >= 0 && applyMove(game, positionParser.rowIndex(cell), positionParser.columnIndex(cell),
+                engineMark, positionParser.format(cell));
+    }
+
+    /**
+     * The <code>putMarkOnBoard</code> puts the player mark to the cell with provided row and column indices if the cell
+     * is free, otherwise it will be considered as taken.
      *
      * @param mark - The player mark.
-     * @param rowIndex - The index of the row in the playing table map.
+     * @param rowIndex - The index of the row in the playing table.
      * @param columnIndex - The index of the column of the playing table.
-     * @param playingTable - The playing table which holds the status.
+     * @param board - The board which holds the status.
      * @return boolean - true if mark is set, otherwise false.
      */
-    private boolean putMarkInTableMap(char mark, int rowIndex, int columnIndex, Board board) {
-        Map<Pair<Integer, Integer>, Character> playingBoard = board.getPlayingBoard();
-        if (playingBoard.get(Pair.of(columnIndex, rowIndex)) == null) {
-            playingBoard.put(Pair.of(columnIndex, rowIndex), mark);
+    private boolean putMarkOnBoard(char mark, int rowIndex, int columnIndex, Board board) {
+        if (board.putMark(rowIndex, columnIndex, mark)) {
             calculateMove(rowIndex, columnIndex, mark, board);
             return true;
         } else {
@@ -183,27 +451,51 @@ public class GamePlayServiceImpl implements GamePlayService {
      * @param board - The board.
      */
     public void calculateMove(int rowIndex, int columnIndex, char player, Board board) {
-        int moveValue = (player == 'X' ? 1 : -1);
-        board.addValueToSumByRows(rowIndex, moveValue);
-        board.addValueToSumByColumns(columnIndex, moveValue);
-        if (rowIndex == columnIndex) {
-            board.addValueToSumMajorDiagonal(moveValue);
-        }
-        if (columnIndex == tableSize - rowIndex - 1) {
-            board.addValueToSumMinorDiagonal(moveValue);
-        }
+        board.addMoveValues(rowIndex, columnIndex, player);
     }
 
     /**
-     * The <code>calculateMoveAndWinningState</code> method calculates the move values and checks winning state.
+     * The <code>calculateWinningState</code> method checks winning state after the current move. When the whole line
+     * wins, the move values calculated so far are enough, otherwise the line of <code>winLength</code> marks is searched
+     * around the current move only.
      *
      * @param rowIndex - The row index of the current move.
      * @param columnIndex - The column index of the current move.
+     * @param board - The board.
      * @return boolean - <code>true</code> if move is winning, otherwise <code>false</code>.
      */
     private boolean calculateWinningState(int rowIndex, int columnIndex, Board board) {
+        if (winLength < tableSize) {
+            return board.isWinningMove(rowIndex, columnIndex, winLength);
+        }
         int[] moveValues = board.getCalculatedMoveValues(rowIndex, columnIndex);
         return Math.abs(moveValues[0]) == tableSize || Math.abs(moveValues[1]) == tableSize
                 || Math.abs(moveValues[2]) == tableSize || Math.abs(moveValues[3]) == tableSize;
     }
+
+    /**
+     * The <code>finishedGamesCounter</code> method registers the counter of the games finished by the result.
+     *
+     * @param result - The result of the game, win or draw.
+     * @return Counter - The counter tagged by the result and the board size.
+     */
+    private Counter finishedGamesCounter(String result) {
+        return Counter.builder("games.finished.results").description("Number of finished games by the result")
+                .tag("result", result).tag("board.size", String.valueOf(tableSize)).register(meterRegistry);
+    }
+
+    /**
+     * The <code>MoveOutcome</code> enum is the outcome of the played move, the tag of its latency.
+     */
+    private enum MoveOutcome {
+
+        /** The OK - the mark is placed. */
+        OK,
+
+        /** The SPACE_TAKEN - the cell is already taken. */
+        SPACE_TAKEN,
+
+        /** The REJECTED - the move isn't allowed, e.g. the game is over or another player is on turn. */
+        REJECTED
+    }
 }
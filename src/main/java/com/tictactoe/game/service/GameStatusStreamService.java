@@ -0,0 +1,61 @@
+package com.tictactoe.game.service;
+
+import java.io.IOException;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.response.StatusEnum;
+
+/**
+ * The <code>GameStatusStreamService</code> interface defines all the business behaviors for pushing the game status
+ * to the players, instead of players polling for it.
+ *
+ * @author Bosko Mijin
+ */
+public interface GameStatusStreamService {
+
+    /** The Constant STATUS_EVENT - the name of the server sent event which carries the status. */
+    public static final String STATUS_EVENT = "status";
+
+    /**
+     * The <code>subscribe</code> method defines the subscription of the player to the status changes of the game.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player which is subscribing.
+     * @return SseEmitter - The emitter which is pushing the statuses to the player.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    public SseEmitter subscribe(int gameId, String token) throws AuthenticationException;
+
+    /**
+     * The <code>subscribe</code> method defines the subscription of the player to the status changes of the game,
+     * pushed to the provided listener, e.g. by the reactive stream.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player which is subscribing.
+     * @param listener - The listener which is pushing the statuses to the player.
+     * @return Runnable - The action which cancels the subscription.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    public Runnable subscribe(int gameId, String token, StatusListener listener) throws AuthenticationException;
+
+    /**
+     * The <code>StatusListener</code> interface receives the statuses of the single subscription.
+     */
+    public interface StatusListener {
+
+        /**
+         * The <code>send</code> method sends the changed status to the player.
+         *
+         * @param status - The status of the game for the player.
+         * @throws IOException - The exception if the player can't be reached anymore.
+         */
+        void send(StatusEnum status) throws IOException;
+
+        /**
+         * The <code>complete</code> method closes the stream, when the game is over or evicted.
+         */
+        void complete();
+    }
+}
@@ -0,0 +1,325 @@
+package com.tictactoe.game.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.util.GameUtil;
+import com.tictactoe.game.util.TokenUtil;
+import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.response.DefaultResponseBody;
+import com.tictactoe.game.web.response.StatusEnum;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameStatusStreamServiceImpl</code> class implements all the business behaviors for pushing the game status
+ * to the players. The player is authenticated only once, when subscribing, and afterwards the status is sent only when
+ * it changes - the changes are received as {@link GameStateChangedEvent} events. The events are published under the
+ * lock of the game, so the statuses are only queued there, and they are written to the players by the sender threads,
+ * one at the time for every subscription, so the slow player never holds the game.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Service
+public class GameStatusStreamServiceImpl implements GameStatusStreamService {
+
+    /** The authentication service. */
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The token util. */
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    /** The status stream timeout - in milliseconds, defined in the properties as spring profile. */
+    @Value("${game.config.status-stream-timeout:60000}")
+    private long statusStreamTimeout;
+
+    /** The sender threads - the number of threads writing the statuses, defined in the properties as spring profile. */
+    @Value("${game.config.status-stream-threads:4}")
+    private int senderThreads;
+
+    /** The subscriptions - active status streams grouped by game id. */
+    private final Map<Integer, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    /** The senders - write the queued statuses to the players, off the lock of the game. */
+    private ExecutorService senders;
+
+    /**
+     * The <code>initialize</code> method creates the sender threads.
+     */
+    @PostConstruct
+    public void initialize() {
+        senders = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    /**
+     * The <code>shutdown</code> method stops the sender threads when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * The <code>subscribe</code> method subscribes the player to the status changes of the game. The current status is
+     * sent immediately, and the stream is completed when the game is over.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player which is subscribing.
+     * @return SseEmitter - The emitter which is pushing the statuses to the player.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    @Override
+    public SseEmitter subscribe(int gameId, String token) throws AuthenticationException {
+        log.debug("--> subscribe");
+        SseEmitter emitter = new SseEmitter(statusStreamTimeout);
+        Runnable unsubscribe = subscribe(gameId, token, new StatusListener() {
+
+            @Override
+            public void send(StatusEnum status) throws IOException {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT).data(new DefaultResponseBody(status.getValue()),
+                        MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        log.debug("<-- subscribe");
+        return emitter;
+    }
+
+    /**
+     * The <code>subscribe</code> method subscribes the player to the status changes of the game, pushed to the
+     * provided listener. The subscription is registered before the current status is read, so no change is missed in
+     * between, at the worst the same status is sent twice. The current status is sent immediately by the calling
+     * thread, which holds no lock of the game, and the stream is completed when the game is over.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player which is subscribing.
+     * @param listener - The listener which is pushing the statuses to the player.
+     * @return Runnable - The action which cancels the subscription.
+     * @throws AuthenticationException - The authentication exception if the user is not authorized.
+     */
+    @Override
+    public Runnable subscribe(int gameId, String token, StatusListener listener) throws AuthenticationException {
+        authenticationService.authenticate(gameId, token);
+        char mark = GameUtil.getMarkForPlayerId(gamesRepository.getGameById(gameId),
+                tokenUtil.getUsernameFromToken(token));
+        Subscription subscription = new Subscription(listener, mark);
+        subscription.sending = true;
+        subscriptions.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        Game game = gamesRepository.findGameById(gameId);
+        if (game == null) {
+            synchronized (subscription) {
+                subscription.pendingComplete = true;
+            }
+            unsubscribe(gameId, subscription);
+        } else {
+            push(game, subscription);
+        }
+        send(gameId, subscription);
+        return () -> unsubscribe(gameId, subscription);
+    }
+
+    /**
+     * The <code>onGameStateChanged</code> method pushes the new status to all the players subscribed to the changed
+     * game, or closes their streams if the game is evicted.
+     *
+     * @param event - The event which describes the change.
+     */
+    @EventListener
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        Set<Subscription> gameSubscriptions = subscriptions.get(event.getGameId());
+        if (gameSubscriptions == null || gameSubscriptions.isEmpty()) {
+            return;
+        }
+        Game game = gamesRepository.findGameById(event.getGameId());
+        if (event.getType() == ChangeType.EVICTED || game == null) {
+            for (Subscription subscription : gameSubscriptions) {
+                complete(event.getGameId(), subscription);
+            }
+            subscriptions.remove(event.getGameId());
+            return;
+        }
+        for (Subscription subscription : gameSubscriptions) {
+            if (push(game, subscription)) {
+                enqueue(event.getGameId(), subscription);
+            }
+        }
+    }
+
+    /**
+     * The <code>push</code> method queues the status for the subscribed player if it is changed since the last push,
+     * and the completion of the stream if the game is over. The status is obtained under the lock of the subscription,
+     * so the later read of the game always queues the later status.
+     *
+     * @param game - The game for which status has to be sent.
+     * @param subscription - The subscription of the player.
+     * @return boolean - Whether anything is queued.
+     */
+    private boolean push(Game game, Subscription subscription) {
+        synchronized (subscription) {
+            StatusEnum status = GameUtil.obtainStatus(game, subscription.mark);
+            if (status == subscription.lastStatus) {
+                return false;
+            }
+            subscription.lastStatus = status;
+            subscription.pendingStatus = status;
+            subscription.pendingComplete |= game.isGameOver();
+            return true;
+        }
+    }
+
+    /**
+     * The <code>complete</code> method queues the completion of the stream.
+     *
+     * @param gameId - The id of the game.
+     * @param subscription - The subscription of the player.
+     */
+    private void complete(int gameId, Subscription subscription) {
+        synchronized (subscription) {
+            subscription.pendingComplete = true;
+        }
+        enqueue(gameId, subscription);
+    }
+
+    /**
+     * The <code>enqueue</code> method starts the sender of the subscription if it isn't running yet. Only the latest
+     * status waits to be sent, the older one is replaced.
+     *
+     * @param gameId - The id of the game.
+     * @param subscription - The subscription of the player.
+     */
+    private void enqueue(int gameId, Subscription subscription) {
+        synchronized (subscription) {
+            if (subscription.sending) {
+                return;
+            }
+            subscription.sending = true;
+        }
+        try {
+            senders.execute(() -> send(gameId, subscription));
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Status stream of game {} is not sent, the application is stopping.", gameId);
+            }
+        }
+    }
+
+    /**
+     * The <code>send</code> method writes the queued statuses to the player until there are no more of them, and
+     * completes the stream when it is queued. The stream which can't be written is unsubscribed.
+     *
+     * @param gameId - The id of the game.
+     * @param subscription - The subscription of the player.
+     */
+    private void send(int gameId, Subscription subscription) {
+        while (true) {
+            StatusEnum status;
+            boolean complete;
+            synchronized (subscription) {
+                status = subscription.pendingStatus;
+                complete = subscription.pendingComplete;
+                if (status == null && !complete) {
+                    subscription.sending = false;
+                    return;
+                }
+                subscription.pendingStatus = null;
+            }
+            try {
+                if (status != null) {
+                    subscription.listener.send(status);
+                }
+                if (complete) {
+                    subscription.listener.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Status stream of game {} is closed: {}", gameId, e.getMessage());
+                }
+                unsubscribe(gameId, subscription);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The <code>unsubscribe</code> method removes the subscription of the player.
+     *
+     * @param gameId - The id of the game.
+     * @param subscription - The subscription which has to be removed.
+     */
+    private void unsubscribe(int gameId, Subscription subscription) {
+        subscriptions.computeIfPresent(gameId, (id, gameSubscriptions) -> {
+            gameSubscriptions.remove(subscription);
+            return gameSubscriptions.isEmpty() ? null : gameSubscriptions;
+        });
+    }
+
+    /**
+     * The <code>Subscription</code> class holds the listener of the subscribed player together with the player mark
+     * and the last sent status.
+     */
+    private static final class Subscription {
+
+        /** The listener of the player. */
+        private final StatusListener listener;
+
+        /** The mark of the player. */
+        private final char mark;
+
+        /** The last status queued for the player. */
+        private StatusEnum lastStatus;
+
+        /** The status waiting to be sent to the player, or <code>null</code>. */
+        private StatusEnum pendingStatus;
+
+        /** Whether the stream waits to be completed. */
+        private boolean pendingComplete;
+
+        /** Whether the sender of the subscription is running, the subscription is never sent by two threads. */
+        private boolean sending;
+
+        /**
+         * The <code>Subscription</code> parameterized constructor.
+         *
+         * @param listener - The listener of the player.
+         * @param mark - The mark of the player.
+         */
+        private Subscription(StatusListener listener, char mark) {
+            this.listener = listener;
+            this.mark = mark;
+        }
+    }
+}
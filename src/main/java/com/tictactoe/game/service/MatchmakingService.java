@@ -0,0 +1,24 @@
+package com.tictactoe.game.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.tictactoe.game.web.exception.MatchmakingTimeoutException;
+
+/**
+ * The <code>MatchmakingService</code> interface defines all the business behaviors for pairing the players who want
+ * to play with anybody, instead of sharing the game id with the other player.
+ *
+ * @author Bosko Mijin
+ */
+public interface MatchmakingService {
+
+    /**
+     * The <code>findMatch</code> method defines queueing of the new player for the next free opponent.
+     *
+     * @return CompletableFuture - The future completed by the map which contains game id, mark and token of the player
+     *         when the game with both players seated is created, or completed exceptionally by
+     *         {@link MatchmakingTimeoutException} if no opponent is found in time.
+     */
+    public CompletableFuture<Map<String, String>> findMatch();
+}
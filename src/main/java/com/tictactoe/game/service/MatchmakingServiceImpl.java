@@ -0,0 +1,199 @@
+package com.tictactoe.game.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.util.TokenUtil;
+import com.tictactoe.game.web.exception.MatchmakingTimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>MatchmakingServiceImpl</code> class implements all the business behaviors for pairing the players who want
+ * to play with anybody. The request of the player only adds the ticket to the lock-free queue, and the tickets are
+ * paired in batches by the single scheduled run: every two waiting players get the new game created with both of them
+ * already seated, so there is no window in which the game is created but not joined yet. The ticket which has no
+ * opponent is kept for the next run until its waiting time is over.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Service
+public class MatchmakingServiceImpl implements MatchmakingService {
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The player service. */
+    @Autowired
+    private PlayerService playerService;
+
+    /** The token util. */
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    /** The event publisher - notifies the listeners about the created and joined games. */
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The table size - defined in the properties as spring profile. */
+    @Value("${game.config.table-size}")
+    private int tableSize;
+
+    /** The wait timeout - milliseconds for which the player waits for the opponent, defined in the properties. */
+    @Value("${game.config.matchmaking.wait-timeout:20000}")
+    private long waitTimeout;
+
+    /** The batch size - the maximal number of tickets taken by a single run, defined in the properties. */
+    @Value("${game.config.matchmaking.batch-size:4096}")
+    private int batchSize;
+
+    /** The waiting players - the tickets of the players which are not paired yet. */
+    private final Queue<Ticket> waitingPlayers = new ConcurrentLinkedQueue<>();
+
+    /** The unpaired - the ticket taken from the queue without an opponent, used only by the pairing run. */
+    private Ticket unpaired;
+
+    /**
+     * The <code>findMatch</code> method queues the new player for the next free opponent.
+     *
+     * @return CompletableFuture - The future completed by the map which contains game id, mark and token of the player
+     *         when the game with both players seated is created, or completed exceptionally by
+     *         {@link MatchmakingTimeoutException} if no opponent is found in time.
+     */
+    @Override
+    public CompletableFuture<Map<String, String>> findMatch() {
+        Ticket ticket = new Ticket(System.currentTimeMillis() + waitTimeout);
+        waitingPlayers.offer(ticket);
+        return ticket.result;
+    }
+
+    /**
+     * The <code>pairWaitingPlayers</code> method takes the next batch of tickets from the queue and creates the game
+     * for every two of them. The expired tickets are completed by the timeout.
+     */
+    @Scheduled(fixedDelayString = "${game.config.matchmaking.pairing-interval:20}")
+    public void pairWaitingPlayers() {
+        long now = System.currentTimeMillis();
+        int games = 0;
+        for (int i = 0; i < batchSize; i++) {
+            Ticket ticket = waitingPlayers.poll();
+            if (ticket == null) {
+                break;
+            }
+            if (ticket.expireIfOver(now)) {
+                continue;
+            }
+            if (unpaired == null || unpaired.expireIfOver(now)) {
+                unpaired = ticket;
+            } else {
+                createGame(unpaired, ticket);
+                unpaired = null;
+                games++;
+            }
+        }
+        if (unpaired != null && unpaired.expireIfOver(now)) {
+            unpaired = null;
+        }
+        if (games > 0 && log.isDebugEnabled()) {
+            log.debug("Matchmaking created {} games.", games);
+        }
+    }
+
+    /**
+     * The <code>createGame</code> method creates the game with both players seated and completes their tickets. The
+     * player who has waited longer is the player x.
+     *
+     * @param ticketX - The ticket of the player x.
+     * @param ticketO - The ticket of the player o.
+     */
+    private void createGame(Ticket ticketX, Ticket ticketO) {
+        Player playerX = playerService.createPlayer();
+        Player playerO = playerService.createPlayer();
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        players.put(playerX, BitBoard.MARK_X);
+        players.put(playerO, BitBoard.MARK_O);
+        Game game;
+        try {
+            game = gamesRepository
+                    .persistNewGameInAggregator(Game.builder().players(players).board(new Board(tableSize)).build());
+        } catch (RuntimeException e) {
+            ticketX.result.completeExceptionally(e);
+            ticketO.result.completeExceptionally(e);
+            return;
+        }
+        eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.CREATED, game.getId(), null, BitBoard.MARK_X));
+        eventPublisher.publishEvent(new GameStateChangedEvent(ChangeType.JOINED, game.getId(), null, BitBoard.MARK_O));
+        ticketX.result.complete(matchData(game.getId(), playerX, BitBoard.MARK_X));
+        ticketO.result.complete(matchData(game.getId(), playerO, BitBoard.MARK_O));
+    }
+
+    /**
+     * The <code>matchData</code> method prepares the data of the matched player.
+     *
+     * @param gameId - The id of the created game.
+     * @param player - The player.
+     * @param mark - The mark of the player.
+     * @return Map - The map which contains game id, mark and token of the player.
+     */
+    private Map<String, String> matchData(int gameId, Player player, char mark) {
+        Map<String, String> data = new HashMap<>();
+        data.put("gameId", String.valueOf(gameId));
+        data.put("mark", String.valueOf(mark));
+        data.put("token", tokenUtil.generateToken(player.getId()));
+        return data;
+    }
+
+    /**
+     * The <code>Ticket</code> class is the place of the single player in the matchmaking queue.
+     */
+    private static final class Ticket {
+
+        /** The deadline - the epoch milliseconds after which the player doesn't wait anymore. */
+        private final long deadline;
+
+        /** The result - completed when the player is paired or when the waiting is over. */
+        private final CompletableFuture<Map<String, String>> result = new CompletableFuture<>();
+
+        /**
+         * The <code>Ticket</code> parameterized constructor.
+         *
+         * @param deadline - The epoch milliseconds after which the player doesn't wait anymore.
+         */
+        private Ticket(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * The <code>expireIfOver</code> method completes the ticket by the timeout if its deadline is over, or if the
+         * request is already gone, e.g. cancelled by the web container.
+         *
+         * @param now - The current time in epoch milliseconds.
+         * @return boolean - <code>true</code> if the ticket can't be paired anymore, otherwise <code>false</code>.
+         */
+        private boolean expireIfOver(long now) {
+            if (now >= deadline) {
+                result.completeExceptionally(new MatchmakingTimeoutException("No opponent is found, try again later."));
+            }
+            return result.isDone();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Map;
 
 import com.tictactoe.game.model.Game;
 import com.tictactoe.game.model.Player;
+import com.tictactoe.game.web.response.StatusEnum;
 
 /**
  * The <code>GameUtil</code> class contains all the utility methods related to the game checking and handling.
@@ -33,27 +34,6 @@ public final class GameUtil {
         }
     }
 
-    /**
-     * The <code>convertRowMarkToNumber</code> method returns the number from provided string. According to the fact
-     * that english alphabet has 26 letters this method is taking all consecutive letters like A, or BE, or SJNR and
-     * calculating the number according to given value.
-     *
-     * @param rowString - The parsed column string from player's entry.
-     * @return int - the integer value from string.
-     */
-    public static int convertRowMarkToNumber(String rowString) {
-        String checkString = rowString;
-        int calculatedNumber = 0;
-        int exponent = 0;
-        for (int i = 0; i < checkString.length(); ++i) {
-            if (checkString.charAt(i) >= 'A' && checkString.charAt(i) <= 'Z') {
-                calculatedNumber += (checkString.charAt(i) - 'A' + (int) Math.pow(26, exponent));
-                exponent++;
-            }
-        }
-        return calculatedNumber;
-    }
-
     /**
      * The <code>getMarkForPlayerId</code> method extracts the player mark from players map according to provided player
      * id.
@@ -78,12 +58,38 @@ public final class GameUtil {
      *
      * @param game - The game for which check is performed.
      */
-    public static void isPlayingBoardFull(Game game, int boardSize) {
-        if (game.getBoard().getPlayingBoard().size() == Math.pow(boardSize, 2)) {
+    public static void isPlayingBoardFull(Game game) {
+        if (game.getBoard().isFull()) {
             game.setGameOver(true);
             if (game.getWinner() == null) {
                 game.setWinner('D');
             }
         }
     }
+
+    /**
+     * The <code>obtainStatus</code> method determines the status of the game from the point of view of the player with
+     * provided mark.
+     *
+     * @param game - The game for which status is needed.
+     * @param mark - The mark of the player for which status is needed.
+     * @return StatusEnum - The status of the game for the player.
+     */
+    public static StatusEnum obtainStatus(Game game, char mark) {
+        if (game.isGameOver()) {
+            if (game.getWinner().charValue() == mark) {
+                return StatusEnum.YOU_WON;
+            } else if (game.getWinner().charValue() == 'D') {
+                return StatusEnum.DRAW;
+            } else {
+                return StatusEnum.YOU_LOST;
+            }
+        } else if (game.getPlayers().size() < 2) {
+            return StatusEnum.AWAITING_OTHER_PLAYER;
+        } else if (whoIsOnTurn(game.getBoard().getMovesCount()) == mark) {
+            return StatusEnum.YOUR_TURN;
+        } else {
+            return StatusEnum.OTHER_PLAYER_TURN;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package com.tictactoe.game.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.tictactoe.game.web.exception.InvalidPositionException;
+
+/**
+ * The <code>PositionParser</code> class parses the positions entered by players, like <code>B3</code> or
+ * <code>AA12</code>. Letters are the row mark (A = 1, Z = 26, AA = 27, ...) and digits are the column mark. The
+ * position is decoded by a single pass over its characters, without regular expressions and without intermediate
+ * strings, and it is validated against the configured table size.
+ *
+ * @author Bosko Mijin
+ */
+@Component
+public class PositionParser {
+
+    /** The Constant ALPHABET_SIZE - the number of letters which are used in row marks. */
+    private static final int ALPHABET_SIZE = 26;
+
+    /** The table size - defined in the properties as spring profile. */
+    @Value("${game.config.table-size}")
+    private int tableSize;
+
+    /**
+     * The <code>parse</code> method decodes the position to the cell index <code>row * tableSize + column</code>.
+     *
+     * @param position - The position which player has entered.
+     * @return int - The cell index of the position.
+     * @throws InvalidPositionException - The exception if position is malformed or outside of the board.
+     */
+    public int parse(String position) throws InvalidPositionException {
+        int length = position == null ? 0 : position.length();
+        int index = 0;
+        int row = 0;
+        while (index < length && isLetter(position.charAt(index))) {
+            row = row * ALPHABET_SIZE + position.charAt(index) - 'A' + 1;
+            if (row > tableSize) {
+                throw illegalPosition();
+            }
+            index++;
+        }
+        if (index == 0 || index == length || position.charAt(index) == '0') {
+            throw illegalPosition();
+        }
+        int column = 0;
+        while (index < length) {
+            char character = position.charAt(index);
+            if (character < '0' || character > '9') {
+                throw illegalPosition();
+            }
+            column = column * 10 + character - '0';
+            if (column > tableSize) {
+                throw illegalPosition();
+            }
+            index++;
+        }
+        return (row - 1) * tableSize + column - 1;
+    }
+
+    /**
+     * The <code>rowIndex</code> method extracts the row index from the cell index.
+     *
+     * @param cell - The cell index returned by {@link #parse(String)}.
+     * @return int - The row index.
+     */
+    public int rowIndex(int cell) {
+        return cell / tableSize;
+    }
+
+    /**
+     * The <code>columnIndex</code> method extracts the column index from the cell index.
+     *
+     * @param cell - The cell index returned by {@link #parse(String)}.
+     * @return int - The column index.
+     */
+    public int columnIndex(int cell) {
+        return cell % tableSize;
+    }
+
+    /**
+     * The <code>format</code> method encodes the cell index to the position, the reverse of {@link #parse(String)}.
+     *
+     * @param cell - The cell index <code>row * tableSize + column</code>.
+     * @return String - The position, like <code>B3</code> or <code>AA12</code>.
+     */
+    public String format(int cell) {
+        StringBuilder rowMark = new StringBuilder();
+        for (int row = rowIndex(cell) + 1; row > 0; row = (row - 1) / ALPHABET_SIZE) {
+            rowMark.append((char) ('A' + (row - 1) % ALPHABET_SIZE));
+        }
+        return rowMark.reverse().append(columnIndex(cell) + 1).toString();
+    }
+
+    /**
+     * The <code>isLetter</code> method checks whether the character is an upper case letter of english alphabet.
+     *
+     * @param character - The character which has to be checked.
+     * @return boolean - <code>true</code> if the character is a letter from A to Z, otherwise <code>false</code>.
+     */
+    private static boolean isLetter(char character) {
+        return character >= 'A' && character <= 'Z';
+    }
+
+    /**
+     * The <code>illegalPosition</code> method returns the exception for malformed position.
+     *
+     * @return InvalidPositionException - The shared exception which has to be thrown.
+     */
+    private static InvalidPositionException illegalPosition() {
+        return InvalidPositionException.INSTANCE;
+    }
+}
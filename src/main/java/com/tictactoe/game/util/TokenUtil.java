@@ -3,7 +3,9 @@ package com.tictactoe.game.util;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -36,6 +38,13 @@ public class TokenUtil implements Serializable {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    /** The claims cache size - maximal number of verified tokens which are kept in cache. */
+    @Value("${jwt.claims-cache-size:10000}")
+    private int claimsCacheSize;
+
+    /** The claims cache - claims of the already verified tokens, so the signature is verified once per token. */
+    private final transient Map<String, VerifiedClaims> claimsCache = new ConcurrentHashMap<>();
+
     /**
      * The <code>getUsernameFromToken</code> method gets the username from token.
      *
@@ -70,13 +79,45 @@ public class TokenUtil implements Serializable {
     }
 
     /**
-     * Gets the all claims from token.
+     * Gets the all claims from token. Claims of the token which is already verified and not expired are served from the
+     * cache, otherwise token is parsed, its signature is verified and the claims are cached.
      *
      * @param token the token
      * @return the all claims from token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        VerifiedClaims verifiedClaims = claimsCache.get(token);
+        if (verifiedClaims != null) {
+            if (verifiedClaims.expiresAt > System.currentTimeMillis()) {
+                return verifiedClaims.claims;
+            }
+            claimsCache.remove(token);
+        }
+        Claims claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        cacheClaims(token, claims);
+        return claims;
+    }
+
+    /**
+     * The <code>cacheClaims</code> method puts the verified claims to the cache. If the cache is full, one of the cached
+     * tokens is evicted first, so the cache never grows over the configured size.
+     *
+     * @param token - The verified token.
+     * @param claims - The claims of the verified token.
+     */
+    private void cacheClaims(String token, Claims claims) {
+        Date expirationDate = claims.getExpiration();
+        if (expirationDate == null || claimsCacheSize <= 0) {
+            return;
+        }
+        if (claimsCache.size() >= claimsCacheSize) {
+            Iterator<String> iterator = claimsCache.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        claimsCache.put(token, new VerifiedClaims(claims, expirationDate.getTime()));
     }
 
     /**
@@ -141,4 +182,27 @@ public class TokenUtil implements Serializable {
     private Date calculateExpirationDate(Date createdDate) {
         return new Date(createdDate.getTime() + expiration * 1000);
     }
+
+    /**
+     * The <code>VerifiedClaims</code> class holds the claims of the verified token together with its expiration time.
+     */
+    private static final class VerifiedClaims {
+
+        /** The claims. */
+        private final Claims claims;
+
+        /** The expiration time in milliseconds. */
+        private final long expiresAt;
+
+        /**
+         * Instantiates a new verified claims.
+         *
+         * @param claims - The claims of the verified token.
+         * @param expiresAt - The expiration time in milliseconds.
+         */
+        private VerifiedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -23,7 +23,20 @@ public final class UrlUtil {
      * @return baseUrl - The prepared based url.
      */
     public static String prepareBaseUrl(HttpServletRequest request) {
-        return String.format("%s://%s:%s%s", request.getScheme(), request.getServerName(), request.getServerPort(),
+        return prepareBaseUrl(request.getScheme(), request.getServerName(), request.getServerPort(),
                 request.getContextPath());
     }
+
+    /**
+     * The <code>prepareBaseUrl</code> method prepares the base url from its parts, e.g. of the reactive request.
+     *
+     * @param scheme - The scheme of the request.
+     * @param serverName - The host name of the server.
+     * @param serverPort - The port of the server.
+     * @param contextPath - The context path of the application.
+     * @return baseUrl - The prepared based url.
+     */
+    public static String prepareBaseUrl(String scheme, String serverName, int serverPort, String contextPath) {
+        return String.format("%s://%s:%s%s", scheme, serverName, serverPort, contextPath);
+    }
 }
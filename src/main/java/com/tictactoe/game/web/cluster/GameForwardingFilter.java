@@ -0,0 +1,113 @@
+package com.tictactoe.game.web.cluster;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.tictactoe.game.cluster.ClusterClient;
+import com.tictactoe.game.cluster.GamePartitioner;
+import com.tictactoe.game.web.exception.ErrorResponseWriter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameForwardingFilter</code> class forwards the request of the game owned by the other node of the cluster
+ * to its owner and copies the answer of the owner back, so the client can send the request to any node. The owner is
+ * resolved from the game id in the path only. The status stream and the web socket are redirected to the owner, so the
+ * long lived connection isn't held by two nodes. The request forwarded already by the other node is served here.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "game.cluster", name = "enabled", havingValue = "true")
+public class GameForwardingFilter extends OncePerRequestFilter {
+
+    /** The url path helper - resolves the path of the request within the application. */
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /** The error response writer - writes the body of the failed forwarding. */
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /**
+     * The <code>doFilterInternal</code> method serves the request of the local game here, and forwards (or redirects)
+     * the request of the game owned by the other node.
+     *
+     * @param request - The request.
+     * @param response - The response.
+     * @param filterChain - The chain which serves the request here.
+     * @throws ServletException - The exception of the chain.
+     * @throws IOException - The exception if the request can't be read or the response written.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        Integer gameId = clusterClient.gameIdOf(path);
+        if (gameId == null || gamePartitioner.isLocal(gameId) || clusterClient.isForwarded(
+                request.getHeader(ClusterClient.FORWARDED_HEADER), request.getHeader(ClusterClient.SECRET_HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String owner = gamePartitioner.ownerOf(gameId);
+        String pathAndQuery = request.getQueryString() == null ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        if (clusterClient.isStreamPath(path)) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, owner + pathAndQuery);
+            return;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            headers.put(name, Collections.list(request.getHeaders(name)));
+        }
+        HttpResponse<byte[]> forwarded;
+        try {
+            forwarded = clusterClient.forward(owner, request.getMethod(), pathAndQuery, headers,
+                    request.getInputStream().readAllBytes()).join();
+        } catch (CompletionException e) {
+            log.warn("Request of game {} can't be forwarded: {}", gameId, e.getCause().getMessage());
+            response.setStatus(HttpStatus.BAD_GATEWAY.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream()
+                    .write(errorResponseWriter.body((Exception) e.getCause(), path, HttpStatus.BAD_GATEWAY));
+            return;
+        }
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().map().forEach((name, values) -> {
+            if (clusterClient.isCopied(name)) {
+                values.forEach(value -> response.addHeader(name, value));
+            }
+        });
+        response.getOutputStream().write(forwarded.body());
+    }
+}
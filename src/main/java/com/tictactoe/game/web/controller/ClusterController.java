@@ -0,0 +1,68 @@
+package com.tictactoe.game.web.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tictactoe.game.cluster.ClusterClient;
+import com.tictactoe.game.cluster.GameHandoff;
+import com.tictactoe.game.cluster.GamePartitioner;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>ClusterController</code> class is a RESTful web service controller which exposes the internal endpoint of
+ * the cluster, used only by the other nodes, and it is registered only when the cluster is enabled. The request which
+ * doesn't carry the secret of the cluster is refused.
+ *
+ * @author Bosko Mijin
+ */
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnProperty(prefix = "game.cluster", name = "enabled", havingValue = "true")
+@Slf4j
+public class ClusterController {
+
+    /** The game handoff. */
+    @Autowired
+    private GameHandoff gameHandoff;
+
+    /** The game partitioner - checks the secret of the cluster. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /**
+     * The <code>receiveGames</code> method exposes the endpoint which receives the games handed over by the other node
+     * after the members of the cluster are changed, and returns the ids of the refused games in the body with HTTP
+     * response status code 200, or HTTP response status code 403 if the request isn't sent by the node of the cluster.
+     *
+     * @param games - The games encoded by the node which hands them over.
+     * @param secret - The secret of the cluster.
+     * @return A ResponseEntity containing the ids of the refused games encoded by the <code>GameHandoff</code> and a
+     *         HTTP status code as described in the method comment.
+     */
+    @RequestMapping(value = "${api.paths.cluster-games-path}",
+            method = RequestMethod.POST,
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> receiveGames(@RequestBody byte[] games,
+            @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret) {
+        log.debug("--> receiveGames");
+        if (!gamePartitioner.isTrusted(secret)) {
+            log.warn("Games are refused, the request isn't sent by the node of the cluster.");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        byte[] refused = GameHandoff.encodeIds(gameHandoff.receive(games));
+        log.debug("<-- receiveGames");
+        return ResponseEntity.ok().body(refused);
+    }
+}
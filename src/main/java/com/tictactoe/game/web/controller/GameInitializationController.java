@@ -1,10 +1,13 @@
 package com.tictactoe.game.web.controller;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,9 +17,11 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.service.MatchmakingService;
 import com.tictactoe.game.util.UrlUtil;
 import com.tictactoe.game.web.response.DefaultResponseBody;
 import com.tictactoe.game.web.response.GameCreationResponseBody;
+import com.tictactoe.game.web.response.MatchResponseBody;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
  * @author Bosko Mijin
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @Slf4j
 public class GameInitializationController {
 
@@ -35,6 +41,10 @@ public class GameInitializationController {
     @Autowired
     private GameInitializationService gameInitializationService;
 
+    /** The matchmaking service. */
+    @Autowired
+    private MatchmakingService matchmakingService;
+
     /**
      * The <code>createGame</code> method exposes the web service endpoint to initialize the new game and returns the
      * invitation url in the body and auth token in the header with the HTTP response status code 200.
@@ -47,11 +57,11 @@ public class GameInitializationController {
             method = RequestMethod.POST,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<GameCreationResponseBody> createGame(HttpServletRequest request) {
-        log.info("--> createGame");
+        log.debug("--> createGame");
         Map<String, String> data = gameInitializationService.createGame();
         HttpHeaders responseHeaders = new HttpHeaders();
         responseHeaders.set("Set-Auth-Token", data.get("token"));
-        log.info("<-- createGame");
+        log.debug("<-- createGame");
         return ResponseEntity.ok().headers(responseHeaders)
                 .body(new GameCreationResponseBody(UrlUtil.prepareBaseUrl(request), data.get("gameId")));
     }
@@ -69,11 +79,56 @@ public class GameInitializationController {
             method = RequestMethod.POST,
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<DefaultResponseBody> joinGame(@PathVariable("id") int gameId, HttpServletRequest request) {
-        log.info("--> joinGame");
+        log.debug("--> joinGame");
         HttpHeaders responseHeaders = new HttpHeaders();
         responseHeaders.set("Set-Auth-Token", gameInitializationService.joinGame(gameId));
-        log.info("<-- joinGame");
+        log.debug("<-- joinGame");
         return ResponseEntity.ok().headers(responseHeaders)
                 .body(new DefaultResponseBody("You are successfuly joined the game."));
     }
+
+    /**
+     * The <code>joinEngine</code> method exposes the web service endpoint to seat the engine as the other player into
+     * the already created game, so the creator plays against the computer, and returns the status in the body with the
+     * HTTP response status code 200. The engine plays its first move before the response is returned.
+     *
+     * @param gameId - The id of the requested game.
+     * @return A ResponseEntity containing a single DefaultResponseBody object and a HTTP status code as described in
+     *         the method comment.
+     */
+    @RequestMapping(value = "${api.paths.game-engine-join-path}",
+            method = RequestMethod.POST,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<DefaultResponseBody> joinEngine(@PathVariable("id") int gameId) {
+        log.debug("--> joinEngine");
+        gameInitializationService.joinEngine(gameId);
+        log.debug("<-- joinEngine");
+        return ResponseEntity.ok().body(new DefaultResponseBody("Engine is successfuly joined the game."));
+    }
+
+    /**
+     * The <code>findMatch</code> method exposes the web service endpoint to play with the next player who is looking
+     * for the opponent. The request is answered asynchronously, without holding the request thread, when the game with
+     * both players seated is created, and returns the game url and the mark in the body and the authentication token in
+     * the header with the HTTP response status code 200, or the HTTP response status code 408 if no opponent is found
+     * in time.
+     *
+     * @param request - The HpptServletRequest which provides request information required for further handling.
+     * @return A CompletableFuture of the ResponseEntity containing a single MatchResponseBody object and a HTTP status
+     *         code as described in the method comment.
+     */
+    @RequestMapping(value = "${api.paths.game-match-path}",
+            method = RequestMethod.POST,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<MatchResponseBody>> findMatch(HttpServletRequest request) {
+        log.debug("--> findMatch");
+        String baseUrl = UrlUtil.prepareBaseUrl(request);
+        return matchmakingService.findMatch().thenApply(data -> {
+            HttpHeaders responseHeaders = new HttpHeaders();
+            responseHeaders.set("Set-Auth-Token", data.get("token"));
+            log.debug("<-- findMatch");
+            return ResponseEntity.ok().headers(responseHeaders)
+                    .body(new MatchResponseBody(baseUrl, data.get("gameId"), data.get("mark")));
+        });
+    }
 }
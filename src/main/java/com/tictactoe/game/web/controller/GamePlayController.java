@@ -1,6 +1,8 @@
 package com.tictactoe.game.web.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,11 +11,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.tictactoe.game.cluster.ClusterClient;
 import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.service.GameStatusStreamService;
 import com.tictactoe.game.web.exception.AuthenticationException;
 import com.tictactoe.game.web.request.PlayGameRequestBody;
+import com.tictactoe.game.web.request.PlayMovesRequestBody;
 import com.tictactoe.game.web.response.DefaultResponseBody;
+import com.tictactoe.game.web.response.PlayMovesResponseBody;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
  * @author Bosko Mijin
  */
 @RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @Slf4j
 public class GamePlayController {
 
@@ -32,6 +40,14 @@ public class GamePlayController {
     @Autowired
     private GamePlayService gamePlayService;
 
+    /** The game status stream service. */
+    @Autowired
+    private GameStatusStreamService gameStatusStreamService;
+
+    /** The cluster client - recognizes the moves forwarded by the other node of the cluster. */
+    @Autowired
+    private ClusterClient clusterClient;
+
     /**
      * The <code>playGame</code> method exposes the web service endpoint to play the already initialized game and
      * returns the status in the body with HTTP response status code 200.
@@ -50,12 +66,37 @@ public class GamePlayController {
     public ResponseEntity<DefaultResponseBody> playGame(@PathVariable("id") int gameId,
             @RequestBody PlayGameRequestBody requestBody, @RequestHeader("Auth-Token") String token)
             throws AuthenticationException {
-        log.info("--> playGame");
+        log.debug("--> playGame");
         boolean sucess = gamePlayService.playGame(gameId, requestBody.getPosition(), token);
-        log.info("<-- playGame");
+        log.debug("<-- playGame");
         return ResponseEntity.ok().body(new DefaultResponseBody(sucess ? "OK" : "SPACE_TAKEN"));
     }
 
+    /**
+     * The <code>playMoves</code> method exposes the web service endpoint to play the batch of moves of many games in
+     * the single request, every move with the token of its player, and returns the result of every move in the body
+     * with HTTP response status code 200.
+     *
+     * @param requestBody - The body in JSON format which brings the moves.
+     * @param forwardedBy - The node of the cluster which forwarded the moves, if they are forwarded.
+     * @param secret - The secret of the cluster, sent with the forwarded moves.
+     * @return A ResponseEntity containing a single PlayMovesResponseBody object and a HTTP status code as described in
+     *         the method comment.
+     */
+    @RequestMapping(value = "${api.paths.game-moves-path}",
+            method = RequestMethod.POST,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PlayMovesResponseBody> playMoves(@RequestBody PlayMovesRequestBody requestBody,
+            @RequestHeader(value = ClusterClient.FORWARDED_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = ClusterClient.SECRET_HEADER, required = false) String secret) {
+        log.debug("--> playMoves");
+        PlayMovesResponseBody responseBody = new PlayMovesResponseBody(gamePlayService.playMoves(
+                requestBody.getMoves(), clusterClient.isForwarded(forwardedBy, secret)));
+        log.debug("<-- playMoves");
+        return ResponseEntity.ok().body(responseBody);
+    }
+
     /**
      * The <code>obtainGameStatus</code> method exposes the web service endpoint to obtain game status and returns the
      * status in the body with HTTP response status code 200.
@@ -71,9 +112,30 @@ public class GamePlayController {
             produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<DefaultResponseBody> obtainGameStatus(@PathVariable("id") int gameId,
             @RequestHeader("Auth-Token") String token) throws AuthenticationException {
-        log.info("--> obtainGameStatus");
+        log.debug("--> obtainGameStatus");
         String message = gamePlayService.obtainGameStatus(gameId, token);
-        log.info("<-- obtainGameStatus");
+        log.debug("<-- obtainGameStatus");
         return ResponseEntity.ok().body(new DefaultResponseBody(message));
     }
+
+    /**
+     * The <code>streamGameStatus</code> method exposes the web service endpoint which streams the game status as server
+     * sent events. The current status is sent immediately, every following status is sent when it changes, and the
+     * stream is completed when the game is over.
+     *
+     * @param gameId - The id of the requested game.
+     * @param token - The token of the user which is subscribing.
+     * @return SseEmitter - The emitter which is pushing the statuses.
+     * @throws AuthenticationException - The Authentication Exception if user is not authorized.
+     */
+    @RequestMapping(value = "${api.paths.game-status-stream-path}",
+            method = RequestMethod.GET,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGameStatus(@PathVariable("id") int gameId, @RequestHeader("Auth-Token") String token)
+            throws AuthenticationException {
+        log.debug("--> streamGameStatus");
+        SseEmitter emitter = gameStatusStreamService.subscribe(gameId, token);
+        log.debug("<-- streamGameStatus");
+        return emitter;
+    }
 }
@@ -11,17 +11,34 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Bosko Mijin
  */
 @ResponseStatus(HttpStatus.CONFLICT)
-public final class AnotherPlayersTurnException extends IllegalStateException {
+public final class AnotherPlayersTurnException extends RuntimeException {
 
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = new SecureRandom().nextLong();
 
+    /**
+     * The Constant INSTANCE - the shared exception of the normal game flow, thrown without the stack trace and
+     * without the suppressed exceptions, so nothing is ever added to it.
+     */
+    public static final AnotherPlayersTurnException INSTANCE =
+            new AnotherPlayersTurnException("Another player has to play.", false);
+
     /**
      * Instantiates a new AlreadyJoinedException exception.
      *
      * @param message - the message
      */
     public AnotherPlayersTurnException(final String message) {
-        super(message);
+        this(message, true);
+    }
+
+    /**
+     * Instantiates a new AnotherPlayersTurnException exception without the stack trace.
+     *
+     * @param message - the message
+     * @param enableSuppression - whether the suppressed exceptions can be added
+     */
+    private AnotherPlayersTurnException(final String message, final boolean enableSuppression) {
+        super(message, null, enableSuppression, false);
     }
 }
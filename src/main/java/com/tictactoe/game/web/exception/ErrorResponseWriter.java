@@ -0,0 +1,246 @@
+package com.tictactoe.game.web.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The <code>ErrorResponseWriter</code> class writes the same JSON body as {@link DefaultExceptionAttributes}, but
+ * directly into the bytes, without the map of the attributes and without the object mapper. The part of the body
+ * between the timestamp and the path (status, error, exception and message) is cached for the shared exceptions of the
+ * normal game flow, e.g. {@link AnotherPlayersTurnException#INSTANCE}, by the exception and the status, so they only
+ * copy the cached bytes. The other exceptions carry arbitrary messages, so their bodies are never cached. The timestamp
+ * is formatted once per millisecond.
+ *
+ * @author Bosko Mijin
+ * @see DefaultExceptionAttributes
+ */
+public class ErrorResponseWriter {
+
+    /** The Constant FLOW_EXCEPTIONS - the shared exceptions of the normal game flow, whose bodies are cached. */
+    private static final Set<Exception> FLOW_EXCEPTIONS = Set.of(AnotherPlayersTurnException.INSTANCE,
+            GameOverException.INSTANCE, InvalidPositionException.INSTANCE);
+
+    /** The Constant TIMESTAMP_PREFIX - the start of the body up to the value of the timestamp. */
+    private static final byte[] TIMESTAMP_PREFIX = ascii("{\"" + DefaultExceptionAttributes.TIMESTAMP + "\":\"");
+
+    /** The Constant SUFFIX - the end of the body after the value of the path. */
+    private static final byte[] SUFFIX = ascii("\"}");
+
+    /** The Constant HEADERS - the headers of every error response. */
+    private static final HttpHeaders HEADERS;
+
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /** The cached bodies - the parts of the bodies between the timestamp and the path, by the exception and status. */
+    private final Map<Exception, Map<HttpStatus, byte[]>> cachedBodies = new ConcurrentHashMap<>();
+
+    /** The timestamp - the last formatted timestamp. */
+    private volatile Timestamp timestamp = new Timestamp(Long.MIN_VALUE, new byte[0]);
+
+    /**
+     * The <code>write</code> method writes the response of the exception.
+     *
+     * @param exception - The exception reported.
+     * @param httpRequest - The HttpServletRequest in which the exception occurred.
+     * @param bodyStatus - The status written in the body.
+     * @param responseStatus - The status of the response.
+     * @return ResponseEntity - The entity containing the JSON body and the status of the response.
+     */
+    public ResponseEntity<byte[]> write(Exception exception, HttpServletRequest httpRequest, HttpStatus bodyStatus,
+            HttpStatus responseStatus) {
+        return new ResponseEntity<>(body(exception, httpRequest.getServletPath(), bodyStatus), HEADERS,
+                responseStatus);
+    }
+
+    /**
+     * The <code>body</code> method writes the JSON body of the exception.
+     *
+     * @param exception - The exception reported.
+     * @param requestPath - The path of the request in which the exception occurred.
+     * @param bodyStatus - The status written in the body.
+     * @return byte[] - The UTF-8 bytes of the JSON body.
+     */
+    public byte[] body(Exception exception, String requestPath, HttpStatus bodyStatus) {
+        byte[] timestampBytes = timestamp();
+        byte[] attributes = attributes(exception, bodyStatus);
+        byte[] path = jsonString(requestPath);
+        byte[] body = new byte[TIMESTAMP_PREFIX.length + timestampBytes.length + attributes.length + path.length
+                + SUFFIX.length];
+        int offset = copy(TIMESTAMP_PREFIX, body, 0);
+        offset = copy(timestampBytes, body, offset);
+        offset = copy(attributes, body, offset);
+        offset = copy(path, body, offset);
+        copy(SUFFIX, body, offset);
+        return body;
+    }
+
+    /**
+     * The <code>attributes</code> method returns the part of the body from the end of the timestamp up to the value of
+     * the path, cached if the exception is the shared exception of the normal game flow.
+     *
+     * @param exception - The exception reported.
+     * @param bodyStatus - The status written in the body.
+     * @return byte[] - The part of the body.
+     */
+    private byte[] attributes(Exception exception, HttpStatus bodyStatus) {
+        if (FLOW_EXCEPTIONS.contains(exception)) {
+            return cachedBodies.computeIfAbsent(exception, flowException -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(bodyStatus, status -> encodeAttributes(exception, status));
+        }
+        return encodeAttributes(exception, bodyStatus);
+    }
+
+    /**
+     * The <code>encodeAttributes</code> method encodes the part of the body from the end of the timestamp up to the
+     * value of the path.
+     *
+     * @param exception - The exception reported.
+     * @param bodyStatus - The status written in the body.
+     * @return byte[] - The part of the body.
+     */
+    private static byte[] encodeAttributes(Exception exception, HttpStatus bodyStatus) {
+        byte[] attributes = ascii("\",\"" + DefaultExceptionAttributes.STATUS + "\":" + bodyStatus.value());
+        return concat(attributes, ascii(",\"" + DefaultExceptionAttributes.ERROR + "\":"),
+                jsonValue(bodyStatus.getReasonPhrase()), ascii(",\"" + DefaultExceptionAttributes.EXCEPTION + "\":"),
+                jsonValue(exception.getClass().getSimpleName()),
+                ascii(",\"" + DefaultExceptionAttributes.MESSAGE + "\":"), jsonValue(exception.getMessage()),
+                ascii(",\"" + DefaultExceptionAttributes.PATH + "\":\""));
+    }
+
+    /**
+     * The <code>timestamp</code> method returns the current time in the ISO-8601 format, formatted once per
+     * millisecond.
+     *
+     * @return byte[] - The bytes of the current time.
+     */
+    private byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp current = timestamp;
+        if (current.millis != now) {
+            current = new Timestamp(now, ascii(Instant.ofEpochMilli(now).toString()));
+            timestamp = current;
+        }
+        return current.bytes;
+    }
+
+    /**
+     * The <code>jsonValue</code> method writes the JSON value of the string, the quoted string or null.
+     *
+     * @param value - The string.
+     * @return byte[] - The bytes of the JSON value.
+     */
+    private static byte[] jsonValue(String value) {
+        if (value == null) {
+            return ascii("null");
+        }
+        return concat(ascii("\""), jsonString(value), ascii("\""));
+    }
+
+    /**
+     * The <code>jsonString</code> method escapes the string for the JSON string, without the quotes.
+     *
+     * @param value - The string.
+     * @return byte[] - The UTF-8 bytes of the escaped string.
+     */
+    private static byte[] jsonString(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\' || character < 0x20) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+                }
+                if (character < 0x20) {
+                    escaped.append(String.format("\\u%04x", (int) character));
+                } else {
+                    escaped.append('\\').append(character);
+                }
+            } else if (escaped != null) {
+                escaped.append(character);
+            }
+        }
+        return (escaped == null ? value : escaped.toString()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The <code>concat</code> method joins the parts into the single array.
+     *
+     * @param parts - The parts.
+     * @return byte[] - The joined parts.
+     */
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] joined = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            offset = copy(part, joined, offset);
+        }
+        return joined;
+    }
+
+    /**
+     * The <code>copy</code> method copies the source into the target.
+     *
+     * @param source - The copied bytes.
+     * @param target - The target array.
+     * @param offset - The position in the target array.
+     * @return int - The position in the target array after the copied bytes.
+     */
+    private static int copy(byte[] source, byte[] target, int offset) {
+        System.arraycopy(source, 0, target, offset, source.length);
+        return offset + source.length;
+    }
+
+    /**
+     * The <code>ascii</code> method encodes the string which has only ASCII characters.
+     *
+     * @param value - The string.
+     * @return byte[] - The bytes of the string.
+     */
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The <code>Timestamp</code> class is the formatted time of the single millisecond.
+     */
+    private static final class Timestamp {
+
+        /** The millis - the epoch milliseconds. */
+        private final long millis;
+
+        /** The bytes - the formatted time. */
+        private final byte[] bytes;
+
+        /**
+         * The <code>Timestamp</code> parameterized constructor.
+         *
+         * @param millis - The epoch milliseconds.
+         * @param bytes - The formatted time.
+         */
+        private Timestamp(long millis, byte[] bytes) {
+            this.millis = millis;
+            this.bytes = bytes;
+        }
+    }
+}
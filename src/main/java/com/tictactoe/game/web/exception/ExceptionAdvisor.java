@@ -4,6 +4,8 @@ import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,14 +16,20 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * The <code>ExceptionAdvisor</code> class declares custom exception handlers which handles custom exceptions defined in
- * this application and globally handles all the exceptions defined.
+ * this application and globally handles all the exceptions defined. The bodies of the exceptions defined in this
+ * application are written by the {@link ErrorResponseWriter}, since some of them, e.g. the move out of the turn, are
+ * part of the normal game flow and may be raised at a high rate.
  *
  * @author Bosko Mijin.
  */
 @Slf4j
 @ControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
 
+    /** The error response writer - writes the bodies of the application exceptions. */
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+
     /**
      * The <code>handleAnotherPlayersTurnException</code> method handles the exception where the player is tries to
      * place a mark but it's not his turn and the exception {@link AnotherPlayersTurnException} is raised. Creates a
@@ -34,14 +42,13 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         400 - bad request.
      */
     @ExceptionHandler(AnotherPlayersTurnException.class)
-    public ResponseEntity<Map<String, Object>> handleAnotherPlayersTurnException(
+    public ResponseEntity<byte[]> handleAnotherPlayersTurnException(
             AnotherPlayersTurnException anotherPlayersTurnException, HttpServletRequest request) {
-        log.error("--> handleAnotherPlayersTurnException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(anotherPlayersTurnException,
-                request, HttpStatus.CONFLICT);
-        log.error("<-- handleAnotherPlayersTurnException");
-        return new ResponseEntity<>(responseBody, HttpStatus.BAD_REQUEST);
+        log.debug("--> handleAnotherPlayersTurnException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(anotherPlayersTurnException, request,
+                HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+        log.debug("<-- handleAnotherPlayersTurnException");
+        return response;
     }
 
     /**
@@ -55,14 +62,13 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         400 - bad request.
      */
     @ExceptionHandler(GameOverException.class)
-    public ResponseEntity<Map<String, Object>> handleGameOverException(GameOverException gameOverException,
+    public ResponseEntity<byte[]> handleGameOverException(GameOverException gameOverException,
             HttpServletRequest request) {
-        log.error("--> handleGameOverException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(gameOverException, request,
-                HttpStatus.CONFLICT);
-        log.error("<-- handleGameOverException");
-        return new ResponseEntity<>(responseBody, HttpStatus.BAD_REQUEST);
+        log.debug("--> handleGameOverException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(gameOverException, request,
+                HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+        log.debug("<-- handleGameOverException");
+        return response;
     }
 
     /**
@@ -76,14 +82,34 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         400 - bad request.
      */
     @ExceptionHandler(InvalidPositionException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidPositionException(
+    public ResponseEntity<byte[]> handleInvalidPositionException(
             InvalidPositionException invalidPositionException, HttpServletRequest request) {
-        log.error("--> handleInvalidPositionException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(invalidPositionException, request,
-                HttpStatus.CONFLICT);
-        log.error("<-- handleInvalidPositionException");
-        return new ResponseEntity<>(responseBody, HttpStatus.BAD_REQUEST);
+        log.debug("--> handleInvalidPositionException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(invalidPositionException, request,
+                HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST);
+        log.debug("<-- handleInvalidPositionException");
+        return response;
+    }
+
+    /**
+     * The <code>handleInvalidMovesException</code> method handles the exception where the batch of moves is missing,
+     * has the empty move or has more moves than allowed, and the exception {@link InvalidMovesException} is raised.
+     * Creates a response with the {@link DefaultExceptionAttributes} in the response body as JSON and a HTTP status
+     * code of 400 - bad request.
+     *
+     * @param invalidMovesException - InvalidMovesException which has to be handled.
+     * @param request - The HttpServletRequest in which the Exception was raised.
+     * @return A ResponseEntity - An entity which containing the Exception Attributes in the body and a HTTP status code
+     *         400 - bad request.
+     */
+    @ExceptionHandler(InvalidMovesException.class)
+    public ResponseEntity<byte[]> handleInvalidMovesException(InvalidMovesException invalidMovesException,
+            HttpServletRequest request) {
+        log.debug("--> handleInvalidMovesException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(invalidMovesException, request,
+                HttpStatus.BAD_REQUEST, HttpStatus.BAD_REQUEST);
+        log.debug("<-- handleInvalidMovesException");
+        return response;
     }
 
     /**
@@ -97,14 +123,13 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         409 - conflict.
      */
     @ExceptionHandler(AlreadyJoinedException.class)
-    public ResponseEntity<Map<String, Object>> handleAlreadyJoinedException(
+    public ResponseEntity<byte[]> handleAlreadyJoinedException(
             AlreadyJoinedException alreadyJoinedException, HttpServletRequest request) {
-        log.error("--> handleAlreadyJoinedException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(alreadyJoinedException, request,
-                HttpStatus.CONFLICT);
-        log.error("<-- handleAlreadyJoinedException");
-        return new ResponseEntity<>(responseBody, HttpStatus.CONFLICT);
+        log.debug("--> handleAlreadyJoinedException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(alreadyJoinedException, request,
+                HttpStatus.CONFLICT, HttpStatus.CONFLICT);
+        log.debug("<-- handleAlreadyJoinedException");
+        return response;
     }
 
     /**
@@ -118,14 +143,13 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         404 - not found.
      */
     @ExceptionHandler(MissingGameException.class)
-    public ResponseEntity<Map<String, Object>> handleMissingGameException(MissingGameException missingGameException,
+    public ResponseEntity<byte[]> handleMissingGameException(MissingGameException missingGameException,
             HttpServletRequest request) {
-        log.error("--> handleMissingGameException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(missingGameException, request,
-                HttpStatus.NOT_FOUND);
-        log.error("<-- handleMissingGameException");
-        return new ResponseEntity<>(responseBody, HttpStatus.NOT_FOUND);
+        log.debug("--> handleMissingGameException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(missingGameException, request,
+                HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND);
+        log.debug("<-- handleMissingGameException");
+        return response;
     }
 
     /**
@@ -140,14 +164,55 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         404 - not found.
      */
     @ExceptionHandler(MissingPlayerException.class)
-    public ResponseEntity<Map<String, Object>> handleMissingPlayerException(
+    public ResponseEntity<byte[]> handleMissingPlayerException(
             MissingPlayerException missingPlayerException, HttpServletRequest request) {
-        log.error("--> handleMissingPlayerException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(missingPlayerException, request,
-                HttpStatus.NOT_FOUND);
-        log.error("<-- handleMissingPlayerException");
-        return new ResponseEntity<>(responseBody, HttpStatus.NOT_FOUND);
+        log.debug("--> handleMissingPlayerException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(missingPlayerException, request,
+                HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND);
+        log.debug("<-- handleMissingPlayerException");
+        return response;
+    }
+
+    /**
+     * The <code>handleGameLimitExceededException</code> method handles the exception where the player is trying to
+     * create the game but the maximal number of games is reached and the exception {@link GameLimitExceededException}
+     * is raised. Creates a response with the {@link DefaultExceptionAttributes} in the response body as JSON and a HTTP
+     * status code of 503 - service unavailable.
+     *
+     * @param gameLimitExceededException - GameLimitExceededException which has to be handled.
+     * @param request - The HttpServletRequest in which the Exception was raised.
+     * @return A ResponseEntity - An entity which containing the Exception Attributes in the body and a HTTP status code
+     *         503 - service unavailable.
+     */
+    @ExceptionHandler(GameLimitExceededException.class)
+    public ResponseEntity<byte[]> handleGameLimitExceededException(
+            GameLimitExceededException gameLimitExceededException, HttpServletRequest request) {
+        log.debug("--> handleGameLimitExceededException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(gameLimitExceededException, request,
+                HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.SERVICE_UNAVAILABLE);
+        log.debug("<-- handleGameLimitExceededException");
+        return response;
+    }
+
+    /**
+     * The <code>handleMatchmakingTimeoutException</code> method handles the exception where the player is waiting for
+     * the opponent longer than the configured time and the exception {@link MatchmakingTimeoutException} is raised.
+     * Creates a response with the {@link DefaultExceptionAttributes} in the response body as JSON and a HTTP status
+     * code of 408 - request timeout.
+     *
+     * @param matchmakingTimeoutException - MatchmakingTimeoutException which has to be handled.
+     * @param request - The HttpServletRequest in which the Exception was raised.
+     * @return A ResponseEntity - An entity which containing the Exception Attributes in the body and a HTTP status code
+     *         408 - request timeout.
+     */
+    @ExceptionHandler(MatchmakingTimeoutException.class)
+    public ResponseEntity<byte[]> handleMatchmakingTimeoutException(
+            MatchmakingTimeoutException matchmakingTimeoutException, HttpServletRequest request) {
+        log.debug("--> handleMatchmakingTimeoutException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(matchmakingTimeoutException, request,
+                HttpStatus.REQUEST_TIMEOUT, HttpStatus.REQUEST_TIMEOUT);
+        log.debug("<-- handleMatchmakingTimeoutException");
+        return response;
     }
 
     /**
@@ -161,14 +226,13 @@ public class ExceptionAdvisor extends ResponseEntityExceptionHandler {
      *         401 - unauthorized.
      */
     @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<Map<String, Object>> handleAuthenticationException(
+    public ResponseEntity<byte[]> handleAuthenticationException(
             AuthenticationException authenticationException, HttpServletRequest request) {
-        log.error("--> handleAuthenticationException");
-        ExceptionAttributes exceptionAttributes = new DefaultExceptionAttributes();
-        Map<String, Object> responseBody = exceptionAttributes.getExceptionAttributes(authenticationException, request,
-                HttpStatus.UNAUTHORIZED);
-        log.error("<-- handleAuthenticationException");
-        return new ResponseEntity<>(responseBody, HttpStatus.UNAUTHORIZED);
+        log.debug("--> handleAuthenticationException");
+        ResponseEntity<byte[]> response = errorResponseWriter.write(authenticationException, request,
+                HttpStatus.UNAUTHORIZED, HttpStatus.UNAUTHORIZED);
+        log.debug("<-- handleAuthenticationException");
+        return response;
     }
 
     /**
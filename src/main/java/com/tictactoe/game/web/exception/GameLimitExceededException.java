@@ -0,0 +1,26 @@
+package com.tictactoe.game.web.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The <code>GameLimitExceededException</code> class is custom exception for creating the game when the configured
+ * maximal number of games is already held in memory.
+ *
+ * @author Bosko Mijin
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public final class GameLimitExceededException extends IllegalStateException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 4554259590697750017L;
+
+    /**
+     * Instantiates a new GameLimitExceededException exception.
+     *
+     * @param message - the message
+     */
+    public GameLimitExceededException(final String message) {
+        super(message);
+    }
+}
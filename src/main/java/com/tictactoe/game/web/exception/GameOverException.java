@@ -11,17 +11,33 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * @author Bosko Mijin
  */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public final class GameOverException extends IllegalStateException {
+public final class GameOverException extends RuntimeException {
 
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = new SecureRandom().nextLong();
 
+    /**
+     * The Constant INSTANCE - the shared exception of the normal game flow, thrown without the stack trace and
+     * without the suppressed exceptions, so nothing is ever added to it.
+     */
+    public static final GameOverException INSTANCE = new GameOverException("This game is already over.", false);
+
     /**
      * Instantiates a new GameOverException exception.
      *
      * @param message - the message
      */
     public GameOverException(final String message) {
-        super(message);
+        this(message, true);
+    }
+
+    /**
+     * Instantiates a new GameOverException exception without the stack trace.
+     *
+     * @param message - the message
+     * @param enableSuppression - whether the suppressed exceptions can be added
+     */
+    private GameOverException(final String message, final boolean enableSuppression) {
+        super(message, null, enableSuppression, false);
     }
 }
@@ -0,0 +1,26 @@
+package com.tictactoe.game.web.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The <code>InvalidMovesException</code> class is custom exception for the batch of moves which can't be played at all
+ * - the moves are missing, any of them is empty or there are more moves than the configured maximum.
+ *
+ * @author Bosko Mijin
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public final class InvalidMovesException extends IllegalArgumentException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 6154783620919536147L;
+
+    /**
+     * Instantiates a new InvalidMovesException exception.
+     *
+     * @param message - the message
+     */
+    public InvalidMovesException(final String message) {
+        super(message);
+    }
+}
@@ -6,23 +6,39 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
- * The <code>InvalidPositionException</code> class is custom exception for putting illegal playing mark (different that
- * it is already allowed according to the regular expressions defined in game configuration).
+ * The <code>InvalidPositionException</code> class is custom exception for putting illegal playing mark (malformed, or
+ * outside of the board defined in game configuration).
  *
  * @author Bosko Mijin
  */
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public final class InvalidPositionException extends IllegalStateException {
+public final class InvalidPositionException extends RuntimeException {
 
     /** The Constant serialVersionUID. */
     private static final long serialVersionUID = new SecureRandom().nextLong();
 
+    /**
+     * The Constant INSTANCE - the shared exception of the normal game flow, thrown without the stack trace and
+     * without the suppressed exceptions, so nothing is ever added to it.
+     */
+    public static final InvalidPositionException INSTANCE = new InvalidPositionException("Illegal player mark.", false);
+
     /**
      * Instantiates a new GameOverException exception.
      *
      * @param message - the message
      */
     public InvalidPositionException(final String message) {
-        super(message);
+        this(message, true);
+    }
+
+    /**
+     * Instantiates a new InvalidPositionException exception without the stack trace.
+     *
+     * @param message - the message
+     * @param enableSuppression - whether the suppressed exceptions can be added
+     */
+    private InvalidPositionException(final String message, final boolean enableSuppression) {
+        super(message, null, enableSuppression, false);
     }
 }
@@ -0,0 +1,26 @@
+package com.tictactoe.game.web.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The <code>MatchmakingTimeoutException</code> class is custom exception for the player who is waiting in the
+ * matchmaking queue longer than the configured time without any opponent.
+ *
+ * @author Bosko Mijin
+ */
+@ResponseStatus(HttpStatus.REQUEST_TIMEOUT)
+public final class MatchmakingTimeoutException extends IllegalStateException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = -2297389497772328289L;
+
+    /**
+     * Instantiates a new MatchmakingTimeoutException exception.
+     *
+     * @param message - the message
+     */
+    public MatchmakingTimeoutException(final String message) {
+        super(message);
+    }
+}
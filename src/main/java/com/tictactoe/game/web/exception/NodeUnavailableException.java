@@ -0,0 +1,36 @@
+package com.tictactoe.game.web.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The <code>NodeUnavailableException</code> class is custom exception for the request which has to be forwarded to the
+ * node of the cluster which owns the game, but the node doesn't answer.
+ *
+ * @author Bosko Mijin
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public final class NodeUnavailableException extends IllegalStateException {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = -7993658040204220583L;
+
+    /**
+     * Instantiates a new NodeUnavailableException exception.
+     *
+     * @param message - the message
+     */
+    public NodeUnavailableException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Instantiates a new NodeUnavailableException exception.
+     *
+     * @param message - the message
+     * @param cause - the cause
+     */
+    public NodeUnavailableException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
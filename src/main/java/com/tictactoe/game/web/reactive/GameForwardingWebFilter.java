@@ -0,0 +1,110 @@
+package com.tictactoe.game.web.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.tictactoe.game.cluster.ClusterClient;
+import com.tictactoe.game.cluster.GamePartitioner;
+import com.tictactoe.game.web.exception.ErrorResponseWriter;
+import com.tictactoe.game.web.exception.NodeUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * The <code>GameForwardingWebFilter</code> class is the reactive counterpart of the <code>GameForwardingFilter</code>:
+ * the request of the game owned by the other node of the cluster is forwarded to its owner without holding any thread
+ * while the owner answers, and the status stream and the web socket are redirected to the owner.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@ConditionalOnProperty(prefix = "game.cluster", name = "enabled", havingValue = "true")
+public class GameForwardingWebFilter implements WebFilter {
+
+    /** The error response writer - writes the body of the failed forwarding. */
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /**
+     * The <code>filter</code> method serves the request of the local game here, and forwards (or redirects) the
+     * request of the game owned by the other node.
+     *
+     * @param exchange - The exchange of the request.
+     * @param chain - The chain which serves the request here.
+     * @return Mono - Completed when the response is written.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        Integer gameId = clusterClient.gameIdOf(path);
+        if (gameId == null || gamePartitioner.isLocal(gameId)
+                || clusterClient.isForwarded(request.getHeaders().getFirst(ClusterClient.FORWARDED_HEADER),
+                        request.getHeaders().getFirst(ClusterClient.SECRET_HEADER))) {
+            return chain.filter(exchange);
+        }
+        String owner = gamePartitioner.ownerOf(gameId);
+        String pathAndQuery = request.getURI().getRawQuery() == null ? request.getURI().getRawPath()
+                : request.getURI().getRawPath() + "?" + request.getURI().getRawQuery();
+        ServerHttpResponse response = exchange.getResponse();
+        if (clusterClient.isStreamPath(path)) {
+            response.setStatusCode(HttpStatus.TEMPORARY_REDIRECT);
+            response.getHeaders().set(HttpHeaders.LOCATION, owner + pathAndQuery);
+            return response.setComplete();
+        }
+        return DataBufferUtils.join(request.getBody()).map(GameForwardingWebFilter::bytes).defaultIfEmpty(new byte[0])
+                .flatMap(body -> Mono.fromFuture(clusterClient.forward(owner, request.getMethodValue(), pathAndQuery,
+                        request.getHeaders(), body)))
+                .flatMap(forwarded -> {
+                    response.setRawStatusCode(forwarded.statusCode());
+                    forwarded.headers().map().forEach((name, values) -> {
+                        if (clusterClient.isCopied(name)) {
+                            response.getHeaders().addAll(name, values);
+                        }
+                    });
+                    return response.writeWith(Mono.just(response.bufferFactory().wrap(forwarded.body())));
+                }).onErrorResume(NodeUnavailableException.class, e -> {
+                    log.warn("Request of game {} can't be forwarded: {}", gameId, e.getMessage());
+                    response.setStatusCode(HttpStatus.BAD_GATEWAY);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    return response.writeWith(Mono.just(response.bufferFactory()
+                            .wrap(errorResponseWriter.body(e, path, HttpStatus.BAD_GATEWAY))));
+                });
+    }
+
+    /**
+     * The <code>bytes</code> method copies the content of the buffer and releases the buffer.
+     *
+     * @param buffer - The buffer.
+     * @return byte[] - The content of the buffer.
+     */
+    private static byte[] bytes(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+}
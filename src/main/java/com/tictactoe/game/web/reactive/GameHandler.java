@@ -0,0 +1,439 @@
+package com.tictactoe.game.web.reactive;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.tictactoe.game.cluster.ClusterClient;
+import com.tictactoe.game.cluster.GameHandoff;
+import com.tictactoe.game.cluster.GamePartitioner;
+import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.service.GameStatusStreamService;
+import com.tictactoe.game.service.GameStatusStreamService.StatusListener;
+import com.tictactoe.game.service.MatchmakingService;
+import com.tictactoe.game.util.UrlUtil;
+import com.tictactoe.game.web.exception.AlreadyJoinedException;
+import com.tictactoe.game.web.exception.AnotherPlayersTurnException;
+import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.exception.ErrorResponseWriter;
+import com.tictactoe.game.web.exception.GameLimitExceededException;
+import com.tictactoe.game.web.exception.GameOverException;
+import com.tictactoe.game.web.exception.InvalidMovesException;
+import com.tictactoe.game.web.exception.InvalidPositionException;
+import com.tictactoe.game.web.exception.MatchmakingTimeoutException;
+import com.tictactoe.game.web.exception.MissingGameException;
+import com.tictactoe.game.web.exception.MissingPlayerException;
+import com.tictactoe.game.web.request.PlayGameRequestBody;
+import com.tictactoe.game.web.request.PlayMovesRequestBody;
+import com.tictactoe.game.web.response.DefaultResponseBody;
+import com.tictactoe.game.web.response.GameCreationResponseBody;
+import com.tictactoe.game.web.response.MatchResponseBody;
+import com.tictactoe.game.web.response.PlayMovesResponseBody;
+import com.tictactoe.game.web.response.StatusEnum;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The <code>GameHandler</code> class is the reactive counterpart of the <code>GameInitializationController</code> and
+ * the <code>GamePlayController</code>, used by the reactive profile. Every endpoint has the same path, headers and
+ * bodies as in the servlet mode. The game services hold the lock of the game and the engine searches its move, so they
+ * are called on the bounded worker pool, never on the event loop, while the matchmaking and the status stream don't
+ * hold any thread while waiting. The errors are written by the {@link ErrorResponseWriter} with the same statuses as
+ * the <code>ExceptionAdvisor</code> uses.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class GameHandler {
+
+    /** The Constant AUTH_TOKEN - the header which carries the token of the player. */
+    private static final String AUTH_TOKEN = "Auth-Token";
+
+    /** The Constant SET_AUTH_TOKEN - the header which carries the issued token. */
+    private static final String SET_AUTH_TOKEN = "Set-Auth-Token";
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /** The matchmaking service. */
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    /** The game play service. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    /** The game status stream service. */
+    @Autowired
+    private GameStatusStreamService gameStatusStreamService;
+
+    /** The cluster client - recognizes the requests sent by the other nodes of the cluster. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /** The game partitioner - checks the secret of the cluster. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The game handoff - receives the games handed over by the other nodes of the cluster. */
+    @Autowired
+    private GameHandoff gameHandoff;
+
+    /** The status stream timeout - in milliseconds, defined in the properties as spring profile. */
+    @Value("${game.config.status-stream-timeout:60000}")
+    private long statusStreamTimeout;
+
+    /** The worker threads - the number of threads running the game calls, defined in the properties. */
+    @Value("${game.config.reactive.worker-threads:64}")
+    private int workerThreads;
+
+    /** The worker queue size - the number of game calls waiting for the thread, defined in the properties. */
+    @Value("${game.config.reactive.worker-queue-size:100000}")
+    private int workerQueueSize;
+
+    /** The error response writer - writes the bodies of the exceptions. */
+    private final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+
+    /** The workers - run the game calls off the event loop. */
+    private Scheduler workers;
+
+    /**
+     * The <code>initialize</code> method creates the worker pool.
+     */
+    @PostConstruct
+    public void initialize() {
+        workers = Schedulers.newBoundedElastic(workerThreads, workerQueueSize, "game-worker");
+    }
+
+    /**
+     * The <code>shutdown</code> method stops the worker pool when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.dispose();
+    }
+
+    /**
+     * The <code>createGame</code> method creates the new game, see <code>GameInitializationController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the game url in the body and the token in the header.
+     */
+    public Mono<ServerResponse> createGame(ServerRequest request) {
+        return call(gameInitializationService::createGame)
+                .flatMap(data -> ServerResponse.ok().header(SET_AUTH_TOKEN, data.get("token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new GameCreationResponseBody(baseUrl(request), data.get("gameId"))));
+    }
+
+    /**
+     * The <code>joinGame</code> method joins the player into the already created game, see
+     * <code>GameInitializationController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the status in the body and the token in the header.
+     */
+    public Mono<ServerResponse> joinGame(ServerRequest request) {
+        return Mono.defer(() -> {
+            int gameId = gameId(request);
+            return call(() -> gameInitializationService.joinGame(gameId));
+        }).flatMap(token -> ServerResponse.ok().header(SET_AUTH_TOKEN, token).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DefaultResponseBody("You are successfuly joined the game.")));
+    }
+
+    /**
+     * The <code>joinEngine</code> method seats the engine into the already created game, see
+     * <code>GameInitializationController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the status in the body.
+     */
+    public Mono<ServerResponse> joinEngine(ServerRequest request) {
+        return Mono.defer(() -> {
+            int gameId = gameId(request);
+            return call(() -> {
+                gameInitializationService.joinEngine(gameId);
+                return new DefaultResponseBody("Engine is successfuly joined the game.");
+            });
+        }).flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    /**
+     * The <code>findMatch</code> method waits for the next player who is looking for the opponent, see
+     * <code>GameInitializationController</code>. No thread is held while waiting.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the game url and the mark in the body and the token in the header.
+     */
+    public Mono<ServerResponse> findMatch(ServerRequest request) {
+        String baseUrl = baseUrl(request);
+        return Mono.fromFuture(matchmakingService.findMatch())
+                .flatMap(data -> ServerResponse.ok().header(SET_AUTH_TOKEN, data.get("token"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new MatchResponseBody(baseUrl, data.get("gameId"), data.get("mark"))));
+    }
+
+    /**
+     * The <code>playGame</code> method plays the move, see <code>GamePlayController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the status in the body.
+     */
+    public Mono<ServerResponse> playGame(ServerRequest request) {
+        return Mono.defer(() -> {
+            int gameId = gameId(request);
+            String token = token(request);
+            return requestBody(request, PlayGameRequestBody.class)
+                    .flatMap(body -> call(() -> gamePlayService.playGame(gameId, body.getPosition(), token)));
+        }).flatMap(success -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DefaultResponseBody(success ? "OK" : "SPACE_TAKEN")));
+    }
+
+    /**
+     * The <code>playMoves</code> method plays the batch of moves of many games, see <code>GamePlayController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the result of every move in the body.
+     */
+    public Mono<ServerResponse> playMoves(ServerRequest request) {
+        boolean forwarded = clusterClient.isForwarded(request.headers().firstHeader(ClusterClient.FORWARDED_HEADER),
+                request.headers().firstHeader(ClusterClient.SECRET_HEADER));
+        return requestBody(request, PlayMovesRequestBody.class)
+                .flatMap(body -> call(() -> new PlayMovesResponseBody(gamePlayService.playMoves(body.getMoves(),
+                        forwarded))))
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body));
+    }
+
+    /**
+     * The <code>obtainGameStatus</code> method obtains the game status, see <code>GamePlayController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the status in the body.
+     */
+    public Mono<ServerResponse> obtainGameStatus(ServerRequest request) {
+        return Mono.defer(() -> {
+            int gameId = gameId(request);
+            String token = token(request);
+            return call(() -> gamePlayService.obtainGameStatus(gameId, token));
+        }).flatMap(message -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DefaultResponseBody(message)));
+    }
+
+    /**
+     * The <code>streamGameStatus</code> method streams the game status as server sent events, see
+     * <code>GamePlayController</code>. The player is authenticated before the stream is opened, so the failure is
+     * answered by the error response. The stream is completed when the game is over, or after the status stream
+     * timeout, and no thread is held between the statuses.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the stream of the statuses.
+     */
+    public Mono<ServerResponse> streamGameStatus(ServerRequest request) {
+        return Mono.defer(() -> {
+            int gameId = gameId(request);
+            String token = token(request);
+            Flux<ServerSentEvent<DefaultResponseBody>> statuses = Flux
+                    .<ServerSentEvent<DefaultResponseBody>>create(sink -> subscribe(gameId, token, sink))
+                    .subscribeOn(workers).take(Duration.ofMillis(statusStreamTimeout));
+            return call(() -> gamePlayService.obtainGameStatus(gameId, token))
+                    .flatMap(status -> ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                            .body(BodyInserters.fromServerSentEvents(statuses)));
+        });
+    }
+
+    /**
+     * The <code>receiveGames</code> method receives the games handed over by the other node of the cluster, see
+     * <code>ClusterController</code>.
+     *
+     * @param request - The server request.
+     * @return Mono - The response with the ids of the refused games in the body.
+     */
+    public Mono<ServerResponse> receiveGames(ServerRequest request) {
+        if (!gamePartitioner.isTrusted(request.headers().firstHeader(ClusterClient.SECRET_HEADER))) {
+            log.warn("Games are refused, the request isn't sent by the node of the cluster.");
+            return ServerResponse.status(HttpStatus.FORBIDDEN).build();
+        }
+        return requestBody(request, byte[].class)
+                .flatMap(games -> call(() -> GameHandoff.encodeIds(gameHandoff.receive(games))))
+                .flatMap(refused -> ServerResponse.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .bodyValue(refused));
+    }
+
+    /**
+     * The <code>handleError</code> method writes the response of the exception with the same statuses and body as in
+     * the servlet mode.
+     *
+     * @param error - The exception raised by the endpoint.
+     * @param request - The server request.
+     * @return Mono - The response with the exception attributes in the body.
+     */
+    public Mono<ServerResponse> handleError(Throwable error, ServerRequest request) {
+        Exception exception = error instanceof Exception ? (Exception) error : new IllegalStateException(error);
+        HttpStatus bodyStatus = bodyStatus(exception);
+        HttpStatus responseStatus = responseStatus(exception, bodyStatus);
+        if (responseStatus == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("Request failed.", exception);
+        }
+        return ServerResponse.status(responseStatus).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponseWriter.body(exception, request.path(), bodyStatus));
+    }
+
+    /**
+     * The <code>subscribe</code> method subscribes the sink to the status changes of the game.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @param sink - The sink of the server sent events.
+     */
+    private void subscribe(int gameId, String token, FluxSink<ServerSentEvent<DefaultResponseBody>> sink) {
+        try {
+            Runnable unsubscribe = gameStatusStreamService.subscribe(gameId, token, new StatusListener() {
+
+                @Override
+                public void send(StatusEnum status) {
+                    sink.next(ServerSentEvent.builder(new DefaultResponseBody(status.getValue()))
+                            .event(GameStatusStreamService.STATUS_EVENT).build());
+                }
+
+                @Override
+                public void complete() {
+                    sink.complete();
+                }
+            });
+            sink.onDispose(unsubscribe::run);
+        } catch (AuthenticationException | RuntimeException e) {
+            sink.error(e);
+        }
+    }
+
+    /**
+     * The <code>requestBody</code> method reads the required body of the request.
+     *
+     * @param <T> - The type of the body.
+     * @param request - The server request.
+     * @param type - The class of the body.
+     * @return Mono - The body, or the error if the body is missing.
+     */
+    private static <T> Mono<T> requestBody(ServerRequest request, Class<T> type) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required request body is missing.")));
+    }
+
+    /**
+     * The <code>call</code> method calls the game service on the worker pool, it is used by the
+     * {@link GameSocketHandler} as well.
+     *
+     * @param <T> - The type of the result.
+     * @param callable - The call of the game service.
+     * @return Mono - The result of the call.
+     */
+    <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(workers);
+    }
+
+    /**
+     * The <code>gameId</code> method reads the id of the game from the path.
+     *
+     * @param request - The server request.
+     * @return int - The id of the game.
+     */
+    private static int gameId(ServerRequest request) {
+        try {
+            return Integer.parseInt(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Id of the game has to be a number.");
+        }
+    }
+
+    /**
+     * The <code>token</code> method reads the token of the player from the header.
+     *
+     * @param request - The server request.
+     * @return String - The token of the player.
+     */
+    private static String token(ServerRequest request) {
+        String token = request.headers().firstHeader(AUTH_TOKEN);
+        if (token == null) {
+            throw new ServerWebInputException("Missing request header '" + AUTH_TOKEN + "'.");
+        }
+        return token;
+    }
+
+    /**
+     * The <code>baseUrl</code> method prepares the base url of the request.
+     *
+     * @param request - The server request.
+     * @return String - The base url.
+     */
+    private static String baseUrl(ServerRequest request) {
+        return UrlUtil.prepareBaseUrl(request.uri().getScheme(), request.uri().getHost(), request.uri().getPort(),
+                request.requestPath().contextPath().value());
+    }
+
+    /**
+     * The <code>bodyStatus</code> method returns the status written in the body of the exception.
+     *
+     * @param exception - The exception.
+     * @return HttpStatus - The status of the body.
+     */
+    private static HttpStatus bodyStatus(Exception exception) {
+        if (exception instanceof AnotherPlayersTurnException || exception instanceof GameOverException
+                || exception instanceof InvalidPositionException || exception instanceof AlreadyJoinedException) {
+            return HttpStatus.CONFLICT;
+        } else if (exception instanceof MissingGameException || exception instanceof MissingPlayerException) {
+            return HttpStatus.NOT_FOUND;
+        } else if (exception instanceof GameLimitExceededException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (exception instanceof MatchmakingTimeoutException) {
+            return HttpStatus.REQUEST_TIMEOUT;
+        } else if (exception instanceof AuthenticationException) {
+            return HttpStatus.UNAUTHORIZED;
+        } else if (exception instanceof InvalidMovesException) {
+            return HttpStatus.BAD_REQUEST;
+        } else if (exception instanceof ResponseStatusException) {
+            return ((ResponseStatusException) exception).getStatus();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    /**
+     * The <code>responseStatus</code> method returns the status of the response of the exception, the errors of the
+     * moves are answered by the bad request.
+     *
+     * @param exception - The exception.
+     * @param bodyStatus - The status of the body.
+     * @return HttpStatus - The status of the response.
+     */
+    private static HttpStatus responseStatus(Exception exception, HttpStatus bodyStatus) {
+        if (exception instanceof AnotherPlayersTurnException || exception instanceof GameOverException
+                || exception instanceof InvalidPositionException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return bodyStatus;
+    }
+}
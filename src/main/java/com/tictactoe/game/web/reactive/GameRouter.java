@@ -0,0 +1,170 @@
+package com.tictactoe.game.web.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.tictactoe.game.cluster.GamePartitioner;
+import com.tictactoe.game.web.socket.GameHandshakeInterceptor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The <code>GameRouter</code> class maps the endpoints of the game to the {@link GameHandler} when the application runs
+ * as the reactive web application (the reactive profile). The paths are the same as the paths of the controllers, and
+ * the web socket move channel is served by the {@link GameSocketHandler} on the same path as in the servlet mode.
+ *
+ * @author Bosko Mijin
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class GameRouter {
+
+    /** The game path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-path}")
+    private String gamePath;
+
+    /** The game join path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-join-path}")
+    private String gameJoinPath;
+
+    /** The game engine join path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-engine-join-path}")
+    private String gameEngineJoinPath;
+
+    /** The game match path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-match-path}")
+    private String gameMatchPath;
+
+    /** The game play path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-play-path}")
+    private String gamePlayPath;
+
+    /** The game moves path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-moves-path}")
+    private String gameMovesPath;
+
+    /** The game status stream path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-status-stream-path}")
+    private String gameStatusStreamPath;
+
+    /** The cluster games path - defined in the properties as spring profile. */
+    @Value("${api.paths.cluster-games-path}")
+    private String clusterGamesPath;
+
+    /** The game socket path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-socket-path}")
+    private String gameSocketPath;
+
+    /** The allowed origins - defined in the properties as spring profile, only the same origin when empty. */
+    @Value("${game.config.socket-allowed-origins:}")
+    private String[] allowedOrigins;
+
+    /**
+     * The <code>gameRoutes</code> bean maps the endpoints of the game, and the internal endpoint of the cluster when
+     * the cluster is enabled.
+     *
+     * @param gameHandler - The handler of the endpoints.
+     * @param gamePartitioner - The partitioner of the games across the nodes of the cluster.
+     * @return RouterFunction - The routes of the game.
+     */
+    @Bean
+    public RouterFunction<ServerResponse> gameRoutes(GameHandler gameHandler, GamePartitioner gamePartitioner) {
+        RouterFunctions.Builder routes = RouterFunctions.route()
+                .POST(gameMatchPath, gameHandler::findMatch)
+                .POST(gameMovesPath, contentType(MediaType.APPLICATION_JSON), gameHandler::playMoves)
+                .POST(gamePath, gameHandler::createGame)
+                .POST(gameJoinPath, gameHandler::joinGame)
+                .POST(gameEngineJoinPath, gameHandler::joinEngine)
+                .PUT(gamePlayPath, contentType(MediaType.APPLICATION_JSON), gameHandler::playGame)
+                .GET(gameStatusStreamPath, accept(MediaType.TEXT_EVENT_STREAM), gameHandler::streamGameStatus)
+                .GET(gamePlayPath, gameHandler::obtainGameStatus);
+        if (gamePartitioner.isEnabled()) {
+            routes.POST(clusterGamesPath, contentType(MediaType.APPLICATION_OCTET_STREAM), gameHandler::receiveGames);
+        }
+        return routes.onError(Throwable.class, gameHandler::handleError).build();
+    }
+
+    /**
+     * The <code>gameSocketMapping</code> bean maps the web socket move channel to the game socket path. Only the pages
+     * of the same origin and of the configured origins may open the move channel, the others are rejected with HTTP
+     * status 403.
+     *
+     * @param gameSocketHandler - The handler of the move channel.
+     * @return HandlerMapping - The mapping of the move channel, checked before the routes.
+     */
+    @Bean
+    public HandlerMapping gameSocketMapping(GameSocketHandler gameSocketHandler) {
+        CorsConfiguration corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowedOrigins(List.of(allowedOrigins));
+        corsConfiguration.setAllowedMethods(List.of(HttpMethod.GET.name()));
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(gameSocketPath, gameSocketHandler), -1);
+        mapping.setCorsConfigurations(Map.of(gameSocketPath, corsConfiguration));
+        return mapping;
+    }
+
+    /**
+     * The <code>gameSocketService</code> bean opens the move channel, the same as the
+     * {@link GameHandshakeInterceptor} in the servlet mode, the player is authenticated before the handshake and the
+     * handshake is rejected with HTTP status 401 if the player isn't authenticated, or 404 if the game doesn't exist.
+     * The game id and the player mark are passed to the session attributes.
+     *
+     * @param gameHandshakeInterceptor - The interceptor which authenticates the player.
+     * @return WebSocketHandlerAdapter - The adapter which runs the move channel.
+     */
+    @Bean
+    public WebSocketHandlerAdapter gameSocketService(GameHandshakeInterceptor gameHandshakeInterceptor) {
+        HandshakeWebSocketService webSocketService = new HandshakeWebSocketService(
+                new ReactorNettyRequestUpgradeStrategy()) {
+
+            @Override
+            public Mono<Void> handleRequest(ServerWebExchange exchange, WebSocketHandler handler) {
+                HttpStatus rejection = gameHandshakeInterceptor.authenticate(
+                        exchange.getRequest().getPath().pathWithinApplication().value(),
+                        exchange.getRequest().getHeaders(), exchange.getAttributes());
+                if (rejection != null) {
+                    exchange.getResponse().setStatusCode(rejection);
+                    return exchange.getResponse().setComplete();
+                }
+                return super.handleRequest(exchange, handler);
+            }
+        };
+        webSocketService.setSessionAttributePredicate(name -> GameHandshakeInterceptor.GAME_ID_ATTRIBUTE.equals(name)
+                || GameHandshakeInterceptor.MARK_ATTRIBUTE.equals(name));
+        return new WebSocketHandlerAdapter(webSocketService);
+    }
+
+    /**
+     * The <code>nettyServerFactory</code> bean selects the Netty server, which would otherwise lose to the Tomcat
+     * server brought by the servlet stack.
+     *
+     * @return NettyReactiveWebServerFactory - The factory of the Netty server.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
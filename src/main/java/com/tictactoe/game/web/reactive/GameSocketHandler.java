@@ -0,0 +1,154 @@
+package com.tictactoe.game.web.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.web.request.PlayGameRequestBody;
+import com.tictactoe.game.web.response.GameSocketMessage;
+import com.tictactoe.game.web.socket.GameHandshakeInterceptor;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+/**
+ * The <code>GameSocketHandler</code> class is the reactive counterpart of the <code>GameWebSocketHandler</code>, used
+ * by the reactive profile. The player is authenticated once, before the handshake (see
+ * {@link GameRouter#gameSocketService}), afterwards the moves are received as <code>{"position": "A1"}</code> text
+ * messages and every player connected to the same game receives the placed marks as they happen. The moves are played
+ * on the worker pool of the {@link GameHandler}, and no thread is held between the messages.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class GameSocketHandler implements WebSocketHandler {
+
+    /** The game play service. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    /** The game handler - runs the moves on its worker pool. */
+    @Autowired
+    private GameHandler gameHandler;
+
+    /** A Jackson ObjectMapper for JSON conversion. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** The buffered messages limit - the changes waiting for the slow player, defined in the properties. */
+    @Value("${game.config.reactive.socket-buffered-messages:256}")
+    private int bufferedMessagesLimit;
+
+    /** The sinks - the outgoing changes of the open web socket sessions grouped by game id. */
+    private final Map<Integer, Set<FluxSink<String>>> sinks = new ConcurrentHashMap<>();
+
+    /**
+     * The <code>getSubProtocols</code> method returns the protocol which carries the token of the browser clients, so
+     * the handshake accepts it.
+     *
+     * @return List - The {@link GameHandshakeInterceptor#TOKEN_PROTOCOL} protocol.
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(GameHandshakeInterceptor.TOKEN_PROTOCOL);
+    }
+
+    /**
+     * The <code>handle</code> method registers the session of the player in its game, plays the received moves and
+     * sends the results of the moves and the changes of the game. The changes stop when the player closes the session,
+     * and the session is closed when the player falls more than the buffered messages limit behind.
+     *
+     * @param session - The opened web socket session.
+     * @return Mono - Completed when the session is closed.
+     */
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        int gameId = (Integer) session.getAttributes().get(GameHandshakeInterceptor.GAME_ID_ATTRIBUTE);
+        char mark = (Character) session.getAttributes().get(GameHandshakeInterceptor.MARK_ATTRIBUTE);
+        Flux<String> changes = Flux.<String>create(sink -> register(gameId, sink))
+                .onBackpressureBuffer(bufferedMessagesLimit);
+        Flux<String> messages = session.receive().map(WebSocketMessage::getPayloadAsText)
+                .concatMap(payload -> gameHandler.call(() -> play(gameId, mark, payload)))
+                .publish(results -> Flux.merge(results,
+                        changes.takeUntilOther(results.then(Mono.just(Boolean.TRUE)))));
+        return session.send(messages.map(session::textMessage));
+    }
+
+    /**
+     * The <code>onGameStateChanged</code> method sends the change of the game to all the players connected to the game.
+     *
+     * @param event - The event which describes the change.
+     */
+    @EventListener
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        Set<FluxSink<String>> gameSinks = sinks.get(event.getGameId());
+        GameSocketMessage change = GameSocketMessage.ofChange(event);
+        if (gameSinks == null || gameSinks.isEmpty() || change == null) {
+            return;
+        }
+        String message;
+        try {
+            message = mapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.error("Change of the game {} can't be serialized.", event.getGameId(), e);
+            return;
+        }
+        gameSinks.forEach(sink -> sink.next(message));
+    }
+
+    /**
+     * The <code>register</code> method registers the sink of the session in its game, until the session is closed.
+     *
+     * @param gameId - The id of the game.
+     * @param sink - The sink of the outgoing changes.
+     */
+    private void register(int gameId, FluxSink<String> sink) {
+        sinks.computeIfAbsent(gameId, id -> ConcurrentHashMap.newKeySet()).add(sink);
+        sink.onDispose(() -> sinks.computeIfPresent(gameId, (id, gameSinks) -> {
+            gameSinks.remove(sink);
+            return gameSinks.isEmpty() ? null : gameSinks;
+        }));
+    }
+
+    /**
+     * The <code>play</code> method plays the move received from the player and returns the reply with the result.
+     *
+     * @param gameId - The id of the game.
+     * @param mark - The mark of the player.
+     * @param payload - The message which holds the position.
+     * @return String - The reply with the result of the move.
+     * @throws JsonProcessingException - The exception if the reply can't be serialized.
+     */
+    private String play(int gameId, char mark, String payload) throws JsonProcessingException {
+        GameSocketMessage reply;
+        try {
+            PlayGameRequestBody requestBody = mapper.readValue(payload, PlayGameRequestBody.class);
+            boolean success = gamePlayService.playMove(gameId, requestBody.getPosition(), mark);
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_RESULT, success ? "OK" : "SPACE_TAKEN", null, null);
+        } catch (JsonProcessingException e) {
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_ERROR, "Malformed move.", null, null);
+        } catch (RuntimeException e) {
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_ERROR, e.getMessage(), null, null);
+        }
+        return mapper.writeValueAsString(reply);
+    }
+}
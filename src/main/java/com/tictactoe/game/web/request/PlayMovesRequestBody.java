@@ -0,0 +1,59 @@
+package com.tictactoe.game.web.request;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The <code>PlayMovesRequestBody</code> class holds the values obtained from request body as the batch of moves of
+ * many games.
+ *
+ * @author Bosko Mijin
+ */
+@NoArgsConstructor
+@Getter
+public class PlayMovesRequestBody {
+
+    /** The moves - played in order within every game. */
+    private List<Move> moves;
+
+    /**
+     * Instantiates a new play moves request body with the required data.
+     *
+     * @param moves - The moves which have to be played.
+     */
+    public PlayMovesRequestBody(List<Move> moves) {
+        this.moves = moves;
+    }
+
+    /**
+     * The <code>Move</code> class holds the single move of the batch.
+     */
+    @NoArgsConstructor
+    @Getter
+    public static class Move {
+
+        /** The game id. */
+        private int gameId;
+
+        /** The position. */
+        private String position;
+
+        /** The token of the player who plays the move. */
+        private String token;
+
+        /**
+         * Instantiates a new move with the required data.
+         *
+         * @param gameId - The id of the game.
+         * @param position - The position of the mark.
+         * @param token - The token of the player who plays the move.
+         */
+        public Move(int gameId, String position, String token) {
+            this.gameId = gameId;
+            this.position = position;
+            this.token = token;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tictactoe.game.web.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The <code>GameSocketMessage</code> class holds the values which are sent to the players over the web socket move
+ * channel. Only the fields which are related to the message type are populated.
+ *
+ * @author Bosko Mijin
+ */
+@NoArgsConstructor
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameSocketMessage {
+
+    /** The Constant TYPE_RESULT - the result of the move sent by the player. */
+    public static final String TYPE_RESULT = "RESULT";
+
+    /** The Constant TYPE_ERROR - the move sent by the player is rejected. */
+    public static final String TYPE_ERROR = "ERROR";
+
+    /** The Constant TYPE_MOVE - a mark is placed in the game. */
+    public static final String TYPE_MOVE = "MOVE";
+
+    /** The Constant TYPE_JOINED - the other player joined the game. */
+    public static final String TYPE_JOINED = "JOINED";
+
+    /** The type of the message. */
+    private String type;
+
+    /** The status, populated for result and error messages. */
+    private String status;
+
+    /** The position, populated for move messages. */
+    private String position;
+
+    /** The mark of the player, populated for move and joined messages. */
+    private String mark;
+
+    /**
+     * Instantiates a new game socket message with the required data.
+     *
+     * @param type - The type of the message.
+     * @param status - The status, or <code>null</code>.
+     * @param position - The position, or <code>null</code>.
+     * @param mark - The mark of the player, or <code>null</code>.
+     */
+    public GameSocketMessage(String type, String status, String position, String mark) {
+        this.type = type;
+        this.status = status;
+        this.position = position;
+        this.mark = mark;
+    }
+
+    /**
+     * The <code>ofChange</code> method creates the message which tells the players of the game about the change.
+     *
+     * @param event - The event which describes the change.
+     * @return GameSocketMessage - The joined or move message, or <code>null</code> if the players aren't told about
+     *         the change.
+     */
+    public static GameSocketMessage ofChange(GameStateChangedEvent event) {
+        if (event.getType() == ChangeType.JOINED) {
+            return new GameSocketMessage(TYPE_JOINED, null, null, String.valueOf(event.getMark()));
+        } else if (event.getType() == ChangeType.MOVED) {
+            return new GameSocketMessage(TYPE_MOVE, null, event.getPosition(), String.valueOf(event.getMark()));
+        }
+        return null;
+    }
+}
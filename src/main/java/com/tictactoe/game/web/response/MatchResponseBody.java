@@ -0,0 +1,34 @@
+package com.tictactoe.game.web.response;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The <code>MatchResponseBody</code> class holds the values required in response body as part of matchmaking
+ * response entity.
+ *
+ * @author Bosko Mijin
+ */
+@NoArgsConstructor
+@Getter
+public class MatchResponseBody {
+
+    /** The game url - the url on which the moves of the matched game are played. */
+    private String gameUrl;
+
+    /** The mark - the mark of the player in the matched game. */
+    private String mark;
+
+    /**
+     * Instantiates a new match response body with the required data.
+     *
+     * @param baseUrl - The base url which has to be integrated into the game URL.
+     * @param gameId - The game id which has to be integrated into the game URL.
+     * @param mark - The mark of the player.
+     */
+    public MatchResponseBody(String baseUrl, String gameId, String mark) {
+        gameUrl = String.format("%s/game/%s", baseUrl, gameId);
+        this.mark = mark;
+    }
+
+}
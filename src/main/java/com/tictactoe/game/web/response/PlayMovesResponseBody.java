@@ -0,0 +1,64 @@
+package com.tictactoe.game.web.response;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The <code>PlayMovesResponseBody</code> class holds the values required in response body as part of the batch of
+ * moves response entity - the result of every move, in the order of the request.
+ *
+ * @author Bosko Mijin
+ */
+@NoArgsConstructor
+@Getter
+public class PlayMovesResponseBody {
+
+    /** The results - one for every requested move. */
+    private List<MoveResult> results;
+
+    /**
+     * Instantiates a new play moves response body with the required data.
+     *
+     * @param results - The results of the moves.
+     */
+    public PlayMovesResponseBody(List<MoveResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * The <code>MoveResult</code> class holds the result of the single move of the batch.
+     */
+    @NoArgsConstructor
+    @Getter
+    public static class MoveResult {
+
+        /** The game id. */
+        private int gameId;
+
+        /** The position. */
+        private String position;
+
+        /** The status - OK, SPACE_TAKEN or FAILED. */
+        private String status;
+
+        /** The message - the reason of the failed move, otherwise <code>null</code>. */
+        private String message;
+
+        /**
+         * Instantiates a new move result with the required data.
+         *
+         * @param gameId - The id of the game.
+         * @param position - The position of the mark.
+         * @param status - The status of the move.
+         * @param message - The reason of the failed move, otherwise <code>null</code>.
+         */
+        public MoveResult(int gameId, String position, String status, String message) {
+            this.gameId = gameId;
+            this.position = position;
+            this.status = status;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.tictactoe.game.web.socket;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriTemplate;
+
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.service.AuthenticationService;
+import com.tictactoe.game.util.GameUtil;
+import com.tictactoe.game.util.TokenUtil;
+import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.exception.MissingGameException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameHandshakeInterceptor</code> class authenticates the player once, when the web socket connection is
+ * opened. The token is taken from the <code>Auth-Token</code> header, or, for the clients which can't set headers
+ * (browsers), from the <code>Sec-WebSocket-Protocol</code> header as the protocol offered after the
+ * {@value #TOKEN_PROTOCOL} protocol, e.g. <code>new WebSocket(url, ["auth-token", token])</code>. The token is never
+ * taken from the query, so it doesn't end up in the request logs. The game id and the player mark are stored in the
+ * session attributes, so the moves sent later are not authenticated again.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+public class GameHandshakeInterceptor implements HandshakeInterceptor {
+
+    /** The Constant GAME_ID_ATTRIBUTE - the session attribute which holds the game id. */
+    public static final String GAME_ID_ATTRIBUTE = "gameId";
+
+    /** The Constant MARK_ATTRIBUTE - the session attribute which holds the player mark. */
+    public static final String MARK_ATTRIBUTE = "mark";
+
+    /** The Constant TOKEN_HEADER - the header which holds the token. */
+    private static final String TOKEN_HEADER = "Auth-Token";
+
+    /** The Constant TOKEN_PROTOCOL - the sub-protocol which is followed by the token, accepted by the handshake. */
+    public static final String TOKEN_PROTOCOL = "auth-token";
+
+    /** The authentication service. */
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The token util. */
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    /** The game socket path - defined in the properties as spring profile. */
+    @Value("${api.paths.game-socket-path}")
+    private String gameSocketPath;
+
+    /**
+     * The <code>beforeHandshake</code> method authenticates the player and populates the session attributes. The
+     * handshake is rejected with HTTP status 401 if the player isn't authenticated, or 404 if the game doesn't exist.
+     *
+     * @param request - The handshake request.
+     * @param response - The handshake response.
+     * @param wsHandler - The target web socket handler.
+     * @param attributes - The attributes of the web socket session.
+     * @return boolean - <code>true</code> if the handshake has to proceed, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        log.debug("--> beforeHandshake");
+        HttpStatus rejection = authenticate(request.getURI().getPath(), request.getHeaders(), attributes);
+        if (rejection != null) {
+            response.setStatusCode(rejection);
+            log.debug("<-- beforeHandshake - rejected");
+            return false;
+        }
+        log.debug("<-- beforeHandshake");
+        return true;
+    }
+
+    /**
+     * The <code>authenticate</code> method authenticates the player of the handshake and puts the game id and the
+     * player mark into the attributes. It is used by the reactive move channel as well.
+     *
+     * @param path - The path of the handshake request.
+     * @param headers - The headers of the handshake request.
+     * @param attributes - The attributes of the web socket session.
+     * @return HttpStatus - <code>null</code> if the player is authenticated, otherwise the status of the rejection,
+     *         401 if the player isn't authenticated, or 404 if the game doesn't exist.
+     */
+    public HttpStatus authenticate(String path, HttpHeaders headers, Map<String, Object> attributes) {
+        String token = tokenOf(headers);
+        try {
+            int gameId = Integer.parseInt(new UriTemplate(gameSocketPath).match(path).getOrDefault("id", ""));
+            authenticationService.authenticate(gameId, token);
+            Game game = gamesRepository.getGameById(gameId);
+            attributes.put(GAME_ID_ATTRIBUTE, gameId);
+            attributes.put(MARK_ATTRIBUTE, GameUtil.getMarkForPlayerId(game, tokenUtil.getUsernameFromToken(token)));
+            return null;
+        } catch (NumberFormatException | MissingGameException e) {
+            return HttpStatus.NOT_FOUND;
+        } catch (AuthenticationException | RuntimeException e) {
+            return HttpStatus.UNAUTHORIZED;
+        }
+    }
+
+    /**
+     * The <code>tokenOf</code> method reads the token of the handshake, from the <code>Auth-Token</code> header or from
+     * the protocol offered after the {@value #TOKEN_PROTOCOL} protocol.
+     *
+     * @param headers - The headers of the handshake request.
+     * @return String - The token, or <code>null</code> if the handshake carries no token.
+     */
+    public static String tokenOf(HttpHeaders headers) {
+        String token = headers.getFirst(TOKEN_HEADER);
+        if (token != null) {
+            return token;
+        }
+        List<String> protocols = new WebSocketHttpHeaders(headers).getSecWebSocketProtocol();
+        int tokenIndex = protocols.indexOf(TOKEN_PROTOCOL) + 1;
+        return tokenIndex > 0 && tokenIndex < protocols.size() ? protocols.get(tokenIndex) : null;
+    }
+
+    /**
+     * The <code>afterHandshake</code> method does nothing, everything is prepared before the handshake.
+     *
+     * @param request - The handshake request.
+     * @param response - The handshake response.
+     * @param wsHandler - The target web socket handler.
+     * @param exception - The exception raised during the handshake, or <code>null</code>.
+     */
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response, WebSocketHandler wsHandler,
+            Exception exception) {
+        // Nothing to do after the handshake.
+    }
+}
@@ -0,0 +1,277 @@
+package com.tictactoe.game.web.socket;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.web.request.PlayGameRequestBody;
+import com.tictactoe.game.web.response.GameSocketMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The <code>GameWebSocketHandler</code> class handles the web socket move channel. The player is authenticated once by
+ * {@link GameHandshakeInterceptor}, afterwards the moves are received as <code>{"position": "A1"}</code> text messages
+ * and every player connected to the same game receives the placed marks as they happen. The changes are published
+ * under the lock of the game, so the messages are only queued there, and they are written to the players by the
+ * sender threads, one at the time and in order for every session, so the slow player never holds the game.
+ *
+ * @author Bosko Mijin
+ */
+@Slf4j
+@Component
+public class GameWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    /** The game play service. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    /** A Jackson ObjectMapper for JSON conversion. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** The send time limit - in milliseconds, defined in the properties as spring profile. */
+    @Value("${game.config.socket-send-time-limit:5000}")
+    private int sendTimeLimit;
+
+    /** The send buffer size limit - in bytes, defined in the properties as spring profile. */
+    @Value("${game.config.socket-buffer-size-limit:65536}")
+    private int bufferSizeLimit;
+
+    /** The sender threads - the number of threads writing the messages, defined in the properties as spring profile. */
+    @Value("${game.config.socket-sender-threads:4}")
+    private int senderThreads;
+
+    /** The sessions - outboxes of the open web socket sessions grouped by game id. */
+    private final Map<Integer, Set<Outbox>> sessions = new ConcurrentHashMap<>();
+
+    /** The senders - write the queued messages to the players, off the lock of the game. */
+    private ExecutorService senders;
+
+    /**
+     * The <code>initialize</code> method creates the sender threads.
+     */
+    @PostConstruct
+    public void initialize() {
+        senders = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    /**
+     * The <code>shutdown</code> method stops the sender threads when the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * The <code>getSubProtocols</code> method returns the protocol which carries the token of the browser clients, so
+     * the handshake accepts it.
+     *
+     * @return List - The {@link GameHandshakeInterceptor#TOKEN_PROTOCOL} protocol.
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(GameHandshakeInterceptor.TOKEN_PROTOCOL);
+    }
+
+    /**
+     * The <code>afterConnectionEstablished</code> method registers the session of the player in its game.
+     *
+     * @param session - The opened web socket session.
+     */
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Outbox outbox = new Outbox(new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, bufferSizeLimit));
+        session.getAttributes().put(Outbox.class.getName(), outbox);
+        sessions.computeIfAbsent(gameId(session), id -> ConcurrentHashMap.newKeySet()).add(outbox);
+    }
+
+    /**
+     * The <code>handleTextMessage</code> method plays the move received from the player and replies with the result.
+     * The placed mark is sent to all the players of the game by {@link #onGameStateChanged(GameStateChangedEvent)},
+     * and the reply is queued after it, so the player receives its own move first.
+     *
+     * @param session - The web socket session of the player.
+     * @param message - The message which holds the position.
+     * @throws IOException - The exception if the reply can't be serialized.
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        GameSocketMessage reply;
+        try {
+            PlayGameRequestBody requestBody = mapper.readValue(message.getPayload(), PlayGameRequestBody.class);
+            char mark = (Character) session.getAttributes().get(GameHandshakeInterceptor.MARK_ATTRIBUTE);
+            boolean success = gamePlayService.playMove(gameId(session), requestBody.getPosition(), mark);
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_RESULT, success ? "OK" : "SPACE_TAKEN", null, null);
+        } catch (JsonProcessingException e) {
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_ERROR, "Malformed move.", null, null);
+        } catch (RuntimeException e) {
+            reply = new GameSocketMessage(GameSocketMessage.TYPE_ERROR, e.getMessage(), null, null);
+        }
+        enqueue(gameId(session), outbox(session), new TextMessage(mapper.writeValueAsString(reply)));
+    }
+
+    /**
+     * The <code>afterConnectionClosed</code> method removes the session of the player from its game.
+     *
+     * @param session - The closed web socket session.
+     * @param status - The close status.
+     */
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Outbox outbox = outbox(session);
+        sessions.computeIfPresent(gameId(session), (id, gameSessions) -> {
+            gameSessions.remove(outbox);
+            return gameSessions.isEmpty() ? null : gameSessions;
+        });
+    }
+
+    /**
+     * The <code>onGameStateChanged</code> method queues the change of the game for all the players connected to the
+     * game.
+     *
+     * @param event - The event which describes the change.
+     */
+    @EventListener
+    public void onGameStateChanged(GameStateChangedEvent event) {
+        Set<Outbox> gameSessions = sessions.get(event.getGameId());
+        GameSocketMessage change = GameSocketMessage.ofChange(event);
+        if (gameSessions == null || gameSessions.isEmpty() || change == null) {
+            return;
+        }
+        TextMessage message;
+        try {
+            message = new TextMessage(mapper.writeValueAsString(change));
+        } catch (JsonProcessingException e) {
+            log.error("Change of the game {} can't be serialized.", event.getGameId(), e);
+            return;
+        }
+        for (Outbox outbox : gameSessions) {
+            enqueue(event.getGameId(), outbox, message);
+        }
+    }
+
+    /**
+     * The <code>enqueue</code> method queues the message for the session, and starts the sender of the session if it
+     * isn't running yet.
+     *
+     * @param gameId - The id of the game.
+     * @param outbox - The outbox of the session.
+     * @param message - The message which has to be sent.
+     */
+    private void enqueue(int gameId, Outbox outbox, TextMessage message) {
+        synchronized (outbox) {
+            outbox.pending.add(message);
+            if (outbox.sending) {
+                return;
+            }
+            outbox.sending = true;
+        }
+        try {
+            senders.execute(() -> send(gameId, outbox));
+        } catch (RejectedExecutionException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Move channel of game {} is not sent, the application is stopping.", gameId);
+            }
+        }
+    }
+
+    /**
+     * The <code>send</code> method writes the queued messages to the player until there are no more of them. The
+     * message which can't be written is dropped, the closed session is removed by
+     * {@link #afterConnectionClosed(WebSocketSession, CloseStatus)}.
+     *
+     * @param gameId - The id of the game.
+     * @param outbox - The outbox of the session.
+     */
+    private void send(int gameId, Outbox outbox) {
+        while (true) {
+            TextMessage message;
+            synchronized (outbox) {
+                message = outbox.pending.poll();
+                if (message == null) {
+                    outbox.sending = false;
+                    return;
+                }
+            }
+            try {
+                outbox.session.sendMessage(message);
+            } catch (IOException | RuntimeException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Move channel of game {} is closed: {}", gameId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The <code>gameId</code> method returns the id of the game to which session belongs.
+     *
+     * @param session - The web socket session.
+     * @return int - The id of the game.
+     */
+    private static int gameId(WebSocketSession session) {
+        return (Integer) session.getAttributes().get(GameHandshakeInterceptor.GAME_ID_ATTRIBUTE);
+    }
+
+    /**
+     * The <code>outbox</code> method returns the outbox of the session, which holds the thread safe decorator of the
+     * session used for all the sending.
+     *
+     * @param session - The web socket session.
+     * @return Outbox - The outbox of the session.
+     */
+    private static Outbox outbox(WebSocketSession session) {
+        return (Outbox) session.getAttributes().get(Outbox.class.getName());
+    }
+
+    /**
+     * The <code>Outbox</code> class holds the session of the player together with the messages waiting to be sent.
+     */
+    private static final class Outbox {
+
+        /** The thread safe decorator of the session. */
+        private final WebSocketSession session;
+
+        /** The messages waiting to be sent to the player, in the order of the changes. */
+        private final Queue<TextMessage> pending = new ArrayDeque<>();
+
+        /** Whether the sender of the session is running, the session is never sent by two threads. */
+        private boolean sending;
+
+        /**
+         * The <code>Outbox</code> parameterized constructor.
+         *
+         * @param session - The thread safe decorator of the session.
+         */
+        private Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+}
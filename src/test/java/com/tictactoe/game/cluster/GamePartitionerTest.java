@@ -0,0 +1,189 @@
+package com.tictactoe.game.cluster;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GameCodec;
+import com.tictactoe.game.repository.GameIdAllocator;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.service.GamePlayService;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
+
+/**
+ * The <code>GamePartitionerTest</code> class tests behavior implemented in {@link GamePartitioner} and
+ * {@link GameHandoff} classes, on the node of the cluster whose other node doesn't answer.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(properties = { "game.cluster.enabled=true", "game.cluster.self=http://localhost:1",
+    "game.cluster.nodes=http://localhost:1,http://localhost:2", "game.cluster.heartbeat-interval=3600000",
+    "game.cluster.secret=test-secret" })
+public class GamePartitionerTest {
+
+    /** The constant OTHER_NODE - the node which doesn't answer. */
+    private static final String OTHER_NODE = "http://localhost:2";
+
+    /** The game partitioner. */
+    @Autowired
+    private GamePartitioner gamePartitioner;
+
+    /** The cluster client. */
+    @Autowired
+    private ClusterClient clusterClient;
+
+    /** The game handoff. */
+    @Autowired
+    private GameHandoff gameHandoff;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /** The game play service. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    /**
+     * The <code>testNewGamesAreLocal</code> method tests that the new games are created in the partitions owned by
+     * this node, and that the partition is encoded in the game id.
+     */
+    @Test
+    public void testNewGamesAreLocal() {
+        for (int i = 0; i < 100; i++) {
+            int gameId = Integer.parseInt(gameInitializationService.createGame().get("gameId"));
+            Assertions.assertTrue(gamePartitioner.isLocal(gameId), "Test - game is owned by this node.");
+            Assertions.assertEquals(gameId & 0xff, gamePartitioner.partitionOf(gameId), "Test - partition in the id.");
+        }
+    }
+
+    /**
+     * The <code>testMovesOfOtherNodeFail</code> method tests that the moves of the game owned by the other node are
+     * sent to that node, and failed when the node doesn't answer, while the moves of the local game are played.
+     */
+    @Test
+    public void testMovesOfOtherNodeFail() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int localId = Integer.parseInt(data.get("gameId"));
+        String tokenPlayerO = gameInitializationService.joinGame(localId);
+        int remoteId = 1 << gamePartitioner.getPartitionBits() | otherPartition();
+        List<MoveResult> results = gamePlayService.playMoves(List.of(new Move(remoteId, "A1", tokenPlayerO),
+                new Move(localId, "A1", tokenPlayerO)), false);
+        Assertions.assertEquals("FAILED", results.get(0).getStatus(), "Test - other node doesn't answer.");
+        Assertions.assertEquals("Node " + OTHER_NODE + " which owns the game is unavailable.",
+                results.get(0).getMessage(), "Test - reason.");
+        Assertions.assertEquals("OK", results.get(1).getStatus(), "Test - local game is played.");
+    }
+
+    /**
+     * The <code>testForwardedMovesArePlayedHere</code> method tests that the moves forwarded by the other node are
+     * played here, even the moves of the game which this node doesn't own, and that only the request with the secret
+     * of the cluster is recognized as forwarded.
+     */
+    @Test
+    public void testForwardedMovesArePlayedHere() {
+        int remoteId = 1 << gamePartitioner.getPartitionBits() | otherPartition();
+        List<MoveResult> results = gamePlayService.playMoves(List.of(new Move(remoteId, "A1", "token")), true);
+        Assertions.assertEquals("FAILED", results.get(0).getStatus(), "Test - game isn't held here.");
+        Assertions.assertNotEquals("Node " + OTHER_NODE + " which owns the game is unavailable.",
+                results.get(0).getMessage(), "Test - move isn't sent back to the other node.");
+        Assertions.assertTrue(clusterClient.isForwarded(OTHER_NODE, "test-secret"), "Test - forwarded by the node.");
+        Assertions.assertFalse(clusterClient.isForwarded(OTHER_NODE, "guess"), "Test - wrong secret.");
+        Assertions.assertFalse(clusterClient.isForwarded(OTHER_NODE, null), "Test - missing secret.");
+        Assertions.assertFalse(clusterClient.isForwarded(null, "test-secret"), "Test - not forwarded.");
+    }
+
+    /**
+     * The <code>testReceiveGames</code> method tests that the handed over games of the partitions owned by this node
+     * are held here, that the games of the other partitions, the games too far ahead and the other games under the id
+     * of the held game are refused, and that the held game is replaced only by its newer copy.
+     */
+    @Test
+    public void testReceiveGames() {
+        int bits = gamePartitioner.getPartitionBits();
+        Game held = gamesRepository
+                .getGameById(Integer.parseInt(gameInitializationService.createGame().get("gameId")));
+        int partition = gamePartitioner.partitionOf(held.getId());
+        Game handedOver = copyOf(held);
+        handedOver.setId((held.getId() >>> bits) + 1 << bits | partition);
+        Game remote = copyOf(held);
+        remote.setId(1 << bits | otherPartition());
+        Game farAhead = copyOf(held);
+        farAhead.setId((held.getId() >>> bits) + (1 << 21) << bits | partition);
+        Game conflicting = copyOf(held);
+        conflicting.setPlayers(new ConcurrentHashMap<>(Map.of(Player.builder().build(), BitBoard.MARK_X)));
+        Game older = copyOf(held);
+        older.setLastActivityTime(held.getLastActivityTime() - 1);
+        Assertions.assertEquals(List.of(remote.getId(), farAhead.getId(), held.getId()),
+                gameHandoff.receive(GameHandoff.encode(List.of(handedOver, remote, farAhead, conflicting, older))),
+                "Test - refused games.");
+        Assertions.assertNotNull(gamesRepository.findGameById(handedOver.getId()), "Test - received game is held.");
+        Assertions.assertNull(gamesRepository.findGameById(remote.getId()), "Test - game of other node.");
+        Assertions.assertSame(held, gamesRepository.findGameById(held.getId()), "Test - held game isn't replaced.");
+        Game newer = copyOf(held);
+        newer.setLastActivityTime(held.getLastActivityTime() + 1);
+        Assertions.assertEquals(List.of(), gameHandoff.receive(GameHandoff.encode(List.of(newer))),
+                "Test - newer copy is accepted.");
+        Assertions.assertEquals(newer.getLastActivityTime(),
+                gamesRepository.findGameById(held.getId()).getLastActivityTime(), "Test - newer copy is held.");
+    }
+
+    /**
+     * The <code>testIdsOfNodesDiffer</code> method tests that the nodes allocate the different sequences of the same
+     * partition, so the ids of the games created by two owners of the partition never collide.
+     */
+    @Test
+    public void testIdsOfNodesDiffer() {
+        GameIdAllocator first = new GameIdAllocator(gamePartitioner.getPartitionBits(), 2, 0);
+        GameIdAllocator second = new GameIdAllocator(gamePartitioner.getPartitionBits(), 2, 1);
+        int firstId = first.next(3);
+        int secondId = second.next(3);
+        Assertions.assertEquals(1 << gamePartitioner.getPartitionBits() | 3, firstId, "Test - first node.");
+        Assertions.assertEquals(2 << gamePartitioner.getPartitionBits() | 3, secondId, "Test - second node.");
+        first.advanceTo(secondId);
+        Assertions.assertEquals(3 << gamePartitioner.getPartitionBits() | 3, first.next(3),
+                "Test - sequence of other node is skipped.");
+        Assertions.assertEquals(0, gamePartitioner.getNodeIndex(), "Test - index of this node.");
+    }
+
+    /**
+     * The <code>otherPartition</code> method returns the partition owned by the other node.
+     *
+     * @return int - The partition.
+     */
+    private int otherPartition() {
+        for (int partition = 0; partition < 1 << gamePartitioner.getPartitionBits(); partition++) {
+            if (!gamePartitioner.isLocal(partition)) {
+                return partition;
+            }
+        }
+        throw new IllegalStateException("Other node owns no partition.");
+    }
+
+    /**
+     * The <code>copyOf</code> method copies the game by the codec.
+     *
+     * @param game - The game.
+     * @return Game - The copy of the game.
+     */
+    private static Game copyOf(Game game) {
+        ByteBuffer buffer = ByteBuffer.allocate(GameCodec.encodedSize(game));
+        GameCodec.encode(game, buffer);
+        return GameCodec.decode(buffer.flip());
+    }
+}
@@ -0,0 +1,71 @@
+package com.tictactoe.game.cluster;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The <code>HashRingTest</code> class tests behavior implemented in {@link HashRing} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class HashRingTest {
+
+    /** The constant PARTITIONS - number of partitions of the ring. */
+    private static final int PARTITIONS = 256;
+
+    /** The constant NODES - nodes of the cluster. */
+    private static final List<String> NODES = List.of("http://localhost:8081", "http://localhost:8083",
+            "http://localhost:8085");
+
+    /**
+     * The <code>testEveryNodeOwnsPartitions</code> method tests that every partition is owned by the member of the
+     * ring and that every member owns its part of the partitions.
+     */
+    @Test
+    public void testEveryNodeOwnsPartitions() {
+        HashRing ring = new HashRing(NODES, 128, PARTITIONS);
+        int owned = 0;
+        for (String node : NODES) {
+            int partitions = ring.partitionsOf(node).length;
+            Assertions.assertTrue(partitions > PARTITIONS / 6, "Test - node owns its part of the partitions.");
+            owned += partitions;
+        }
+        Assertions.assertEquals(PARTITIONS, owned, "Test - every partition is owned.");
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            Assertions.assertTrue(NODES.contains(ring.ownerOf(partition)), "Test - owner is the member.");
+        }
+    }
+
+    /**
+     * The <code>testJoinedNodeTakesOnlyItsPartitions</code> method tests that when the node joins the cluster, only the
+     * partitions which are taken by the joined node change the owner.
+     */
+    @Test
+    public void testJoinedNodeTakesOnlyItsPartitions() {
+        HashRing before = new HashRing(NODES.subList(0, 2), 128, PARTITIONS);
+        HashRing after = new HashRing(NODES, 128, PARTITIONS);
+        int moved = 0;
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (!before.ownerOf(partition).equals(after.ownerOf(partition))) {
+                Assertions.assertEquals(NODES.get(2), after.ownerOf(partition), "Test - moved to the joined node.");
+                moved++;
+            }
+        }
+        Assertions.assertEquals(after.partitionsOf(NODES.get(2)).length, moved, "Test - only its partitions moved.");
+    }
+
+    /**
+     * The <code>testSameRingOnEveryNode</code> method tests that the ring doesn't depend on the order of the nodes, so
+     * every node of the cluster resolves the same owners.
+     */
+    @Test
+    public void testSameRingOnEveryNode() {
+        HashRing ring = new HashRing(NODES, 128, PARTITIONS);
+        HashRing reversed = new HashRing(List.of(NODES.get(2), NODES.get(1), NODES.get(0)), 128, PARTITIONS);
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            Assertions.assertEquals(ring.ownerOf(partition), reversed.ownerOf(partition), "Test - same owner.");
+        }
+    }
+}
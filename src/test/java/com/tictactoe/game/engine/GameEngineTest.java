@@ -0,0 +1,128 @@
+package com.tictactoe.game.engine;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tictactoe.game.event.GameStateChangedEvent;
+import com.tictactoe.game.event.GameStateChangedEvent.ChangeType;
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>GameEngineTest</code> class tests behavior implemented in {@link GameEngine} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class GameEngineTest {
+
+    /**
+     * The <code>testWinsAndBlocks</code> method tests that the engine completes its own line and blocks the line of
+     * the opponent.
+     */
+    @Test
+    public void testWinsAndBlocks() {
+        GameEngine gameEngine = engine(3, 3, 50);
+        Board board = new Board(3);
+        board.putMark(0, 0, BitBoard.MARK_O);
+        board.putMark(1, 0, BitBoard.MARK_X);
+        board.putMark(2, 2, BitBoard.MARK_O);
+        board.putMark(1, 1, BitBoard.MARK_X);
+        Assertions.assertEquals(5, gameEngine.chooseMove(0, board, BitBoard.MARK_O), "Test - line of X is blocked.");
+        board = new Board(3);
+        board.putMark(0, 0, BitBoard.MARK_O);
+        board.putMark(1, 0, BitBoard.MARK_X);
+        board.putMark(0, 1, BitBoard.MARK_O);
+        board.putMark(2, 2, BitBoard.MARK_X);
+        Assertions.assertEquals(2, gameEngine.chooseMove(0, board, BitBoard.MARK_O), "Test - own line is completed.");
+    }
+
+    /**
+     * The <code>testPerfectPlayIsDraw</code> method tests that the game of the engine against itself is a draw.
+     */
+    @Test
+    public void testPerfectPlayIsDraw() {
+        Assertions.assertFalse(playItself(engine(3, 3, 1000), 3, 3), "Test - 3x3 game is a draw.");
+    }
+
+    /**
+     * The <code>testMoveTimeIsBounded</code> method tests that the move on the big board is found within the limit.
+     */
+    @Test
+    public void testMoveTimeIsBounded() {
+        GameEngine gameEngine = engine(15, 5, 20);
+        Board board = new Board(15);
+        board.putMark(7, 7, BitBoard.MARK_O);
+        board.putMark(7, 8, BitBoard.MARK_X);
+        long start = System.nanoTime();
+        int cell = gameEngine.chooseMove(0, board, BitBoard.MARK_O);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assertions.assertFalse(board.getPlayingBoard().isOccupied(cell / 15, cell % 15), "Test - free cell.");
+        Assertions.assertTrue(elapsedMillis < 500, "Test - move time is bounded, took " + elapsedMillis + " ms.");
+    }
+
+    /**
+     * The <code>testTreeOfFinishedGameIsDropped</code> method tests that the search tree of the game is kept for its
+     * next move, and dropped when the move finishes the game.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTreeOfFinishedGameIsDropped() {
+        GameEngine gameEngine = engine(15, 5, 20);
+        Map<Integer, MonteCarloTree> trees = (Map<Integer, MonteCarloTree>) ReflectionTestUtils.getField(gameEngine,
+                "monteCarloTrees");
+        Board board = new Board(15);
+        board.putMark(7, 7, BitBoard.MARK_O);
+        gameEngine.chooseMove(1, board, BitBoard.MARK_X);
+        gameEngine.onGameStateChanged(new GameStateChangedEvent(ChangeType.MOVED, 1, "H8", BitBoard.MARK_O));
+        Assertions.assertTrue(trees.containsKey(1), "Test - tree is kept for the next move.");
+        gameEngine.onGameStateChanged(new GameStateChangedEvent(ChangeType.MOVED, 1, "H9", BitBoard.MARK_O, true));
+        Assertions.assertFalse(trees.containsKey(1), "Test - tree of the finished game is dropped.");
+    }
+
+    /**
+     * The <code>playItself</code> method plays the whole game of the engine against itself.
+     *
+     * @param gameEngine - The engine.
+     * @param size - The board size.
+     * @param winLength - The win length.
+     * @return boolean - <code>true</code> if any player has won, <code>false</code> for the draw.
+     */
+    private static boolean playItself(GameEngine gameEngine, int size, int winLength) {
+        Board board = new Board(size);
+        char mark = BitBoard.MARK_O;
+        while (!board.isFull()) {
+            int cell = gameEngine.chooseMove(0, board, mark);
+            board.putMark(cell / size, cell % size, mark);
+            if (board.isWinningMove(cell / size, cell % size, winLength)) {
+                return true;
+            }
+            mark = mark == BitBoard.MARK_X ? BitBoard.MARK_O : BitBoard.MARK_X;
+        }
+        return false;
+    }
+
+    /**
+     * The <code>engine</code> method creates the engine for the board.
+     *
+     * @param size - The board size.
+     * @param winLength - The win length.
+     * @param moveTimeLimit - The time limit of the move in milliseconds.
+     * @return GameEngine - The initialized engine.
+     */
+    private static GameEngine engine(int size, int winLength, long moveTimeLimit) {
+        GameEngine gameEngine = new GameEngine();
+        ReflectionTestUtils.setField(gameEngine, "tableSize", size);
+        ReflectionTestUtils.setField(gameEngine, "winLength", winLength);
+        ReflectionTestUtils.setField(gameEngine, "moveTimeLimit", moveTimeLimit);
+        ReflectionTestUtils.setField(gameEngine, "maxDepth", 12);
+        ReflectionTestUtils.setField(gameEngine, "transpositionTableSize", 1 << 16);
+        ReflectionTestUtils.setField(gameEngine, "monteCarloMinTableSize", 7);
+        ReflectionTestUtils.setField(gameEngine, "monteCarloParallelism", 2);
+        ReflectionTestUtils.setField(gameEngine, "monteCarloMaxTreeNodes", 50_000);
+        gameEngine.initialize();
+        return gameEngine;
+    }
+}
@@ -0,0 +1,111 @@
+package com.tictactoe.game.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>MonteCarloTreeTest</code> class tests behavior implemented in {@link MonteCarloTree} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class MonteCarloTreeTest {
+
+    /** The Constant SIZE - the size of the searched board. */
+    private static final int SIZE = 15;
+
+    /** The Constant PARALLELISM - the number of workers of the search. */
+    private static final int PARALLELISM = 2;
+
+    /** The pool - the workers of the search. */
+    private static ForkJoinPool pool;
+
+    /**
+     * The <code>createPool</code> method creates the workers shared by all the tests.
+     */
+    @BeforeAll
+    public static void createPool() {
+        pool = new ForkJoinPool(PARALLELISM);
+    }
+
+    /**
+     * The <code>shutdownPool</code> method stops the workers.
+     */
+    @AfterAll
+    public static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The <code>testWinsAndBlocks</code> method tests that the search completes its own line and blocks the line of
+     * the opponent on the big board.
+     */
+    @Test
+    public void testWinsAndBlocks() {
+        Board board = new Board(SIZE);
+        for (int column = 3; column < 7; column++) {
+            board.putMark(7, column, BitBoard.MARK_O);
+            board.putMark(column - 3, 0, BitBoard.MARK_X);
+        }
+        int move = search(tree(board, SearchPosition.O));
+        Assertions.assertTrue(move == 7 * SIZE + 2 || move == 7 * SIZE + 7, "Test - own line is completed.");
+        board = new Board(SIZE);
+        board.putMark(3, 1, BitBoard.MARK_O);
+        for (int column = 2; column < 6; column++) {
+            board.putMark(3, column, BitBoard.MARK_X);
+            if (column < 5) {
+                board.putMark(12, 2 * column, BitBoard.MARK_O);
+            }
+        }
+        Assertions.assertEquals(3 * SIZE + 6, search(tree(board, SearchPosition.O)), "Test - line of X is blocked.");
+    }
+
+    /**
+     * The <code>testTreeIsReused</code> method tests that the tree follows the played move with the playouts already
+     * done below it, and that the position which isn't reachable from the root isn't followed.
+     */
+    @Test
+    public void testTreeIsReused() {
+        Board board = new Board(SIZE);
+        board.putMark(7, 7, BitBoard.MARK_O);
+        MonteCarloTree tree = tree(board, SearchPosition.X);
+        int move = search(tree);
+        board.putMark(move / SIZE, move % SIZE, BitBoard.MARK_X);
+        Assertions.assertTrue(tree.advanceTo(MonteCarloTree.cellsOf(board), SearchPosition.O), "Test - tree reused.");
+        Assertions.assertTrue(tree.getRootVisits() > 0, "Test - playouts of the played move are kept.");
+        Assertions.assertTrue(tree.getNodeCount() > 1, "Test - nodes of the played move are kept.");
+        Board otherBoard = new Board(SIZE);
+        otherBoard.putMark(0, 0, BitBoard.MARK_O);
+        otherBoard.putMark(0, 1, BitBoard.MARK_X);
+        Assertions.assertFalse(tree.advanceTo(MonteCarloTree.cellsOf(otherBoard), SearchPosition.O),
+                "Test - other position isn't followed.");
+    }
+
+    /**
+     * The <code>tree</code> method creates the tree of the position.
+     *
+     * @param board - The board of the position.
+     * @param mark - The player on turn, {@link SearchPosition#X} or {@link SearchPosition#O}.
+     * @return MonteCarloTree - The new tree.
+     */
+    private static MonteCarloTree tree(Board board, byte mark) {
+        return new MonteCarloTree(SIZE, 5, 50_000, MonteCarloTree.cellsOf(board), mark);
+    }
+
+    /**
+     * The <code>search</code> method searches the tree for 100 milliseconds.
+     *
+     * @param tree - The tree.
+     * @return int - The cell of the chosen move.
+     */
+    private static int search(MonteCarloTree tree) {
+        return tree.search(pool, PARALLELISM, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
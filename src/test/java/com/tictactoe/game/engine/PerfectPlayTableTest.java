@@ -0,0 +1,51 @@
+package com.tictactoe.game.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+
+/**
+ * The <code>PerfectPlayTableTest</code> class tests behavior implemented in {@link PerfectPlayTable} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class PerfectPlayTableTest {
+
+    /** The perfect play table - solved once for all the tests. */
+    private static final PerfectPlayTable PERFECT_PLAY_TABLE = new PerfectPlayTable();
+
+    /**
+     * The <code>testSolvedGame</code> method tests that every legal position is solved and that the game is a draw.
+     */
+    @Test
+    public void testSolvedGame() {
+        Assertions.assertEquals(5478, PERFECT_PLAY_TABLE.getReachedPositions(), "Test - all legal positions.");
+        Assertions.assertTrue(PERFECT_PLAY_TABLE.getCanonicalPositions() < 5478 / 4, "Test - symmetric positions.");
+        Assertions.assertEquals(PerfectPlayTable.DRAW, PERFECT_PLAY_TABLE.outcome(new Board(3)), "Test - draw.");
+    }
+
+    /**
+     * The <code>testBestMoves</code> method tests the moves of the won and the lost positions.
+     */
+    @Test
+    public void testBestMoves() {
+        Board board = new Board(3);
+        board.putMark(0, 0, BitBoard.MARK_O);
+        board.putMark(1, 0, BitBoard.MARK_X);
+        board.putMark(2, 2, BitBoard.MARK_O);
+        board.putMark(1, 1, BitBoard.MARK_X);
+        Assertions.assertEquals(5, PERFECT_PLAY_TABLE.bestMove(board), "Test - line of X is blocked.");
+        Assertions.assertEquals(PerfectPlayTable.DRAW, PERFECT_PLAY_TABLE.outcome(board), "Test - blocked game.");
+        board = new Board(3);
+        board.putMark(0, 0, BitBoard.MARK_O);
+        board.putMark(1, 0, BitBoard.MARK_X);
+        board.putMark(0, 1, BitBoard.MARK_O);
+        board.putMark(2, 2, BitBoard.MARK_X);
+        Assertions.assertEquals(PerfectPlayTable.WIN, PERFECT_PLAY_TABLE.outcome(board), "Test - O wins.");
+        Assertions.assertEquals(2, PERFECT_PLAY_TABLE.bestMove(board), "Test - O completes the line.");
+        board.putMark(0, 2, BitBoard.MARK_O);
+        Assertions.assertEquals(-1, PERFECT_PLAY_TABLE.bestMove(board), "Test - finished game has no move.");
+    }
+}
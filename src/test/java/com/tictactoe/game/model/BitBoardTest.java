@@ -0,0 +1,68 @@
+package com.tictactoe.game.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The <code>BitBoardTest</code> class tests behavior implemented in {@link LongBitBoard} and {@link LongArrayBitBoard}
+ * classes.
+ *
+ * @author Bosko Mijin.
+ */
+public class BitBoardTest {
+
+    /**
+     * The <code>testImplementationSelection</code> method tests that the implementation is selected by the board size.
+     */
+    @Test
+    public void testImplementationSelection() {
+        Assertions.assertTrue(BitBoard.of(3) instanceof LongBitBoard, "Test - 3x3 uses single word.");
+        Assertions.assertTrue(BitBoard.of(8) instanceof LongBitBoard, "Test - 8x8 uses single word.");
+        Assertions.assertTrue(BitBoard.of(9) instanceof LongArrayBitBoard, "Test - 9x9 uses word array.");
+    }
+
+    /**
+     * The <code>testPlaceAndOccupancy</code> method tests placing marks and occupancy for both implementations.
+     */
+    @Test
+    public void testPlaceAndOccupancy() {
+        for (int size : new int[] { 3, 8, 9, 19 }) {
+            BitBoard bitBoard = BitBoard.of(size);
+            Assertions.assertFalse(bitBoard.isOccupied(size - 1, size - 1), "Test - empty cell.");
+            Assertions.assertTrue(bitBoard.place(size - 1, size - 1, 'X'), "Test - placing on free cell.");
+            Assertions.assertFalse(bitBoard.place(size - 1, size - 1, 'O'), "Test - placing on taken cell.");
+            Assertions.assertTrue(bitBoard.place(0, 1, 'O'), "Test - placing the other player.");
+            Assertions.assertEquals('X', bitBoard.getMark(size - 1, size - 1), "Test - mark of player X.");
+            Assertions.assertEquals('O', bitBoard.getMark(0, 1), "Test - mark of player O.");
+            Assertions.assertEquals(BitBoard.EMPTY, bitBoard.getMark(1, 0), "Test - mark of free cell.");
+            Assertions.assertEquals(2, bitBoard.getMoveCount(), "Test - move count.");
+        }
+    }
+
+    /**
+     * The <code>testIsFull</code> method tests fullness detection for both implementations.
+     */
+    @Test
+    public void testIsFull() {
+        for (int size : new int[] { 3, 9 }) {
+            BitBoard bitBoard = BitBoard.of(size);
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    Assertions.assertFalse(bitBoard.isFull(), "Test - board is not full yet.");
+                    bitBoard.place(row, column, (row + column) % 2 == 0 ? 'X' : 'O');
+                }
+            }
+            Assertions.assertTrue(bitBoard.isFull(), "Test - board is full.");
+        }
+    }
+
+    /**
+     * The <code>testOutsideOfBoard</code> method tests that cells outside of the board are rejected.
+     */
+    @Test
+    public void testOutsideOfBoard() {
+        BitBoard bitBoard = BitBoard.of(3);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> bitBoard.place(3, 0, 'X'));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> bitBoard.isOccupied(0, -1));
+    }
+}
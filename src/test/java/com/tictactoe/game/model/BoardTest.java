@@ -0,0 +1,63 @@
+package com.tictactoe.game.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The <code>BoardTest</code> class tests behavior implemented in {@link Board} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class BoardTest {
+
+    /** The constant GOMOKU_SIZE - board size of the large board variant. */
+    private static final int GOMOKU_SIZE = 15;
+
+    /** The constant GOMOKU_WIN_LENGTH - win length of the large board variant. */
+    private static final int GOMOKU_WIN_LENGTH = 5;
+
+    /**
+     * The <code>testWinningRow</code> method tests five in the row, with the last move in the middle of the line.
+     */
+    @Test
+    public void testWinningRow() {
+        Board board = new Board(GOMOKU_SIZE);
+        board.putMark(7, 3, 'X');
+        board.putMark(7, 4, 'X');
+        board.putMark(7, 6, 'X');
+        board.putMark(7, 7, 'X');
+        Assertions.assertFalse(board.isWinningMove(7, 7, GOMOKU_WIN_LENGTH), "Test - four in the row.");
+        board.putMark(7, 5, 'X');
+        Assertions.assertTrue(board.isWinningMove(7, 5, GOMOKU_WIN_LENGTH), "Test - five in the row.");
+    }
+
+    /**
+     * The <code>testWinningDiagonals</code> method tests five in both diagonals, touching the edges of the board.
+     */
+    @Test
+    public void testWinningDiagonals() {
+        Board board = new Board(GOMOKU_SIZE);
+        for (int i = 0; i < GOMOKU_WIN_LENGTH; i++) {
+            board.putMark(i, i, 'O');
+            board.putMark(i, GOMOKU_SIZE - 1 - i, 'X');
+        }
+        Assertions.assertTrue(board.isWinningMove(0, 0, GOMOKU_WIN_LENGTH), "Test - major diagonal.");
+        Assertions.assertTrue(board.isWinningMove(4, GOMOKU_SIZE - 5, GOMOKU_WIN_LENGTH), "Test - minor diagonal.");
+    }
+
+    /**
+     * The <code>testInterruptedColumn</code> method tests that the line interrupted by the other player doesn't win.
+     */
+    @Test
+    public void testInterruptedColumn() {
+        Board board = new Board(GOMOKU_SIZE);
+        board.putMark(0, 2, 'X');
+        board.putMark(1, 2, 'X');
+        board.putMark(2, 2, 'O');
+        board.putMark(3, 2, 'X');
+        board.putMark(4, 2, 'X');
+        board.putMark(5, 2, 'X');
+        Assertions.assertFalse(board.isWinningMove(3, 2, GOMOKU_WIN_LENGTH), "Test - interrupted column.");
+        Assertions.assertFalse(board.isWinningMove(8, 8, GOMOKU_WIN_LENGTH), "Test - free cell never wins.");
+    }
+}
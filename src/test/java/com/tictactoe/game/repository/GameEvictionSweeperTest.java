@@ -0,0 +1,83 @@
+package com.tictactoe.game.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The <code>GameEvictionSweeperTest</code> class tests behavior implemented in {@link GameEvictionSweeper} class.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(properties = { "game.config.eviction.finished-ttl=0", "game.config.eviction.waiting-idle-timeout=0",
+    "game.config.eviction.playing-idle-timeout=3600000", "game.config.eviction.sweep-interval=3600000" })
+public class GameEvictionSweeperTest {
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The game eviction sweeper. */
+    @Autowired
+    private GameEvictionSweeper gameEvictionSweeper;
+
+    /** The meter registry. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * The <code>testSweep</code> method tests that finished and waiting games are evicted and counted, while the game
+     * which is played is kept.
+     */
+    @Test
+    public void testSweep() {
+        double finishedBefore = evicted("finished");
+        double idleBefore = evicted("idle");
+        Game finished = gamesRepository.persistNewGameInAggregator(createGame(2));
+        finished.setGameOver(true);
+        finished.setWinner('D');
+        Game waiting = gamesRepository.persistNewGameInAggregator(createGame(1));
+        Game playing = gamesRepository.persistNewGameInAggregator(createGame(2));
+        gameEvictionSweeper.sweep();
+        Assertions.assertNull(gamesRepository.findGameById(finished.getId()), "Test - finished game is evicted.");
+        Assertions.assertNull(gamesRepository.findGameById(waiting.getId()), "Test - waiting game is evicted.");
+        Assertions.assertSame(playing, gamesRepository.findGameById(playing.getId()), "Test - played game is kept.");
+        Assertions.assertEquals(finishedBefore + 1, evicted("finished"), "Test - finished eviction is counted.");
+        Assertions.assertEquals(idleBefore + 1, evicted("idle"), "Test - idle eviction is counted.");
+    }
+
+    /**
+     * The <code>createGame</code> method creates the game with provided number of players.
+     *
+     * @param playersCount - The number of players, 1 or 2.
+     * @return Game - The created game.
+     */
+    private Game createGame(int playersCount) {
+        Map<Player, Character> players = new HashMap<>();
+        players.put(Player.builder().build(), 'X');
+        if (playersCount == 2) {
+            players.put(Player.builder().build(), 'O');
+        }
+        return Game.builder().players(players).board(new Board(3)).build();
+    }
+
+    /**
+     * The <code>evicted</code> method returns the number of evictions for the reason.
+     *
+     * @param reason - The reason of the eviction.
+     * @return double - The number of evictions.
+     */
+    private double evicted(String reason) {
+        return meterRegistry.get("games.evicted").tag("reason", reason).counter().count();
+    }
+}
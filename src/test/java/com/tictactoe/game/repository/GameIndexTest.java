@@ -0,0 +1,97 @@
+package com.tictactoe.game.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.tictactoe.game.model.Game;
+
+/**
+ * The <code>GameIndexTest</code> class tests behavior implemented in {@link GameIndex} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class GameIndexTest {
+
+    /**
+     * The <code>testPutAndGet</code> method tests that stored games are obtained by their ids, across several segments.
+     */
+    @Test
+    public void testPutAndGet() {
+        GameIndex gameIndex = new GameIndex();
+        Game first = new Game();
+        Game distant = new Game();
+        gameIndex.put(1, first);
+        gameIndex.put(5_000_000, distant);
+        Assertions.assertSame(first, gameIndex.get(1), "Test - game in the first segment.");
+        Assertions.assertSame(distant, gameIndex.get(5_000_000), "Test - game after directory growth.");
+        Assertions.assertEquals(2, gameIndex.size(), "Test - size counts stored games.");
+    }
+
+    /**
+     * The <code>testMissingIds</code> method tests that ids which are not stored return null instead of failing.
+     */
+    @Test
+    public void testMissingIds() {
+        GameIndex gameIndex = new GameIndex();
+        gameIndex.put(1, new Game());
+        Assertions.assertNull(gameIndex.get(2), "Test - empty slot in existing segment.");
+        Assertions.assertNull(gameIndex.get(-1), "Test - negative id.");
+        Assertions.assertNull(gameIndex.get(Integer.MAX_VALUE), "Test - id outside of the directory.");
+    }
+
+    /**
+     * The <code>testRemove</code> method tests that removed game isn't obtainable any more.
+     */
+    @Test
+    public void testRemove() {
+        GameIndex gameIndex = new GameIndex();
+        Game game = new Game();
+        gameIndex.put(3, game);
+        Assertions.assertSame(game, gameIndex.remove(3), "Test - removed game is returned.");
+        Assertions.assertNull(gameIndex.get(3), "Test - removed game is not obtainable.");
+        Assertions.assertNull(gameIndex.remove(3), "Test - second removal returns null.");
+        Assertions.assertEquals(0, gameIndex.size(), "Test - size after removal.");
+    }
+
+    /**
+     * The <code>testReleaseSegmentIfEmpty</code> method tests that only the segment without games is released.
+     */
+    @Test
+    public void testReleaseSegmentIfEmpty() {
+        GameIndex gameIndex = new GameIndex();
+        Game game = new Game();
+        gameIndex.put(1, game);
+        gameIndex.put(GameIndex.SEGMENT_SIZE + 1, new Game());
+        gameIndex.remove(GameIndex.SEGMENT_SIZE + 1);
+        Assertions.assertFalse(gameIndex.releaseSegmentIfEmpty(1), "Test - segment with game is kept.");
+        Assertions.assertTrue(gameIndex.releaseSegmentIfEmpty(GameIndex.SEGMENT_SIZE), "Test - empty segment.");
+        Assertions.assertNull(gameIndex.get(GameIndex.SEGMENT_SIZE + 1), "Test - released segment lookup.");
+        Assertions.assertNull(gameIndex.remove(GameIndex.SEGMENT_SIZE + 1), "Test - released segment removal.");
+        Assertions.assertSame(game, gameIndex.get(1), "Test - game in kept segment.");
+        Assertions.assertFalse(gameIndex.hasSegment(GameIndex.SEGMENT_SIZE), "Test - released segment is missing.");
+        gameIndex.put(GameIndex.SEGMENT_SIZE + 1, game);
+        Assertions.assertSame(game, gameIndex.get(GameIndex.SEGMENT_SIZE + 1), "Test - game in renewed segment.");
+    }
+
+    /**
+     * The <code>testPutRacingReleaseIsKept</code> method tests that the game stored while its segment is being released
+     * is never lost, it either keeps the segment or it is stored into the new one.
+     *
+     * @throws InterruptedException - the exception thrown if the test is interrupted.
+     */
+    @Test
+    public void testPutRacingReleaseIsKept() throws InterruptedException {
+        GameIndex gameIndex = new GameIndex();
+        for (int i = 0; i < 200; i++) {
+            int id = GameIndex.SEGMENT_SIZE + i % GameIndex.SEGMENT_SIZE;
+            Game game = new Game();
+            Thread releaser = new Thread(() -> gameIndex.releaseSegmentIfEmpty(id));
+            releaser.start();
+            gameIndex.put(id, game);
+            releaser.join();
+            Assertions.assertSame(game, gameIndex.get(id), "Test - game stored during release.");
+            gameIndex.remove(id);
+        }
+        Assertions.assertEquals(0, gameIndex.size(), "Test - size after the race.");
+    }
+}
@@ -1,5 +1,14 @@
 package com.tictactoe.game.repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -9,6 +18,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import com.tictactoe.game.model.Game;
 import com.tictactoe.game.web.exception.MissingGameException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * The <code>GamesRepositoryTest</code> class tests behavior implemented in {@link GamesRepository} class.
  *
@@ -17,10 +28,20 @@ import com.tictactoe.game.web.exception.MissingGameException;
 @SpringBootTest
 public class GamesRepositoryTest {
 
+    /** The constant THREADS - number of threads in the stress test. */
+    private static final int THREADS = 16;
+
+    /** The constant GAMES_PER_THREAD - number of games created by each thread in the stress test. */
+    private static final int GAMES_PER_THREAD = 5_000;
+
     /** The games repository. */
     @Autowired
     private GamesRepository gamesRepository;
 
+    /** The registry of the application meters. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * The <code>testPersistsGame</code> tests persisting new game.
      */
@@ -45,4 +66,61 @@ public class GamesRepositoryTest {
     void testGettingNonExistingGame() {
         Assertions.assertThrows(MissingGameException.class, () -> gamesRepository.getGameById(Integer.MAX_VALUE));
     }
+
+    /**
+     * The <code>testConcurrentPersisting</code> tests persisting games from many threads at once and ensures that all
+     * the ids are unique and that every persisted game is obtainable by its id.
+     *
+     * @throws Exception - the exception if some of the threads fails.
+     */
+    @Test
+    void testConcurrentPersisting() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        List<Future<List<Game>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    List<Game> persisted = new ArrayList<>(GAMES_PER_THREAD);
+                    for (int j = 0; j < GAMES_PER_THREAD; j++) {
+                        Game game = gamesRepository.persistNewGameInAggregator(new Game());
+                        ids.add(game.getId());
+                        persisted.add(game);
+                    }
+                    return persisted;
+                }));
+            }
+            start.countDown();
+            for (Future<List<Game>> result : results) {
+                for (Game game : result.get()) {
+                    Assertions.assertSame(game, gamesRepository.getGameById(game.getId()), "Test - no game is lost.");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(THREADS * GAMES_PER_THREAD, ids.size(), "Test - all ids are unique.");
+    }
+
+    /**
+     * The <code>testRestoringHeldGame</code> method tests that the game restored under the id of the held game replaces
+     * it, and it is counted only once.
+     */
+    @Test
+    void testRestoringHeldGame() {
+        Game game = gamesRepository.persistNewGameInAggregator(new Game());
+        int games = gamesRepository.countGames();
+        double finishedGames = meterRegistry.get("games.finished").gauge().value();
+        game.setGameOver(true);
+        gamesRepository.restoreGame(game);
+        gamesRepository.restoreGame(game);
+        Assertions.assertEquals(games, gamesRepository.countGames(), "Test - game is held once.");
+        Assertions.assertEquals(finishedGames + 1, meterRegistry.get("games.finished").gauge().value(),
+                "Test - finished game is counted once.");
+        gamesRepository.evictGame(game.getId());
+        Assertions.assertEquals(finishedGames, meterRegistry.get("games.finished").gauge().value(),
+                "Test - evicted game isn't counted.");
+    }
 }
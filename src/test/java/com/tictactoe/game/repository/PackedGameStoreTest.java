@@ -0,0 +1,68 @@
+package com.tictactoe.game.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>PackedGameStoreTest</code> class tests behavior implemented in {@link PackedGameStore} class and its views.
+ *
+ * @author Bosko Mijin.
+ */
+public class PackedGameStoreTest {
+
+    /**
+     * The <code>testPackedGameLifecycle</code> method tests that the game is packed, changed through the view and
+     * unpacked when it is removed.
+     */
+    @Test
+    public void testPackedGameLifecycle() {
+        PackedGameStore store = new PackedGameStore(3);
+        Player playerX = Player.builder().build();
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        players.put(playerX, BitBoard.MARK_X);
+        Board board = new Board(3);
+        board.putMark(1, 1, BitBoard.MARK_X);
+        Game game = Game.builder().id(GameIndex.SEGMENT_SIZE + 1).players(players).board(board).build();
+        store.put(game.getId(), game);
+        Assertions.assertEquals(1, store.size(), "Test - size counts stored games.");
+        Game view = store.get(game.getId());
+        Assertions.assertEquals(players, view.getPlayers(), "Test - players.");
+        Assertions.assertEquals(BitBoard.MARK_X, view.getBoard().getPlayingBoard().getMark(1, 1), "Test - cell.");
+        view.getPlayers().put(Player.builder().build(), BitBoard.MARK_O);
+        Assertions.assertTrue(view.getBoard().putMark(0, 1, BitBoard.MARK_O), "Test - mark placed through view.");
+        Assertions.assertFalse(view.getBoard().putMark(0, 1, BitBoard.MARK_X), "Test - taken cell.");
+        view.setGameOver(true);
+        view.setWinner('D');
+        Assertions.assertTrue(store.replace(view.getId(), view), "Test - replace of the view.");
+        Game changed = store.get(game.getId());
+        Assertions.assertEquals(2, changed.getPlayers().size(), "Test - joined player.");
+        Assertions.assertEquals(2, changed.getBoard().getMovesCount(), "Test - moves count.");
+        Assertions.assertTrue(changed.isGameOver(), "Test - game over.");
+        Assertions.assertEquals(Character.valueOf('D'), changed.getWinner(), "Test - winner.");
+        Assertions.assertArrayEquals(new int[] { -1, 0, 1, 1 }, changed.getBoard().getCalculatedMoveValues(0, 1),
+                "Test - move values calculated from the cells.");
+        Game removed = store.remove(game.getId());
+        Assertions.assertEquals(2, removed.getBoard().getMovesCount(), "Test - removed game is unpacked.");
+        Assertions.assertNull(store.get(game.getId()), "Test - removed game isn't found.");
+        Assertions.assertFalse(store.replace(view.getId(), view), "Test - removed game isn't stored again.");
+        Assertions.assertEquals(0, store.size(), "Test - size after removal.");
+        Assertions.assertTrue(store.releaseSegmentIfEmpty(game.getId()), "Test - empty segment is released.");
+    }
+
+    /**
+     * The <code>testOnlyThreeByThreeBoards</code> method tests that the store refuses the other board sizes.
+     */
+    @Test
+    public void testOnlyThreeByThreeBoards() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PackedGameStore(4),
+                "Test - bigger board can't be packed.");
+    }
+}
@@ -0,0 +1,146 @@
+package com.tictactoe.game.repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+
+/**
+ * The <code>SlottedGameStoreTest</code> class tests behavior implemented in {@link OffHeapGameStore} and
+ * {@link MappedFileGameStore} classes.
+ *
+ * @author Bosko Mijin.
+ */
+public class SlottedGameStoreTest {
+
+    /**
+     * The <code>testOffHeapStore</code> method tests storing, changing and removing the games off the heap.
+     */
+    @Test
+    public void testOffHeapStore() {
+        assertStoreBehavior(new OffHeapGameStore(3));
+    }
+
+    /**
+     * The <code>testMappedFileStore</code> method tests storing, changing and removing the games in the mapped files,
+     * and that the files are deleted when the store is closed.
+     *
+     * @param directory - The temporary store directory.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testMappedFileStore(@TempDir Path directory) throws IOException {
+        MappedFileGameStore store = new MappedFileGameStore(3, directory);
+        assertStoreBehavior(store);
+        store.put(1, game(1));
+        Assertions.assertEquals(1, countFiles(directory), "Test - segment file is created.");
+        store.close();
+        Assertions.assertEquals(0, countFiles(directory), "Test - segment files are deleted.");
+    }
+
+    /**
+     * The <code>testConcurrentReadsSeeWholeGames</code> method tests that the reader never decodes a half written game
+     * while the game is rewritten concurrently.
+     *
+     * @throws Exception - The exception if the reader fails.
+     */
+    @Test
+    public void testConcurrentReadsSeeWholeGames() throws Exception {
+        OffHeapGameStore store = new OffHeapGameStore(3);
+        Game game = game(1);
+        store.put(1, game);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> reader = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    Game read = store.get(1);
+                    Assertions.assertEquals(read.getLastActivityTime() % 2 == 0, read.isGameOver(),
+                            "Test - fields of one write.");
+                }
+            });
+            for (int i = 0; i < 20_000; i++) {
+                game.setLastActivityTime(i);
+                game.setGameOver(i % 2 == 0);
+                store.replace(1, game);
+            }
+            reader.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The <code>assertStoreBehavior</code> method asserts the common behavior of the store.
+     *
+     * @param store - The store which has to be tested.
+     */
+    private static void assertStoreBehavior(SlottedGameStore store) {
+        Assertions.assertNull(store.get(1), "Test - empty store.");
+        Assertions.assertFalse(store.replace(1, game(1)), "Test - replace doesn't create the game.");
+        Game game = game(GameIndex.SEGMENT_SIZE + 1);
+        store.put(game.getId(), game);
+        Assertions.assertEquals(1, store.size(), "Test - size counts stored games.");
+        Game stored = store.get(game.getId());
+        Assertions.assertNotSame(game, stored, "Test - store returns the copy.");
+        Assertions.assertEquals(game.getPlayers(), stored.getPlayers(), "Test - players.");
+        stored.getBoard().putMark(2, 2, BitBoard.MARK_X);
+        stored.setGameOver(true);
+        stored.setWinner(BitBoard.MARK_X);
+        Assertions.assertTrue(store.replace(stored.getId(), stored), "Test - replace of the stored game.");
+        Game changed = store.get(game.getId());
+        Assertions.assertEquals(BitBoard.MARK_X, changed.getBoard().getPlayingBoard().getMark(2, 2), "Test - cell.");
+        Assertions.assertEquals(Character.valueOf(BitBoard.MARK_X), changed.getWinner(), "Test - winner.");
+        Assertions.assertNotNull(store.remove(game.getId()), "Test - removed game.");
+        Assertions.assertNull(store.get(game.getId()), "Test - removed game isn't found.");
+        Assertions.assertEquals(0, store.size(), "Test - size after removal.");
+        Assertions.assertTrue(store.releaseSegmentIfEmpty(game.getId()), "Test - empty segment is released.");
+        Assertions.assertNull(store.get(game.getId()), "Test - released segment lookup.");
+    }
+
+    /**
+     * The <code>countFiles</code> method counts the files in the directory.
+     *
+     * @param directory - The directory.
+     * @return long - The number of files.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    /**
+     * The <code>game</code> method creates the game with two players and two moves.
+     *
+     * @param id - The id of the game.
+     * @return Game - The created game.
+     */
+    private static Game game(int id) {
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        players.put(Player.builder().build(), BitBoard.MARK_X);
+        players.put(Player.builder().build(), BitBoard.MARK_O);
+        Board board = new Board(3);
+        board.putMark(0, 0, BitBoard.MARK_O);
+        board.addMoveValues(0, 0, BitBoard.MARK_O);
+        board.putMark(1, 1, BitBoard.MARK_X);
+        board.addMoveValues(1, 1, BitBoard.MARK_X);
+        Game game = Game.builder().id(id).players(players).board(board).build();
+        game.touch();
+        return game;
+    }
+}
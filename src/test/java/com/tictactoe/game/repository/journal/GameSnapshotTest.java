@@ -0,0 +1,155 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GameCodec;
+import com.tictactoe.game.repository.GamesRepository;
+
+/**
+ * The <code>GameSnapshotTest</code> class tests behavior implemented in {@link GameCodec}, {@link GameSnapshotWriter}
+ * and {@link GameSnapshotReader} classes.
+ *
+ * @author Bosko Mijin.
+ */
+public class GameSnapshotTest {
+
+    /**
+     * The <code>testEncodeDecode</code> method tests that the decoded game has the same players, cells, sums and
+     * outcome as the encoded one.
+     */
+    @Test
+    public void testEncodeDecode() {
+        Game game = game(7, 3);
+        ByteBuffer buffer = ByteBuffer.allocate(GameCodec.encodedSize(game));
+        GameCodec.encode(game, buffer);
+        Assertions.assertFalse(buffer.hasRemaining(), "Test - encoded size is exact.");
+        buffer.flip();
+        assertSameGame(game, GameCodec.decode(buffer));
+    }
+
+    /**
+     * The <code>testEncodeDecodeBigBoard</code> method tests the board which needs more than one bit set word.
+     */
+    @Test
+    public void testEncodeDecodeBigBoard() {
+        Game game = game(8, 15);
+        game.getBoard().putMark(14, 14, BitBoard.MARK_X);
+        game.getBoard().addMoveValues(14, 14, BitBoard.MARK_X);
+        ByteBuffer buffer = ByteBuffer.allocate(GameCodec.encodedSize(game));
+        GameCodec.encode(game, buffer);
+        buffer.flip();
+        assertSameGame(game, GameCodec.decode(buffer));
+    }
+
+    /**
+     * The <code>testWriteAndRestore</code> method tests that the written snapshot is streamed back into the repository.
+     *
+     * @param directory - The temporary snapshot directory.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testWriteAndRestore(@TempDir Path directory) throws IOException {
+        Game first = game(1, 3);
+        Game second = game(2, 3);
+        second.setGameOver(true);
+        second.setWinner(BitBoard.MARK_X);
+        try (GameSnapshotWriter writer = new GameSnapshotWriter(directory, 5, 9)) {
+            for (Game game : List.of(first, second)) {
+                writer.encode(game);
+                writer.writeEncoded();
+            }
+            writer.commit();
+        }
+        GamesRepository gamesRepository = Mockito.mock(GamesRepository.class);
+        Assertions.assertEquals(5, GameSnapshotReader.restore(directory, gamesRepository), "Test - log sequence.");
+        ArgumentCaptor<Game> restored = ArgumentCaptor.forClass(Game.class);
+        Mockito.verify(gamesRepository, Mockito.times(2)).restoreGame(restored.capture());
+        Mockito.verify(gamesRepository).advanceLastGameId(9);
+        assertSameGame(first, restored.getAllValues().get(0));
+        assertSameGame(second, restored.getAllValues().get(1));
+    }
+
+    /**
+     * The <code>testCorruptedSnapshot</code> method tests that the corrupted snapshot is rejected.
+     *
+     * @param directory - The temporary snapshot directory.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testCorruptedSnapshot(@TempDir Path directory) throws IOException {
+        try (GameSnapshotWriter writer = new GameSnapshotWriter(directory, 1, 1)) {
+            writer.encode(game(1, 3));
+            writer.writeEncoded();
+            writer.commit();
+        }
+        Path file = directory.resolve(GameSnapshotWriter.FILE_NAME);
+        byte[] content = Files.readAllBytes(file);
+        content[30] ^= 1;
+        Files.write(file, content);
+        GamesRepository gamesRepository = Mockito.mock(GamesRepository.class);
+        Assertions.assertThrows(IOException.class, () -> GameSnapshotReader.restore(directory, gamesRepository));
+    }
+
+    /**
+     * The <code>game</code> method creates the game with two players and three moves.
+     *
+     * @param id - The id of the game.
+     * @param size - The board size.
+     * @return Game - The created game.
+     */
+    private static Game game(int id, int size) {
+        Map<Player, Character> players = new ConcurrentHashMap<>();
+        players.put(Player.builder().build(), BitBoard.MARK_X);
+        players.put(Player.builder().build(), BitBoard.MARK_O);
+        Board board = new Board(size);
+        int[][] moves = { { 0, 0 }, { 1, 1 }, { 2, 0 } };
+        for (int i = 0; i < moves.length; i++) {
+            char mark = i % 2 == 0 ? BitBoard.MARK_O : BitBoard.MARK_X;
+            board.putMark(moves[i][0], moves[i][1], mark);
+            board.addMoveValues(moves[i][0], moves[i][1], mark);
+        }
+        Game game = Game.builder().id(id).players(players).board(board).build();
+        game.touch();
+        return game;
+    }
+
+    /**
+     * The <code>assertSameGame</code> method asserts that the restored game equals the original one.
+     *
+     * @param expected - The original game.
+     * @param actual - The restored game.
+     */
+    private static void assertSameGame(Game expected, Game actual) {
+        Assertions.assertEquals(expected.getId(), actual.getId(), "Test - id.");
+        Assertions.assertEquals(expected.getPlayers(), actual.getPlayers(), "Test - players.");
+        Assertions.assertEquals(expected.isGameOver(), actual.isGameOver(), "Test - game over.");
+        Assertions.assertEquals(expected.getWinner(), actual.getWinner(), "Test - winner.");
+        Assertions.assertEquals(expected.getLastActivityTime(), actual.getLastActivityTime(), "Test - activity.");
+        int size = expected.getBoard().getPlayingBoard().getSize();
+        Assertions.assertEquals(expected.getBoard().getMovesCount(), actual.getBoard().getMovesCount(), "Test - moves.");
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                Assertions.assertEquals(expected.getBoard().getPlayingBoard().getMark(row, column),
+                        actual.getBoard().getPlayingBoard().getMark(row, column), "Test - cell.");
+                Assertions.assertArrayEquals(expected.getBoard().getCalculatedMoveValues(row, column),
+                        actual.getBoard().getCalculatedMoveValues(row, column), "Test - sums.");
+            }
+        }
+    }
+}
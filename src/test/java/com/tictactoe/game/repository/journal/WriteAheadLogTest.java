@@ -0,0 +1,125 @@
+package com.tictactoe.game.repository.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The <code>WriteAheadLogTest</code> class tests behavior implemented in {@link WriteAheadLog} class.
+ *
+ * @author Bosko Mijin.
+ */
+public class WriteAheadLogTest {
+
+    /** The Constant PAYLOAD_LENGTHS - the single record type with int payload. */
+    private static final int[] PAYLOAD_LENGTHS = { 0, Integer.BYTES };
+
+    /** The Constant RECORD - the type of the test record. */
+    private static final byte RECORD = 1;
+
+    /**
+     * The <code>testReplayAfterReopen</code> method tests that appended records are replayed in order, also across
+     * the segments and the runs.
+     *
+     * @param directory - The temporary journal directory.
+     */
+    @Test
+    public void testReplayAfterReopen(@TempDir Path directory) {
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, 64, 1, true, PAYLOAD_LENGTHS);
+        writeAheadLog.open();
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            writeAheadLog.append(RECORD, buffer -> buffer.putInt(value));
+        }
+        writeAheadLog.close();
+        writeAheadLog = new WriteAheadLog(directory, 64, 1, false, PAYLOAD_LENGTHS);
+        Assertions.assertEquals(expected(20), replay(writeAheadLog), "Test - records of the first run.");
+        writeAheadLog.open();
+        writeAheadLog.append(RECORD, buffer -> buffer.putInt(20));
+        writeAheadLog.close();
+        Assertions.assertEquals(expected(21), replay(new WriteAheadLog(directory, 64, 1, false, PAYLOAD_LENGTHS)),
+                "Test - records of both runs.");
+    }
+
+    /**
+     * The <code>testTornRecordIsSkipped</code> method tests that replay stops at the record with wrong checksum.
+     *
+     * @param directory - The temporary journal directory.
+     * @throws IOException - Signals that an I/O exception has occurred.
+     */
+    @Test
+    public void testTornRecordIsSkipped(@TempDir Path directory) throws IOException {
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, 4096, 1, false, PAYLOAD_LENGTHS);
+        writeAheadLog.open();
+        for (int i = 0; i < 3; i++) {
+            int value = i;
+            writeAheadLog.append(RECORD, buffer -> buffer.putInt(value));
+        }
+        writeAheadLog.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.collect(Collectors.toList()).get(0);
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int thirdRecordPayload = Integer.BYTES + Short.BYTES + 2 * (1 + Integer.BYTES + Integer.BYTES) + 1;
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7f }), thirdRecordPayload);
+        }
+        Assertions.assertEquals(expected(2), replay(writeAheadLog), "Test - replay stops at the torn record.");
+    }
+
+    /**
+     * The <code>testDeleteSegmentsBefore</code> method tests that only the segments before the provided one are
+     * deleted.
+     *
+     * @param directory - The temporary journal directory.
+     */
+    @Test
+    public void testDeleteSegmentsBefore(@TempDir Path directory) {
+        WriteAheadLog writeAheadLog = new WriteAheadLog(directory, 4096, 1, false, PAYLOAD_LENGTHS);
+        writeAheadLog.open();
+        writeAheadLog.append(RECORD, buffer -> buffer.putInt(0));
+        long sequence = writeAheadLog.rollSegment();
+        writeAheadLog.append(RECORD, buffer -> buffer.putInt(1));
+        writeAheadLog.close();
+        Assertions.assertEquals(1, writeAheadLog.deleteSegmentsBefore(sequence), "Test - first segment is deleted.");
+        List<Integer> remaining = replay(writeAheadLog);
+        Assertions.assertEquals(List.of(1), remaining, "Test - records of the kept segment.");
+    }
+
+    /**
+     * The <code>replay</code> method collects the replayed int payloads.
+     *
+     * @param writeAheadLog - The write-ahead log which has to be replayed.
+     * @return List - The replayed values.
+     */
+    private static List<Integer> replay(WriteAheadLog writeAheadLog) {
+        List<Integer> values = new ArrayList<>();
+        writeAheadLog.replay((type, payload) -> values.add(payload.getInt()));
+        return values;
+    }
+
+    /**
+     * The <code>expected</code> method returns the values from 0 to provided count.
+     *
+     * @param count - The number of values.
+     * @return List - The expected values.
+     */
+    private static List<Integer> expected(int count) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+}
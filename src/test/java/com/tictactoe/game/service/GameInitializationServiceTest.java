@@ -11,10 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
+import com.tictactoe.game.engine.GameEngine;
 import com.tictactoe.game.model.Board;
 import com.tictactoe.game.model.Game;
 import com.tictactoe.game.model.Player;
 import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.util.GameUtil;
 import com.tictactoe.game.web.exception.AlreadyJoinedException;
 import com.tictactoe.game.web.exception.MissingPlayerException;
 
@@ -81,6 +83,21 @@ public class GameInitializationServiceTest {
         Assertions.assertThrows(MissingPlayerException.class, () -> gameInitializationService.joinGame(1));
     }
 
+    /**
+     * The <code>testJoinEngine</code> method tests that the engine is seated as player O and plays the first move.
+     */
+    @Test
+    void testJoinEngine() {
+        Game gameMock = getGameMock();
+        gameMock.setId(1);
+        Mockito.when(gamesRepositoryMock.getGameById(1)).thenReturn(gameMock);
+        gameInitializationService.joinEngine(1);
+        Assertions.assertEquals(Character.valueOf('O'), GameUtil.getMarkForPlayerId(gameMock, GameEngine.PLAYER_ID),
+                "Test - engine is seated as player O.");
+        Assertions.assertEquals(1, gameMock.getBoard().getMovesCount(), "Test - engine played the first move.");
+        Assertions.assertThrows(AlreadyJoinedException.class, () -> gameInitializationService.joinEngine(1));
+    }
+
     /**
      * The <code>getGameMock</code> method creates the mock game object which is used into testCreateGame.
      *
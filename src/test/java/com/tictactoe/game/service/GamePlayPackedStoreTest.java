@@ -0,0 +1,95 @@
+package com.tictactoe.game.service;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.tictactoe.game.model.BitBoard;
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.model.Player;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.web.exception.AuthenticationException;
+import com.tictactoe.game.web.response.StatusEnum;
+
+/**
+ * The <code>GamePlayPackedStoreTest</code> class tests behavior implemented in {@link GamePlayServiceImpl} class when
+ * the games are held in the packed store.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(properties = "game.config.store.type=packed")
+public class GamePlayPackedStoreTest {
+
+    /** The constant gameId. */
+    private static final String GAME_ID = "gameId";
+
+    /** The constant token. */
+    private static final String TOKEN = "token";
+
+    /** The game play service. */
+    @Autowired
+    private GamePlayService gamePlayService;
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /**
+     * The <code>testGameIsPlayed</code> method tests that the game is created, joined and played to the end.
+     *
+     * @throws AuthenticationException - the authentication exception.
+     */
+    @Test
+    public void testGameIsPlayed() throws AuthenticationException {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get(GAME_ID));
+        String tokenPlayerX = data.get(TOKEN);
+        Assertions.assertEquals(StatusEnum.AWAITING_OTHER_PLAYER.getValue(),
+                gamePlayService.obtainGameStatus(gameId, tokenPlayerX), "Test - waiting for the opponent.");
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        Assertions.assertEquals(StatusEnum.YOUR_TURN.getValue(), gamePlayService.obtainGameStatus(gameId, tokenPlayerO),
+                "Test - O is on turn.");
+        Assertions.assertTrue(gamePlayService.playGame(gameId, "A1", tokenPlayerO), "Test - O is playing A1.");
+        Assertions.assertTrue(gamePlayService.playGame(gameId, "B1", tokenPlayerX), "Test - X is playing B1.");
+        Assertions.assertFalse(gamePlayService.playGame(gameId, "B1", tokenPlayerO), "Test - B1 is taken.");
+        Assertions.assertTrue(gamePlayService.playGame(gameId, "A2", tokenPlayerO), "Test - O is playing A2.");
+        Assertions.assertTrue(gamePlayService.playGame(gameId, "B2", tokenPlayerX), "Test - X is playing B2.");
+        Assertions.assertTrue(gamePlayService.playGame(gameId, "A3", tokenPlayerO), "Test - O is playing A3.");
+        Assertions.assertEquals(StatusEnum.YOU_WON.getValue(), gamePlayService.obtainGameStatus(gameId, tokenPlayerO),
+                "Test - O won.");
+        Assertions.assertEquals(StatusEnum.YOU_LOST.getValue(), gamePlayService.obtainGameStatus(gameId, tokenPlayerX),
+                "Test - X lost.");
+        Assertions.assertEquals(5, gamesRepository.getGameById(gameId).getBoard().getMovesCount(),
+                "Test - all the moves are stored.");
+    }
+
+    /**
+     * The <code>testPlayersAndBoardAreReplaced</code> method tests that the players and the board set to the stored
+     * game are written into the store.
+     */
+    @Test
+    public void testPlayersAndBoardAreReplaced() {
+        int gameId = Integer.parseInt(gameInitializationService.createGame().get(GAME_ID));
+        gameInitializationService.joinGame(gameId);
+        Game game = gamesRepository.getGameById(gameId);
+        Player playerX = game.getPlayers().keySet().stream()
+                .filter(player -> game.getPlayers().get(player) == BitBoard.MARK_X).findFirst().orElseThrow();
+        game.setPlayers(Map.of(playerX, BitBoard.MARK_X));
+        Board board = new Board(3);
+        board.putMark(1, 1, BitBoard.MARK_X);
+        game.setBoard(board);
+        Game stored = gamesRepository.getGameById(gameId);
+        Assertions.assertEquals(Map.of(playerX, BitBoard.MARK_X), stored.getPlayers(), "Test - only X is left.");
+        Assertions.assertEquals(1, stored.getBoard().getMovesCount(), "Test - board is replaced.");
+        Assertions.assertEquals(BitBoard.MARK_X, stored.getBoard().getPlayingBoard().getMark(1, 1),
+                "Test - mark of the board.");
+    }
+}
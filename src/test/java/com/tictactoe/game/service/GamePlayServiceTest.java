@@ -1,17 +1,34 @@
 package com.tictactoe.game.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import com.tictactoe.game.model.Board;
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GamesRepository;
 import com.tictactoe.game.web.exception.AnotherPlayersTurnException;
 import com.tictactoe.game.web.exception.AuthenticationException;
 import com.tictactoe.game.web.exception.GameOverException;
+import com.tictactoe.game.web.exception.InvalidMovesException;
 import com.tictactoe.game.web.exception.InvalidPositionException;
 import com.tictactoe.game.web.exception.MissingPlayerException;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * The <code>GamePlayServiceTest</code> class tests behavior implemented in {@link GamePlayServiceImpl} class.
@@ -27,6 +44,15 @@ public class GamePlayServiceTest {
     /** The constant gameId. */
     private static final String TOKEN = "token";
 
+    /** The constant THREADS_PER_PLAYER - number of threads which are playing for each player in the stress test. */
+    private static final int THREADS_PER_PLAYER = 4;
+
+    /** The constant ROUNDS - number of games played in the stress test. */
+    private static final int ROUNDS = 200;
+
+    /** The constant POSITIONS - all the positions of the 3x3 board. */
+    private static final String[] POSITIONS = {"A1", "A2", "A3", "B1", "B2", "B3", "C1", "C2", "C3"};
+
     /** The game play service. */
     @Autowired
     private GamePlayService gamePlayService;
@@ -35,6 +61,14 @@ public class GamePlayServiceTest {
     @Autowired
     private GameInitializationService gameInitializationService;
 
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /** The meter registry. */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     /**
      * The <code>testIsGamePlayable</code> method tests expected result - playable.
      *
@@ -48,6 +82,79 @@ public class GamePlayServiceTest {
         Assertions.assertTrue(gamePlayService.playGame(gameId, "A1", tokenPlayerO), "Test game is playable.");
     }
 
+    /**
+     * The <code>testEngineReplies</code> method tests that the engine seated in the game replies to every move.
+     *
+     * @throws AuthenticationException - the authentication exception.
+     */
+    @Test
+    public void testEngineReplies() throws AuthenticationException {
+        Map<String, String> data = gameInitializationService.createGame();
+        Integer gameId = Integer.parseInt(data.get(GAME_ID));
+        gameInitializationService.joinEngine(gameId);
+        Board board = gamesRepository.getGameById(gameId).getBoard();
+        Assertions.assertEquals(1, board.getMovesCount(), "Test - engine played the first move.");
+        for (String position : POSITIONS) {
+            if (gamePlayService.playGame(gameId, position, data.get(TOKEN))) {
+                break;
+            }
+        }
+        Assertions.assertEquals(3, gamesRepository.getGameById(gameId).getBoard().getMovesCount(),
+                "Test - engine replied to the move.");
+    }
+
+    /**
+     * The <code>testPlayMoves</code> method tests that the batch is played in order within every game and that every
+     * move has its own result.
+     *
+     * @throws AuthenticationException - the authentication exception.
+     */
+    @Test
+    public void testPlayMoves() throws AuthenticationException {
+        Map<String, String> first = gameInitializationService.createGame();
+        int firstId = Integer.parseInt(first.get(GAME_ID));
+        String firstO = gameInitializationService.joinGame(firstId);
+        Map<String, String> second = gameInitializationService.createGame();
+        int secondId = Integer.parseInt(second.get(GAME_ID));
+        String secondO = gameInitializationService.joinGame(secondId);
+        List<MoveResult> results = gamePlayService.playMoves(List.of(new Move(firstId, "A1", firstO),
+                new Move(secondId, "A1", secondO), new Move(firstId, "B1", first.get(TOKEN)),
+                new Move(firstId, "B2", first.get(TOKEN)), new Move(secondId, "B1", firstO),
+                new Move(firstId, "B1", firstO)), false);
+        Assertions.assertEquals(6, results.size(), "Test - result of every move.");
+        Assertions.assertEquals("OK", results.get(0).getStatus(), "Test - O is playing A1 in the first game.");
+        Assertions.assertEquals("OK", results.get(1).getStatus(), "Test - O is playing A1 in the second game.");
+        Assertions.assertEquals("OK", results.get(2).getStatus(), "Test - X is playing B1 after O.");
+        Assertions.assertEquals("FAILED", results.get(3).getStatus(), "Test - X is playing twice.");
+        Assertions.assertEquals("Another player has to play.", results.get(3).getMessage(), "Test - reason.");
+        Assertions.assertEquals("FAILED", results.get(4).getStatus(), "Test - token of the other game.");
+        Assertions.assertEquals("SPACE_TAKEN", results.get(5).getStatus(), "Test - O is playing taken B1.");
+        Assertions.assertEquals(2, gamesRepository.getGameById(firstId).getBoard().getMovesCount(),
+                "Test - moves of the first game.");
+        Assertions.assertEquals(1, gamesRepository.getGameById(secondId).getBoard().getMovesCount(),
+                "Test - moves of the second game.");
+    }
+
+    /**
+     * The <code>testPlayInvalidMoves</code> method tests that the batch without the moves, with the empty move or with
+     * more moves than allowed is rejected before any of its moves is played.
+     */
+    @Test
+    public void testPlayInvalidMoves() {
+        Assertions.assertThrows(InvalidMovesException.class, () -> gamePlayService.playMoves(null, false),
+                "Test - moves are missing.");
+        Assertions.assertThrows(InvalidMovesException.class,
+                () -> gamePlayService.playMoves(Collections.singletonList(null), false), "Test - move is empty.");
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get(GAME_ID));
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        List<Move> moves = Collections.nCopies(1001, new Move(gameId, "A1", tokenPlayerO));
+        Assertions.assertThrows(InvalidMovesException.class, () -> gamePlayService.playMoves(moves, false),
+                "Test - too many moves.");
+        Assertions.assertEquals(0, gamesRepository.getGameById(gameId).getBoard().getMovesCount(),
+                "Test - no move is played.");
+    }
+
     /**
      * The <code>testIsGamePlayableMissingPlayer</code> method tests missing player exception.
      *
@@ -217,4 +324,106 @@ public class GamePlayServiceTest {
                 "Game over exception message test");
         Assertions.assertEquals("DRAW", gamePlayService.obtainGameStatus(gameId, tokenPlayerX));
     }
+
+    /**
+     * The <code>testMeters</code> method tests that the played moves, the authentications and the won game are
+     * recorded by the meters.
+     *
+     * @throws AuthenticationException - the authentication exception.
+     */
+    @Test
+    public void testMeters() throws AuthenticationException {
+        long okMoves = meterRegistry.get("games.move").tag("outcome", "ok").timer().count();
+        long takenMoves = meterRegistry.get("games.move").tag("outcome", "space_taken").timer().count();
+        long authentications = meterRegistry.get("games.authentication").tag("outcome", "success").timer().count();
+        double wins = meterRegistry.get("games.finished.results").tag("result", "win").counter().count();
+        Map<String, String> data = gameInitializationService.createGame();
+        Integer gameId = Integer.parseInt(data.get(GAME_ID));
+        String tokenPlayerX = data.get(TOKEN);
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        gamePlayService.playGame(gameId, "A1", tokenPlayerO);
+        gamePlayService.playGame(gameId, "B1", tokenPlayerX);
+        gamePlayService.playGame(gameId, "A2", tokenPlayerO);
+        gamePlayService.playGame(gameId, "A2", tokenPlayerX);
+        gamePlayService.playGame(gameId, "B2", tokenPlayerX);
+        gamePlayService.playGame(gameId, "A3", tokenPlayerO);
+        Assertions.assertEquals(okMoves + 5, meterRegistry.get("games.move").tag("outcome", "ok").timer().count(),
+                "Test - played moves are timed.");
+        Assertions.assertEquals(takenMoves + 1,
+                meterRegistry.get("games.move").tag("outcome", "space_taken").timer().count(),
+                "Test - move to the taken space is timed.");
+        Assertions.assertEquals(authentications + 6,
+                meterRegistry.get("games.authentication").tag("outcome", "success").timer().count(),
+                "Test - authentications are timed.");
+        Assertions.assertEquals(wins + 1, meterRegistry.get("games.finished.results").tag("result", "win").counter()
+                .count(), "Test - won game is counted.");
+        Assertions.assertTrue(meterRegistry.get("games.finished").gauge().value() >= 1,
+                "Test - finished game is held in memory.");
+    }
+
+    /**
+     * The <code>testConcurrentMovesOnSingleGame</code> method hammers the same game from many threads of both players
+     * and ensures that every accepted move is on the board, that players are alternating and that game is finished.
+     *
+     * @throws Exception - the exception if some of the threads fails.
+     */
+    @Test
+    public void testConcurrentMovesOnSingleGame() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_PLAYER * 2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Map<String, String> data = gameInitializationService.createGame();
+                int gameId = Integer.parseInt(data.get(GAME_ID));
+                String tokenPlayerX = data.get(TOKEN);
+                String tokenPlayerO = gameInitializationService.joinGame(gameId);
+                Game game = gamesRepository.getGameById(gameId);
+                AtomicInteger movesX = new AtomicInteger();
+                AtomicInteger movesO = new AtomicInteger();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < THREADS_PER_PLAYER; i++) {
+                    results.add(executor.submit(() -> hammer(gameId, tokenPlayerX, movesX, game, start)));
+                    results.add(executor.submit(() -> hammer(gameId, tokenPlayerO, movesO, game, start)));
+                }
+                start.countDown();
+                for (Future<?> result : results) {
+                    result.get();
+                }
+                Board board = game.getBoard();
+                Assertions.assertTrue(game.isGameOver(), "Test - game is finished.");
+                Assertions.assertEquals(movesX.get() + movesO.get(), board.getMovesCount(), "Test - no lost moves.");
+                Assertions.assertEquals((board.getMovesCount() + 1) / 2, movesO.get(), "Test - O moves alternate.");
+                Assertions.assertEquals(board.getMovesCount() / 2, movesX.get(), "Test - X moves alternate.");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The <code>hammer</code> method plays random positions for the player until the game is over.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @param moves - The counter of the accepted moves.
+     * @param game - The game which is played.
+     * @param start - The latch which releases all the threads at once.
+     * @return Void - nothing, declared to propagate the exceptions.
+     * @throws Exception - the exception if the playing fails unexpectedly.
+     */
+    private Void hammer(int gameId, String token, AtomicInteger moves, Game game, CountDownLatch start)
+            throws Exception {
+        start.await();
+        while (!game.isGameOver()) {
+            try {
+                if (gamePlayService.playGame(gameId, POSITIONS[ThreadLocalRandom.current().nextInt(POSITIONS.length)],
+                        token)) {
+                    moves.incrementAndGet();
+                }
+            } catch (AnotherPlayersTurnException | GameOverException e) {
+                Thread.onSpinWait();
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,82 @@
+package com.tictactoe.game.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tictactoe.game.model.Game;
+import com.tictactoe.game.repository.GamesRepository;
+import com.tictactoe.game.web.exception.MatchmakingTimeoutException;
+
+/**
+ * The <code>MatchmakingServiceTest</code> class tests behavior implemented in {@link MatchmakingServiceImpl} class.
+ * The scheduled pairing is postponed, so the players are paired only when the test calls it.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(properties = "game.config.matchmaking.pairing-interval=3600000")
+public class MatchmakingServiceTest {
+
+    /** The matchmaking service. */
+    @Autowired
+    private MatchmakingServiceImpl matchmakingService;
+
+    /** The games repository. */
+    @Autowired
+    private GamesRepository gamesRepository;
+
+    /**
+     * The <code>testPairsWaitingPlayers</code> method tests that every two waiting players get the game with both of
+     * them seated, and that the player without the opponent waits for the next one.
+     *
+     * @throws InterruptedException - The interrupted exception.
+     * @throws ExecutionException - The execution exception if the matchmaking has failed.
+     */
+    @Test
+    void testPairsWaitingPlayers() throws InterruptedException, ExecutionException {
+        List<CompletableFuture<Map<String, String>>> matches = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            matches.add(matchmakingService.findMatch());
+        }
+        matchmakingService.pairWaitingPlayers();
+        for (int i = 0; i < 4; i += 2) {
+            Map<String, String> matchX = matches.get(i).get();
+            Map<String, String> matchO = matches.get(i + 1).get();
+            Assertions.assertEquals(matchX.get("gameId"), matchO.get("gameId"), "Test - players share the game.");
+            Assertions.assertEquals("X", matchX.get("mark"), "Test - longer waiting player is X.");
+            Assertions.assertEquals("O", matchO.get("mark"), "Test - other player is O.");
+            Game game = gamesRepository.getGameById(Integer.parseInt(matchX.get("gameId")));
+            Assertions.assertEquals(2, game.getPlayers().size(), "Test - both players are seated.");
+        }
+        Assertions.assertFalse(matches.get(4).isDone(), "Test - odd player waits.");
+        CompletableFuture<Map<String, String>> next = matchmakingService.findMatch();
+        matchmakingService.pairWaitingPlayers();
+        Assertions.assertEquals(matches.get(4).get().get("gameId"), next.get().get("gameId"), "Test - paired later.");
+    }
+
+    /**
+     * The <code>testWaitingTimeout</code> method tests that the player without the opponent is answered by the
+     * timeout.
+     */
+    @Test
+    void testWaitingTimeout() {
+        long waitTimeout = (long) ReflectionTestUtils.getField(matchmakingService, "waitTimeout");
+        ReflectionTestUtils.setField(matchmakingService, "waitTimeout", 0L);
+        try {
+            CompletableFuture<Map<String, String>> match = matchmakingService.findMatch();
+            matchmakingService.pairWaitingPlayers();
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, match::get);
+            Assertions.assertTrue(exception.getCause() instanceof MatchmakingTimeoutException, "Test - timeout.");
+        } finally {
+            ReflectionTestUtils.setField(matchmakingService, "waitTimeout", waitTimeout);
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.tictactoe.game.util;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -37,21 +36,6 @@ public class GameUtilTest {
         Assertions.assertEquals('O', GameUtil.whoIsOnTurn(8), "Test - 8 returns player O");
     }
 
-    /**
-     * The <code>testConvertColumnMarkToNumber</code> method tests the conversion of letters to numbers.
-     */
-    @Test
-    public void testConvertColumnMarkToNumber() {
-        Assertions.assertEquals(1, GameUtil.convertRowMarkToNumber("A"), "Test - A returns 1");
-        Assertions.assertEquals(2, GameUtil.convertRowMarkToNumber("B"), "Test - B returns 2");
-        Assertions.assertEquals(3, GameUtil.convertRowMarkToNumber("C"), "Test - C returns 3");
-        Assertions.assertEquals(27, GameUtil.convertRowMarkToNumber("AA"), "Test - A returns 27");
-        Assertions.assertEquals(703, GameUtil.convertRowMarkToNumber("AAA"), "Test - A returns 703");
-        Assertions.assertEquals(703, GameUtil.convertRowMarkToNumber("AAeA"), "Test - A returns 703");
-        Assertions.assertEquals(703, GameUtil.convertRowMarkToNumber("AA!A"), "Test - A returns 703");
-        Assertions.assertEquals(704, GameUtil.convertRowMarkToNumber("AAB"), "Test - A returns 704");
-    }
-
     /**
      * The <code>testGetMarkForPlayerNonExisting</code> method tests the returning value when player is not existing.
      */
@@ -70,19 +54,19 @@ public class GameUtilTest {
     @Test
     public void testIsPlayingBoardFullSetWinner() {
         Board board = new Board(3);
-        board.getPlayingBoard().put(Pair.of(0, 0), 'O');
-        board.getPlayingBoard().put(Pair.of(0, 1), 'X');
-        board.getPlayingBoard().put(Pair.of(1, 0), 'O');
-        board.getPlayingBoard().put(Pair.of(1, 1), 'X');
-        board.getPlayingBoard().put(Pair.of(2, 1), 'O');
-        board.getPlayingBoard().put(Pair.of(2, 0), 'X');
-        board.getPlayingBoard().put(Pair.of(0, 2), 'O');
-        board.getPlayingBoard().put(Pair.of(1, 2), 'X');
-        board.getPlayingBoard().put(Pair.of(2, 2), 'O');
+        board.putMark(0, 0, 'O');
+        board.putMark(0, 1, 'X');
+        board.putMark(1, 0, 'O');
+        board.putMark(1, 1, 'X');
+        board.putMark(2, 1, 'O');
+        board.putMark(2, 0, 'X');
+        board.putMark(0, 2, 'O');
+        board.putMark(1, 2, 'X');
+        board.putMark(2, 2, 'O');
         Game game = Game.builder().board(board).build();
         game.setGameOver(true);
         game.setWinner('D');
-        GameUtil.isPlayingBoardFull(game, 3);
+        GameUtil.isPlayingBoardFull(game);
         Assertions.assertEquals('D', game.getWinner().charValue());
     }
 }
@@ -0,0 +1,82 @@
+package com.tictactoe.game.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.tictactoe.game.web.exception.InvalidPositionException;
+
+/**
+ * The <code>PositionParserTest</code> class contains all the JUnit tests for the {@link PositionParser} class and
+ * their functionality.
+ *
+ * @author Bosko Mijin
+ */
+@SpringBootTest
+public class PositionParserTest {
+
+    /** The position parser configured for the default board. */
+    @Autowired
+    private PositionParser positionParser;
+
+    /**
+     * The <code>testParseDefaultBoard</code> method tests parsing of the valid positions on the default board.
+     */
+    @Test
+    public void testParseDefaultBoard() {
+        int cell = positionParser.parse("A1");
+        Assertions.assertEquals(0, positionParser.rowIndex(cell), "Test - A1 row index.");
+        Assertions.assertEquals(0, positionParser.columnIndex(cell), "Test - A1 column index.");
+        cell = positionParser.parse("C2");
+        Assertions.assertEquals(2, positionParser.rowIndex(cell), "Test - C2 row index.");
+        Assertions.assertEquals(1, positionParser.columnIndex(cell), "Test - C2 column index.");
+    }
+
+    /**
+     * The <code>testParseInvalidPositions</code> method tests that malformed positions and positions outside of the
+     * board are rejected.
+     */
+    @Test
+    public void testParseInvalidPositions() {
+        for (String position : new String[] { "f7", "D1", "A4", "A0", "A01", "1A", "A", "1", "", "A1B", "A 1" }) {
+            Assertions.assertThrows(InvalidPositionException.class, () -> positionParser.parse(position),
+                    "Test - " + position + " is rejected.");
+        }
+        Assertions.assertThrows(InvalidPositionException.class, () -> positionParser.parse(null));
+    }
+
+    /**
+     * The <code>testParseLargeBoard</code> method tests parsing of multi letter and multi digit positions on the board
+     * with more than 26 rows.
+     */
+    @Test
+    public void testParseLargeBoard() {
+        PositionParser largeBoardParser = new PositionParser();
+        ReflectionTestUtils.setField(largeBoardParser, "tableSize", 30);
+        int cell = largeBoardParser.parse("AA12");
+        Assertions.assertEquals(26, largeBoardParser.rowIndex(cell), "Test - AA12 row index.");
+        Assertions.assertEquals(11, largeBoardParser.columnIndex(cell), "Test - AA12 column index.");
+        cell = largeBoardParser.parse("AD30");
+        Assertions.assertEquals(29, largeBoardParser.rowIndex(cell), "Test - AD30 row index.");
+        Assertions.assertEquals(29, largeBoardParser.columnIndex(cell), "Test - AD30 column index.");
+        Assertions.assertThrows(InvalidPositionException.class, () -> largeBoardParser.parse("AE1"));
+        Assertions.assertThrows(InvalidPositionException.class, () -> largeBoardParser.parse("A31"));
+    }
+
+    /**
+     * The <code>testFormatIsReverseOfParse</code> method tests that every formatted cell is parsed back to the same
+     * cell, including the multi letter rows.
+     */
+    @Test
+    public void testFormatIsReverseOfParse() {
+        Assertions.assertEquals("B3", positionParser.format(5), "Test - B3 is formatted.");
+        PositionParser largeBoardParser = new PositionParser();
+        ReflectionTestUtils.setField(largeBoardParser, "tableSize", 30);
+        for (int cell = 0; cell < 30 * 30; cell++) {
+            Assertions.assertEquals(cell, largeBoardParser.parse(largeBoardParser.format(cell)),
+                    "Test - cell " + cell + " is formatted and parsed back.");
+        }
+    }
+}
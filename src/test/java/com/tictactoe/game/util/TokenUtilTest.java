@@ -0,0 +1,52 @@
+package com.tictactoe.game.util;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureException;
+
+/**
+ * The <code>TokenUtilTest</code> class contains all the JUnit tests for the {@link TokenUtil} class and their
+ * functionality.
+ *
+ * @author Bosko Mijin
+ */
+@SpringBootTest
+public class TokenUtilTest {
+
+    /** The token util. */
+    @Autowired
+    private TokenUtil tokenUtil;
+
+    /**
+     * The <code>testVerifiedClaimsAreCached</code> method tests that the claims of the already verified token are
+     * served from the cache instead of parsing the token again.
+     */
+    @Test
+    public void testVerifiedClaimsAreCached() {
+        String token = tokenUtil.generateToken("cachedPlayer");
+        Claims first = tokenUtil.getClaimFromToken(token, Function.identity());
+        Claims second = tokenUtil.getClaimFromToken(token, Function.identity());
+        Assertions.assertSame(first, second, "Test - claims are parsed once.");
+        Assertions.assertEquals("cachedPlayer", tokenUtil.getUsernameFromToken(token), "Test - subject from cache.");
+    }
+
+    /**
+     * The <code>testTamperedTokenIsRejected</code> method tests that the token with the invalid signature is rejected
+     * even if the same subject is already cached.
+     */
+    @Test
+    public void testTamperedTokenIsRejected() {
+        String token = tokenUtil.generateToken("tamperedPlayer");
+        tokenUtil.getUsernameFromToken(token);
+        int position = token.length() - 10;
+        char replacement = token.charAt(position) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, position) + replacement + token.substring(position + 1);
+        Assertions.assertThrows(SignatureException.class, () -> tokenUtil.getUsernameFromToken(tampered));
+    }
+}
@@ -2,6 +2,7 @@ package com.tictactoe.game.web.controller;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Assert;
 import org.junit.jupiter.api.Test;
@@ -18,9 +19,11 @@ import com.tictactoe.game.model.Board;
 import com.tictactoe.game.model.Game;
 import com.tictactoe.game.model.Player;
 import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.service.MatchmakingService;
 import com.tictactoe.game.web.BaseControllerTest;
 import com.tictactoe.game.web.response.DefaultResponseBody;
 import com.tictactoe.game.web.response.GameCreationResponseBody;
+import com.tictactoe.game.web.response.MatchResponseBody;
 
 /**
  * The <code>GameControllerTest</code> class extends {@link BaseControllerTest} and tests behavior implemented in
@@ -40,6 +43,10 @@ public class GameInitializationControllerTest extends BaseControllerTest {
     @MockBean
     private GameInitializationService gameInitializationService;
 
+    /** The matchmaking service. */
+    @MockBean
+    private MatchmakingService matchmakingService;
+
     /**
      * The <code>testCreateGame</code> method tests the createGame method implemented in GameInitializationController
      * and ensures that this method returns expected status, has token, has expected format in body and that it calling
@@ -88,6 +95,30 @@ public class GameInitializationControllerTest extends BaseControllerTest {
         Mockito.verify(gameInitializationService, Mockito.times(1)).joinGame(1);
     }
 
+    /**
+     * The <code>testFindMatch</code> method tests the findMatch method implemented in GameInitializationController and
+     * ensures that the asynchronous response returns expected status, has token and has the game url and the mark.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testFindMatch() throws Exception {
+        Map<String, String> mockMap = new HashMap<>();
+        mockMap.put("gameId", String.valueOf(1));
+        mockMap.put("mark", "O");
+        mockMap.put("token", TOKEN);
+        Mockito.when(matchmakingService.findMatch()).thenReturn(CompletableFuture.completedFuture(mockMap));
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/game/match").accept(MediaType.APPLICATION_JSON);
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+        MockHttpServletResponse response = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result)).andReturn()
+                .getResponse();
+        Assert.assertEquals(STATUS_CHECK, HttpStatus.OK.value(), response.getStatus());
+        Assert.assertEquals("Check token", TOKEN, response.getHeader("Set-Auth-Token"));
+        MatchResponseBody body = mapper.readValue(response.getContentAsString(), MatchResponseBody.class);
+        Assert.assertEquals("Mark check", "O", body.getMark());
+        Assert.assertTrue("Game URL check", body.getGameUrl().endsWith("/game/1"));
+    }
+
     /**
      * The <code>getGameMock</code> method creates the mock game object which is used into testCreateGame.
      *
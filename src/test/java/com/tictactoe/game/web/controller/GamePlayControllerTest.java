@@ -1,6 +1,7 @@
 package com.tictactoe.game.web.controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Assert;
@@ -22,7 +23,11 @@ import com.tictactoe.game.service.GamePlayService;
 import com.tictactoe.game.util.TokenUtil;
 import com.tictactoe.game.web.BaseControllerTest;
 import com.tictactoe.game.web.request.PlayGameRequestBody;
+import com.tictactoe.game.web.request.PlayMovesRequestBody;
+import com.tictactoe.game.web.request.PlayMovesRequestBody.Move;
 import com.tictactoe.game.web.response.DefaultResponseBody;
+import com.tictactoe.game.web.response.PlayMovesResponseBody;
+import com.tictactoe.game.web.response.PlayMovesResponseBody.MoveResult;
 
 /**
  * The <code>GameControllerTest</code> class extends {@link BaseControllerTest} and tests behavior implemented in
@@ -78,6 +83,29 @@ public class GamePlayControllerTest extends BaseControllerTest {
         Mockito.verify(gamePlayService, Mockito.times(1)).playGame(1, "A1", TOKEN);
     }
 
+    /**
+     * The <code>testPlayMoves</code> method tests the playMoves method implemented in GamePlayController and ensures
+     * that this method returns expected status and the result of every move.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testPlayMoves() throws Exception {
+        Mockito.when(gamePlayService.playMoves(Mockito.anyList(), Mockito.eq(false))).thenReturn(
+                List.of(new MoveResult(1, "A1", "OK", null), new MoveResult(2, "A1", "FAILED", "Reason.")));
+        PlayMovesRequestBody body = new PlayMovesRequestBody(
+                List.of(new Move(1, "A1", TOKEN), new Move(2, "A1", TOKEN)));
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post("/game/moves").accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(body));
+        MockHttpServletResponse response = mockMvc.perform(requestBuilder).andReturn().getResponse();
+        Assert.assertEquals(STATUS_CHECK, HttpStatus.OK.value(), response.getStatus());
+        List<MoveResult> results = mapper.readValue(response.getContentAsString(), PlayMovesResponseBody.class)
+                .getResults();
+        Assert.assertEquals("Results check", 2, results.size());
+        Assert.assertEquals("Status check", "FAILED", results.get(1).getStatus());
+        Mockito.verify(gamePlayService, Mockito.times(1)).playMoves(Mockito.anyList(), Mockito.eq(false));
+    }
+
     /**
      * The <code>testPlayGameSpaceTaken</code> method tests the playGame method implemented in GamePlayController and
      * ensures that this method returns expected status, has token, has expected format in body and that it calling
@@ -130,6 +158,30 @@ public class GamePlayControllerTest extends BaseControllerTest {
         Mockito.verify(gamePlayService, Mockito.times(1)).obtainGameStatus(1, TOKEN);
     }
 
+    /**
+     * The <code>testStreamGameStatus</code> method tests the streamGameStatus method implemented in GamePlayController
+     * and ensures that the stream is opened and that the current status is pushed immediately.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testStreamGameStatus() throws Exception {
+        Game mockGame = getGameMock();
+        Player playerO = Player.builder().build();
+        mockGame.getPlayers().put(playerO, 'O');
+        Mockito.when(gamesRepository.getGameById(1)).thenReturn(mockGame);
+        Mockito.when(tokenUtil.validateToken(TOKEN, mockGame)).thenReturn(true);
+        Mockito.when(tokenUtil.getUsernameFromToken(TOKEN)).thenReturn(playerO.getId());
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.get("/game/1/status")
+                .accept(MediaType.TEXT_EVENT_STREAM).header("Auth-Token", TOKEN);
+        MvcResult result = mockMvc.perform(requestBuilder).andReturn();
+        MockHttpServletResponse response = result.getResponse();
+        Assert.assertTrue("Stream check", result.getRequest().isAsyncStarted());
+        Assert.assertEquals(STATUS_CHECK, HttpStatus.OK.value(), response.getStatus());
+        Assert.assertTrue(STATUS_CHECK, response.getContentAsString().contains("event:status"));
+        Assert.assertTrue(STATUS_CHECK, response.getContentAsString().contains("YOUR_TURN"));
+    }
+
     /**
      * The <code>getGameMock</code> method creates the mock game object which is used into testCreateGame.
      *
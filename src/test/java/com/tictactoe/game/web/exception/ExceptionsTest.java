@@ -41,6 +41,9 @@ public class ExceptionsTest extends BaseControllerTest {
     /** The game one path. */
     private static final String GAME_ONE_PATH = "/game/1";
 
+    /** The game moves path. */
+    private static final String GAME_MOVES_PATH = "/game/moves";
+
     /** The constant test exception message. */
     private static final String TEST_EXCEPTION_MESSAGE = "testExceptionMessage";
 
@@ -199,6 +202,60 @@ public class ExceptionsTest extends BaseControllerTest {
         Assert.assertEquals(attributes.get(STATUS), HttpStatus.CONFLICT.value());
     }
 
+    /**
+     * The <code>testSharedAnotherPlayersTurnException</code> method tests that the shared
+     * {@link AnotherPlayersTurnException} has no stack trace and no suppressed exceptions, and that its body
+     * written by the {@link ErrorResponseWriter} contains all the exception attributes and the requested status.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testSharedAnotherPlayersTurnException() throws Exception {
+        Assert.assertEquals(0, AnotherPlayersTurnException.INSTANCE.getStackTrace().length);
+        AnotherPlayersTurnException.INSTANCE.addSuppressed(new IllegalStateException());
+        Assert.assertEquals(0, AnotherPlayersTurnException.INSTANCE.getSuppressed().length);
+        Mockito.when(gamePlayService.playGame(1, "A1", TOKEN)).thenThrow(AnotherPlayersTurnException.INSTANCE);
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.put(GAME_ONE_PATH).accept(MediaType.APPLICATION_JSON)
+                .header(AUTH_TOKEN, TOKEN).contentType(MediaType.APPLICATION_JSON).content(DEFAULT_TEST_CONTENT);
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = mockMvc.perform(requestBuilder).andReturn().getResponse();
+            Map<String, Object> attributes = mapper.readValue(response.getContentAsString(), MAP_TYPE);
+            Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+            Assert.assertEquals(AnotherPlayersTurnException.INSTANCE.getMessage(), attributes.get(MESSAGE));
+            Assert.assertEquals(AnotherPlayersTurnException.class.getSimpleName(), attributes.get(EXCEPTION));
+            Assert.assertEquals(HttpStatus.CONFLICT.value(), attributes.get(STATUS));
+            Assert.assertEquals(HttpStatus.CONFLICT.getReasonPhrase(), attributes.get("error"));
+            Assert.assertTrue(attributes.containsKey("path"));
+            Assert.assertNotNull(attributes.get("timestamp"));
+        }
+        ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter();
+        for (HttpStatus bodyStatus : new HttpStatus[] { HttpStatus.CONFLICT, HttpStatus.BAD_REQUEST }) {
+            byte[] body = errorResponseWriter.body(AnotherPlayersTurnException.INSTANCE, GAME_ONE_PATH, bodyStatus);
+            Map<String, Object> attributes = mapper.readValue(body, MAP_TYPE);
+            Assert.assertEquals(bodyStatus.value(), attributes.get(STATUS));
+        }
+    }
+
+    /**
+     * The <code>testInvalidMovesException</code> method tests the {@link InvalidMovesException} and related
+     * {@link ExceptionAdvisor} and checks that the batch without the moves is answered by the bad request.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testInvalidMovesException() throws Exception {
+        Mockito.when(gamePlayService.playMoves(null, false))
+                .thenThrow(new InvalidMovesException(TEST_EXCEPTION_MESSAGE));
+        RequestBuilder requestBuilder = MockMvcRequestBuilders.post(GAME_MOVES_PATH).accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON).content("{}");
+        MockHttpServletResponse response = mockMvc.perform(requestBuilder).andReturn().getResponse();
+        Map<String, Object> attributes = mapper.readValue(response.getContentAsString(), MAP_TYPE);
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+        Assert.assertEquals(TEST_EXCEPTION_MESSAGE, attributes.get(MESSAGE));
+        Assert.assertEquals(InvalidMovesException.class.getSimpleName(), attributes.get(EXCEPTION));
+        Assert.assertEquals(HttpStatus.BAD_REQUEST.value(), attributes.get(STATUS));
+    }
+
     /**
      * The <code>testGameOverException</code> method tests the {@link GameOverException} and related
      * {@link ExceptionAdvisor} and checks is exception functionality implemented correctly.
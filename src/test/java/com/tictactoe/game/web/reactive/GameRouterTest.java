@@ -0,0 +1,91 @@
+package com.tictactoe.game.web.reactive;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.web.response.DefaultResponseBody;
+import com.tictactoe.game.web.response.GameCreationResponseBody;
+
+/**
+ * The <code>GameRouterTest</code> class tests behavior implemented in {@link GameRouter} and {@link GameHandler}
+ * classes, with the application running as the reactive web application.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class GameRouterTest {
+
+    /** The constant AUTH_TOKEN. */
+    private static final String AUTH_TOKEN = "Auth-Token";
+
+    /** The web test client. */
+    @Autowired
+    private WebTestClient webTestClient;
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /**
+     * The <code>testCreateGame</code> method tests that the created game returns the token in the header and the
+     * invitation url in the body.
+     */
+    @Test
+    public void testCreateGame() {
+        GameCreationResponseBody body = webTestClient.post().uri("/game").accept(MediaType.APPLICATION_JSON).exchange()
+                .expectStatus().isOk().expectHeader().exists("Set-Auth-Token")
+                .expectBody(GameCreationResponseBody.class).returnResult().getResponseBody();
+        Assertions.assertNotNull(body, "Test - response body.");
+        Assertions.assertTrue(body.getInvitationUrl().endsWith("/join"), "Test - invitation url.");
+    }
+
+    /**
+     * The <code>testPlayGame</code> method tests that the moves are answered by the same bodies and statuses as in the
+     * servlet mode.
+     */
+    @Test
+    public void testPlayGame() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        Assertions.assertEquals("OK", play(gameId, tokenPlayerO).expectStatus().isOk()
+                .expectBody(DefaultResponseBody.class).returnResult().getResponseBody().getMessage(),
+                "Test - move played.");
+        Assertions.assertEquals("SPACE_TAKEN", play(gameId, data.get("token")).expectStatus().isOk()
+                .expectBody(DefaultResponseBody.class).returnResult().getResponseBody().getMessage(),
+                "Test - space taken.");
+        play(gameId, tokenPlayerO).expectStatus().isBadRequest().expectBody().jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.exception").isEqualTo("AnotherPlayersTurnException");
+    }
+
+    /**
+     * The <code>testInvalidToken</code> method tests that the status of the game can't be obtained by invalid token.
+     */
+    @Test
+    public void testInvalidToken() {
+        int gameId = Integer.parseInt(gameInitializationService.createGame().get("gameId"));
+        webTestClient.get().uri("/game/{id}", gameId).header(AUTH_TOKEN, "invalid").exchange().expectStatus()
+                .is4xxClientError();
+    }
+
+    /**
+     * The <code>play</code> method plays the move on the position A1.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @return ResponseSpec - The response of the move.
+     */
+    private WebTestClient.ResponseSpec play(int gameId, String token) {
+        return webTestClient.put().uri("/game/{id}", gameId).header(AUTH_TOKEN, token)
+                .contentType(MediaType.APPLICATION_JSON).bodyValue("{\"position\": \"A1\"}").exchange();
+    }
+}
@@ -0,0 +1,117 @@
+package com.tictactoe.game.web.reactive;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+
+import com.tictactoe.game.service.GameInitializationService;
+import com.tictactoe.game.web.socket.GameHandshakeInterceptor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The <code>GameSocketHandlerTest</code> class tests behavior implemented in {@link GameSocketHandler} class over the
+ * real web socket connections, with the application running as the reactive web application.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class GameSocketHandlerTest {
+
+    /** The constant TIMEOUT - to wait for the messages. */
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    /** The port of the running server. */
+    @LocalServerPort
+    private int port;
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /**
+     * The <code>testMoveIsPlayed</code> method tests that the move sent over the move channel is confirmed to the
+     * player, the same as in the servlet mode.
+     */
+    @Test
+    public void testMoveIsPlayed() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        List<String> messages = play(gameId, tokenPlayerO, new HttpHeaders(), "{\"position\": \"A1\"}", 2);
+        Assertions.assertEquals(List.of("{\"type\":\"MOVE\",\"position\":\"A1\",\"mark\":\"O\"}",
+                "{\"type\":\"RESULT\",\"status\":\"OK\"}"), messages, "Test - own move and its result.");
+        messages = play(gameId, data.get("token"), new HttpHeaders(), "{\"position\": \"A1\"}", 1);
+        Assertions.assertEquals(List.of("{\"type\":\"RESULT\",\"status\":\"SPACE_TAKEN\"}"), messages,
+                "Test - space taken.");
+    }
+
+    /**
+     * The <code>testInvalidTokenIsRejected</code> method tests that the handshake with invalid token is rejected.
+     */
+    @Test
+    public void testInvalidTokenIsRejected() {
+        int gameId = Integer.parseInt(gameInitializationService.createGame().get("gameId"));
+        Assertions.assertThrows(Exception.class,
+                () -> play(gameId, "invalid", new HttpHeaders(), "{\"position\": \"A1\"}", 1));
+    }
+
+    /**
+     * The <code>testOtherOriginIsRejected</code> method tests that the page of the other origin can't open the move
+     * channel, even with the valid token.
+     */
+    @Test
+    public void testOtherOriginIsRejected() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setOrigin("http://evil.example.com");
+        Assertions.assertThrows(Exception.class,
+                () -> play(gameId, data.get("token"), headers, "{\"position\": \"A1\"}", 1));
+    }
+
+    /**
+     * The <code>play</code> method opens the move channel of the game, sends the move and collects the expected
+     * number of the received messages. The token is sent as the sub-protocol, the same as the browsers send it.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @param headers - The additional headers of the handshake.
+     * @param move - The move message.
+     * @param count - The number of the expected messages.
+     * @return List - The received messages.
+     */
+    private List<String> play(int gameId, String token, HttpHeaders headers, String move, int count) {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        new ReactorNettyWebSocketClient().execute(
+                URI.create("ws://localhost:" + port + "/game/" + gameId + "/socket"), headers, new WebSocketHandler() {
+
+                    @Override
+                    public List<String> getSubProtocols() {
+                        return List.of(GameHandshakeInterceptor.TOKEN_PROTOCOL, token);
+                    }
+
+                    @Override
+                    public Mono<Void> handle(WebSocketSession session) {
+                        return session.send(Mono.just(session.textMessage(move)))
+                                .thenMany(session.receive().map(WebSocketMessage::getPayloadAsText).take(count))
+                                .doOnNext(messages::add).then();
+                    }
+                }).block(TIMEOUT);
+        return messages;
+    }
+}
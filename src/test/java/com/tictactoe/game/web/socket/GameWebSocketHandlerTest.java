@@ -0,0 +1,137 @@
+package com.tictactoe.game.web.socket;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import com.tictactoe.game.service.GameInitializationService;
+
+/**
+ * The <code>GameWebSocketHandlerTest</code> class tests behavior implemented in {@link GameWebSocketHandler} and
+ * {@link GameHandshakeInterceptor} classes over the real web socket connections.
+ *
+ * @author Bosko Mijin.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class GameWebSocketHandlerTest {
+
+    /** The constant TIMEOUT - seconds to wait for the message. */
+    private static final long TIMEOUT = 5;
+
+    /** The port of the running server. */
+    @LocalServerPort
+    private int port;
+
+    /** The game initialization service. */
+    @Autowired
+    private GameInitializationService gameInitializationService;
+
+    /**
+     * The <code>testMoveIsSentToBothPlayers</code> method tests that the move sent by one player is confirmed to him and
+     * delivered to both players of the game.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void testMoveIsSentToBothPlayers() throws Exception {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        String tokenPlayerO = gameInitializationService.joinGame(gameId);
+        BlockingQueue<String> messagesX = new LinkedBlockingQueue<>();
+        BlockingQueue<String> messagesO = new LinkedBlockingQueue<>();
+        WebSocketSession sessionX = connect(gameId, data.get("token"), messagesX);
+        WebSocketSession sessionO = connect(gameId, tokenPlayerO, messagesO);
+        Assertions.assertEquals(GameHandshakeInterceptor.TOKEN_PROTOCOL, sessionO.getAcceptedProtocol(),
+                "Test - token protocol is accepted.");
+        sessionO.sendMessage(new TextMessage("{\"position\": \"A1\"}"));
+        String moveO = messagesO.poll(TIMEOUT, TimeUnit.SECONDS);
+        String resultO = messagesO.poll(TIMEOUT, TimeUnit.SECONDS);
+        Assertions.assertEquals("{\"type\":\"MOVE\",\"position\":\"A1\",\"mark\":\"O\"}", moveO, "Test - own move.");
+        Assertions.assertEquals("{\"type\":\"RESULT\",\"status\":\"OK\"}", resultO, "Test - move result.");
+        Assertions.assertEquals(moveO, messagesX.poll(TIMEOUT, TimeUnit.SECONDS), "Test - opponent's move.");
+        sessionX.sendMessage(new TextMessage("{\"position\": \"A1\"}"));
+        messagesX.poll(TIMEOUT, TimeUnit.SECONDS);
+        Assertions.assertEquals("{\"type\":\"RESULT\",\"status\":\"SPACE_TAKEN\"}",
+                messagesX.poll(TIMEOUT, TimeUnit.SECONDS), "Test - space taken.");
+        sessionX.close();
+        sessionO.close();
+    }
+
+    /**
+     * The <code>testInvalidTokenIsRejected</code> method tests that the handshake with invalid token is rejected.
+     */
+    @Test
+    public void testInvalidTokenIsRejected() {
+        int gameId = Integer.parseInt(gameInitializationService.createGame().get("gameId"));
+        Assertions.assertThrows(Exception.class, () -> connect(gameId, "invalid", new LinkedBlockingQueue<>()));
+    }
+
+    /**
+     * The <code>testQueryTokenIsRejected</code> method tests that the token isn't accepted from the query, so it never
+     * ends up in the request logs.
+     */
+    @Test
+    public void testQueryTokenIsRejected() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        Assertions.assertThrows(Exception.class, () -> new StandardWebSocketClient()
+                .doHandshake(new TextWebSocketHandler(), "ws://localhost:{port}/game/{id}/socket?token={token}", port,
+                        gameId, data.get("token"))
+                .get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    /**
+     * The <code>testOtherOriginIsRejected</code> method tests that the page of the other origin can't open the move
+     * channel, even with the valid token.
+     */
+    @Test
+    public void testOtherOriginIsRejected() {
+        Map<String, String> data = gameInitializationService.createGame();
+        int gameId = Integer.parseInt(data.get("gameId"));
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(List.of(GameHandshakeInterceptor.TOKEN_PROTOCOL, data.get("token")));
+        headers.setOrigin("http://evil.example.com");
+        Assertions.assertThrows(Exception.class, () -> new StandardWebSocketClient()
+                .doHandshake(new TextWebSocketHandler(), headers,
+                        URI.create("ws://localhost:" + port + "/game/" + gameId + "/socket"))
+                .get(TIMEOUT, TimeUnit.SECONDS));
+    }
+
+    /**
+     * The <code>connect</code> method opens the move channel of the game and collects the received messages. The
+     * token is sent as the sub-protocol, the same as the browsers send it.
+     *
+     * @param gameId - The id of the game.
+     * @param token - The token of the player.
+     * @param messages - The queue which collects the received messages.
+     * @return WebSocketSession - The opened session.
+     * @throws Exception the exception
+     */
+    private WebSocketSession connect(int gameId, String token, BlockingQueue<String> messages) throws Exception {
+        TextWebSocketHandler handler = new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                messages.add(message.getPayload());
+            }
+        };
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(List.of(GameHandshakeInterceptor.TOKEN_PROTOCOL, token));
+        return new StandardWebSocketClient()
+                .doHandshake(handler, headers, URI.create("ws://localhost:" + port + "/game/" + gameId + "/socket"))
+                .get(TIMEOUT, TimeUnit.SECONDS);
+    }
+}